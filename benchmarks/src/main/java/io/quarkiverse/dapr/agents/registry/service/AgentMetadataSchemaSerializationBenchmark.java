@@ -0,0 +1,131 @@
+package io.quarkiverse.dapr.agents.registry.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.dapr.serializer.DefaultObjectSerializer;
+import io.quarkiverse.dapr.agents.registry.model.AgentMetadata;
+import io.quarkiverse.dapr.agents.registry.model.AgentMetadataSchema;
+import io.quarkiverse.dapr.agents.registry.model.LLMMetadata;
+import io.quarkiverse.dapr.agents.registry.model.MemoryMetadata;
+import io.quarkiverse.dapr.agents.registry.model.PubSubMetadata;
+import io.quarkiverse.dapr.agents.registry.model.RegistryMetadata;
+import io.quarkiverse.dapr.agents.registry.model.ToolMetadata;
+
+/**
+ * Compares the serialization of a registry entry by the Dapr default serializer, which
+ * {@link CatalystAgentRegistry} used to save entries through, with {@link SchemaJson}, whose bytes
+ * it now saves as they are. The fixtures are the minimal and full schemas of
+ * {@code AgentMetadataSchemaTest}; the full one can carry more tools.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AgentMetadataSchemaSerializationBenchmark {
+
+    /** {@code minimal} or {@code full}. */
+    @Param({ "minimal", "full" })
+    String fixture;
+
+    /** Number of tools added to the full schema. */
+    @Param({ "2", "20" })
+    int tools;
+
+    private final DefaultObjectSerializer daprSerializer = new DefaultObjectSerializer();
+    private AgentMetadataSchema schema;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        schema = "full".equals(fixture) ? fullSchema(tools) : minimalSchema();
+    }
+
+    @Benchmark
+    public byte[] daprSerializer() throws IOException {
+        return daprSerializer.serialize(schema);
+    }
+
+    @Benchmark
+    public byte[] schemaJson() {
+        return SchemaJson.write(schema);
+    }
+
+    private static AgentMetadataSchema minimalSchema() {
+        return AgentMetadataSchema.builder()
+                .schemaVersion("0.11.1")
+                .name("test-agent")
+                .registeredAt("2025-01-01T00:00:00Z")
+                .agent(AgentMetadata.builder()
+                        .appId("my-app")
+                        .type("standalone")
+                        .build())
+                .build();
+    }
+
+    private static AgentMetadataSchema fullSchema(int tools) {
+        AgentMetadataSchema.Builder builder = AgentMetadataSchema.builder()
+                .schemaVersion("0.11.1")
+                .name("orchestrator-agent")
+                .registeredAt("2025-06-15T10:30:00Z")
+                .agent(AgentMetadata.builder()
+                        .appId("orch-app")
+                        .type("durable")
+                        .orchestrator(true)
+                        .role("coordinator")
+                        .goal("Coordinate tasks across agents")
+                        .instructions(List.of("Be concise", "Delegate work"))
+                        .statestore("statestore")
+                        .systemPrompt("You are a coordinator agent.")
+                        .framework("langchain4j")
+                        .build())
+                .pubsub(PubSubMetadata.builder()
+                        .name("pubsub")
+                        .broadcastTopic("broadcast")
+                        .agentTopic("agent-messages")
+                        .build())
+                .memory(MemoryMetadata.builder()
+                        .type("conversation")
+                        .statestore("memory-store")
+                        .build())
+                .llm(LLMMetadata.builder()
+                        .client("openai")
+                        .provider("openai")
+                        .api("chat")
+                        .model("gpt-4")
+                        .baseUrl("https://api.openai.com")
+                        .promptTemplate("Answer: {input}")
+                        .build())
+                .registry(RegistryMetadata.builder()
+                        .statestore("registry-store")
+                        .name("team-registry")
+                        .build())
+                .maxIterations(10)
+                .toolChoice("auto")
+                .agentMetadata(Map.of("version", "1.0", "team", "alpha"));
+        for (int i = 0; i < tools; i++) {
+            builder.addTool(ToolMetadata.builder()
+                    .toolName("search-" + i)
+                    .toolDescription("Search the web")
+                    .toolArgs("{\"query\": \"string\"}")
+                    .build());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,134 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentEvent;
+import io.quarkiverse.dapr.langchain4j.metrics.DaprAgentMetrics;
+
+/**
+ * Measures the per-call overhead {@link DaprChatModelDecorator} adds on top of the delegate
+ * {@code ChatModel}, with the Dapr round trip replaced by an in-process stub.
+ * <ul>
+ *   <li>{@code passThrough} — the activity-side call ({@code IS_ACTIVITY_CALL} set).</li>
+ *   <li>{@code routed} — the agent-side call: call ID generation, pending call registration,
+ *       event creation and future completion.</li>
+ *   <li>{@code extractUserMessage} / {@code extractSystemMessage} — prompt metadata extraction
+ *       used on lazy activation.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DaprChatModelDecoratorBenchmark {
+
+    private static final ChatResponse RESPONSE = ChatResponse.builder()
+            .aiMessage(AiMessage.from("The capital of France is Paris."))
+            .build();
+
+    /** Number of messages in the conversation sent to the model. */
+    @Param({ "2", "20" })
+    int messages;
+
+    private DaprChatModelDecorator decorator;
+    private ChatRequest request;
+    private String agentRunId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        decorator = new DaprChatModelDecorator();
+        decorator.delegate = new ChatModel() {
+            @Override
+            public ChatResponse doChat(ChatRequest chatRequest) {
+                return RESPONSE;
+            }
+        };
+        decorator.workflowClient = new CompletingWorkflowClient();
+        decorator.metrics = DaprAgentMetrics.NOOP;
+
+        List<ChatMessage> conversation = new ArrayList<>();
+        conversation.add(SystemMessage.from("You are a helpful research assistant."));
+        for (int i = 1; i < messages; i++) {
+            conversation.add(i % 2 == 1 ? UserMessage.from("Question " + i) : AiMessage.from("Answer " + i));
+        }
+        request = ChatRequest.builder().messages(conversation).build();
+
+        agentRunId = DaprIdGenerators.get().nextRunId();
+        DaprAgentRunRegistry.register(agentRunId, new AgentRunContext(agentRunId, "benchmark"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        DaprAgentRunRegistry.unregister(agentRunId);
+        decorator.workflowClient.close();
+    }
+
+    @Benchmark
+    public ChatResponse passThrough() {
+        DaprToolCallInterceptor.IS_ACTIVITY_CALL.set(Boolean.TRUE);
+        try {
+            return decorator.chat(request);
+        } finally {
+            DaprToolCallInterceptor.IS_ACTIVITY_CALL.remove();
+        }
+    }
+
+    @Benchmark
+    public ChatResponse routed() {
+        DaprAgentContextHolder.set(agentRunId);
+        try {
+            return decorator.chat(request);
+        } finally {
+            DaprAgentContextHolder.clear();
+        }
+    }
+
+    @Benchmark
+    public String extractUserMessage() {
+        return DaprChatModelDecorator.extractUserMessage(request);
+    }
+
+    @Benchmark
+    public String extractSystemMessage() {
+        return DaprChatModelDecorator.extractSystemMessage(request);
+    }
+
+    /**
+     * Completes the pending LLM call as soon as its event is raised, standing in for the
+     * {@code AgentRunWorkflow} → {@code LlmCallActivity} round trip.
+     */
+    static final class CompletingWorkflowClient extends DaprWorkflowClient {
+
+        @Override
+        public void raiseEvent(String instanceId, String eventName, Object eventPayload) {
+            AgentEvent event = (AgentEvent) eventPayload;
+            DaprAgentRunRegistry.get(instanceId).completeCall(event.toolCallId(), RESPONSE);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentEvent;
+import io.quarkiverse.dapr.langchain4j.metrics.DaprAgentMetrics;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Measures the per-call overhead {@link DaprToolCallInterceptor} adds to a {@code @Tool} method,
+ * with the Dapr round trip replaced by an in-process stub.
+ * <ul>
+ *   <li>{@code direct} — baseline: the tool method called without interception.</li>
+ *   <li>{@code passThrough} — the activity-side call ({@code IS_ACTIVITY_CALL} set).</li>
+ *   <li>{@code routed} — the agent-side call: call ID generation, pending call registration,
+ *       argument rendering, event creation and future completion.</li>
+ *   <li>{@code inline} — the agent-side call of an {@link InlineTool}: the tool runs on the
+ *       calling thread and is buffered for the next event.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DaprToolCallInterceptorBenchmark {
+
+    /** Number of arguments passed to the tool. */
+    @Param({ "1", "8" })
+    int arguments;
+
+    private DaprToolCallInterceptor interceptor;
+    private Tools tools;
+    private Object[] args;
+    private InvocationContext invocation;
+    private InvocationContext inlineInvocation;
+    private AgentRunContext runCtx;
+    private String agentRunId;
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchMethodException {
+        interceptor = new DaprToolCallInterceptor();
+        interceptor.workflowClient = new CompletingWorkflowClient();
+        interceptor.metrics = DaprAgentMetrics.NOOP;
+
+        tools = new Tools();
+        args = new Object[arguments];
+        for (int i = 0; i < arguments; i++) {
+            args[i] = "argument-" + i;
+        }
+        invocation = new ToolInvocation(tools, Tools.class.getMethod("lookup", Object[].class),
+                new Object[] { args });
+        inlineInvocation = new ToolInvocation(new InlineTools(), InlineTools.class.getMethod("lookup", Object[].class),
+                new Object[] { args });
+
+        agentRunId = DaprIdGenerators.get().nextRunId();
+        runCtx = new AgentRunContext(agentRunId, "benchmark");
+        DaprAgentRunRegistry.register(agentRunId, runCtx);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        DaprAgentRunRegistry.unregister(agentRunId);
+        interceptor.workflowClient.close();
+    }
+
+    @Benchmark
+    public Object direct() {
+        return tools.lookup(args);
+    }
+
+    @Benchmark
+    public Object passThrough() throws Exception {
+        DaprToolCallInterceptor.IS_ACTIVITY_CALL.set(Boolean.TRUE);
+        try {
+            return interceptor.intercept(invocation);
+        } finally {
+            DaprToolCallInterceptor.IS_ACTIVITY_CALL.remove();
+        }
+    }
+
+    @Benchmark
+    public Object routed() throws Exception {
+        DaprAgentContextHolder.set(agentRunId);
+        try {
+            return interceptor.intercept(invocation);
+        } finally {
+            DaprAgentContextHolder.clear();
+        }
+    }
+
+    @Benchmark
+    public Object inline() throws Exception {
+        DaprAgentContextHolder.set(agentRunId);
+        try {
+            return interceptor.intercept(inlineInvocation);
+        } finally {
+            DaprAgentContextHolder.clear();
+            runCtx.drainInlineToolCalls();
+        }
+    }
+
+    public static class Tools {
+
+        public String lookup(Object... values) {
+            return "result";
+        }
+    }
+
+    @InlineTool
+    public static class InlineTools {
+
+        public String lookup(Object... values) {
+            return "result";
+        }
+    }
+
+    /**
+     * Minimal {@link InvocationContext} invoking the target method directly.
+     */
+    static final class ToolInvocation implements InvocationContext {
+
+        private final Object target;
+        private final Method method;
+        private Object[] parameters;
+        private final Map<String, Object> contextData = new HashMap<>();
+
+        ToolInvocation(Object target, Method method, Object[] parameters) {
+            this.target = target;
+            this.method = method;
+            this.parameters = parameters;
+        }
+
+        @Override
+        public Object getTarget() {
+            return target;
+        }
+
+        @Override
+        public Object getTimer() {
+            return null;
+        }
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public Constructor<?> getConstructor() {
+            return null;
+        }
+
+        @Override
+        public Object[] getParameters() {
+            return parameters;
+        }
+
+        @Override
+        public void setParameters(Object[] params) {
+            this.parameters = params;
+        }
+
+        @Override
+        public Map<String, Object> getContextData() {
+            return contextData;
+        }
+
+        @Override
+        public Object proceed() throws Exception {
+            return method.invoke(target, parameters);
+        }
+    }
+
+    /**
+     * Completes the pending tool call by executing it as soon as its event is raised,
+     * standing in for the {@code AgentRunWorkflow} → {@code ToolCallActivity} round trip.
+     */
+    static final class CompletingWorkflowClient extends DaprWorkflowClient {
+
+        @Override
+        public void raiseEvent(String instanceId, String eventName, Object eventPayload) {
+            AgentEvent event = (AgentEvent) eventPayload;
+            AgentRunContext runCtx = DaprAgentRunRegistry.get(instanceId);
+            AgentRunContext.PendingCall call = runCtx.getPendingCall(event.toolCallId());
+            try {
+                runCtx.completeCall(event.toolCallId(), call.method().invoke(call.target(), call.args()));
+            } catch (ReflectiveOperationException e) {
+                runCtx.failCall(event.toolCallId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.quarkiverse.dapr.langchain4j.agent.workflow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.dapr.durabletask.DataConverter;
+import io.dapr.durabletask.JacksonDataConverter;
+import io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallOutput;
+
+/**
+ * Measures the serialization of the {@link AgentRunOutput} custom status that
+ * {@link AgentRunWorkflow} publishes after every tool and LLM call, using the same
+ * {@link DataConverter} as the Dapr workflow runtime. The status carries every call made so
+ * far, so its cost grows with the length of the run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AgentRunOutputBenchmark {
+
+    /** Number of tool calls and of LLM calls recorded in the status. */
+    @Param({ "1", "10", "100" })
+    int calls;
+
+    /** Size in characters of each recorded prompt, response and tool result. */
+    @Param({ "64", "4096" })
+    int payloadSize;
+
+    private final DataConverter converter = new JacksonDataConverter();
+    private AgentRunOutput output;
+    private String serialized;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String payload = "x".repeat(payloadSize);
+        List<ToolCallOutput> toolCalls = new ArrayList<>(calls);
+        List<LlmCallOutput> llmCalls = new ArrayList<>(calls);
+        for (int i = 0; i < calls; i++) {
+            toolCalls.add(new ToolCallOutput("getPopulation", "[city-" + i + "]", payload));
+            llmCalls.add(new LlmCallOutput("chat", payload, payload));
+        }
+        output = new AgentRunOutput("benchmark", toolCalls, llmCalls);
+        serialized = converter.serialize(output);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return converter.serialize(output);
+    }
+
+    @Benchmark
+    public AgentRunOutput deserialize() {
+        return converter.deserialize(serialized, AgentRunOutput.class);
+    }
+}
@@ -0,0 +1,104 @@
+package io.quarkiverse.dapr.langchain4j.memory;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.JacksonChatMessageJsonCodec;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import io.dapr.client.DaprClient;
+import io.dapr.client.domain.State;
+import reactor.core.publisher.Mono;
+
+/**
+ * Measures the cost of persisting and loading a conversation through
+ * {@link KeyValueChatMemoryStore} as the history grows, with the Dapr state store replaced
+ * by an in-memory map so that only JSON (de)serialization and store overhead are measured.
+ * Messages are serialized with LangChain4j's {@link JacksonChatMessageJsonCodec}.
+ */
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyValueChatMemoryStoreBenchmark {
+
+    private static final String MEMORY_ID = "benchmark-memory";
+
+    /** Number of messages in the stored conversation. */
+    @Param({ "10", "100", "1000" })
+    int messages;
+
+    private KeyValueChatMemoryStore store;
+    private List<ChatMessage> history;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Use the LangChain4j Jackson codec directly: the codec installed by quarkus-langchain4j
+        // resolves its ObjectMapper from the Arc container, which is not running here.
+        JacksonChatMessageJsonCodec codec = new JacksonChatMessageJsonCodec();
+        store = new KeyValueChatMemoryStore(inMemoryDaprClient(), "statestore",
+                codec::messagesToJson, codec::messagesFromJson);
+        history = new ArrayList<>(messages);
+        history.add(SystemMessage.from("You are a helpful research assistant."));
+        for (int i = 1; i < messages; i++) {
+            history.add(i % 2 == 1
+                    ? UserMessage.from("What is the population of city number " + i + "?")
+                    : AiMessage.from("City number " + i + " has a population of about " + (i * 1000) + "."));
+        }
+        store.updateMessages(MEMORY_ID, history);
+    }
+
+    @Benchmark
+    public void updateMessages() {
+        store.updateMessages(MEMORY_ID, history);
+    }
+
+    @Benchmark
+    public List<ChatMessage> getMessages() {
+        return store.getMessages(MEMORY_ID);
+    }
+
+    /**
+     * A {@link DaprClient} whose {@code getState}/{@code saveState} operate on a map; every other
+     * method is unsupported.
+     */
+    @SuppressWarnings("unchecked")
+    private static DaprClient inMemoryDaprClient() {
+        Map<String, Object> states = new ConcurrentHashMap<>();
+        return (DaprClient) Proxy.newProxyInstance(DaprClient.class.getClassLoader(),
+                new Class<?>[] { DaprClient.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("saveState") && args.length == 3) {
+                        states.put((String) args[1], args[2]);
+                        return Mono.empty();
+                    }
+                    if (method.getName().equals("getState") && args.length == 3 && args[2] instanceof Class) {
+                        Object value = states.get((String) args[1]);
+                        return Mono.just(new State<>((String) args[1], value, null));
+                    }
+                    if (method.getName().equals("close")) {
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,106 @@
+package io.quarkiverse.dapr.langchain4j.workflow;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.langchain4j.agentic.internal.AgentExecutor;
+import dev.langchain4j.agentic.internal.AgentInvoker;
+import dev.langchain4j.agentic.planner.Action;
+import dev.langchain4j.agentic.planner.AgentInstance;
+import dev.langchain4j.agentic.planner.AgenticSystemTopology;
+import dev.langchain4j.agentic.planner.InitPlanningContext;
+import io.dapr.workflows.Workflow;
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.dapr.workflows.client.NewWorkflowOptions;
+import io.quarkiverse.dapr.langchain4j.workflow.orchestration.SequentialOrchestrationWorkflow;
+
+/**
+ * Measures the throughput of the lockstep exchange between the Dapr activity threads and the
+ * LangChain4j planning loop in {@link DaprWorkflowPlanner}.
+ * <p>
+ * Each benchmark invocation plays the role of {@code AgentExecutionActivity}: it submits an
+ * agent with {@link DaprWorkflowPlanner#executeAgent} and waits until the planner has
+ * processed it. A background thread plays the LangChain4j agentic loop, calling
+ * {@code nextAction()} for every batch without executing the agents. Run with {@code -t N}
+ * to measure batching under concurrent submissions (as in parallel orchestrations).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DaprWorkflowPlannerBenchmark {
+
+    private DaprWorkflowPlanner planner;
+    private AgentInstance agent;
+    private Thread planningLoop;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // LangChain4j's call action only accepts AgentExecutors; the invoker is never called
+        // because the planning loop below does not execute the agents.
+        AgentInvoker invoker = (AgentInvoker) Proxy.newProxyInstance(AgentInvoker.class.getClassLoader(),
+                new Class<?>[] { AgentInvoker.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "name", "toString" -> "benchmark-agent";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+        agent = new AgentExecutor(invoker, null);
+
+        planner = new DaprWorkflowPlanner(SequentialOrchestrationWorkflow.class, "benchmark",
+                AgenticSystemTopology.SEQUENCE, new NoopWorkflowClient());
+        planner.init(new InitPlanningContext(null, agent, List.of(agent)));
+
+        planningLoop = new Thread(() -> {
+            Action action = planner.firstAction(null);
+            while (!action.isDone()) {
+                action = planner.nextAction(null);
+            }
+        }, "planning-loop");
+        planningLoop.setDaemon(true);
+        planningLoop.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        planner.signalWorkflowComplete();
+        planningLoop.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @Benchmark
+    public void exchange() {
+        planner.executeAgent(agent, null).join();
+    }
+
+    /**
+     * Accepts the orchestration workflow without contacting a sidecar.
+     */
+    static final class NoopWorkflowClient extends DaprWorkflowClient {
+
+        @Override
+        public <T extends Workflow> String scheduleNewWorkflow(Class<T> clazz, Object input, String instanceId) {
+            return instanceId;
+        }
+
+        @Override
+        public <T extends Workflow> String scheduleNewWorkflow(Class<T> clazz, NewWorkflowOptions options) {
+            return options.getInstanceId();
+        }
+    }
+}
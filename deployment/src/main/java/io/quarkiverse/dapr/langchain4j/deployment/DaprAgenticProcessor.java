@@ -16,11 +16,18 @@ import org.jboss.logging.Logger;
 
 import io.quarkiverse.dapr.deployment.items.WorkflowItemBuildItem;
 import io.quarkiverse.dapr.langchain4j.agent.AgentRunLifecycleManager;
+import io.quarkiverse.dapr.langchain4j.agent.DurabilityLevel;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticBuildTimeConfig;
 import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
 import io.quarkus.arc.deployment.AnnotationsTransformerBuildItem;
+import io.quarkus.arc.deployment.ExcludedTypeBuildItem;
 import io.quarkus.arc.deployment.GeneratedBeanBuildItem;
 import io.quarkus.arc.deployment.GeneratedBeanGizmoAdaptor;
+import io.quarkus.arc.deployment.ValidationPhaseBuildItem;
 import io.quarkus.arc.processor.AnnotationsTransformer;
+import io.quarkus.arc.processor.DotNames;
+import io.quarkus.deployment.Capabilities;
+import io.quarkus.deployment.Capability;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
@@ -66,6 +73,12 @@ import jakarta.interceptor.Interceptor;
  *       of the agent method call — before LangChain4j assembles the prompt — giving Dapr
  *       full observability of the agent's lifecycle from its first instruction.</li>
  * </ol>
+ * When {@code quarkus.dapr.agentic.durability} and every per-agent override are {@code none},
+ * neither the interceptor bindings nor the decorators are applied, and the extension's
+ * interceptors and {@code ChatModel} decorators are excluded from bean discovery, so agents run
+ * exactly as they would without this extension. Otherwise each agent's level is resolved here:
+ * the {@code @Agent} interceptor binding carries it, and the generated decorator of an agent set
+ * to {@code none} only marks its request as bypassed instead of starting a run.
  */
 public class DaprAgenticProcessor {
 
@@ -88,6 +101,10 @@ public class DaprAgenticProcessor {
     /** LangChain4j {@code @SystemMessage} annotation. */
     private static final DotName SYSTEM_MESSAGE_ANNOTATION = DotName.createSimple("dev.langchain4j.service.SystemMessage");
 
+    /** Our {@code @IdempotentTool} annotation enabling tool result caching. */
+    private static final DotName IDEMPOTENT_TOOL_ANNOTATION = DotName.createSimple(
+            "io.quarkiverse.dapr.langchain4j.cache.IdempotentTool");
+
     /** Our interceptor binding that triggers {@code DaprToolCallInterceptor}. */
     private static final DotName DAPR_TOOL_INTERCEPTOR_BINDING = DotName.createSimple(
             "io.quarkiverse.dapr.langchain4j.agent.DaprAgentToolInterceptorBinding");
@@ -96,6 +113,16 @@ public class DaprAgenticProcessor {
     private static final DotName DAPR_AGENT_INTERCEPTOR_BINDING = DotName.createSimple(
             "io.quarkiverse.dapr.langchain4j.agent.DaprAgentInterceptorBinding");
 
+    private static final DotName DURABILITY_LEVEL = DotName.createSimple(DurabilityLevel.class.getName());
+
+    /** Interceptors and decorators that are only needed when some agent is durable. */
+    private static final String[] HOOK_CLASSES = {
+            "io.quarkiverse.dapr.langchain4j.agent.DaprToolCallInterceptor",
+            "io.quarkiverse.dapr.langchain4j.agent.DaprAgentMethodInterceptor",
+            "io.quarkiverse.dapr.langchain4j.agent.DaprChatModelDecorator",
+            "io.quarkiverse.dapr.langchain4j.agent.DaprStreamingChatModelDecorator",
+    };
+
     private static final String[] WORKFLOW_CLASSES = {
             "io.quarkiverse.dapr.langchain4j.workflow.orchestration.SequentialOrchestrationWorkflow",
             "io.quarkiverse.dapr.langchain4j.workflow.orchestration.ParallelOrchestrationWorkflow",
@@ -157,13 +184,18 @@ public class DaprAgenticProcessor {
      * Explicitly register our Workflow, WorkflowActivity, and CDI interceptor classes as beans.
      */
     @BuildStep
-    void registerAdditionalBeans(BuildProducer<AdditionalBeanBuildItem> additionalBeans) {
+    void registerAdditionalBeans(DaprAgenticBuildTimeConfig config,
+            BuildProducer<AdditionalBeanBuildItem> additionalBeans) {
         for (String className : WORKFLOW_CLASSES) {
             additionalBeans.produce(AdditionalBeanBuildItem.unremovableOf(className));
         }
         for (String className : ACTIVITY_CLASSES) {
             additionalBeans.produce(AdditionalBeanBuildItem.unremovableOf(className));
         }
+        if (!anyAgentDurable(config)) {
+            LOG.debug("Durability is 'none' for every agent: Dapr interceptors and decorators are not registered");
+            return;
+        }
         // CDI interceptors must be registered as unremovable beans.
         additionalBeans.produce(AdditionalBeanBuildItem.unremovableOf(
                 "io.quarkiverse.dapr.langchain4j.agent.DaprToolCallInterceptor"));
@@ -175,6 +207,72 @@ public class DaprAgenticProcessor {
         // beans via AnnotationsTransformer — but it DOES apply decorators at the type level.
         additionalBeans.produce(AdditionalBeanBuildItem.unremovableOf(
                 "io.quarkiverse.dapr.langchain4j.agent.DaprChatModelDecorator"));
+        // Same for StreamingChatModel: tokens are forwarded to the caller while the activity
+        // records the aggregated response.
+        additionalBeans.produce(AdditionalBeanBuildItem.unremovableOf(
+                "io.quarkiverse.dapr.langchain4j.agent.DaprStreamingChatModelDecorator"));
+    }
+
+    /**
+     * Excludes the interceptors and {@code ChatModel} decorators from bean discovery when no agent
+     * is durable. The runtime JAR is indexed, so Arc would otherwise discover them and still wrap
+     * every {@code ChatModel}.
+     */
+    @BuildStep
+    void excludeHooksWhenNoAgentIsDurable(DaprAgenticBuildTimeConfig config,
+            BuildProducer<ExcludedTypeBuildItem> excludedTypes) {
+        if (anyAgentDurable(config)) {
+            return;
+        }
+        for (String className : HOOK_CLASSES) {
+            excludedTypes.produce(new ExcludedTypeBuildItem(className));
+        }
+    }
+
+    /**
+     * Registers the Micrometer-backed {@code DaprAgentMetrics} when the Micrometer extension is
+     * present. Otherwise the no-op {@code @DefaultBean} implementation stays in place.
+     */
+    @BuildStep
+    void registerMetrics(Capabilities capabilities, BuildProducer<AdditionalBeanBuildItem> additionalBeans) {
+        if (capabilities.isPresent(Capability.MICROMETER)) {
+            additionalBeans.produce(AdditionalBeanBuildItem.builder()
+                    .addBeanClass("io.quarkiverse.dapr.langchain4j.metrics.MicrometerDaprAgentMetrics")
+                    .setDefaultScope(DotNames.SINGLETON)
+                    .setUnremovable()
+                    .build());
+        }
+    }
+
+    /**
+     * Validates {@code @IdempotentTool} usages at build time, so misconfigured tools fail the
+     * build instead of silently bypassing the {@code ToolResultCache}.
+     * <p>
+     * An {@code @IdempotentTool} method must also be a {@code @Tool} (otherwise it is never
+     * routed through {@code ToolCallActivity}), must return a value, and must have a positive TTL.
+     */
+    @BuildStep
+    void validateIdempotentTools(CombinedIndexBuildItem combinedIndex,
+            ValidationPhaseBuildItem validationPhase,
+            BuildProducer<ValidationPhaseBuildItem.ValidationErrorBuildItem> validationErrors) {
+        for (AnnotationInstance idempotent : combinedIndex.getIndex().getAnnotations(IDEMPOTENT_TOOL_ANNOTATION)) {
+            if (idempotent.target().kind() != AnnotationTarget.Kind.METHOD) {
+                continue;
+            }
+            MethodInfo method = idempotent.target().asMethod();
+            String location = method.declaringClass().name() + "#" + method.name();
+            AnnotationValue ttl = idempotent.value("ttlSeconds");
+            if (!method.hasAnnotation(TOOL_ANNOTATION)) {
+                validationErrors.produce(new ValidationPhaseBuildItem.ValidationErrorBuildItem(
+                        new IllegalStateException("@IdempotentTool method " + location + " is not annotated with @Tool")));
+            } else if (method.returnType().kind() == Type.Kind.VOID) {
+                validationErrors.produce(new ValidationPhaseBuildItem.ValidationErrorBuildItem(
+                        new IllegalStateException("@IdempotentTool method " + location + " must return a value")));
+            } else if (ttl != null && ttl.asLong() <= 0) {
+                validationErrors.produce(new ValidationPhaseBuildItem.ValidationErrorBuildItem(
+                        new IllegalStateException("@IdempotentTool method " + location + " must have a positive ttlSeconds")));
+            }
+        }
     }
 
     /**
@@ -220,8 +318,12 @@ public class DaprAgenticProcessor {
      */
     @BuildStep
     void generateAgentDecorators(
+            DaprAgenticBuildTimeConfig config,
             CombinedIndexBuildItem combinedIndex,
             BuildProducer<GeneratedBeanBuildItem> generatedBeans) {
+        if (!anyAgentDurable(config)) {
+            return;
+        }
 
         IndexView index = combinedIndex.getIndex();
         ClassOutput classOutput = new GeneratedBeanGizmoAdaptor(generatedBeans);
@@ -245,7 +347,7 @@ public class DaprAgenticProcessor {
                 continue; // one decorator per interface
             }
 
-            generateDecorator(classOutput, index, declaringClass);
+            generateDecorator(classOutput, index, declaringClass, config);
         }
     }
 
@@ -253,7 +355,8 @@ public class DaprAgenticProcessor {
     // Decorator generation helpers
     // -------------------------------------------------------------------------
 
-    private void generateDecorator(ClassOutput classOutput, IndexView index, ClassInfo agentInterface) {
+    private void generateDecorator(ClassOutput classOutput, IndexView index, ClassInfo agentInterface,
+            DaprAgenticBuildTimeConfig config) {
         String interfaceName = agentInterface.name().toString();
 
         // Use the fully-qualified interface name (dots replaced by underscores) so two
@@ -302,7 +405,10 @@ public class DaprAgenticProcessor {
                     continue;
                 }
 
-                if (method.hasAnnotation(AGENT_ANNOTATION)) {
+                if (method.hasAnnotation(AGENT_ANNOTATION)
+                        && DurabilityLevel.of(config, extractAgentName(method)) == DurabilityLevel.NONE) {
+                    generateBypassedAgentMethod(cc, method, delegateDesc, lcmDesc);
+                } else if (method.hasAnnotation(AGENT_ANNOTATION)) {
                     generateDecoratedAgentMethod(cc, method, delegateDesc, lcmDesc);
                 } else {
                     generateDelegateMethod(cc, method, delegateDesc);
@@ -386,6 +492,66 @@ public class DaprAgenticProcessor {
         catchBlock.throwException(catchBlock.getCaughtException());
     }
 
+    /**
+     * Generates the body for an {@code @Agent}-annotated method whose durability level is
+     * {@code none}, which keeps the agent's tool and LLM calls from lazily starting a run:
+     * <pre>
+     *   boolean previous = lifecycleManager.setBypassed(true);
+     *   try {
+     *     [result =] delegate.method(params);
+     *     lifecycleManager.setBypassed(previous);
+     *     return [result];           // or returnVoid()
+     *   } catch (Throwable t) {
+     *     lifecycleManager.setBypassed(previous);
+     *     throw t;
+     *   }
+     * </pre>
+     */
+    private void generateBypassedAgentMethod(ClassCreator cc, MethodInfo method,
+            FieldDescriptor delegateDesc, FieldDescriptor lcmDesc) {
+
+        boolean isVoid = method.returnType().kind() == Type.Kind.VOID;
+        MethodDescriptor setBypassed = MethodDescriptor.ofMethod(AgentRunLifecycleManager.class, "setBypassed",
+                boolean.class, boolean.class);
+
+        MethodCreator mc = cc.getMethodCreator(MethodDescriptor.of(method));
+        mc.setModifiers(Modifier.PUBLIC);
+        for (Type exType : method.exceptions()) {
+            mc.addException(exType.name().toString());
+        }
+
+        ResultHandle lcm = mc.readInstanceField(lcmDesc, mc.getThis());
+        ResultHandle previous = mc.invokeVirtualMethod(setBypassed, lcm, mc.load(true));
+
+        TryBlock tryBlock = mc.tryBlock();
+
+        ResultHandle del = tryBlock.readInstanceField(delegateDesc, tryBlock.getThis());
+        ResultHandle[] params = new ResultHandle[method.parametersCount()];
+        for (int i = 0; i < params.length; i++) {
+            params[i] = tryBlock.getMethodParam(i);
+        }
+
+        ResultHandle result = null;
+        if (!isVoid) {
+            result = tryBlock.invokeInterfaceMethod(MethodDescriptor.of(method), del, params);
+        } else {
+            tryBlock.invokeInterfaceMethod(MethodDescriptor.of(method), del, params);
+        }
+
+        tryBlock.invokeVirtualMethod(setBypassed, tryBlock.readInstanceField(lcmDesc, tryBlock.getThis()), previous);
+
+        if (isVoid) {
+            tryBlock.returnVoid();
+        } else {
+            tryBlock.returnValue(result);
+        }
+
+        CatchBlockCreator catchBlock = tryBlock.addCatch(Throwable.class);
+        catchBlock.invokeVirtualMethod(setBypassed, catchBlock.readInstanceField(lcmDesc, catchBlock.getThis()),
+                previous);
+        catchBlock.throwException(catchBlock.getCaughtException());
+    }
+
     /**
      * Generates a trivial delegation body for non-{@code @Agent} abstract interface methods:
      * <pre>
@@ -471,15 +637,20 @@ public class DaprAgenticProcessor {
      */
     @BuildStep
     @SuppressWarnings("deprecation")
-    AnnotationsTransformerBuildItem addDaprInterceptorToToolMethods() {
-        return new AnnotationsTransformerBuildItem(AnnotationsTransformer.appliedToMethod()
+    void addDaprInterceptorToToolMethods(DaprAgenticBuildTimeConfig config,
+            BuildProducer<AnnotationsTransformerBuildItem> transformers) {
+        if (!anyAgentDurable(config)) {
+            return;
+        }
+        transformers.produce(new AnnotationsTransformerBuildItem(AnnotationsTransformer.appliedToMethod()
                 .whenMethod(m -> m.hasAnnotation(TOOL_ANNOTATION))
-                .thenTransform(t -> t.add(DAPR_TOOL_INTERCEPTOR_BINDING)));
+                .thenTransform(t -> t.add(DAPR_TOOL_INTERCEPTOR_BINDING))));
     }
 
     /**
      * Automatically apply {@code @DaprAgentInterceptorBinding} to every
-     * {@code @Agent}-annotated method in the application index.
+     * {@code @Agent}-annotated method in the application index, with the agent's durability
+     * level resolved from the build-time configuration.
      * <p>
      * This causes {@link io.quarkiverse.dapr.langchain4j.agent.DaprAgentMethodInterceptor}
      * to fire when an {@code @Agent} method is called on a regular CDI bean (not a synthetic
@@ -488,10 +659,21 @@ public class DaprAgenticProcessor {
      */
     @BuildStep
     @SuppressWarnings("deprecation")
-    AnnotationsTransformerBuildItem addDaprInterceptorToAgentMethods() {
-        return new AnnotationsTransformerBuildItem(AnnotationsTransformer.appliedToMethod()
+    void addDaprInterceptorToAgentMethods(DaprAgenticBuildTimeConfig config,
+            BuildProducer<AnnotationsTransformerBuildItem> transformers) {
+        if (!anyAgentDurable(config)) {
+            return;
+        }
+        transformers.produce(new AnnotationsTransformerBuildItem(AnnotationsTransformer.appliedToMethod()
                 .whenMethod(m -> m.hasAnnotation(AGENT_ANNOTATION))
-                .thenTransform(t -> t.add(DAPR_AGENT_INTERCEPTOR_BINDING)));
+                .transform(ctx -> {
+                    DurabilityLevel durability = DurabilityLevel.of(config,
+                            extractAgentName(ctx.getTarget().asMethod()));
+                    ctx.transform()
+                            .add(DAPR_AGENT_INTERCEPTOR_BINDING,
+                                    AnnotationValue.createEnumValue("durability", DURABILITY_LEVEL, durability.name()))
+                            .done();
+                })));
     }
 
     /**
@@ -500,8 +682,12 @@ public class DaprAgenticProcessor {
      */
     @BuildStep
     @SuppressWarnings("deprecation")
-    AnnotationsTransformerBuildItem addDaprInterceptorToToolClasses() {
-        return new AnnotationsTransformerBuildItem(AnnotationsTransformer.appliedToClass()
+    void addDaprInterceptorToToolClasses(DaprAgenticBuildTimeConfig config,
+            BuildProducer<AnnotationsTransformerBuildItem> transformers) {
+        if (!anyAgentDurable(config)) {
+            return;
+        }
+        transformers.produce(new AnnotationsTransformerBuildItem(AnnotationsTransformer.appliedToClass()
                 .whenClass(c -> {
                     for (MethodInfo method : c.methods()) {
                         if (method.hasAnnotation(TOOL_ANNOTATION)) {
@@ -510,6 +696,22 @@ public class DaprAgenticProcessor {
                     }
                     return false;
                 })
-                .thenTransform(t -> t.add(DAPR_TOOL_INTERCEPTOR_BINDING)));
+                .thenTransform(t -> t.add(DAPR_TOOL_INTERCEPTOR_BINDING))));
+    }
+
+    /**
+     * Returns {@code true} unless the default durability level and every per-agent override
+     * are {@link DurabilityLevel#NONE}.
+     */
+    private static boolean anyAgentDurable(DaprAgenticBuildTimeConfig config) {
+        if (config.durability() != DurabilityLevel.NONE) {
+            return true;
+        }
+        for (DaprAgenticBuildTimeConfig.AgentBuildTimeConfig agent : config.agents().values()) {
+            if (agent.durability().orElse(DurabilityLevel.NONE) != DurabilityLevel.NONE) {
+                return true;
+            }
+        }
+        return false;
     }
 }
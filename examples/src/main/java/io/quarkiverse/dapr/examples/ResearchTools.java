@@ -1,6 +1,7 @@
 package io.quarkiverse.dapr.examples;
 
 import dev.langchain4j.agent.tool.Tool;
+import io.quarkiverse.dapr.langchain4j.cache.IdempotentTool;
 import jakarta.enterprise.context.ApplicationScoped;
 
 /**
@@ -17,11 +18,15 @@ import jakarta.enterprise.context.ApplicationScoped;
  *   <li>If the process crashes during a tool call, Dapr retries the activity automatically.</li>
  *   <li>No code changes are needed here — the routing is applied automatically.</li>
  * </ul>
+ * <p>
+ * Both tools are pure lookups, so they are marked {@link IdempotentTool}: repeated calls with
+ * the same country are answered from the tool result cache instead of being executed again.
  */
 @ApplicationScoped
 public class ResearchTools {
 
     @Tool("Looks up real-time population data for a given country")
+    @IdempotentTool(ttlSeconds = 3600)
     public String getPopulation(String country) {
         // In a real implementation this would call an external API.
         // Here we return a stub so the example runs without network access.
@@ -34,6 +39,7 @@ public class ResearchTools {
     }
 
     @Tool("Returns the official capital city of a given country")
+    @IdempotentTool(ttlSeconds = 86400)
     public String getCapital(String country) {
         return switch (country.toLowerCase()) {
             case "france" -> "The capital of France is Paris.";
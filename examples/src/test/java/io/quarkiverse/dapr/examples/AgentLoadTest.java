@@ -0,0 +1,78 @@
+package io.quarkiverse.dapr.examples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.dapr.langchain4j.testing.AgentLoadGenerator;
+import io.quarkiverse.dapr.langchain4j.testing.AgentLoadGenerator.LoadReport;
+import io.quarkiverse.dapr.langchain4j.testing.InMemoryDaprTestProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+
+/**
+ * Throughput and latency regression test for the example agents.
+ * <p>
+ * Runs without Docker: Dapr workflows and activities execute in-process through
+ * {@link InMemoryDaprTestProfile}, and {@link MockChatModel} answers after a fixed latency and
+ * calls the agents' tools.
+ * The load can be tuned with the {@code load.requests}, {@code load.concurrency} and
+ * {@code load.latency} system properties, e.g.
+ * <pre>
+ * mvn test -Dtest=AgentLoadTest -Dload.requests=500 -Dload.concurrency=16
+ * </pre>
+ */
+@QuarkusTest
+@TestProfile(AgentLoadTest.LoadProfile.class)
+class AgentLoadTest {
+
+    private static final Logger LOG = Logger.getLogger(AgentLoadTest.class);
+
+    private static final int REQUESTS = Integer.getInteger("load.requests", 20);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 4);
+
+    @Inject
+    StoryCreator storyCreator;
+
+    @Inject
+    ResearchWriter researchWriter;
+
+    @Test
+    void sequentialStoryAgents() throws InterruptedException {
+        LoadReport report = generator().run(i -> storyCreator.write("topic " + i, "comedy"));
+
+        LOG.infof("StoryCreator: %s", report);
+        assertEquals(0, report.errors(), "Story requests failed under load");
+    }
+
+    @Test
+    void agentWithTools() throws InterruptedException {
+        LoadReport report = generator().run(i -> researchWriter.research(i % 2 == 0 ? "France" : "Japan"));
+
+        LOG.infof("ResearchWriter: %s", report);
+        assertEquals(0, report.errors(), "Research requests failed under load");
+    }
+
+    private static AgentLoadGenerator.Builder generator() {
+        return AgentLoadGenerator.builder()
+                .requests(REQUESTS)
+                .concurrency(CONCURRENCY)
+                .warmup(CONCURRENCY);
+    }
+
+    public static class LoadProfile extends InMemoryDaprTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            Map<String, String> overrides = new HashMap<>(super.getConfigOverrides());
+            overrides.put("mock.chat-model.latency", System.getProperty("load.latency", "20ms"));
+            overrides.put("mock.chat-model.call-tools", "true");
+            return overrides;
+        }
+    }
+}
@@ -1,8 +1,25 @@
 package io.quarkiverse.dapr.examples;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.StringJoiner;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
 import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
 import dev.langchain4j.model.chat.ChatModel;
 import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.json.JsonArraySchema;
+import dev.langchain4j.model.chat.request.json.JsonBooleanSchema;
+import dev.langchain4j.model.chat.request.json.JsonEnumSchema;
+import dev.langchain4j.model.chat.request.json.JsonIntegerSchema;
+import dev.langchain4j.model.chat.request.json.JsonNumberSchema;
+import dev.langchain4j.model.chat.request.json.JsonObjectSchema;
+import dev.langchain4j.model.chat.request.json.JsonSchemaElement;
+import dev.langchain4j.model.chat.request.json.JsonStringSchema;
 import dev.langchain4j.model.chat.response.ChatResponse;
 import dev.langchain4j.model.output.FinishReason;
 import dev.langchain4j.model.output.TokenUsage;
@@ -13,14 +30,36 @@ import jakarta.enterprise.inject.Alternative;
 /**
  * Mock ChatModel that returns predictable responses for integration testing.
  * Takes priority over the OpenAI ChatModel bean via {@code @Alternative @Priority(1)}.
+ * <p>
+ * With {@code mock.chat-model.call-tools=true} (set by {@link AgentLoadTest.LoadProfile}), a
+ * request that offers tools, none of which has been called yet, is answered with a call of the
+ * first tool, so that agents with tools go through the tool call path. Otherwise every request
+ * gets the same text answer. Each response is delayed by {@code mock.chat-model.latency}
+ * (default {@code 0ms}) to simulate a real model in load tests.
  */
 @Alternative
 @Priority(1)
 @ApplicationScoped
 public class MockChatModel implements ChatModel {
 
+    @ConfigProperty(name = "mock.chat-model.latency", defaultValue = "0ms")
+    Duration latency;
+
+    @ConfigProperty(name = "mock.chat-model.call-tools", defaultValue = "false")
+    boolean callTools;
+
     @Override
     public ChatResponse doChat(ChatRequest request) {
+        simulateLatency();
+        List<ToolSpecification> tools = request.toolSpecifications();
+        boolean toolCalled = request.messages().stream().anyMatch(ToolExecutionResultMessage.class::isInstance);
+        if (callTools && tools != null && !tools.isEmpty() && !toolCalled) {
+            return ChatResponse.builder()
+                    .aiMessage(AiMessage.from(toolCall(tools.get(0))))
+                    .tokenUsage(new TokenUsage(10, 5))
+                    .finishReason(FinishReason.TOOL_EXECUTION)
+                    .build();
+        }
         return ChatResponse.builder()
                 .aiMessage(AiMessage.from("Once upon a time, a brave dragon befriended a wizard. "
                         + "Together they embarked on an epic adventure across enchanted lands. "
@@ -29,4 +68,53 @@ public class MockChatModel implements ChatModel {
                 .finishReason(FinishReason.STOP)
                 .build();
     }
+
+    /**
+     * Calls {@code tool} with a sample value of the declared type for each of its parameters.
+     */
+    private static ToolExecutionRequest toolCall(ToolSpecification tool) {
+        StringJoiner arguments = new StringJoiner(", ", "{", "}");
+        if (tool.parameters() != null) {
+            tool.parameters().properties().forEach(
+                    (name, schema) -> arguments.add("\"" + name + "\": " + sampleValue(schema)));
+        }
+        return ToolExecutionRequest.builder()
+                .id("mock-" + tool.name())
+                .name(tool.name())
+                .arguments(arguments.toString())
+                .build();
+    }
+
+    private static String sampleValue(JsonSchemaElement schema) {
+        if (schema instanceof JsonEnumSchema enumSchema && !enumSchema.enumValues().isEmpty()) {
+            return "\"" + enumSchema.enumValues().get(0) + "\"";
+        }
+        if (schema instanceof JsonStringSchema) {
+            return "\"France\"";
+        }
+        if (schema instanceof JsonIntegerSchema || schema instanceof JsonNumberSchema) {
+            return "1";
+        }
+        if (schema instanceof JsonBooleanSchema) {
+            return "true";
+        }
+        if (schema instanceof JsonArraySchema) {
+            return "[]";
+        }
+        if (schema instanceof JsonObjectSchema) {
+            return "{}";
+        }
+        return "null";
+    }
+
+    private void simulateLatency() {
+        if (latency == null || latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -0,0 +1,262 @@
+package io.quarkiverse.dapr.agents.registry.deployment;
+
+import io.quarkiverse.dapr.agents.registry.model.ToolMetadata;
+import io.quarkiverse.dapr.agents.registry.service.AgentDescriptor;
+import io.quarkiverse.dapr.agents.registry.service.CatalystAgentRegistry;
+import io.quarkiverse.dapr.agents.registry.service.CatalystAgentRegistryHealthCheck;
+import io.quarkiverse.dapr.agents.registry.service.CatalystAgentRegistryRecorder;
+import io.quarkiverse.dapr.agents.registry.service.DaprAgentRunLoad;
+import io.quarkiverse.langchain4j.deployment.items.SelectedChatModelProviderBuildItem;
+import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
+import io.quarkus.arc.deployment.SynthesisFinishedBuildItem;
+import io.quarkus.arc.processor.BeanInfo;
+import io.quarkus.bootstrap.classloading.QuarkusClassLoader;
+import io.quarkus.deployment.Capabilities;
+import io.quarkus.deployment.Capability;
+import io.quarkus.deployment.annotations.BuildProducer;
+import io.quarkus.deployment.annotations.BuildStep;
+import io.quarkus.deployment.annotations.ExecutionTime;
+import io.quarkus.deployment.annotations.Record;
+import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
+import io.quarkus.deployment.builditem.FeatureBuildItem;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationValue;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.jandex.Type;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Discovers the application's {@code @Agent} methods at build time for
+ * {@link CatalystAgentRegistry}.
+ * <p>
+ * Every interface implemented by a bean — including the synthetic beans of AI services — is
+ * looked up in the Jandex index, and each of its {@code @Agent} methods, inherited ones included,
+ * becomes an {@link AgentDescriptor} carrying:
+ * <ul>
+ *   <li>the tools of its {@code @ToolBox} and of the interface's {@code @RegisterAiService}, with
+ *       the JSON schema of their arguments (see {@link ToolSchemas});</li>
+ *   <li>the chat model provider selected for the interface's model configuration, and the
+ *       property holding the model name;</li>
+ *   <li>whether it keeps a chat memory: a {@code @MemoryId} parameter or a
+ *       {@code @ChatMemoryProviderSupplier} on the interface.</li>
+ * </ul>
+ * The descriptors are recorded at static init, so the registry neither walks the bean graph nor
+ * reflects on interfaces at startup.
+ */
+public class AgentRegistryProcessor {
+
+  private static final Logger LOG = Logger.getLogger(AgentRegistryProcessor.class);
+
+  private static final String FEATURE = "dapr-agentic-agents-registry";
+
+  /** LangChain4j {@code @Agent} annotation. */
+  private static final DotName AGENT_ANNOTATION = DotName.createSimple("dev.langchain4j.agentic.Agent");
+
+  /** LangChain4j {@code @SystemMessage} annotation. */
+  private static final DotName SYSTEM_MESSAGE_ANNOTATION = DotName.createSimple("dev.langchain4j.service.SystemMessage");
+
+  /** LangChain4j {@code @MemoryId} annotation. */
+  private static final DotName MEMORY_ID_ANNOTATION = DotName.createSimple("dev.langchain4j.service.MemoryId");
+
+  /** LangChain4j agentic {@code @ChatMemoryProviderSupplier} annotation. */
+  private static final DotName CHAT_MEMORY_PROVIDER_SUPPLIER_ANNOTATION = DotName.createSimple(
+      "dev.langchain4j.agentic.declarative.ChatMemoryProviderSupplier");
+
+  /** Quarkus LangChain4j {@code @ToolBox} annotation. */
+  private static final DotName TOOL_BOX_ANNOTATION = DotName.createSimple("io.quarkiverse.langchain4j.ToolBox");
+
+  /** Quarkus LangChain4j {@code @RegisterAiService} annotation. */
+  private static final DotName REGISTER_AI_SERVICE_ANNOTATION = DotName.createSimple(
+      "io.quarkiverse.langchain4j.RegisterAiService");
+
+  /** Agent run registry of the Agentic Dapr extension, the source of replica load hints. */
+  private static final String AGENT_RUN_REGISTRY = "io.quarkiverse.dapr.langchain4j.agent.DaprAgentRunRegistry";
+
+  /** Name of the default model configuration in Quarkus LangChain4j. */
+  private static final String DEFAULT_MODEL_CONFIG = "<default>";
+
+  @BuildStep
+  FeatureBuildItem feature() {
+    return new FeatureBuildItem(FEATURE);
+  }
+
+  @BuildStep
+  AdditionalBeanBuildItem registryBean() {
+    return AdditionalBeanBuildItem.unremovableOf(CatalystAgentRegistry.class);
+  }
+
+  /**
+   * Registers the registration readiness check when the SmallRye Health extension is present.
+   */
+  @BuildStep
+  void registerHealthCheck(Capabilities capabilities, BuildProducer<AdditionalBeanBuildItem> additionalBeans) {
+    if (capabilities.isPresent(Capability.SMALLRYE_HEALTH)) {
+      additionalBeans.produce(AdditionalBeanBuildItem.unremovableOf(CatalystAgentRegistryHealthCheck.class));
+    }
+  }
+
+  /**
+   * Reports the agent runs of the Agentic Dapr extension as replica load, when it is present.
+   */
+  @BuildStep
+  void registerReplicaLoad(BuildProducer<AdditionalBeanBuildItem> additionalBeans) {
+    if (QuarkusClassLoader.isClassPresentAtRuntime(AGENT_RUN_REGISTRY)) {
+      additionalBeans.produce(AdditionalBeanBuildItem.unremovableOf(DaprAgentRunLoad.class));
+    }
+  }
+
+  @BuildStep
+  @Record(ExecutionTime.STATIC_INIT)
+  void recordAgents(SynthesisFinishedBuildItem synthesisFinished, CombinedIndexBuildItem combinedIndex,
+      List<SelectedChatModelProviderBuildItem> chatModelProviders, CatalystAgentRegistryRecorder recorder) {
+    IndexView index = combinedIndex.getIndex();
+
+    Map<String, String> providers = new HashMap<>();
+    for (SelectedChatModelProviderBuildItem provider : chatModelProviders) {
+      providers.put(provider.getConfigName(), provider.getProvider());
+    }
+
+    Set<DotName> interfaces = new LinkedHashSet<>();
+    for (BeanInfo bean : synthesisFinished.beanStream()) {
+      for (Type type : bean.getTypes()) {
+        if (type.kind() == Type.Kind.CLASS) {
+          interfaces.add(type.name());
+        }
+      }
+    }
+
+    List<AgentDescriptor> agents = new ArrayList<>();
+    for (DotName name : interfaces) {
+      ClassInfo type = index.getClassByName(name);
+      if (type != null && type.isInterface()) {
+        agents.addAll(scanForAgents(type, index, providers));
+      }
+    }
+    LOG.debugf("Discovered %d @Agent method(s) for the agent registry", agents.size());
+    recorder.setAgents(agents);
+  }
+
+  /**
+   * Returns a descriptor for each {@code @Agent} method of {@code type}, including the methods
+   * it inherits from its super-interfaces.
+   *
+   * @param providers the selected chat model provider of each model configuration name
+   */
+  static List<AgentDescriptor> scanForAgents(ClassInfo type, IndexView index, Map<String, String> providers) {
+    AnnotationInstance aiService = type.declaredAnnotation(REGISTER_AI_SERVICE_ANNOTATION);
+
+    String modelConfig = aiService == null ? DEFAULT_MODEL_CONFIG
+        : stringValue(aiService, "modelName", DEFAULT_MODEL_CONFIG);
+    String provider = providers.get(modelConfig);
+    String modelProperty = provider == null ? null
+        : "quarkus.langchain4j." + provider
+            + (DEFAULT_MODEL_CONFIG.equals(modelConfig) ? "" : "." + modelConfig) + ".chat-model.model-name";
+
+    List<ToolMetadata> serviceTools = aiService == null ? List.of() : toolsOf(aiService.value("tools"), index);
+
+    AgentContext context = new AgentContext(type, serviceTools, provider, modelProperty,
+        hasMemoryProviderSupplier(type, index));
+    List<AgentDescriptor> result = new ArrayList<>();
+    collectAgents(context, type, index, new HashSet<>(), result);
+    return result;
+  }
+
+  /** What the {@code @Agent} methods of a scanned interface share. */
+  private record AgentContext(ClassInfo type, List<ToolMetadata> serviceTools, String provider,
+      String modelProperty, boolean memoryProvider) {
+  }
+
+  private static void collectAgents(AgentContext context, ClassInfo declaring, IndexView index, Set<String> seen,
+      List<AgentDescriptor> result) {
+    for (MethodInfo method : declaring.methods()) {
+      AnnotationInstance agent = method.declaredAnnotation(AGENT_ANNOTATION);
+      if (agent == null || !seen.add(method.name() + method.parameterTypes())) {
+        continue;
+      }
+
+      String name = stringValue(agent, "name", "");
+      if (name.isBlank()) {
+        name = context.type().simpleName() + "." + method.name();
+      }
+
+      String goal = stringValue(agent, "description", "");
+
+      String systemPrompt = null;
+      AnnotationInstance sm = method.declaredAnnotation(SYSTEM_MESSAGE_ANNOTATION);
+      if (sm != null) {
+        String delimiter = stringValue(sm, "delimiter", "\n");
+        AnnotationValue value = sm.value();
+        String joined = value == null ? "" : String.join(delimiter, value.asStringArray());
+        if (!joined.isBlank()) {
+          systemPrompt = joined;
+        }
+      }
+
+      List<ToolMetadata> tools = new ArrayList<>(context.serviceTools());
+      AnnotationInstance toolBox = method.declaredAnnotation(TOOL_BOX_ANNOTATION);
+      if (toolBox != null) {
+        tools.addAll(toolsOf(toolBox.value(), index));
+      }
+
+      boolean usesMemory = context.memoryProvider()
+          || method.parameters().stream().anyMatch(p -> p.declaredAnnotation(MEMORY_ID_ANNOTATION) != null);
+
+      result.add(new AgentDescriptor(name, goal, systemPrompt, tools, context.provider(), context.modelProperty(),
+          usesMemory));
+    }
+
+    for (DotName superInterface : declaring.interfaceNames()) {
+      ClassInfo info = index.getClassByName(superInterface);
+      if (info != null) {
+        collectAgents(context, info, index, seen, result);
+      }
+    }
+  }
+
+  private static List<ToolMetadata> toolsOf(AnnotationValue toolClasses, IndexView index) {
+    List<ToolMetadata> tools = new ArrayList<>();
+    if (toolClasses == null) {
+      return tools;
+    }
+    for (Type toolClass : toolClasses.asClassArray()) {
+      ClassInfo info = index.getClassByName(toolClass.name());
+      if (info == null) {
+        LOG.debugf("Tool class %s is not indexed, its tools are not registered", toolClass.name());
+        continue;
+      }
+      tools.addAll(ToolSchemas.toolsOf(info, index));
+    }
+    return tools;
+  }
+
+  private static boolean hasMemoryProviderSupplier(ClassInfo type, IndexView index) {
+    for (MethodInfo method : type.methods()) {
+      if (method.declaredAnnotation(CHAT_MEMORY_PROVIDER_SUPPLIER_ANNOTATION) != null) {
+        return true;
+      }
+    }
+    for (DotName superInterface : type.interfaceNames()) {
+      ClassInfo info = index.getClassByName(superInterface);
+      if (info != null && hasMemoryProviderSupplier(info, index)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String stringValue(AnnotationInstance annotation, String name, String defaultValue) {
+    AnnotationValue value = annotation.value(name);
+    return value == null ? defaultValue : value.asString();
+  }
+}
@@ -0,0 +1,152 @@
+package io.quarkiverse.dapr.agents.registry.deployment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.quarkiverse.dapr.agents.registry.model.ToolMetadata;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationValue;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.FieldInfo;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.jandex.MethodParameterInfo;
+import org.jboss.jandex.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds the {@link ToolMetadata} of {@code @Tool} methods from the Jandex index, including a JSON
+ * schema of their arguments in the shape LangChain4j sends to the model: an object with one
+ * property per parameter, described by {@code @P}.
+ */
+final class ToolSchemas {
+
+  private static final DotName TOOL_ANNOTATION = DotName.createSimple("dev.langchain4j.agent.tool.Tool");
+
+  private static final DotName P_ANNOTATION = DotName.createSimple("dev.langchain4j.agent.tool.P");
+
+  /** Parameters LangChain4j fills itself; they are not part of the arguments schema. */
+  private static final DotName TOOL_MEMORY_ID_ANNOTATION = DotName.createSimple(
+      "dev.langchain4j.agent.tool.ToolMemoryId");
+
+  private static final Set<String> STRING_TYPES = Set.of("java.lang.String", "java.lang.Character",
+      "java.lang.CharSequence", "java.util.UUID");
+
+  private static final Set<String> INTEGER_TYPES = Set.of("java.lang.Byte", "java.lang.Short",
+      "java.lang.Integer", "java.lang.Long", "java.math.BigInteger");
+
+  private static final Set<String> NUMBER_TYPES = Set.of("java.lang.Float", "java.lang.Double",
+      "java.math.BigDecimal");
+
+  private static final Set<String> COLLECTION_TYPES = Set.of("java.lang.Iterable", "java.util.Collection",
+      "java.util.List", "java.util.Set");
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private ToolSchemas() {
+  }
+
+  /**
+   * Returns the metadata of every {@code @Tool} method declared by {@code toolClass}.
+   */
+  static List<ToolMetadata> toolsOf(ClassInfo toolClass, IndexView index) {
+    List<ToolMetadata> tools = new ArrayList<>();
+    for (MethodInfo method : toolClass.methods()) {
+      AnnotationInstance tool = method.declaredAnnotation(TOOL_ANNOTATION);
+      if (tool == null) {
+        continue;
+      }
+      AnnotationValue name = tool.value("name");
+      AnnotationValue description = tool.value();
+      tools.add(new ToolMetadata(
+          name == null || name.asString().isBlank() ? method.name() : name.asString(),
+          description == null ? "" : String.join("\n", description.asStringArray()),
+          argumentsSchema(method, index)));
+    }
+    return tools;
+  }
+
+  static String argumentsSchema(MethodInfo method, IndexView index) {
+    ObjectNode schema = MAPPER.createObjectNode();
+    schema.put("type", "object");
+    ObjectNode properties = schema.putObject("properties");
+    ArrayNode required = MAPPER.createArrayNode();
+    for (MethodParameterInfo parameter : method.parameters()) {
+      if (parameter.declaredAnnotation(TOOL_MEMORY_ID_ANNOTATION) != null) {
+        continue;
+      }
+      String name = parameter.name() != null ? parameter.name() : "arg" + parameter.position();
+      ObjectNode property = typeSchema(parameter.type(), index);
+      AnnotationInstance p = parameter.declaredAnnotation(P_ANNOTATION);
+      if (p != null && !p.value().asString().isEmpty()) {
+        property.put("description", p.value().asString());
+      }
+      AnnotationValue isRequired = p == null ? null : p.value("required");
+      if (isRequired == null || isRequired.asBoolean()) {
+        required.add(name);
+      }
+      properties.set(name, property);
+    }
+    if (!required.isEmpty()) {
+      schema.set("required", required);
+    }
+    return schema.toString();
+  }
+
+  private static ObjectNode typeSchema(Type type, IndexView index) {
+    ObjectNode schema = MAPPER.createObjectNode();
+    switch (type.kind()) {
+      case PRIMITIVE -> schema.put("type", switch (type.asPrimitiveType().primitive()) {
+        case BOOLEAN -> "boolean";
+        case FLOAT, DOUBLE -> "number";
+        case CHAR -> "string";
+        default -> "integer";
+      });
+      case ARRAY -> {
+        schema.put("type", "array");
+        schema.set("items", typeSchema(type.asArrayType().constituent(), index));
+      }
+      case PARAMETERIZED_TYPE -> {
+        if (COLLECTION_TYPES.contains(type.name().toString())) {
+          schema.put("type", "array");
+          schema.set("items", typeSchema(type.asParameterizedType().arguments().get(0), index));
+        } else {
+          schema.put("type", "object");
+        }
+      }
+      case CLASS -> classSchema(schema, type.name(), index);
+      default -> schema.put("type", "object");
+    }
+    return schema;
+  }
+
+  private static void classSchema(ObjectNode schema, DotName name, IndexView index) {
+    String className = name.toString();
+    if (STRING_TYPES.contains(className)) {
+      schema.put("type", "string");
+    } else if (INTEGER_TYPES.contains(className)) {
+      schema.put("type", "integer");
+    } else if (NUMBER_TYPES.contains(className)) {
+      schema.put("type", "number");
+    } else if ("java.lang.Boolean".equals(className)) {
+      schema.put("type", "boolean");
+    } else if (COLLECTION_TYPES.contains(className)) {
+      schema.put("type", "array");
+    } else {
+      ClassInfo classInfo = index.getClassByName(name);
+      if (classInfo != null && classInfo.isEnum()) {
+        schema.put("type", "string");
+        ArrayNode values = schema.putArray("enum");
+        for (FieldInfo constant : classInfo.enumConstants()) {
+          values.add(constant.name());
+        }
+      } else {
+        schema.put("type", "object");
+      }
+    }
+  }
+}
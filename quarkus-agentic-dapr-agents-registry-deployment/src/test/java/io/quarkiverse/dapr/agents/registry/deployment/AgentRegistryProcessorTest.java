@@ -0,0 +1,193 @@
+package io.quarkiverse.dapr.agents.registry.deployment;
+
+import dev.langchain4j.agent.tool.P;
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agentic.Agent;
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.SystemMessage;
+import io.quarkiverse.dapr.agents.registry.model.ToolMetadata;
+import io.quarkiverse.dapr.agents.registry.service.AgentDescriptor;
+import io.quarkiverse.langchain4j.RegisterAiService;
+import io.quarkiverse.langchain4j.ToolBox;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgentRegistryProcessorTest {
+
+    // --- Test interfaces ---
+
+    interface SimpleAgent {
+        @Agent(name = "my-agent", description = "A simple agent")
+        String chat();
+    }
+
+    interface AgentWithPrompts {
+        @Agent(name = "prompted-agent", description = "Agent with prompts")
+        @SystemMessage("You are a helpful assistant.")
+        String ask();
+    }
+
+    interface AgentWithDefaultName {
+        @Agent(description = "Agent with no explicit name")
+        String doWork();
+    }
+
+    interface NoAgentInterface {
+        String regularMethod();
+    }
+
+    interface MultipleAgentMethods {
+        @Agent(name = "agent-one", description = "First agent")
+        String first();
+
+        @Agent(name = "agent-two", description = "Second agent")
+        @SystemMessage({"You are agent two.", "Be brief."})
+        String second();
+    }
+
+    interface InheritedAgent extends AgentWithDefaultName {
+    }
+
+    static class WeatherTools {
+        @Tool("Returns the weather forecast")
+        String forecast(@P("The city") String city, int days) {
+            return "sunny";
+        }
+
+        String notATool() {
+            return "";
+        }
+    }
+
+    interface AgentWithToolsAndMemory {
+        @Agent(name = "weather-agent", description = "Forecasts the weather")
+        @ToolBox(WeatherTools.class)
+        String ask(@MemoryId String session, String question);
+    }
+
+    @RegisterAiService(modelName = "fast")
+    interface AgentWithNamedModel {
+        @Agent(name = "fast-agent", description = "Uses the fast model")
+        String ask(String question);
+    }
+
+    // --- Tests ---
+
+    private static List<AgentDescriptor> scan(Class<?> type, Class<?>... supertypes) throws IOException {
+        Class<?>[] classes = new Class<?>[supertypes.length + 1];
+        classes[0] = type;
+        System.arraycopy(supertypes, 0, classes, 1, supertypes.length);
+        Index index = Index.of(classes);
+        return AgentRegistryProcessor.scanForAgents(index.getClassByName(DotName.createSimple(type)), index,
+                Map.of("<default>", "openai", "fast", "ollama"));
+    }
+
+    @Test
+    void simpleAgentDiscovery() throws IOException {
+        List<AgentDescriptor> agents = scan(SimpleAgent.class);
+
+        assertThat(agents).hasSize(1);
+        AgentDescriptor agent = agents.get(0);
+        assertThat(agent.getName()).isEqualTo("my-agent");
+        assertThat(agent.getGoal()).isEqualTo("A simple agent");
+        assertThat(agent.getSystemPrompt()).isNull();
+    }
+
+    @Test
+    void agentWithPromptsExtractsSystemMessage() throws IOException {
+        List<AgentDescriptor> agents = scan(AgentWithPrompts.class);
+
+        assertThat(agents).hasSize(1);
+        AgentDescriptor agent = agents.get(0);
+        assertThat(agent.getName()).isEqualTo("prompted-agent");
+        assertThat(agent.getGoal()).isEqualTo("Agent with prompts");
+        assertThat(agent.getSystemPrompt()).isEqualTo("You are a helpful assistant.");
+    }
+
+    @Test
+    void agentWithDefaultNameFallsBackToClassAndMethod() throws IOException {
+        List<AgentDescriptor> agents = scan(AgentWithDefaultName.class);
+
+        assertThat(agents).hasSize(1);
+        AgentDescriptor agent = agents.get(0);
+        assertThat(agent.getName()).isEqualTo("AgentWithDefaultName.doWork");
+        assertThat(agent.getGoal()).isEqualTo("Agent with no explicit name");
+    }
+
+    @Test
+    void noAgentInterfaceReturnsEmptyList() throws IOException {
+        List<AgentDescriptor> agents = scan(NoAgentInterface.class);
+
+        assertThat(agents).isEmpty();
+    }
+
+    @Test
+    void multipleAgentMethodsDiscoveredSeparately() throws IOException {
+        List<AgentDescriptor> agents = scan(MultipleAgentMethods.class);
+
+        assertThat(agents).hasSize(2);
+        assertThat(agents).extracting(AgentDescriptor::getName)
+                .containsExactlyInAnyOrder("agent-one", "agent-two");
+
+        AgentDescriptor agentTwo = agents.stream()
+                .filter(a -> "agent-two".equals(a.getName()))
+                .findFirst().orElseThrow();
+        assertThat(agentTwo.getSystemPrompt()).isEqualTo("You are agent two.\nBe brief.");
+        assertThat(agentTwo.getGoal()).isEqualTo("Second agent");
+
+        AgentDescriptor agentOne = agents.stream()
+                .filter(a -> "agent-one".equals(a.getName()))
+                .findFirst().orElseThrow();
+        assertThat(agentOne.getSystemPrompt()).isNull();
+        assertThat(agentOne.getGoal()).isEqualTo("First agent");
+    }
+
+    @Test
+    void inheritedAgentMethodIsNamedAfterScannedInterface() throws IOException {
+        List<AgentDescriptor> agents = scan(InheritedAgent.class, AgentWithDefaultName.class);
+
+        assertThat(agents).extracting(AgentDescriptor::getName)
+                .containsExactly("InheritedAgent.doWork");
+    }
+
+    @Test
+    void toolBoxAndMemoryIdArePopulated() throws IOException {
+        List<AgentDescriptor> agents = scan(AgentWithToolsAndMemory.class, WeatherTools.class);
+
+        assertThat(agents).hasSize(1);
+        AgentDescriptor agent = agents.get(0);
+        assertThat(agent.isUsesMemory()).isTrue();
+        assertThat(agent.getTools()).hasSize(1);
+        ToolMetadata tool = agent.getTools().get(0);
+        assertThat(tool.getToolName()).isEqualTo("forecast");
+        assertThat(tool.getToolDescription()).isEqualTo("Returns the weather forecast");
+        assertThat(tool.getToolArgs()).isEqualTo("{\"type\":\"object\",\"properties\":{"
+                + "\"city\":{\"type\":\"string\",\"description\":\"The city\"},"
+                + "\"days\":{\"type\":\"integer\"}},\"required\":[\"city\",\"days\"]}");
+    }
+
+    @Test
+    void defaultModelProviderIsRecorded() throws IOException {
+        AgentDescriptor agent = scan(SimpleAgent.class).get(0);
+
+        assertThat(agent.getLlmProvider()).isEqualTo("openai");
+        assertThat(agent.getLlmModelProperty()).isEqualTo("quarkus.langchain4j.openai.chat-model.model-name");
+        assertThat(agent.isUsesMemory()).isFalse();
+        assertThat(agent.getTools()).isEmpty();
+    }
+
+    @Test
+    void namedModelProviderIsRecorded() throws IOException {
+        AgentDescriptor agent = scan(AgentWithNamedModel.class).get(0);
+
+        assertThat(agent.getLlmProvider()).isEqualTo("ollama");
+        assertThat(agent.getLlmModelProperty()).isEqualTo("quarkus.langchain4j.ollama.fast.chat-model.model-name");
+    }
+}
@@ -5,8 +5,8 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Alternative;
 
 /**
- * CDI bean implementing {@link TestAgent} so that {@link CatalystAgentRegistry}
- * can discover it via {@code BeanManager} during startup.
+ * CDI bean implementing {@link TestAgent} so that the agent registry discovers its
+ * {@code @Agent} methods from the bean types at build time.
  */
 @Alternative
 @Priority(1)
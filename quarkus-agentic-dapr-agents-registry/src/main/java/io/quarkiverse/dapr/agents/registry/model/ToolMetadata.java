@@ -2,6 +2,8 @@ package io.quarkiverse.dapr.agents.registry.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import io.quarkus.runtime.annotations.RecordableConstructor;
+
 public class ToolMetadata {
 
     @JsonProperty("tool_name")
@@ -16,6 +18,16 @@ public class ToolMetadata {
     public ToolMetadata() {
     }
 
+    /**
+     * Creates the metadata of a tool discovered at build time.
+     */
+    @RecordableConstructor
+    public ToolMetadata(String toolName, String toolDescription, String toolArgs) {
+        this.toolName = toolName;
+        this.toolDescription = toolDescription;
+        this.toolArgs = toolArgs;
+    }
+
     private ToolMetadata(Builder builder) {
         this.toolName = builder.toolName;
         this.toolDescription = builder.toolDescription;
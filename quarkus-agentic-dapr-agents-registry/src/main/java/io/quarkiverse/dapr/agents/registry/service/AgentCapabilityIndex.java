@@ -0,0 +1,206 @@
+package io.quarkiverse.dapr.agents.registry.service;
+
+import io.quarkiverse.dapr.agents.registry.model.AgentMetadata;
+import io.quarkiverse.dapr.agents.registry.model.AgentMetadataSchema;
+import io.quarkiverse.dapr.agents.registry.model.ToolMetadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index of the agents in the registry by capability, for routers and supervisor agents
+ * choosing which agent to call.
+ * <p>
+ * Each agent is indexed under the names of its tools and under the keywords of its role, goal,
+ * instructions, system prompt and tool descriptions. A lookup reads one posting set per tool or
+ * keyword instead of scanning every {@link AgentMetadataSchema}. The index is updated entry by
+ * entry as {@link CatalystAgentRegistry} receives them; lookups do not lock and may observe an
+ * update in progress.
+ */
+public class AgentCapabilityIndex {
+
+  /** Words too common to tell agents apart. */
+  private static final Set<String> STOP_WORDS = Set.of(
+      "the", "and", "for", "with", "you", "are", "your", "that", "this", "from", "into", "about",
+      "any", "all", "can", "will", "use", "using", "when", "what", "which", "who", "its", "their",
+      "then", "than", "not", "but", "has", "have", "was", "were", "been", "helpful", "assistant");
+
+  private static final int MIN_KEYWORD_LENGTH = 3;
+
+  private final Map<String, Set<String>> byTool = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> byKeyword = new ConcurrentHashMap<>();
+
+  /** Tools and keywords each agent is indexed under, to remove them when the agent changes. */
+  private final Map<String, Postings> postings = new HashMap<>();
+
+  private record Postings(Set<String> tools, Set<String> keywords) {
+  }
+
+  /**
+   * Indexes {@code schema}, replacing the previous entry of the same agent.
+   */
+  synchronized void put(AgentMetadataSchema schema) {
+    String agent = schema.getName();
+    Postings previous = postings.get(agent);
+    Postings current = postingsOf(schema);
+    if (previous != null) {
+      unlink(byTool, previous.tools(), current.tools(), agent);
+      unlink(byKeyword, previous.keywords(), current.keywords(), agent);
+    }
+    link(byTool, current.tools(), agent);
+    link(byKeyword, current.keywords(), agent);
+    postings.put(agent, current);
+  }
+
+  /**
+   * Removes {@code agent} from the index.
+   */
+  synchronized void remove(String agent) {
+    Postings previous = postings.remove(agent);
+    if (previous != null) {
+      unlink(byTool, previous.tools(), Set.of(), agent);
+      unlink(byKeyword, previous.keywords(), Set.of(), agent);
+    }
+  }
+
+  /**
+   * Returns the names of the agents offering tool {@code toolName}, compared ignoring case.
+   */
+  public Set<String> agentsWithTool(String toolName) {
+    return view(byTool.get(normalize(toolName)));
+  }
+
+  /**
+   * Returns the names of the agents described by {@code keyword}, compared ignoring case.
+   */
+  public Set<String> agentsWithKeyword(String keyword) {
+    return view(byKeyword.get(normalize(keyword)));
+  }
+
+  /**
+   * Returns the names of the agents matching the keywords of {@code request}, best match first.
+   * An agent scores one point per keyword of the request found in its description and two per
+   * tool named in the request; agents without any match are not returned. Tool names are looked up
+   * whole, {@code get_weather} or {@code get-weather} included, as found between the whitespace
+   * and punctuation of the request.
+   *
+   * @param limit the maximum number of agents returned
+   */
+  public List<String> match(String request, int limit) {
+    Map<String, Integer> scores = new HashMap<>();
+    for (String keyword : keywords(request)) {
+      score(scores, byKeyword.get(keyword), 1);
+    }
+    for (String toolName : toolNames(request)) {
+      score(scores, byTool.get(toolName), 2);
+    }
+    List<Map.Entry<String, Integer>> ranked = new ArrayList<>(scores.entrySet());
+    ranked.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+        .thenComparing(Map.Entry.comparingByKey()));
+    List<String> result = new ArrayList<>(Math.min(limit, ranked.size()));
+    for (int i = 0; i < ranked.size() && i < limit; i++) {
+      result.add(ranked.get(i).getKey());
+    }
+    return result;
+  }
+
+  private static void score(Map<String, Integer> scores, Set<String> agents, int points) {
+    if (agents != null) {
+      for (String agent : agents) {
+        scores.merge(agent, points, Integer::sum);
+      }
+    }
+  }
+
+  private static Postings postingsOf(AgentMetadataSchema schema) {
+    Set<String> tools = new HashSet<>();
+    Set<String> keywords = new HashSet<>();
+    AgentMetadata agent = schema.getAgent();
+    if (agent != null) {
+      keywords.addAll(keywords(agent.getRole()));
+      keywords.addAll(keywords(agent.getGoal()));
+      keywords.addAll(keywords(agent.getSystemPrompt()));
+      if (agent.getInstructions() != null) {
+        for (String instruction : agent.getInstructions()) {
+          keywords.addAll(keywords(instruction));
+        }
+      }
+    }
+    if (schema.getTools() != null) {
+      for (ToolMetadata tool : schema.getTools()) {
+        if (tool.getToolName() != null) {
+          tools.add(normalize(tool.getToolName()));
+        }
+        keywords.addAll(keywords(tool.getToolDescription()));
+      }
+    }
+    return new Postings(tools, keywords);
+  }
+
+  /**
+   * Splits {@code text} into lower-case words of letters and digits, without stop words and words
+   * shorter than {@value #MIN_KEYWORD_LENGTH} characters.
+   */
+  static Set<String> keywords(String text) {
+    if (text == null || text.isEmpty()) {
+      return Set.of();
+    }
+    Set<String> keywords = new HashSet<>();
+    for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+      if (word.length() >= MIN_KEYWORD_LENGTH && !STOP_WORDS.contains(word)) {
+        keywords.add(word);
+      }
+    }
+    return keywords;
+  }
+
+  /**
+   * Splits {@code text} into the lower-case words a tool name can be: letters, digits, {@code _}
+   * and {@code -}, which {@link #keywords(String)} would split on.
+   */
+  static Set<String> toolNames(String text) {
+    if (text == null || text.isEmpty()) {
+      return Set.of();
+    }
+    Set<String> toolNames = new HashSet<>();
+    for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}_-]+")) {
+      if (!word.isEmpty()) {
+        toolNames.add(word);
+      }
+    }
+    return toolNames;
+  }
+
+  private static void link(Map<String, Set<String>> index, Set<String> terms, String agent) {
+    for (String term : terms) {
+      index.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(agent);
+    }
+  }
+
+  /** Removes {@code agent} from the postings of {@code terms} it is no longer indexed under. */
+  private static void unlink(Map<String, Set<String>> index, Set<String> terms, Set<String> kept, String agent) {
+    for (String term : terms) {
+      if (!kept.contains(term)) {
+        index.computeIfPresent(term, (t, agents) -> {
+          agents.remove(agent);
+          return agents.isEmpty() ? null : agents;
+        });
+      }
+    }
+  }
+
+  private static Set<String> view(Set<String> agents) {
+    return agents == null ? Set.of() : Collections.unmodifiableSet(agents);
+  }
+
+  private static String normalize(String term) {
+    return term == null ? "" : term.toLowerCase(Locale.ROOT);
+  }
+}
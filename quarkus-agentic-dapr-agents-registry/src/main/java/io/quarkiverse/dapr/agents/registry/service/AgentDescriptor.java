@@ -0,0 +1,79 @@
+package io.quarkiverse.dapr.agents.registry.service;
+
+import io.quarkiverse.dapr.agents.registry.model.ToolMetadata;
+import io.quarkus.runtime.annotations.RecordableConstructor;
+
+import java.util.List;
+
+/**
+ * An {@code @Agent} method discovered at build time, recorded into the application so that
+ * {@link CatalystAgentRegistry} can build its {@code AgentMetadataSchema} at startup without
+ * scanning beans.
+ * <p>
+ * Everything known at build time is resolved here, including the JSON schema of each tool's
+ * arguments. The LLM is recorded as its provider and the configuration property holding the model
+ * name, which is runtime configuration.
+ */
+public class AgentDescriptor {
+
+  private final String name;
+  private final String goal;
+  private final String systemPrompt;
+  private final List<ToolMetadata> tools;
+  private final String llmProvider;
+  private final String llmModelProperty;
+  private final boolean usesMemory;
+
+  /**
+   * @param name             the agent name
+   * @param goal             the agent description
+   * @param systemPrompt     the system message, or {@code null}
+   * @param tools            the tools available to the agent
+   * @param llmProvider      the chat model provider, or {@code null} if none is configured
+   * @param llmModelProperty the property holding the model name, or {@code null}
+   * @param usesMemory       whether the agent keeps a chat memory
+   */
+  @RecordableConstructor
+  public AgentDescriptor(String name, String goal, String systemPrompt, List<ToolMetadata> tools,
+      String llmProvider, String llmModelProperty, boolean usesMemory) {
+    this.name = name;
+    this.goal = goal;
+    this.systemPrompt = systemPrompt;
+    this.tools = tools;
+    this.llmProvider = llmProvider;
+    this.llmModelProperty = llmModelProperty;
+    this.usesMemory = usesMemory;
+  }
+
+  public AgentDescriptor(String name, String goal, String systemPrompt) {
+    this(name, goal, systemPrompt, List.of(), null, null, false);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getGoal() {
+    return goal;
+  }
+
+  public String getSystemPrompt() {
+    return systemPrompt;
+  }
+
+  public List<ToolMetadata> getTools() {
+    return tools;
+  }
+
+  public String getLlmProvider() {
+    return llmProvider;
+  }
+
+  public String getLlmModelProperty() {
+    return llmModelProperty;
+  }
+
+  public boolean isUsesMemory() {
+    return usesMemory;
+  }
+}
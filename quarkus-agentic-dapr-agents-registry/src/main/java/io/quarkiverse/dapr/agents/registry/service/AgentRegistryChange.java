@@ -0,0 +1,14 @@
+package io.quarkiverse.dapr.agents.registry.service;
+
+import io.quarkiverse.dapr.agents.registry.model.AgentMetadataSchema;
+
+/**
+ * Change notification published on the registry's broadcast topic when an agent entry is written,
+ * or when a replica renews its lease.
+ *
+ * @param team    the team whose registry changed
+ * @param agent   the entry as written, or {@code null}
+ * @param replica the renewed lease, or {@code null}
+ */
+public record AgentRegistryChange(String team, AgentMetadataSchema agent, ReplicaLease replica) {
+}
@@ -0,0 +1,184 @@
+package io.quarkiverse.dapr.agents.registry.service;
+
+import io.dapr.client.domain.QueryStateItem;
+import io.quarkiverse.dapr.agents.registry.model.AgentMetadataSchema;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory copy of a team's entries in the agent registry, keyed by agent name.
+ * <p>
+ * Entries arrive from the startup query, from change notifications and from the registry's own
+ * writes, in no guaranteed order: an entry only replaces one with an earlier {@code registered_at},
+ * so a notification received before the query completes is not overwritten by the older stored
+ * value. Every accepted entry is also indexed in an {@link AgentCapabilityIndex}.
+ * <p>
+ * The index also keeps the {@link ReplicaLease}s announced by heartbeats, dropping each one once
+ * it expires, and elects from them the replica of each application that renews its entries. An
+ * agent written by a {@link CatalystAgentRegistry} is evicted once no live lease lists it; agents
+ * of other frameworks announce no leases and are kept.
+ */
+final class AgentRegistryIndex {
+
+  private final ConcurrentMap<String, AgentMetadataSchema> agents = new ConcurrentHashMap<>();
+  private final AgentCapabilityIndex capabilities = new AgentCapabilityIndex();
+  private final ConcurrentMap<String, ReplicaLease> leases = new ConcurrentHashMap<>();
+
+  /** When each agent entered the index, so that an agent is not evicted before its lease arrives. */
+  private final ConcurrentMap<String, Instant> indexedAt = new ConcurrentHashMap<>();
+
+  /**
+   * Adds the entries of {@code items} stored under {@code keyPrefix}.
+   *
+   * @return the number of entries read
+   */
+  int load(List<QueryStateItem<AgentMetadataSchema>> items, String keyPrefix) {
+    int loaded = 0;
+    for (QueryStateItem<AgentMetadataSchema> item : items) {
+      if (item.getValue() != null && isUnder(item.getKey(), keyPrefix)) {
+        apply(item.getValue());
+        loaded++;
+      }
+    }
+    return loaded;
+  }
+
+  /**
+   * Adds {@code schema}, unless the index already holds a later entry of the same agent.
+   */
+  synchronized void apply(AgentMetadataSchema schema) {
+    if (schema.getName() == null) {
+      return;
+    }
+    AgentMetadataSchema kept = agents.merge(schema.getName(), schema,
+        (current, update) -> isLater(current, update) ? current : update);
+    if (kept == schema) {
+      capabilities.put(schema);
+      indexedAt.putIfAbsent(schema.getName(), Instant.now());
+    }
+  }
+
+  /**
+   * Removes the agents written by a {@link CatalystAgentRegistry} that no unexpired lease lists,
+   * once they have been in the index for {@code grace}.
+   *
+   * @return the names of the evicted agents
+   */
+  synchronized List<String> evictUnleased(Instant now, Duration grace) {
+    Set<String> leased = new HashSet<>();
+    for (ReplicaLease lease : leases.values()) {
+      if (lease.isExpiredAt(now)) {
+        leases.remove(lease.appId() + "/" + lease.replicaId(), lease);
+      } else if (lease.agents() != null) {
+        leased.addAll(lease.agents());
+      }
+    }
+    List<String> evicted = new ArrayList<>();
+    for (AgentMetadataSchema schema : agents.values()) {
+      String name = schema.getName();
+      Instant since = indexedAt.get(name);
+      if (isLeased(schema) && !leased.contains(name) && since != null && !since.plus(grace).isAfter(now)) {
+        agents.remove(name, schema);
+        capabilities.remove(name);
+        indexedAt.remove(name);
+        evicted.add(name);
+      }
+    }
+    return evicted;
+  }
+
+  Optional<AgentMetadataSchema> find(String name) {
+    return Optional.ofNullable(agents.get(name));
+  }
+
+  Collection<AgentMetadataSchema> all() {
+    return Collections.unmodifiableCollection(agents.values());
+  }
+
+  AgentCapabilityIndex capabilities() {
+    return capabilities;
+  }
+
+  /**
+   * Adds or renews {@code lease}, unless the index already holds a later renewal of it.
+   */
+  void applyLease(ReplicaLease lease) {
+    if (lease.appId() == null || lease.replicaId() == null || lease.renewedAt() == null) {
+      return;
+    }
+    leases.merge(lease.appId() + "/" + lease.replicaId(), lease,
+        (current, update) -> Instant.parse(current.renewedAt()).isAfter(Instant.parse(update.renewedAt()))
+            ? current : update);
+  }
+
+  /**
+   * Returns the unexpired leases of the replicas serving agent {@code name}, least loaded first.
+   */
+  List<ReplicaLease> replicas(String name, Instant now) {
+    List<ReplicaLease> replicas = new ArrayList<>();
+    for (ReplicaLease lease : leases.values()) {
+      if (lease.isExpiredAt(now)) {
+        leases.remove(lease.appId() + "/" + lease.replicaId(), lease);
+      } else if (lease.agents() != null && lease.agents().contains(name)) {
+        replicas.add(lease);
+      }
+    }
+    replicas.sort(Comparator.comparingInt(ReplicaLease::load));
+    return replicas;
+  }
+
+  /**
+   * Returns {@code true} if replica {@code replicaId} renews the entries of application
+   * {@code appId}: no unexpired lease of the application has a lower replica ID. Only meaningful
+   * when the leases of the other replicas are received, over pub/sub.
+   */
+  boolean isEntryWriter(String appId, String replicaId, Instant now) {
+    for (ReplicaLease lease : leases.values()) {
+      if (lease.appId().equals(appId) && !lease.isExpiredAt(now) && lease.replicaId().compareTo(replicaId) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Only the agents of registries that announce leases can be evicted for lack of one. */
+  private static boolean isLeased(AgentMetadataSchema schema) {
+    return schema.getAgent() != null && CatalystAgentRegistry.FRAMEWORK.equals(schema.getAgent().getFramework());
+  }
+
+  /**
+   * Query results may carry the key with the {@code <app-id>||} prefix Dapr stores it under.
+   */
+  private static boolean isUnder(String key, String keyPrefix) {
+    return key != null && (key.startsWith(keyPrefix) || key.contains("||" + keyPrefix));
+  }
+
+  private static boolean isLater(AgentMetadataSchema current, AgentMetadataSchema update) {
+    Instant currentAt = registeredAt(current);
+    Instant updateAt = registeredAt(update);
+    return currentAt != null && updateAt != null && currentAt.isAfter(updateAt);
+  }
+
+  private static Instant registeredAt(AgentMetadataSchema schema) {
+    if (schema.getRegisteredAt() == null) {
+      return null;
+    }
+    try {
+      return Instant.parse(schema.getRegisteredAt());
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+}
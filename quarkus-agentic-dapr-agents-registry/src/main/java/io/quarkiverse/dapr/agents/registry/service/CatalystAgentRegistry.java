@@ -1,37 +1,135 @@
 package io.quarkiverse.dapr.agents.registry.service;
 
-import dev.langchain4j.agentic.Agent;
-import dev.langchain4j.service.SystemMessage;
 import io.dapr.client.DaprClient;
+import io.dapr.client.DaprClientBuilder;
+import io.dapr.client.DaprPreviewClient;
+import io.dapr.client.domain.QueryStateResponse;
+import io.dapr.client.domain.State;
+import io.dapr.client.domain.StateOptions;
+import io.dapr.client.domain.query.Pagination;
+import io.dapr.client.domain.query.Query;
+import io.dapr.client.domain.query.filters.EqFilter;
+import io.dapr.utils.TypeRef;
 import io.quarkiverse.dapr.agents.registry.model.AgentMetadata;
 import io.quarkiverse.dapr.agents.registry.model.AgentMetadataSchema;
+import io.quarkiverse.dapr.agents.registry.model.LLMMetadata;
+import io.quarkiverse.dapr.agents.registry.model.MemoryMetadata;
+import io.quarkiverse.dapr.agents.registry.model.PubSubMetadata;
+import io.quarkiverse.dapr.langchain4j.agent.DaprIdGenerators;
 import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
-import jakarta.enterprise.inject.Any;
-import jakarta.enterprise.inject.spi.Bean;
-import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.ConfigProvider;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
-import java.lang.reflect.Method;
-import java.lang.reflect.Type;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
 
+/**
+ * Registers the application's {@code @Agent} methods in the Catalyst agent registry state store
+ * at startup.
+ * <p>
+ * The agents are discovered at build time, from the Jandex index, and recorded through
+ * {@link CatalystAgentRegistryRecorder}, together with their tools, LLM provider and memory use:
+ * startup only turns each {@link AgentDescriptor} into an {@link AgentMetadataSchema}, looking up
+ * the configured model name and {@code catalyst.memory.statestore}.
+ * <p>
+ * Registration runs off the startup path, so the application becomes ready without waiting for
+ * the state store. It reads the current entries in one {@code getBulkState} call and writes, in one
+ * {@code saveBulkState} call, only the schemas whose {@link SchemaContentHash} differs from the
+ * stored one: replicas of an unchanged application write nothing. Writes are first-write-wins
+ * against the ETag that was read, so when many replicas start at once only one of them writes an
+ * entry; the others fail the ETag check, read again and find the entry up to date. Entries are
+ * serialized by {@link SchemaJson} and saved as bytes.
+ * <p>
+ * A failed registration is retried with exponential backoff
+ * ({@code catalyst.registration.max-retries}, {@code catalyst.registration.retry-backoff}); once
+ * those retries are exhausted, it is attempted again every {@code catalyst.heartbeat.interval}
+ * until it succeeds, so a state store outage at startup does not leave the agents unregistered.
+ * {@link #getRegistrationStatus()} reports the outcome, and so does the
+ * {@link CatalystAgentRegistryHealthCheck} readiness check when SmallRye Health is present.
+ * <p>
+ * The registry also answers reads from a local index of the team's entries
+ * ({@link #findAgent(String)}, {@link #getAgents()}), so discovering agents for routing is a map
+ * lookup, and from an {@link AgentCapabilityIndex} of their tools and keywords
+ * ({@link #getCapabilities()}) for routing by capability. The index is filled at startup by one
+ * state store query, which needs a state store supporting the Dapr query API and only returns
+ * registry entries of the {@link #SCHEMA_VERSION} this registry writes, and kept current by
+ * the {@link AgentRegistryChange}s every registry publishes on
+ * {@code catalyst.pubsub.broadcast-topic} of {@code catalyst.pubsub.name} when it writes entries.
+ * Without a pub/sub component, the index only sees the startup query and this application's own
+ * writes.
+ * <p>
+ * Every {@code catalyst.heartbeat.interval}, each replica saves its own lease, a
+ * {@link ReplicaLease} with the {@link ReplicaLoad} of the replica that expires after
+ * {@code catalyst.lease.ttl}, and announces it on the broadcast topic, so that
+ * {@link #getReplicas(String)} lists the live replicas of an agent, least loaded first. That is
+ * one write of one key per replica. With a pub/sub component, the agent entries expire too, one
+ * heartbeat interval after the lease, so the entries of stopped applications and deleted agents go
+ * away; they are renewed by a single replica of the application, the live one with the lowest
+ * replica ID among the leases announced on the broadcast topic. It reads the entries and renews,
+ * in one bulk write, those still holding its content: an entry rewritten by another version of the
+ * agent is left to that version. When that replica stops, the next one takes over once its lease
+ * has expired, before the entries do. Each heartbeat also evicts from the index the agents no live
+ * lease lists anymore, so stopped applications and deleted agents disappear from
+ * {@link #getAgents()} and {@link #getCapabilities()} although no notification announces it.
+ * Without a pub/sub component, a replica only knows its own lease and cannot tell whether another
+ * one renews the entries, so the entries are written without a TTL and never renewed; only the
+ * leases expire. The replica ID is
+ * {@code catalyst.replica-id}, or else the pod name ({@code POD_NAME}, then {@code HOSTNAME}), so
+ * that a restarted pod renews the lease it held before.
+ */
 @ApplicationScoped
 public class CatalystAgentRegistry {
 
   private static final Logger LOG = Logger.getLogger(CatalystAgentRegistry.class);
 
-  @Inject
-  DaprClient client;
+  private static volatile List<AgentDescriptor> discoveredAgents = List.of();
+
+  /** Version of the registry schema of the entries written, and read by the startup query. */
+  static final String SCHEMA_VERSION = "0.11.1";
+
+  /** Framework of the entries written, whose agents announce replica leases. */
+  static final String FRAMEWORK = "langchain4j";
+
+  /** Entries read per page of the startup query. */
+  private static final int QUERY_PAGE_SIZE = 100;
+
+  /** Upper bound of the delay between attempts to resubscribe to change notifications. */
+  private static final Duration MAX_WATCH_BACKOFF = Duration.ofMinutes(1);
+
+  /**
+   * Progress of the startup registration.
+   */
+  public enum RegistrationStatus {
+    /** The agents are being saved, or the save is being retried. */
+    PENDING,
+    /** All agents were saved. */
+    REGISTERED,
+    /** The save failed after all retries; it is attempted again on the next heartbeat tick. */
+    FAILED
+  }
 
   @Inject
-  BeanManager beanManager;
+  DaprClient client;
 
   @ConfigProperty(name = "catalyst.statestore", defaultValue = "statestore")
   String statestore;
@@ -42,74 +140,593 @@ public class CatalystAgentRegistry {
   @ConfigProperty(name = "catalyst.team", defaultValue = "default")
   String team;
 
+  @ConfigProperty(name = "catalyst.memory.statestore")
+  Optional<String> memoryStatestore;
+
+  @ConfigProperty(name = "catalyst.pubsub.name")
+  Optional<String> pubsubName;
+
+  @ConfigProperty(name = "catalyst.pubsub.broadcast-topic", defaultValue = "agents-registry")
+  String broadcastTopic;
+
+  @ConfigProperty(name = "catalyst.heartbeat.enabled", defaultValue = "true")
+  boolean heartbeatEnabled;
+
+  @ConfigProperty(name = "catalyst.heartbeat.interval", defaultValue = "10s")
+  Duration heartbeatInterval;
+
+  @ConfigProperty(name = "catalyst.lease.ttl", defaultValue = "30s")
+  Duration leaseTtl;
+
+  @ConfigProperty(name = "catalyst.replica-id")
+  Optional<String> configuredReplicaId;
+
+  /** ID of this replica in its lease; see {@link #resolveReplicaId()}. */
+  String replicaId;
+
+  @Inject
+  Instance<ReplicaLoad> replicaLoad;
+
+  @ConfigProperty(name = "catalyst.registration.max-retries", defaultValue = "5")
+  int maxRetries;
+
+  @ConfigProperty(name = "catalyst.registration.retry-backoff", defaultValue = "1s")
+  Duration retryBackoff;
+
+  private volatile RegistrationStatus registrationStatus = RegistrationStatus.PENDING;
+  private volatile String registrationError;
+  private volatile int registeredAgents;
+  private volatile int unchangedAgents;
+  private volatile Disposable registration;
+
+  /** Client for the state query and subscription APIs; see {@link #previewClient()}. */
+  DaprPreviewClient previewClient;
+  private DaprPreviewClient ownedPreviewClient;
+
+  private final AgentRegistryIndex index = new AgentRegistryIndex();
+  private volatile boolean indexLoaded;
+  private volatile Disposable watch;
+
+  /** Entries renewed by the heartbeat. */
+  volatile List<AgentMetadataSchema> leasedSchemas = List.of();
+  private volatile Disposable heartbeat;
+
+  static void setDiscoveredAgents(List<AgentDescriptor> agents) {
+    discoveredAgents = List.copyOf(agents);
+  }
+
+  /**
+   * Returns the {@code @Agent} methods discovered at build time.
+   */
+  public static List<AgentDescriptor> getDiscoveredAgents() {
+    return discoveredAgents;
+  }
+
+  @PostConstruct
+  void resolveReplicaId() {
+    replicaId = replicaId(configuredReplicaId, System::getenv);
+  }
+
+  /**
+   * Returns the configured replica ID, else the pod name from {@code POD_NAME} or
+   * {@code HOSTNAME}, else a generated ID: from the Agentic Dapr extension's {@code DaprIdGenerator}
+   * when it is present, otherwise a random UUID.
+   */
+  static String replicaId(Optional<String> configured, UnaryOperator<String> env) {
+    for (String candidate : new String[] {configured.orElse(null), env.apply("POD_NAME"), env.apply("HOSTNAME")}) {
+      if (candidate != null && !candidate.isBlank()) {
+        return candidate.strip();
+      }
+    }
+    return GeneratedReplicaId.next();
+  }
+
   void onStartup(@Observes StartupEvent event) {
     discoverAndRegisterAgents();
+    watchAgents();
+    startHeartbeat();
   }
 
-  void discoverAndRegisterAgents() {
-    Set<Bean<?>> beans = beanManager.getBeans(Object.class, Any.Literal.INSTANCE);
-    for (Bean<?> bean : beans) {
-      for (Type type : bean.getTypes()) {
-        if (type instanceof Class<?> clazz && clazz.isInterface()) {
-          List<AgentMetadataSchema> agents = scanForAgents(clazz, appId);
-          for (AgentMetadataSchema schema : agents) {
-            try {
-              registerAgent(schema);
-            } catch (Exception e) {
-              LOG.warnf("Failed to register agent '%s': %s", schema.getName(), e.getMessage());
-            }
-          }
-        }
+  @PreDestroy
+  void cancelRegistration() {
+    for (Disposable pending : new Disposable[] {registration, watch, heartbeat}) {
+      if (pending != null) {
+        pending.dispose();
+      }
+    }
+    if (ownedPreviewClient != null) {
+      try {
+        ownedPreviewClient.close();
+      } catch (Exception e) {
+        LOG.debugf("Failed to close the Dapr preview client: %s", e.getMessage());
       }
     }
   }
 
-  static List<AgentMetadataSchema> scanForAgents(Class<?> type, String appId) {
-    List<AgentMetadataSchema> result = new ArrayList<>();
-    for (Method method : type.getMethods()) {
-      Agent agent = method.getAnnotation(Agent.class);
-      if (agent == null) {
+  void discoverAndRegisterAgents() {
+    PubSubMetadata pubsub = pubsubName
+        .map(name -> PubSubMetadata.builder().name(name).broadcastTopic(broadcastTopic).build())
+        .orElse(null);
+    List<AgentMetadataSchema> schemas = new ArrayList<>(discoveredAgents.size());
+    for (AgentDescriptor agent : discoveredAgents) {
+      schemas.add(toSchema(agent, appId, modelOf(agent), memoryStatestore.orElse(null), pubsub));
+    }
+    leasedSchemas = List.copyOf(schemas);
+    // Errors are recorded by registerAgents(); the empty consumer keeps Reactor from reporting them again.
+    registration = registerAgents(schemas).subscribe(null, e -> { });
+  }
+
+  /**
+   * Saves the schemas of {@code schemas} that differ from the stored entries, with a single bulk
+   * write, retried with exponential backoff. Nothing is read or written until the returned
+   * {@code Mono} is subscribed.
+   */
+  public Mono<Void> registerAgents(List<AgentMetadataSchema> schemas) {
+    if (schemas.isEmpty()) {
+      registrationStatus = RegistrationStatus.REGISTERED;
+      return Mono.empty();
+    }
+    List<String> keys = keys(schemas);
+    registrationStatus = RegistrationStatus.PENDING;
+    // Each attempt reads again: after an ETag conflict the entry is usually already up to date.
+    return Mono.defer(() -> client.getBulkState(statestore, keys, AgentMetadataSchema.class)
+            .flatMap(stored -> writeChanged(schemas, stored)))
+        .retryWhen(Retry.backoff(maxRetries, retryBackoff)
+            .doBeforeRetry(signal -> LOG.debugf("Retrying agent registration (attempt %d): %s",
+                signal.totalRetries() + 2, signal.failure().getMessage())))
+        .doOnError(e -> {
+          Throwable cause = Exceptions.isRetryExhausted(e) && e.getCause() != null ? e.getCause() : e;
+          registrationError = cause.getMessage();
+          registrationStatus = RegistrationStatus.FAILED;
+          LOG.warnf("Failed to register %d agent(s): %s", schemas.size(), cause.getMessage());
+        });
+  }
+
+  private Mono<Void> writeChanged(List<AgentMetadataSchema> schemas, List<State<AgentMetadataSchema>> stored) {
+    Map<String, State<AgentMetadataSchema>> storedByKey = new HashMap<>();
+    for (State<AgentMetadataSchema> state : stored) {
+      storedByKey.put(state.getKey(), state);
+    }
+    StateOptions firstWrite = new StateOptions(StateOptions.Consistency.STRONG, StateOptions.Concurrency.FIRST_WRITE);
+    List<AgentMetadataSchema> changed = new ArrayList<>();
+    List<State<?>> states = new ArrayList<>();
+    for (AgentMetadataSchema schema : schemas) {
+      String key = key(schema);
+      State<AgentMetadataSchema> current = storedByKey.get(key);
+      AgentMetadataSchema currentSchema = current == null ? null : current.getValue();
+      if (currentSchema != null && SchemaContentHash.of(schema).equals(SchemaContentHash.stored(currentSchema))) {
         continue;
       }
+      changed.add(schema);
+      states.add(new State<>(key, SchemaJson.write(schema), current == null ? null : current.getEtag(),
+          entryMetadata(), firstWrite));
+    }
+    int unchanged = schemas.size() - changed.size();
+    Mono<Void> write = changed.isEmpty() ? Mono.empty()
+        : client.saveBulkState(statestore, states).then(Mono.defer(() -> publishChanges(changed)));
+    return write.doOnSuccess(v -> {
+      registeredAgents = changed.size();
+      unchangedAgents = unchanged;
+      registrationError = null;
+      registrationStatus = RegistrationStatus.REGISTERED;
+      LOG.infof("Registered %d agent(s) in state store '%s' for team '%s', %d unchanged",
+          changed.size(), statestore, team, unchanged);
+    });
+  }
+
+  /**
+   * Adds the written entries to the local index and announces them on the broadcast topic. A failed
+   * publish is only logged: the entries are stored, and other registries see them on their next
+   * startup query.
+   */
+  private Mono<Void> publishChanges(List<AgentMetadataSchema> written) {
+    List<AgentRegistryChange> changes = new ArrayList<>(written.size());
+    for (AgentMetadataSchema schema : written) {
+      index.apply(schema);
+      changes.add(new AgentRegistryChange(team, schema, null));
+    }
+    return publish(changes);
+  }
+
+  private Mono<Void> publish(List<AgentRegistryChange> changes) {
+    if (pubsubName.isEmpty()) {
+      return Mono.empty();
+    }
+    return client.publishEvents(pubsubName.get(), broadcastTopic, "application/json", changes)
+        .doOnNext(response -> {
+          if (!response.getFailedEntries().isEmpty()) {
+            LOG.warnf("Failed to publish %d agent registry change(s) on topic '%s'",
+                response.getFailedEntries().size(), broadcastTopic);
+          }
+        })
+        .onErrorResume(e -> {
+          LOG.warnf("Failed to publish agent registry changes on topic '%s': %s", broadcastTopic, e.getMessage());
+          return Mono.empty();
+        })
+        .then();
+  }
 
-      String name = agent.name();
-      if (name == null || name.isBlank()) {
-        name = type.getSimpleName() + "." + method.getName();
+  /**
+   * Starts ticking every {@code catalyst.heartbeat.interval}: see {@link #tick()}. The ticks run
+   * even when {@code catalyst.heartbeat.enabled} is false, to retry a failed registration.
+   */
+  void startHeartbeat() {
+    if (heartbeatEnabled && leaseTtl.compareTo(heartbeatInterval) <= 0) {
+      LOG.warnf("catalyst.lease.ttl (%s) is not longer than catalyst.heartbeat.interval (%s), replica leases "
+          + "expire between heartbeats", leaseTtl, heartbeatInterval);
+    }
+    heartbeat = Flux.interval(heartbeatInterval)
+        .onBackpressureDrop()
+        .concatMap(tick -> tick())
+        .subscribe();
+  }
+
+  /**
+   * Renews the lease of this replica, and possibly the entries, once the registration succeeded,
+   * and registers the agents again, with the same retries, after a failed registration. Ticks
+   * arriving while an attempt is still retrying are dropped.
+   */
+  Mono<Void> tick() {
+    return switch (registrationStatus) {
+      case REGISTERED -> heartbeatEnabled ? heartbeat() : Mono.empty();
+      // Errors are recorded by registerAgents(); the registration stays FAILED until the next tick.
+      case FAILED -> registerAgents(leasedSchemas).onErrorResume(e -> Mono.empty());
+      case PENDING -> Mono.empty();
+    };
+  }
+
+  /**
+   * Saves and announces the lease of this replica, then, if this replica renews the application's
+   * entries (only with a pub/sub component), renews those still holding its content or missing. Failures are logged; the next
+   * heartbeat tries again.
+   */
+  Mono<Void> heartbeat() {
+    List<AgentMetadataSchema> schemas = leasedSchemas;
+    ReplicaLease lease = lease(schemas);
+    Mono<Void> renewLease = client.saveState(statestore, leaseKey(), null, lease, leaseMetadata(), null)
+        .then(Mono.fromRunnable(() -> index.applyLease(lease)))
+        .then(Mono.defer(() -> publish(List.of(new AgentRegistryChange(team, null, lease)))))
+        .onErrorResume(e -> {
+          LOG.warnf("Failed to renew the agent registry lease of replica %s: %s", lease.replicaId(), e.getMessage());
+          return Mono.empty();
+        });
+    return renewLease
+        .then(Mono.defer(() -> renewsEntries() && !schemas.isEmpty()
+            && index.isEntryWriter(appId, replicaId, Instant.now()) ? renewEntries(schemas) : Mono.empty()))
+        .then(Mono.fromRunnable(() -> evictUnleasedAgents(Instant.now())));
+  }
+
+  /**
+   * Evicts from the index the agents no live lease lists, once they have been indexed for as long
+   * as an entry lives: by then every live replica serving them has announced its lease. Only leases
+   * received over pub/sub are known, so without a pub/sub component nothing is evicted.
+   */
+  void evictUnleasedAgents(Instant now) {
+    if (pubsubName.isEmpty()) {
+      return;
+    }
+    for (String agent : index.evictUnleased(now, leaseTtl.plus(heartbeatInterval))) {
+      LOG.debugf("Evicted agent %s of team '%s' from the registry index: no live replica lease", agent, team);
+    }
+  }
+
+  /**
+   * Renews, in one bulk write, the entries of {@code schemas} still holding this application's
+   * content or missing.
+   */
+  private Mono<Void> renewEntries(List<AgentMetadataSchema> schemas) {
+    return client.getBulkState(statestore, keys(schemas), AgentMetadataSchema.class)
+        .map(stored -> renewals(schemas, stored, entryMetadata()))
+        .flatMap(states -> states.isEmpty() ? Mono.<Void>empty() : client.saveBulkState(statestore, states))
+        // An ETag conflict means another version of an agent rewrote its entry since the read.
+        .onErrorResume(e -> {
+          LOG.debugf("Agent entries of application %s not renewed: %s", appId, e.getMessage());
+          return Mono.empty();
+        });
+  }
+
+  private List<State<?>> renewals(List<AgentMetadataSchema> schemas, List<State<AgentMetadataSchema>> stored,
+      Map<String, String> metadata) {
+    Map<String, State<AgentMetadataSchema>> storedByKey = new HashMap<>();
+    for (State<AgentMetadataSchema> state : stored) {
+      storedByKey.put(state.getKey(), state);
+    }
+    StateOptions firstWrite = new StateOptions(StateOptions.Consistency.STRONG, StateOptions.Concurrency.FIRST_WRITE);
+    List<State<?>> states = new ArrayList<>();
+    for (AgentMetadataSchema schema : schemas) {
+      String key = key(schema);
+      State<AgentMetadataSchema> current = storedByKey.get(key);
+      AgentMetadataSchema currentSchema = current == null ? null : current.getValue();
+      if (currentSchema == null || SchemaContentHash.of(schema).equals(SchemaContentHash.stored(currentSchema))) {
+        states.add(new State<>(key, SchemaJson.write(schema), current == null ? null : current.getEtag(),
+            metadata, firstWrite));
       }
+    }
+    return states;
+  }
+
+  private ReplicaLease lease(List<AgentMetadataSchema> schemas) {
+    List<String> agents = new ArrayList<>(schemas.size());
+    for (AgentMetadataSchema schema : schemas) {
+      agents.add(schema.getName());
+    }
+    ReplicaLoad load = replicaLoad != null && replicaLoad.isResolvable() ? replicaLoad.get() : null;
+    Instant now = Instant.now();
+    return new ReplicaLease(appId, replicaId, agents,
+        load == null ? 0 : load.activeRuns(),
+        load == null ? 0 : load.queueDepth(),
+        now.toString(), now.plus(leaseTtl).toString());
+  }
+
+  private Map<String, String> leaseMetadata() {
+    return heartbeatEnabled ? Map.of("ttlInSeconds", String.valueOf(leaseTtl.toSeconds())) : Map.of();
+  }
+
+  /**
+   * Returns {@code true} if the heartbeats renew the agent entries, which then expire: only with a
+   * pub/sub component, whose lease announcements elect the single replica renewing them.
+   */
+  private boolean renewsEntries() {
+    return heartbeatEnabled && pubsubName.isPresent();
+  }
+
+  /**
+   * Agent entries outlive the leases by one heartbeat interval, so the replica taking over their
+   * renewal when a lease expires renews them before they expire.
+   */
+  private Map<String, String> entryMetadata() {
+    return renewsEntries()
+        ? Map.of("ttlInSeconds", String.valueOf(leaseTtl.plus(heartbeatInterval).toSeconds()))
+        : Map.of();
+  }
+
+  private String leaseKey() {
+    return "replicas:" + team + ":" + appId + ":" + replicaId;
+  }
+
+  /**
+   * Loads the team's entries into the local index and, when a pub/sub component is configured,
+   * follows the change notifications of other registries. A lost subscription is resumed with
+   * backoff, and the index is loaded again so that missed changes are picked up.
+   */
+  void watchAgents() {
+    DaprPreviewClient preview = previewClient();
+    Mono<Void> load = loadIndex(preview);
+    if (pubsubName.isEmpty()) {
+      watch = load.subscribe();
+      return;
+    }
+    Flux<AgentRegistryChange> changes = preview.subscribeToEvents(pubsubName.get(), broadcastTopic,
+        TypeRef.get(AgentRegistryChange.class));
+    watch = Mono.defer(() -> Mono.when(load, changes.doOnNext(this::onChange)))
+        .retryWhen(Retry.backoff(Long.MAX_VALUE, retryBackoff)
+            .maxBackoff(MAX_WATCH_BACKOFF)
+            .doBeforeRetry(signal -> LOG.debugf("Resubscribing to agent registry changes on topic '%s': %s",
+                broadcastTopic, signal.failure().getMessage())))
+        .subscribe(null, e -> { });
+  }
+
+  private Mono<Void> loadIndex(DaprPreviewClient preview) {
+    String keyPrefix = keyPrefix();
+    return Mono.defer(() -> queryPage(preview, null))
+        .expand(page -> page.getToken() == null || page.getToken().isEmpty() || page.getResults().isEmpty()
+            ? Mono.empty()
+            : queryPage(preview, page.getToken()))
+        .map(page -> index.load(page.getResults(), keyPrefix))
+        .reduce(0, Integer::sum)
+        .doOnNext(loaded -> {
+          indexLoaded = true;
+          LOG.debugf("Loaded %d agent(s) of team '%s' into the registry index", loaded, team);
+        })
+        .onErrorResume(e -> {
+          LOG.warnf("Failed to load the agent registry index from state store '%s': %s", statestore, e.getMessage());
+          return Mono.empty();
+        })
+        .then();
+  }
+
+  private Mono<QueryStateResponse<AgentMetadataSchema>> queryPage(DaprPreviewClient preview, String token) {
+    // Only registry entries: the state store may hold workflow state, memory and leases as well.
+    Query query = new Query()
+        .setFilter(new EqFilter<>("schema_version", SCHEMA_VERSION))
+        .setPagination(new Pagination(QUERY_PAGE_SIZE, token));
+    return preview.queryState(statestore, query, AgentMetadataSchema.class);
+  }
 
-      String goal = agent.description();
+  void onChange(AgentRegistryChange change) {
+    if (change == null || !team.equals(change.team())) {
+      return;
+    }
+    if (change.agent() != null) {
+      index.apply(change.agent());
+    }
+    if (change.replica() != null) {
+      index.applyLease(change.replica());
+    }
+  }
 
-      String systemPrompt = null;
-      SystemMessage sm = method.getAnnotation(SystemMessage.class);
-      if (sm != null) {
-        String delimiter = sm.delimiter();
-        String joined = String.join(delimiter, sm.value());
-        if (!joined.isBlank()) {
-          systemPrompt = joined;
-        }
+  /**
+   * Returns the client for the state query and subscription APIs: the injected client when it
+   * implements them, otherwise a client built from the Dapr SDK settings and closed with this bean.
+   */
+  private DaprPreviewClient previewClient() {
+    if (previewClient == null) {
+      if (client instanceof DaprPreviewClient preview) {
+        previewClient = preview;
+      } else {
+        ownedPreviewClient = new DaprClientBuilder().buildPreviewClient();
+        previewClient = ownedPreviewClient;
       }
+    }
+    return previewClient;
+  }
+
+  /**
+   * Returns the entry of agent {@code name} of this team from the local index.
+   */
+  public Optional<AgentMetadataSchema> findAgent(String name) {
+    return index.find(name);
+  }
 
-      AgentMetadataSchema schema = AgentMetadataSchema.builder()
-          .schemaVersion("0.11.1")
-          .name(name)
-          .registeredAt(Instant.now().toString())
-          .agent(AgentMetadata.builder()
-              .appId(appId)
-              .type("standalone")
-              .goal(goal)
-              .systemPrompt(systemPrompt)
-              .framework("langchain4j")
-              .build())
-          .build();
+  /**
+   * Returns the entries of this team's agents in the local index.
+   */
+  public Collection<AgentMetadataSchema> getAgents() {
+    return index.all();
+  }
+
+  /**
+   * Returns the index of this team's agents by tool and keyword, updated with the local index.
+   */
+  public AgentCapabilityIndex getCapabilities() {
+    return index.capabilities();
+  }
 
-      result.add(schema);
+  /**
+   * Returns the live replicas serving agent {@code name}, least loaded first. Only the leases
+   * announced since startup are known, so the list fills within one heartbeat interval.
+   */
+  public List<ReplicaLease> getReplicas(String name) {
+    return index.replicas(name, Instant.now());
+  }
+
+  /**
+   * Returns the ID this replica announces in its lease.
+   */
+  public String getReplicaId() {
+    return replicaId;
+  }
+
+  /**
+   * Returns {@code true} once the startup query has filled the local index.
+   */
+  public boolean isIndexLoaded() {
+    return indexLoaded;
+  }
+
+  public RegistrationStatus getRegistrationStatus() {
+    return registrationStatus;
+  }
+
+  /**
+   * Returns the error of the last failed registration, or {@code null}.
+   */
+  public String getRegistrationError() {
+    return registrationError;
+  }
+
+  /**
+   * Returns the number of agents written by the last successful registration.
+   */
+  public int getRegisteredAgents() {
+    return registeredAgents;
+  }
+
+  /**
+   * Returns the number of agents the last successful registration found already up to date.
+   */
+  public int getUnchangedAgents() {
+    return unchangedAgents;
+  }
+
+  private static String modelOf(AgentDescriptor agent) {
+    if (agent.getLlmModelProperty() == null) {
+      return null;
     }
-    return result;
+    return ConfigProvider.getConfig().getOptionalValue(agent.getLlmModelProperty(), String.class).orElse(null);
   }
 
+  /**
+   * Builds the registry entry of {@code agent}.
+   *
+   * @param model            the configured model name, or {@code null} if unknown
+   * @param memoryStatestore the state store holding agent memory, or {@code null} if memory is
+   *                         kept in process
+   * @param pubsub           the pub/sub component of the registry, or {@code null} if none
+   */
+  static AgentMetadataSchema toSchema(AgentDescriptor agent, String appId, String model, String memoryStatestore,
+      PubSubMetadata pubsub) {
+    AgentMetadataSchema.Builder builder = AgentMetadataSchema.builder()
+        .schemaVersion(SCHEMA_VERSION)
+        .name(agent.getName())
+        .registeredAt(Instant.now().toString())
+        .agent(AgentMetadata.builder()
+            .appId(appId)
+            .type("standalone")
+            .goal(agent.getGoal())
+            .systemPrompt(agent.getSystemPrompt())
+            .framework(FRAMEWORK)
+            .build());
+    if (!agent.getTools().isEmpty()) {
+      builder.tools(agent.getTools());
+    }
+    if (agent.getLlmProvider() != null) {
+      LLMMetadata.Builder llm = LLMMetadata.builder()
+          .client("langchain4j")
+          .provider(agent.getLlmProvider());
+      if (model != null) {
+        llm.model(model);
+      }
+      builder.llm(llm.build());
+    }
+    if (pubsub != null) {
+      builder.pubsub(pubsub);
+    }
+    if (agent.isUsesMemory()) {
+      builder.memory(MemoryMetadata.builder()
+          .type(memoryStatestore != null ? "ConversationDaprStateMemory" : "ConversationListMemory")
+          .statestore(memoryStatestore)
+          .build());
+    }
+    return builder
+        .agentMetadata(Map.of(SchemaContentHash.KEY, SchemaContentHash.of(builder.build())))
+        .build();
+  }
+
+  /**
+   * Saves {@code schema} and renews it with the application's other entries from then on.
+   */
   public void registerAgent(AgentMetadataSchema schema) {
-    String key = "agents:" + team + ":" + schema.getName();
+    String key = key(schema);
     LOG.infof("Registering agent: %s", key);
-    client.saveState(statestore, key, schema).block();
+    client.saveState(statestore, key, null, SchemaJson.write(schema), entryMetadata(), null).block();
+    List<AgentMetadataSchema> schemas = new ArrayList<>(leasedSchemas);
+    schemas.removeIf(leased -> leased.getName().equals(schema.getName()));
+    schemas.add(schema);
+    leasedSchemas = List.copyOf(schemas);
+  }
+
+  private List<String> keys(List<AgentMetadataSchema> schemas) {
+    List<String> keys = new ArrayList<>(schemas.size());
+    for (AgentMetadataSchema schema : schemas) {
+      keys.add(key(schema));
+    }
+    return keys;
+  }
+
+  private String key(AgentMetadataSchema schema) {
+    return keyPrefix() + schema.getName();
+  }
+
+  private String keyPrefix() {
+    return "agents:" + team + ":";
+  }
+
+  /**
+   * Generates a replica ID without referencing the Agentic Dapr extension, an optional dependency,
+   * unless it is present.
+   */
+  private static final class GeneratedReplicaId {
+
+    private static final String ID_GENERATORS = "io.quarkiverse.dapr.langchain4j.agent.DaprIdGenerators";
+
+    static String next() {
+      try {
+        Class.forName(ID_GENERATORS, false, GeneratedReplicaId.class.getClassLoader());
+      } catch (ClassNotFoundException e) {
+        return UUID.randomUUID().toString();
+      }
+      return DaprIdGenerators.get().nextRunId();
+    }
   }
 }
@@ -0,0 +1,39 @@
+package io.quarkiverse.dapr.agents.registry.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Readiness check reporting the startup registration of {@link CatalystAgentRegistry}.
+ * <p>
+ * The check is always up and reports the status as data: the application serves its agents
+ * without the registry, and a failed registration is attempted again in the background, so a
+ * state store outage must not take the replica out of service.
+ * Registered as a bean only when the SmallRye Health extension is present.
+ */
+@Readiness
+@ApplicationScoped
+public class CatalystAgentRegistryHealthCheck implements HealthCheck {
+
+  @Inject
+  CatalystAgentRegistry registry;
+
+  @Override
+  public HealthCheckResponse call() {
+    CatalystAgentRegistry.RegistrationStatus status = registry.getRegistrationStatus();
+    HealthCheckResponseBuilder response = HealthCheckResponse.named("Catalyst agent registry")
+        .up()
+        .withData("status", status.name())
+        .withData("agents", registry.getRegisteredAgents())
+        .withData("unchanged", registry.getUnchangedAgents())
+        .withData("indexed", registry.getAgents().size());
+    if (registry.getRegistrationError() != null) {
+      response.withData("error", registry.getRegistrationError());
+    }
+    return response.build();
+  }
+}
@@ -0,0 +1,16 @@
+package io.quarkiverse.dapr.agents.registry.service;
+
+import io.quarkus.runtime.annotations.Recorder;
+
+import java.util.List;
+
+/**
+ * Hands the {@code @Agent} methods discovered at build time to {@link CatalystAgentRegistry}.
+ */
+@Recorder
+public class CatalystAgentRegistryRecorder {
+
+  public void setAgents(List<AgentDescriptor> agents) {
+    CatalystAgentRegistry.setDiscoveredAgents(agents);
+  }
+}
@@ -0,0 +1,28 @@
+package io.quarkiverse.dapr.agents.registry.service;
+
+import io.quarkiverse.dapr.langchain4j.agent.DaprAgentRunRegistry;
+import io.quarkiverse.dapr.langchain4j.audit.AgentAuditPipeline;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * {@link ReplicaLoad} of an application using the Agentic Dapr extension: the runs registered in
+ * {@link DaprAgentRunRegistry}, and the audit records of {@code record-only} runs not yet written.
+ * Registered as a bean only when the extension is present.
+ */
+@ApplicationScoped
+public class DaprAgentRunLoad implements ReplicaLoad {
+
+  @Inject
+  AgentAuditPipeline auditPipeline;
+
+  @Override
+  public int activeRuns() {
+    return DaprAgentRunRegistry.size();
+  }
+
+  @Override
+  public int queueDepth() {
+    return auditPipeline.getBuffer().getPending();
+  }
+}
@@ -0,0 +1,38 @@
+package io.quarkiverse.dapr.agents.registry.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Lease of one application replica serving agents of the registry, renewed by its heartbeat and
+ * carrying its load at the time.
+ *
+ * @param appId      the Dapr app ID of the replica
+ * @param replicaId  the ID of the replica within its application
+ * @param agents     the names of the agents the replica serves
+ * @param activeRuns the number of agent runs in progress on the replica
+ * @param queueDepth the number of records waiting in the replica's queues
+ * @param renewedAt  when the lease was renewed, as an ISO-8601 instant
+ * @param expiresAt  when the lease expires unless renewed, as an ISO-8601 instant
+ */
+public record ReplicaLease(
+    @JsonProperty("app_id") String appId,
+    @JsonProperty("replica_id") String replicaId,
+    @JsonProperty("agents") List<String> agents,
+    @JsonProperty("active_runs") int activeRuns,
+    @JsonProperty("queue_depth") int queueDepth,
+    @JsonProperty("renewed_at") String renewedAt,
+    @JsonProperty("expires_at") String expiresAt) {
+
+  /** Returns {@code true} if the lease was not renewed before {@code now}. */
+  public boolean isExpiredAt(Instant now) {
+    return expiresAt == null || !Instant.parse(expiresAt).isAfter(now);
+  }
+
+  /** Returns the load hint used to order replicas: active runs plus queued records. */
+  public int load() {
+    return activeRuns + queueDepth;
+  }
+}
@@ -0,0 +1,14 @@
+package io.quarkiverse.dapr.agents.registry.service;
+
+/**
+ * Load of this replica, reported in its {@link ReplicaLease} on every heartbeat of
+ * {@link CatalystAgentRegistry}. Implemented by a bean; without one, the lease reports no load.
+ */
+public interface ReplicaLoad {
+
+  /** Returns the number of agent runs in progress. */
+  int activeRuns();
+
+  /** Returns the number of records waiting to be written or processed. */
+  int queueDepth();
+}
@@ -0,0 +1,66 @@
+package io.quarkiverse.dapr.agents.registry.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.quarkiverse.dapr.agents.registry.model.AgentMetadataSchema;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Content hash of an {@link AgentMetadataSchema}, stored in its {@code agent_metadata} under
+ * {@link #KEY} so that replicas can tell whether a registry entry needs rewriting.
+ * <p>
+ * The hash is the SHA-256 of the schema serialized with sorted properties, leaving out
+ * {@code registered_at} and the hash itself: two registrations of the same agent hash equally.
+ */
+public final class SchemaContentHash {
+
+  /** Key of the hash in {@link AgentMetadataSchema#getAgentMetadata()}. */
+  public static final String KEY = "content_hash";
+
+  private static final ObjectMapper MAPPER = JsonMapper.builder()
+      .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+      .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+      .build();
+
+  private SchemaContentHash() {
+  }
+
+  /**
+   * Computes the content hash of {@code schema}.
+   */
+  public static String of(AgentMetadataSchema schema) {
+    ObjectNode tree = MAPPER.valueToTree(schema);
+    tree.remove("registered_at");
+    if (tree.get("agent_metadata") instanceof ObjectNode metadata) {
+      metadata.remove(KEY);
+      if (metadata.isEmpty()) {
+        tree.remove("agent_metadata");
+      }
+    }
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+          .digest(MAPPER.writeValueAsString(tree).getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+      throw new IllegalStateException("Cannot hash agent schema " + schema.getName(), e);
+    }
+  }
+
+  /**
+   * Returns the hash stored in {@code schema}, or {@code null} if it has none.
+   */
+  public static String stored(AgentMetadataSchema schema) {
+    Map<String, Object> metadata = schema.getAgentMetadata();
+    Object hash = metadata == null ? null : metadata.get(KEY);
+    return hash instanceof String value ? value : null;
+  }
+}
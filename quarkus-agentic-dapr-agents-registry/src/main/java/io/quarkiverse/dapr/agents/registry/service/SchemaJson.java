@@ -0,0 +1,36 @@
+package io.quarkiverse.dapr.agents.registry.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.quarkiverse.dapr.agents.registry.model.AgentMetadataSchema;
+
+/**
+ * JSON form of the registry entries, written by an {@link ObjectWriter} built once for
+ * {@link AgentMetadataSchema}.
+ * <p>
+ * The registry hands the resulting bytes to the state store as they are, since the Dapr
+ * serializer passes {@code byte[]} values through, instead of having the client serialize the
+ * schema on every save. Like the Dapr default serializer, the writer leaves out null properties,
+ * so the stored JSON is unchanged.
+ */
+final class SchemaJson {
+
+  private static final JsonMapper MAPPER = JsonMapper.builder()
+      .serializationInclusion(JsonInclude.Include.NON_NULL)
+      .build();
+
+  private static final ObjectWriter WRITER = MAPPER.writerFor(AgentMetadataSchema.class);
+
+  private SchemaJson() {
+  }
+
+  static byte[] write(AgentMetadataSchema schema) {
+    try {
+      return WRITER.writeValueAsBytes(schema);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize agent schema " + schema.getName(), e);
+    }
+  }
+}
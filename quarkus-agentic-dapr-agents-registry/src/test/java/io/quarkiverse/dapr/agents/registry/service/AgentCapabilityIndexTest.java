@@ -0,0 +1,96 @@
+package io.quarkiverse.dapr.agents.registry.service;
+
+import io.quarkiverse.dapr.agents.registry.model.AgentMetadata;
+import io.quarkiverse.dapr.agents.registry.model.AgentMetadataSchema;
+import io.quarkiverse.dapr.agents.registry.model.ToolMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgentCapabilityIndexTest {
+
+    private static AgentMetadataSchema agent(String name, String goal, ToolMetadata... tools) {
+        return AgentMetadataSchema.builder()
+                .schemaVersion("0.11.1")
+                .name(name)
+                .registeredAt("2026-01-01T00:00:00Z")
+                .agent(AgentMetadata.builder().appId("app").type("standalone").goal(goal).build())
+                .tools(tools.length == 0 ? null : List.of(tools))
+                .build();
+    }
+
+    private static ToolMetadata tool(String name, String description) {
+        return new ToolMetadata(name, description, "{\"type\":\"object\"}");
+    }
+
+    @Test
+    void agentsAreFoundByToolAndKeyword() {
+        AgentCapabilityIndex index = new AgentCapabilityIndex();
+        index.put(agent("researcher", "Research the population of countries",
+                tool("getPopulation", "Looks up census data")));
+        index.put(agent("writer", "Write a short story"));
+
+        assertThat(index.agentsWithTool("getpopulation")).containsExactly("researcher");
+        assertThat(index.agentsWithKeyword("Population")).containsExactly("researcher");
+        assertThat(index.agentsWithKeyword("census")).containsExactly("researcher");
+        assertThat(index.agentsWithKeyword("story")).containsExactly("writer");
+        assertThat(index.agentsWithKeyword("the")).isEmpty();
+    }
+
+    @Test
+    void matchRanksAgentsByKeywordsAndTools() {
+        AgentCapabilityIndex index = new AgentCapabilityIndex();
+        index.put(agent("researcher", "Research the population of countries",
+                tool("getPopulation", "Looks up census data")));
+        index.put(agent("geographer", "Describe countries and their capitals"));
+        index.put(agent("writer", "Write a short story"));
+
+        assertThat(index.match("Call getPopulation for the population of these countries", 10))
+                .containsExactly("researcher", "geographer");
+        assertThat(index.match("countries", 1)).containsExactly("geographer");
+        assertThat(index.match("weather forecast", 10)).isEmpty();
+    }
+
+    @Test
+    void matchFindsToolNamesWithSeparators() {
+        AgentCapabilityIndex index = new AgentCapabilityIndex();
+        index.put(agent("forecaster", "Forecast tomorrow", tool("get_weather", "Reads a station")));
+        index.put(agent("translator", "Translate documents", tool("translate-text", "Translates text")));
+        index.put(agent("writer", "Write a short story"));
+
+        assertThat(index.match("Use get_weather for Paris.", 10)).containsExactly("forecaster");
+        assertThat(index.match("Call (translate-text) on this", 10)).containsExactly("translator");
+        // The parts of a tool name are not the tool.
+        assertThat(index.match("weather", 10)).isEmpty();
+    }
+
+    @Test
+    void updatedAgentIsReindexed() {
+        AgentCapabilityIndex index = new AgentCapabilityIndex();
+        index.put(agent("assistant", "Translate documents", tool("translate", "Translates text")));
+        index.put(agent("assistant", "Summarize documents", tool("summarize", "Summarizes text")));
+
+        assertThat(index.agentsWithTool("translate")).isEmpty();
+        assertThat(index.agentsWithKeyword("translate")).isEmpty();
+        assertThat(index.agentsWithTool("summarize")).containsExactly("assistant");
+        assertThat(index.agentsWithKeyword("documents")).containsExactly("assistant");
+    }
+
+    @Test
+    void removedAgentIsNoLongerFound() {
+        AgentCapabilityIndex index = new AgentCapabilityIndex();
+        index.put(agent("researcher", "Research the population of countries",
+                tool("getPopulation", "Looks up census data")));
+        index.put(agent("geographer", "Describe countries and their capitals"));
+
+        index.remove("researcher");
+        index.remove("unknown");
+
+        assertThat(index.agentsWithTool("getpopulation")).isEmpty();
+        assertThat(index.agentsWithKeyword("census")).isEmpty();
+        assertThat(index.agentsWithKeyword("countries")).containsExactly("geographer");
+        assertThat(index.match("population of countries", 10)).containsExactly("geographer");
+    }
+}
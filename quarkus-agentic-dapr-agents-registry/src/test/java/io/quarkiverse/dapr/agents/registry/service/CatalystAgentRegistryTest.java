@@ -1,128 +1,535 @@
 package io.quarkiverse.dapr.agents.registry.service;
 
-import dev.langchain4j.agentic.Agent;
-import dev.langchain4j.service.SystemMessage;
+import io.dapr.client.DaprClient;
+import io.dapr.client.DaprPreviewClient;
+import io.dapr.client.domain.BulkPublishResponse;
+import io.dapr.client.domain.QueryStateItem;
+import io.dapr.client.domain.QueryStateResponse;
+import io.dapr.client.domain.State;
+import io.dapr.client.domain.StateOptions;
+import io.dapr.client.domain.query.Query;
+import io.dapr.client.domain.query.filters.EqFilter;
+import io.dapr.serializer.DefaultObjectSerializer;
+import io.dapr.utils.TypeRef;
+import io.quarkiverse.dapr.agents.registry.model.AgentMetadata;
 import io.quarkiverse.dapr.agents.registry.model.AgentMetadataSchema;
+import io.quarkiverse.dapr.agents.registry.model.PubSubMetadata;
+import io.quarkiverse.dapr.agents.registry.model.ToolMetadata;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class CatalystAgentRegistryTest {
 
     private static final String APP_ID = "test-app";
 
-    // --- Test interfaces ---
-    // Note: @Agent methods use no parameters to avoid validation errors from
-    // the langchain4j AgenticProcessor deployment step during @QuarkusTest runs.
-
-    interface SimpleAgent {
-        @Agent(name = "my-agent", description = "A simple agent")
-        String chat();
-    }
-
-    interface AgentWithPrompts {
-        @Agent(name = "prompted-agent", description = "Agent with prompts")
-        @SystemMessage("You are a helpful assistant.")
-        String ask();
+    private static CatalystAgentRegistry registry(DaprClient client, int maxRetries) {
+        CatalystAgentRegistry registry = new CatalystAgentRegistry();
+        registry.client = client;
+        registry.statestore = "statestore";
+        registry.team = "team";
+        registry.appId = APP_ID;
+        registry.maxRetries = maxRetries;
+        registry.retryBackoff = Duration.ofMillis(1);
+        registry.pubsubName = Optional.empty();
+        registry.broadcastTopic = "agents-registry";
+        registry.heartbeatEnabled = true;
+        registry.heartbeatInterval = Duration.ofSeconds(10);
+        registry.leaseTtl = Duration.ofSeconds(30);
+        registry.replicaId = "replica-1";
+        return registry;
     }
 
-    interface AgentWithDefaultName {
-        @Agent(description = "Agent with no explicit name")
-        String doWork();
+    private static AgentMetadataSchema schema(AgentDescriptor agent) {
+        return CatalystAgentRegistry.toSchema(agent, APP_ID, null, null, null);
     }
 
-    interface NoAgentInterface {
-        String regularMethod();
+    private static void stored(DaprClient client, List<State<AgentMetadataSchema>> states) {
+        when(client.getBulkState(eq("statestore"), anyList(), eq(AgentMetadataSchema.class)))
+                .thenReturn(Mono.just(states));
     }
 
-    interface MultipleAgentMethods {
-        @Agent(name = "agent-one", description = "First agent")
-        String first();
-
-        @Agent(name = "agent-two", description = "Second agent")
-        @SystemMessage("You are agent two.")
-        String second();
+    private static List<AgentMetadataSchema> schemas() {
+        return List.of(
+                schema(new AgentDescriptor("a", "A", null)),
+                schema(new AgentDescriptor("b", "B", null)));
     }
 
-    // --- Tests ---
-
     @Test
-    void simpleAgentDiscovery() {
-        List<AgentMetadataSchema> agents = CatalystAgentRegistry.scanForAgents(SimpleAgent.class, APP_ID);
+    void schemaCarriesDescriptorAndApplicationMetadata() {
+        AgentMetadataSchema schema = schema(
+                new AgentDescriptor("prompted-agent", "Agent with prompts", "You are a helpful assistant."));
 
-        assertThat(agents).hasSize(1);
-        AgentMetadataSchema schema = agents.get(0);
         assertThat(schema.getSchemaVersion()).isEqualTo("0.11.1");
-        assertThat(schema.getName()).isEqualTo("my-agent");
-        assertThat(schema.getAgent().getGoal()).isEqualTo("A simple agent");
+        assertThat(schema.getName()).isEqualTo("prompted-agent");
+        assertThat(schema.getAgent().getGoal()).isEqualTo("Agent with prompts");
+        assertThat(schema.getAgent().getSystemPrompt()).isEqualTo("You are a helpful assistant.");
         assertThat(schema.getAgent().getAppId()).isEqualTo(APP_ID);
         assertThat(schema.getAgent().getType()).isEqualTo("standalone");
         assertThat(schema.getAgent().getFramework()).isEqualTo("langchain4j");
-        assertThat(schema.getAgent().getSystemPrompt()).isNull();
         assertThat(schema.getRegisteredAt()).isNotBlank();
     }
 
     @Test
-    void agentWithPromptsExtractsSystemMessage() {
-        List<AgentMetadataSchema> agents = CatalystAgentRegistry.scanForAgents(AgentWithPrompts.class, APP_ID);
+    void schemaWithoutSystemPrompt() {
+        AgentMetadataSchema schema = schema(new AgentDescriptor("my-agent", "A simple agent", null));
 
-        assertThat(agents).hasSize(1);
-        AgentMetadataSchema schema = agents.get(0);
-        assertThat(schema.getName()).isEqualTo("prompted-agent");
-        assertThat(schema.getAgent().getGoal()).isEqualTo("Agent with prompts");
-        assertThat(schema.getAgent().getSystemPrompt()).isEqualTo("You are a helpful assistant.");
-        assertThat(schema.getAgent().getFramework()).isEqualTo("langchain4j");
+        assertThat(schema.getAgent().getSystemPrompt()).isNull();
+    }
+
+    @Test
+    void schemaCarriesToolsLlmAndMemory() {
+        ToolMetadata tool = new ToolMetadata("getPopulation", "Looks up population data",
+                "{\"type\":\"object\",\"properties\":{\"country\":{\"type\":\"string\"}}}");
+        AgentDescriptor agent = new AgentDescriptor("researcher", "Researches", null, List.of(tool),
+                "openai", "quarkus.langchain4j.openai.chat-model.model-name", true);
+
+        AgentMetadataSchema schema = CatalystAgentRegistry.toSchema(agent, APP_ID, "gpt-4o-mini", "kvstore",
+                PubSubMetadata.builder().name("pubsub").broadcastTopic("agents-registry").build());
+
+        assertThat(schema.getTools()).containsExactly(tool);
+        assertThat(schema.getLlm().getProvider()).isEqualTo("openai");
+        assertThat(schema.getLlm().getModel()).isEqualTo("gpt-4o-mini");
+        assertThat(schema.getMemory().getType()).isEqualTo("ConversationDaprStateMemory");
+        assertThat(schema.getMemory().getStatestore()).isEqualTo("kvstore");
+        assertThat(schema.getPubsub().getName()).isEqualTo("pubsub");
+        assertThat(schema.getPubsub().getBroadcastTopic()).isEqualTo("agents-registry");
+    }
+
+    @Test
+    void schemaWithoutLlmOrMemory() {
+        AgentMetadataSchema schema = schema(new AgentDescriptor("my-agent", "A simple agent", null));
+
+        assertThat(schema.getTools()).isNull();
+        assertThat(schema.getLlm()).isNull();
+        assertThat(schema.getMemory()).isNull();
+        assertThat(schema.getPubsub()).isNull();
+    }
+
+    @Test
+    void schemaJsonMatchesDaprSerializer() throws IOException {
+        ToolMetadata tool = new ToolMetadata("getPopulation", "Looks up population data", "{\"type\":\"object\"}");
+        AgentMetadataSchema schema = CatalystAgentRegistry.toSchema(
+                new AgentDescriptor("researcher", "Researches", "Be precise.", List.of(tool), "openai", null, true),
+                APP_ID, "gpt-4o-mini", null, PubSubMetadata.builder().name("pubsub").build());
+
+        assertThat(new String(SchemaJson.write(schema), StandardCharsets.UTF_8))
+                .isEqualTo(new String(new DefaultObjectSerializer().serialize(schema), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void agentsAreSavedInOneBulkWriteAfterRetry() {
+        DaprClient client = mock(DaprClient.class);
+        stored(client, List.of());
+        when(client.saveBulkState(eq("statestore"), anyList()))
+                .thenReturn(Mono.error(new IllegalStateException("store unavailable")), Mono.empty());
+        CatalystAgentRegistry registry = registry(client, 3);
+
+        registry.registerAgents(schemas()).block();
+
+        verify(client, times(2)).getBulkState(eq("statestore"), anyList(), eq(AgentMetadataSchema.class));
+        verify(client, times(2)).saveBulkState(eq("statestore"), anyList());
+        assertThat(registry.getRegistrationStatus()).isEqualTo(CatalystAgentRegistry.RegistrationStatus.REGISTERED);
+        assertThat(registry.getRegisteredAgents()).isEqualTo(2);
+        assertThat(registry.getRegistrationError()).isNull();
+    }
+
+    @Test
+    void exhaustedRetriesReportFailure() {
+        DaprClient client = mock(DaprClient.class);
+        stored(client, List.of());
+        when(client.saveBulkState(eq("statestore"), anyList()))
+                .thenReturn(Mono.error(new IllegalStateException("store unavailable")));
+        CatalystAgentRegistry registry = registry(client, 1);
+
+        assertThatThrownBy(() -> registry.registerAgents(schemas()).block());
+
+        verify(client, times(2)).saveBulkState(eq("statestore"), anyList());
+        assertThat(registry.getRegistrationStatus()).isEqualTo(CatalystAgentRegistry.RegistrationStatus.FAILED);
+        assertThat(registry.getRegistrationError()).isEqualTo("store unavailable");
+    }
+
+    @Test
+    void failedRegistrationIsAttemptedAgainOnTheNextTick() {
+        DaprClient client = mock(DaprClient.class);
+        stored(client, List.of());
+        when(client.saveBulkState(eq("statestore"), anyList()))
+                .thenReturn(Mono.error(new IllegalStateException("store unavailable")), Mono.empty());
+        CatalystAgentRegistry registry = registry(client, 0);
+        registry.leasedSchemas = schemas();
+        assertThatThrownBy(() -> registry.registerAgents(registry.leasedSchemas).block());
+        assertThat(registry.getRegistrationStatus()).isEqualTo(CatalystAgentRegistry.RegistrationStatus.FAILED);
+
+        registry.tick().block();
+
+        verify(client, times(2)).saveBulkState(eq("statestore"), anyList());
+        assertThat(registry.getRegistrationStatus()).isEqualTo(CatalystAgentRegistry.RegistrationStatus.REGISTERED);
+        assertThat(registry.getRegistrationError()).isNull();
+        // The lease is only renewed once registered.
+        verify(client, never()).saveState(any(), any(), any(), any(), anyMap(), any());
+    }
+
+    @Test
+    void contentHashIgnoresRegistrationTime() throws InterruptedException {
+        AgentMetadataSchema first = schema(new AgentDescriptor("a", "A", null));
+        Thread.sleep(2);
+        AgentMetadataSchema second = schema(new AgentDescriptor("a", "A", null));
+        AgentMetadataSchema changed = schema(new AgentDescriptor("a", "Other goal", null));
+
+        assertThat(second.getRegisteredAt()).isNotEqualTo(first.getRegisteredAt());
+        assertThat(SchemaContentHash.stored(second)).isEqualTo(SchemaContentHash.stored(first));
+        assertThat(SchemaContentHash.of(second)).isEqualTo(SchemaContentHash.stored(first));
+        assertThat(SchemaContentHash.stored(changed)).isNotEqualTo(SchemaContentHash.stored(first));
+    }
+
+    @Test
+    void unchangedSchemasAreNotWritten() {
+        DaprClient client = mock(DaprClient.class);
+        List<AgentMetadataSchema> previous = schemas();
+        stored(client, List.of(
+                new State<>("agents:team:a", previous.get(0), "1"),
+                new State<>("agents:team:b", previous.get(1), "1")));
+        CatalystAgentRegistry registry = registry(client, 0);
+
+        registry.registerAgents(schemas()).block();
+
+        verify(client, never()).saveBulkState(eq("statestore"), anyList());
+        assertThat(registry.getRegistrationStatus()).isEqualTo(CatalystAgentRegistry.RegistrationStatus.REGISTERED);
+        assertThat(registry.getRegisteredAgents()).isEqualTo(0);
+        assertThat(registry.getUnchangedAgents()).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void changedSchemaIsWrittenFirstWriteWinsAgainstStoredEtag() {
+        DaprClient client = mock(DaprClient.class);
+        AgentMetadataSchema outdated = schema(new AgentDescriptor("a", "Old goal", null));
+        AgentMetadataSchema current = schema(new AgentDescriptor("b", "B", null));
+        stored(client, List.of(
+                new State<>("agents:team:a", outdated, "7"),
+                new State<>("agents:team:b", current, "3")));
+        when(client.saveBulkState(eq("statestore"), anyList())).thenReturn(Mono.empty());
+        CatalystAgentRegistry registry = registry(client, 0);
+
+        registry.registerAgents(schemas()).block();
+
+        ArgumentCaptor<List<State<?>>> written = ArgumentCaptor.forClass(List.class);
+        verify(client).saveBulkState(eq("statestore"), written.capture());
+        assertThat(written.getValue()).hasSize(1);
+        State<?> state = written.getValue().get(0);
+        assertThat(state.getKey()).isEqualTo("agents:team:a");
+        assertThat(state.getValue()).isInstanceOf(byte[].class);
+        assertThat(state.getEtag()).isEqualTo("7");
+        assertThat(state.getOptions().getConcurrency()).isEqualTo(StateOptions.Concurrency.FIRST_WRITE);
+        // Without pub/sub no replica renews the entries, so they do not expire.
+        assertThat(state.getMetadata()).isEmpty();
+        assertThat(registry.getRegisteredAgents()).isEqualTo(1);
+        assertThat(registry.getUnchangedAgents()).isEqualTo(1);
+    }
+
+    private static AgentMetadataSchema registeredAt(AgentMetadataSchema schema, Instant instant) {
+        return AgentMetadataSchema.builder()
+                .schemaVersion(schema.getSchemaVersion())
+                .name(schema.getName())
+                .registeredAt(instant.toString())
+                .agent(schema.getAgent())
+                .build();
+    }
+
+    private static void queried(DaprPreviewClient preview, List<QueryStateItem<AgentMetadataSchema>> items) {
+        when(preview.queryState(eq("statestore"), any(Query.class), eq(AgentMetadataSchema.class)))
+                .thenReturn(Mono.just(new QueryStateResponse<>(items, null)));
     }
 
     @Test
-    void agentWithDefaultNameFallsBackToClassAndMethod() {
-        List<AgentMetadataSchema> agents = CatalystAgentRegistry.scanForAgents(AgentWithDefaultName.class, APP_ID);
+    void indexIsLoadedWithOneQueryAndScopedToTeam() {
+        DaprPreviewClient preview = mock(DaprPreviewClient.class);
+        queried(preview, List.of(
+                new QueryStateItem<>("agents:team:a", schema(new AgentDescriptor("a", "A", null)), "1"),
+                new QueryStateItem<>("agents:other:b", schema(new AgentDescriptor("b", "B", null)), "1")));
+        CatalystAgentRegistry registry = registry(mock(DaprClient.class), 0);
+        registry.previewClient = preview;
 
-        assertThat(agents).hasSize(1);
-        AgentMetadataSchema schema = agents.get(0);
-        assertThat(schema.getName()).isEqualTo("AgentWithDefaultName.doWork");
-        assertThat(schema.getAgent().getGoal()).isEqualTo("Agent with no explicit name");
+        registry.watchAgents();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(preview, times(1)).queryState(eq("statestore"), query.capture(), eq(AgentMetadataSchema.class));
+        // Only registry entries are read, not the rest of the state store.
+        assertThat(query.getValue().getFilter()).isInstanceOfSatisfying(EqFilter.class, filter -> {
+            assertThat(filter.getKey()).isEqualTo("schema_version");
+            assertThat(filter.getValue()).isEqualTo(CatalystAgentRegistry.SCHEMA_VERSION);
+        });
+        assertThat(registry.isIndexLoaded()).isTrue();
+        assertThat(registry.findAgent("a")).isPresent();
+        assertThat(registry.findAgent("b")).isEmpty();
+        assertThat(registry.getAgents()).extracting(AgentMetadataSchema::getName).containsExactly("a");
     }
 
     @Test
-    void noAgentInterfaceReturnsEmptyList() {
-        List<AgentMetadataSchema> agents = CatalystAgentRegistry.scanForAgents(NoAgentInterface.class, APP_ID);
+    @SuppressWarnings("unchecked")
+    void changeNotificationsKeepIndexCurrent() {
+        Instant now = Instant.now();
+        AgentMetadataSchema stored = registeredAt(schema(new AgentDescriptor("a", "Old goal", null)), now);
+        AgentMetadataSchema updated = registeredAt(schema(new AgentDescriptor("a", "New goal", null)), now.plusSeconds(5));
+        AgentMetadataSchema older = registeredAt(schema(new AgentDescriptor("a", "Stale goal", null)), now.minusSeconds(5));
+        DaprPreviewClient preview = mock(DaprPreviewClient.class);
+        queried(preview, List.of(new QueryStateItem<>("agents:team:a", stored, "1")));
+        when(preview.subscribeToEvents(eq("pubsub"), eq("agents-registry"), any(TypeRef.class)))
+                .thenReturn(Flux.just(
+                        new AgentRegistryChange("team", updated, null),
+                        new AgentRegistryChange("team", older, null),
+                        new AgentRegistryChange("other", schema(new AgentDescriptor("c", "C", null)), null)));
+        CatalystAgentRegistry registry = registry(mock(DaprClient.class), 0);
+        registry.pubsubName = Optional.of("pubsub");
+        registry.previewClient = preview;
+
+        registry.watchAgents();
+
+        assertThat(registry.findAgent("a")).map(s -> s.getAgent().getGoal()).contains("New goal");
+        assertThat(registry.findAgent("c")).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writtenSchemasAreIndexedAndPublished() {
+        DaprClient client = mock(DaprClient.class);
+        stored(client, List.of());
+        when(client.saveBulkState(eq("statestore"), anyList())).thenReturn(Mono.empty());
+        published(client);
+        CatalystAgentRegistry registry = registry(client, 0);
+        registry.pubsubName = Optional.of("pubsub");
+
+        registry.registerAgents(schemas()).block();
 
-        assertThat(agents).isEmpty();
+        // Entries outlive the 30s leases by one heartbeat interval.
+        ArgumentCaptor<List<State<?>>> written = ArgumentCaptor.forClass(List.class);
+        verify(client).saveBulkState(eq("statestore"), written.capture());
+        assertThat(written.getValue()).allSatisfy(
+                state -> assertThat(state.getMetadata()).containsEntry("ttlInSeconds", "40"));
+        ArgumentCaptor<List<AgentRegistryChange>> published = ArgumentCaptor.forClass(List.class);
+        verify(client).publishEvents(eq("pubsub"), eq("agents-registry"), eq("application/json"), published.capture());
+        assertThat(published.getValue()).extracting(change -> change.agent().getName()).containsExactly("a", "b");
+        assertThat(registry.getAgents()).extracting(AgentMetadataSchema::getName).containsExactlyInAnyOrder("a", "b");
     }
 
     @Test
-    void multipleAgentMethodsDiscoveredSeparately() {
-        List<AgentMetadataSchema> agents = CatalystAgentRegistry.scanForAgents(MultipleAgentMethods.class, APP_ID);
+    @SuppressWarnings("unchecked")
+    void heartbeatSavesTheLeaseAndRenewsOwnEntries() {
+        DaprClient client = mock(DaprClient.class);
+        AgentMetadataSchema otherVersion = schema(new AgentDescriptor("b", "Other goal", null));
+        List<AgentMetadataSchema> schemas = List.of(
+                schema(new AgentDescriptor("a", "A", null)),
+                schema(new AgentDescriptor("b", "B", null)),
+                schema(new AgentDescriptor("c", "C", null)));
+        stored(client, List.of(
+                new State<>("agents:team:a", schemas.get(0), "1"),
+                new State<>("agents:team:b", otherVersion, "2")));
+        leaseSaved(client);
+        published(client);
+        when(client.saveBulkState(eq("statestore"), anyList())).thenReturn(Mono.empty());
+        CatalystAgentRegistry registry = registry(client, 0);
+        registry.pubsubName = Optional.of("pubsub");
+        registry.leasedSchemas = schemas;
 
-        assertThat(agents).hasSize(2);
-        assertThat(agents).extracting(AgentMetadataSchema::getName)
-                .containsExactlyInAnyOrder("agent-one", "agent-two");
+        registry.heartbeat().block();
+
+        ArgumentCaptor<ReplicaLease> lease = ArgumentCaptor.forClass(ReplicaLease.class);
+        verify(client).saveState(eq("statestore"), eq("replicas:team:test-app:replica-1"), isNull(),
+                lease.capture(), eq(Map.of("ttlInSeconds", "30")), isNull());
+        assertThat(lease.getValue().agents()).containsExactly("a", "b", "c");
+        assertThat(registry.getReplicas("a")).containsExactly(lease.getValue());
+
+        // The only live replica of the application renews its entries.
+        ArgumentCaptor<List<State<?>>> written = ArgumentCaptor.forClass(List.class);
+        verify(client).saveBulkState(eq("statestore"), written.capture());
+        assertThat(written.getValue()).extracting(State::getKey).containsExactly("agents:team:a", "agents:team:c");
+        assertThat(written.getValue()).allSatisfy(
+                state -> assertThat(state.getMetadata()).containsEntry("ttlInSeconds", "40"));
+        assertThat(written.getValue().get(0).getEtag()).isEqualTo("1");
+    }
+
+    @Test
+    void onlyTheLowestLiveReplicaRenewsEntries() {
+        DaprClient client = mock(DaprClient.class);
+        leaseSaved(client);
+        published(client);
+        CatalystAgentRegistry registry = registry(client, 0);
+        registry.pubsubName = Optional.of("pubsub");
+        registry.leasedSchemas = schemas();
+        Instant now = Instant.now();
+        registry.onChange(new AgentRegistryChange("team", null, new ReplicaLease(APP_ID, "replica-0",
+                List.of("a", "b"), 0, 0, now.toString(), now.plusSeconds(30).toString())));
+
+        registry.heartbeat().block();
+
+        verify(client).saveState(eq("statestore"), eq("replicas:team:test-app:replica-1"), isNull(),
+                any(ReplicaLease.class), anyMap(), isNull());
+        verify(client, never()).getBulkState(eq("statestore"), anyList(), eq(AgentMetadataSchema.class));
+        verify(client, never()).saveBulkState(eq("statestore"), anyList());
+
+        // Once the lease of replica-0 has expired, replica-1 takes over.
+        registry.onChange(new AgentRegistryChange("team", null, new ReplicaLease(APP_ID, "replica-0",
+                List.of("a", "b"), 0, 0, now.plusSeconds(1).toString(), now.minusSeconds(1).toString())));
+        stored(client, List.of());
+        when(client.saveBulkState(eq("statestore"), anyList())).thenReturn(Mono.empty());
+
+        registry.heartbeat().block();
+
+        verify(client).saveBulkState(eq("statestore"), anyList());
+    }
+
+    @Test
+    void renewalConflictDoesNotFailTheHeartbeat() {
+        DaprClient client = mock(DaprClient.class);
+        stored(client, List.of());
+        leaseSaved(client);
+        when(client.saveBulkState(eq("statestore"), anyList()))
+                .thenReturn(Mono.error(new IllegalStateException("etag mismatch")));
+        published(client);
+        CatalystAgentRegistry registry = registry(client, 0);
+        registry.pubsubName = Optional.of("pubsub");
+        registry.leasedSchemas = schemas();
 
-        AgentMetadataSchema agentTwo = agents.stream()
-                .filter(a -> "agent-two".equals(a.getName()))
-                .findFirst().orElseThrow();
-        assertThat(agentTwo.getAgent().getSystemPrompt()).isEqualTo("You are agent two.");
-        assertThat(agentTwo.getAgent().getGoal()).isEqualTo("Second agent");
+        registry.heartbeat().block();
 
-        AgentMetadataSchema agentOne = agents.stream()
-                .filter(a -> "agent-one".equals(a.getName()))
-                .findFirst().orElseThrow();
-        assertThat(agentOne.getAgent().getSystemPrompt()).isNull();
-        assertThat(agentOne.getAgent().getGoal()).isEqualTo("First agent");
+        verify(client).saveState(eq("statestore"), eq("replicas:team:test-app:replica-1"), isNull(),
+                any(ReplicaLease.class), anyMap(), isNull());
+        assertThat(registry.getReplicas("a")).hasSize(1);
     }
 
     @Test
-    void allSchemasHaveCorrectVersionAndAppId() {
-        List<AgentMetadataSchema> agents = CatalystAgentRegistry.scanForAgents(MultipleAgentMethods.class, APP_ID);
+    void entriesAreNotRenewedWithoutPubSub() {
+        DaprClient client = mock(DaprClient.class);
+        leaseSaved(client);
+        CatalystAgentRegistry registry = registry(client, 0);
+        registry.leasedSchemas = schemas();
+
+        registry.heartbeat().block();
+
+        // Every replica would elect itself from its own lease alone: none renews the entries.
+        verify(client).saveState(eq("statestore"), eq("replicas:team:test-app:replica-1"), isNull(),
+                any(ReplicaLease.class), eq(Map.of("ttlInSeconds", "30")), isNull());
+        verify(client, never()).getBulkState(eq("statestore"), anyList(), eq(AgentMetadataSchema.class));
+        verify(client, never()).saveBulkState(eq("statestore"), anyList());
+    }
+
+    private static void leaseSaved(DaprClient client) {
+        when(client.saveState(eq("statestore"), eq("replicas:team:test-app:replica-1"), isNull(),
+                any(ReplicaLease.class), anyMap(), isNull())).thenReturn(Mono.empty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void published(DaprClient client) {
+        when(client.publishEvents(eq("pubsub"), eq("agents-registry"), eq("application/json"), anyList()))
+                .thenReturn(Mono.just(new BulkPublishResponse<>()));
+    }
+
+    @Test
+    void agentsWithoutLiveLeaseAreEvicted() {
+        CatalystAgentRegistry registry = registry(mock(DaprClient.class), 0);
+        registry.pubsubName = Optional.of("pubsub");
+        Instant now = Instant.now();
+        AgentMetadataSchema foreign = AgentMetadataSchema.builder()
+                .schemaVersion(CatalystAgentRegistry.SCHEMA_VERSION)
+                .name("python")
+                .registeredAt(now.toString())
+                .agent(AgentMetadata.builder()
+                        .appId("other-app").type("standalone").framework("dapr-agents").goal("Python").build())
+                .build();
+        registry.onChange(new AgentRegistryChange("team", schema(new AgentDescriptor("a", "A", null)), null));
+        registry.onChange(new AgentRegistryChange("team",
+                schema(new AgentDescriptor("b", "Translate documents", null)), null));
+        registry.onChange(new AgentRegistryChange("team", foreign, null));
+        ReplicaLease lease = new ReplicaLease(APP_ID, "replica-2", List.of("a"), 0, 0,
+                now.toString(), now.plusSeconds(60).toString());
+        registry.onChange(new AgentRegistryChange("team", null, lease));
+
+        // Within the 40s entry TTL, the lease of a replica serving b may still arrive.
+        registry.evictUnleasedAgents(now.plusSeconds(30));
+        assertThat(registry.getAgents()).extracting(AgentMetadataSchema::getName)
+                .containsExactlyInAnyOrder("a", "b", "python");
+        assertThat(registry.getCapabilities().agentsWithKeyword("translate")).containsExactly("b");
+
+        registry.evictUnleasedAgents(now.plusSeconds(45));
+        assertThat(registry.findAgent("b")).isEmpty();
+        assertThat(registry.getCapabilities().agentsWithKeyword("translate")).isEmpty();
+        assertThat(registry.findAgent("a")).isPresent();
+
+        // Once the lease of replica-2 has expired, a goes too; agents of other frameworks stay.
+        registry.evictUnleasedAgents(now.plusSeconds(90));
+        assertThat(registry.getAgents()).extracting(AgentMetadataSchema::getName).containsExactly("python");
+        assertThat(registry.getReplicas("a")).isEmpty();
+    }
+
+    @Test
+    void nothingIsEvictedWithoutPubSub() {
+        CatalystAgentRegistry registry = registry(mock(DaprClient.class), 0);
+        registry.onChange(new AgentRegistryChange("team", schema(new AgentDescriptor("a", "A", null)), null));
+
+        registry.evictUnleasedAgents(Instant.now().plusSeconds(3600));
+
+        assertThat(registry.findAgent("a")).isPresent();
+    }
+
+    @Test
+    void replicaIdIsConfiguredOrThePodName() {
+        Map<String, String> pod = Map.of("POD_NAME", "agents-7f9c-x2kq", "HOSTNAME", "host");
+
+        assertThat(CatalystAgentRegistry.replicaId(Optional.of("replica-1"), pod::get)).isEqualTo("replica-1");
+        assertThat(CatalystAgentRegistry.replicaId(Optional.empty(), pod::get)).isEqualTo("agents-7f9c-x2kq");
+        assertThat(CatalystAgentRegistry.replicaId(Optional.of(" "), Map.of("HOSTNAME", "host")::get))
+                .isEqualTo("host");
+        // Without a pod name, a generated ID, stable for the life of the registry.
+        String generated = CatalystAgentRegistry.replicaId(Optional.empty(), name -> null);
+        assertThat(generated).isNotBlank()
+                .isNotEqualTo(CatalystAgentRegistry.replicaId(Optional.empty(), name -> null));
+
+        CatalystAgentRegistry registry = registry(mock(DaprClient.class), 0);
+        registry.configuredReplicaId = Optional.of("replica-2");
+        registry.resolveReplicaId();
+        assertThat(registry.getReplicaId()).isEqualTo("replica-2");
+    }
+
+    @Test
+    void replicasAreListedLeastLoadedFirstUntilTheirLeaseExpires() {
+        Instant now = Instant.now();
+        ReplicaLease busy = new ReplicaLease("app", "r1", List.of("a"), 5, 2, now.toString(),
+                now.plusSeconds(30).toString());
+        ReplicaLease idle = new ReplicaLease("app", "r2", List.of("a", "b"), 0, 1, now.toString(),
+                now.plusSeconds(30).toString());
+        ReplicaLease expired = new ReplicaLease("app", "r3", List.of("a"), 0, 0, now.minusSeconds(60).toString(),
+                now.minusSeconds(30).toString());
+        CatalystAgentRegistry registry = registry(mock(DaprClient.class), 0);
+
+        registry.onChange(new AgentRegistryChange("team", null, busy));
+        registry.onChange(new AgentRegistryChange("team", null, idle));
+        registry.onChange(new AgentRegistryChange("team", null, expired));
+        registry.onChange(new AgentRegistryChange("other", null,
+                new ReplicaLease("app", "r4", List.of("a"), 0, 0, now.toString(), now.plusSeconds(30).toString())));
 
-        for (AgentMetadataSchema schema : agents) {
-            assertThat(schema.getSchemaVersion()).isEqualTo("0.11.1");
-            assertThat(schema.getAgent().getAppId()).isEqualTo(APP_ID);
-            assertThat(schema.getAgent().getFramework()).isEqualTo("langchain4j");
-            assertThat(schema.getAgent().getType()).isEqualTo("standalone");
-        }
+        assertThat(registry.getReplicas("a")).containsExactly(idle, busy);
+        assertThat(registry.getReplicas("b")).containsExactly(idle);
     }
 }
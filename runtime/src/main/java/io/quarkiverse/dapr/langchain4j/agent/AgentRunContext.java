@@ -1,9 +1,16 @@
 package io.quarkiverse.dapr.langchain4j.agent;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallOutput;
+import io.quarkiverse.dapr.langchain4j.audit.AgentAuditPipeline;
 
 /**
  * Holds the synchronization state for a single agent execution.
@@ -27,16 +34,99 @@ public class AgentRunContext {
     }
 
     private final String agentRunId;
+    private final String agentName;
+    private final DurabilityLevel durability;
     private final Map<String, PendingCall> pendingCalls = new ConcurrentHashMap<>();
+    private final AtomicLong callSequence = new AtomicLong();
+    private final List<ToolCallOutput> inlineToolCalls = new ArrayList<>();
+    private final List<LlmCallOutput> inlineLlmCalls = new ArrayList<>();
+    private volatile String traceParent;
+    private volatile AgentAuditPipeline auditPipeline;
+    private volatile AgentRunJournal journal;
+    private int openStreams;
+    private Runnable onStreamsClosed;
 
     public AgentRunContext(String agentRunId) {
+        this(agentRunId, null);
+    }
+
+    public AgentRunContext(String agentRunId, String agentName) {
+        this(agentRunId, agentName, DurabilityLevel.FULL);
+    }
+
+    public AgentRunContext(String agentRunId, String agentName, DurabilityLevel durability) {
         this.agentRunId = agentRunId;
+        this.agentName = agentName;
+        this.durability = durability;
     }
 
     public String getAgentRunId() {
         return agentRunId;
     }
 
+    /**
+     * Returns the name of the agent executing in this run, used to resolve per-agent
+     * configuration; may be {@code null}.
+     */
+    public String getAgentName() {
+        return agentName;
+    }
+
+    /**
+     * Returns how much of this run is made durable through Dapr.
+     */
+    public DurabilityLevel getDurability() {
+        return durability;
+    }
+
+    /**
+     * Returns the pipeline recording the calls of a {@link DurabilityLevel#RECORD_ONLY} run;
+     * {@code null} for other runs.
+     */
+    public AgentAuditPipeline getAuditPipeline() {
+        return auditPipeline;
+    }
+
+    /**
+     * Sends the inline calls of this run to {@code auditPipeline} instead of buffering them for
+     * the next event.
+     */
+    public void setAuditPipeline(AgentAuditPipeline auditPipeline) {
+        this.auditPipeline = auditPipeline;
+    }
+
+    /**
+     * Returns the journal of the interrupted run this run resumes, or {@code null} when it is
+     * not a resumed run.
+     */
+    public AgentRunJournal getJournal() {
+        return journal;
+    }
+
+    public void setJournal(AgentRunJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Returns the W3C {@code traceparent} of the span enclosing this run, used as the parent of
+     * the spans created for its tool and LLM calls; {@code null} when tracing is not active.
+     */
+    public String getTraceParent() {
+        return traceParent;
+    }
+
+    public void setTraceParent(String traceParent) {
+        this.traceParent = traceParent;
+    }
+
+    /**
+     * Returns the ID for the next tool or LLM call of this run, as produced by the active
+     * {@link DaprIdGenerator} (by default {@code <agentRunId>#<n>}).
+     */
+    public String nextCallId() {
+        return DaprIdGenerators.get().nextCallId(agentRunId, callSequence.incrementAndGet());
+    }
+
     /**
      * Register a pending tool call and return the future that will be completed by
      * {@code ToolCallActivity} once the tool has executed.
@@ -76,4 +166,101 @@ public class AgentRunContext {
             call.resultFuture().completeExceptionally(cause);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Buffers an {@link InlineTool} call until it is sent with the next event of this run, or
+     * hands it to the run's audit pipeline.
+     */
+    public void recordInlineToolCall(ToolCallOutput output) {
+        AgentAuditPipeline pipeline = auditPipeline;
+        if (pipeline != null) {
+            pipeline.recordToolCall(this, output);
+            return;
+        }
+        synchronized (inlineToolCalls) {
+            inlineToolCalls.add(output);
+        }
+    }
+
+    /**
+     * Returns and clears the buffered {@link InlineTool} calls, or {@code null} if there are none.
+     */
+    public List<ToolCallOutput> drainInlineToolCalls() {
+        synchronized (inlineToolCalls) {
+            if (inlineToolCalls.isEmpty()) {
+                return null;
+            }
+            List<ToolCallOutput> drained = List.copyOf(inlineToolCalls);
+            inlineToolCalls.clear();
+            return drained;
+        }
+    }
+
+    /**
+     * Buffers an LLM call made on the agent thread by a run whose {@link DurabilityLevel} does
+     * not route calls through activities, until it is sent with the next event of this run, or
+     * hands it to the run's audit pipeline.
+     */
+    public void recordInlineLlmCall(LlmCallOutput output) {
+        AgentAuditPipeline pipeline = auditPipeline;
+        if (pipeline != null) {
+            pipeline.recordLlmCall(this, output);
+            return;
+        }
+        synchronized (inlineLlmCalls) {
+            inlineLlmCalls.add(output);
+        }
+    }
+
+    /**
+     * Returns and clears the buffered inline LLM calls, or {@code null} if there are none.
+     */
+    public List<LlmCallOutput> drainInlineLlmCalls() {
+        synchronized (inlineLlmCalls) {
+            if (inlineLlmCalls.isEmpty()) {
+                return null;
+            }
+            List<LlmCallOutput> drained = List.copyOf(inlineLlmCalls);
+            inlineLlmCalls.clear();
+            return drained;
+        }
+    }
+
+    /**
+     * Marks a streaming LLM call of this run as open until {@link #closeStream()} is called,
+     * after its completion callback has been delivered.
+     */
+    public synchronized void openStream() {
+        openStreams++;
+    }
+
+    /**
+     * Marks a streaming LLM call of this run as closed, running the action passed to
+     * {@link #whenStreamsClosed(Runnable)} if it was the last one open.
+     */
+    public void closeStream() {
+        Runnable action;
+        synchronized (this) {
+            if (--openStreams > 0 || onStreamsClosed == null) {
+                return;
+            }
+            action = onStreamsClosed;
+            onStreamsClosed = null;
+        }
+        action.run();
+    }
+
+    /**
+     * Runs {@code action} now if no streaming LLM call of this run is open, or else once the
+     * last one is closed.
+     */
+    public void whenStreamsClosed(Runnable action) {
+        synchronized (this) {
+            if (openStreams > 0) {
+                onStreamsClosed = action;
+                return;
+            }
+        }
+        action.run();
+    }
+}
@@ -0,0 +1,188 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessageDeserializer;
+import dev.langchain4j.data.message.ChatMessageSerializer;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunInput;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunOutput;
+
+/**
+ * The recorded LLM responses and tool results of an earlier, interrupted agent run, replayed by
+ * {@link DaprAgentRunResumer} so that the resumed run continues from its last completed step.
+ * <p>
+ * While the resumed agent makes the same calls as the interrupted run, each call is answered from
+ * the journal instead of reaching the model or the tool. A call matches its entry only if it sends
+ * the same prompt, compared by {@link #promptDigest(Object)}, or calls the same tool with the same
+ * arguments, compared by {@link #argsDigest(Object[])}. The first call that does not match — a
+ * different prompt, tool or arguments, or an entry recorded without
+ * {@code quarkus.dapr.agentic.resume.enabled} — ends the replay, and every later call runs live.
+ * LLM and tool calls are consumed in their own recorded order: the replayed responses make the
+ * agent request the same tools in the same order.
+ */
+public class AgentRunJournal {
+
+    private static final Logger LOG = Logger.getLogger(AgentRunJournal.class);
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().build();
+
+    private final AgentRunInput input;
+    private final Deque<LlmCallOutput> llmCalls;
+    private final Deque<ToolCallOutput> toolCalls;
+    private boolean diverged;
+
+    /**
+     * @param input  the input of the interrupted run, or {@code null} if its workflow did not record one
+     * @param output the calls the interrupted run recorded
+     */
+    public AgentRunJournal(AgentRunInput input, AgentRunOutput output) {
+        this.input = input;
+        this.llmCalls = new ArrayDeque<>(output.llmCalls() != null ? output.llmCalls() : List.of());
+        this.toolCalls = new ArrayDeque<>(output.toolCalls() != null ? output.toolCalls() : List.of());
+    }
+
+    /** Returns the input of the interrupted run, or {@code null} if its workflow did not record one. */
+    public AgentRunInput input() {
+        return input;
+    }
+
+    /**
+     * Returns {@code true} if a run started with {@code runInput} runs the agent of the interrupted
+     * run. Whether it was given the same arguments shows in its first prompt.
+     */
+    public boolean continues(AgentRunInput runInput) {
+        return input == null || runInput == null || Objects.equals(input.agentName(), runInput.agentName());
+    }
+
+    /**
+     * Returns the next recorded LLM call if it was sent the prompt of digest {@code promptDigest},
+     * or {@code null} once the replay has ended.
+     */
+    public synchronized LlmCallOutput nextLlmCall(String promptDigest) {
+        LlmCallOutput next = diverged ? null : llmCalls.peek();
+        if (next == null || next.aiMessage() == null || next.promptDigest() == null
+                || !next.promptDigest().equals(promptDigest)) {
+            end();
+            return null;
+        }
+        return llmCalls.poll();
+    }
+
+    /**
+     * Returns the next recorded call if it called tool {@code toolName} with the arguments of digest
+     * {@code argsDigest}, or {@code null} once the replay has ended.
+     */
+    public synchronized ToolCallOutput nextToolCall(String toolName, String argsDigest) {
+        ToolCallOutput next = diverged ? null : toolCalls.peek();
+        if (next == null || next.resultJson() == null || !next.toolName().equals(toolName)
+                || next.argsDigest() == null || !next.argsDigest().equals(argsDigest)) {
+            end();
+            return null;
+        }
+        return toolCalls.poll();
+    }
+
+    /** Returns {@code true} while calls are still answered from this journal. */
+    public synchronized boolean isReplaying() {
+        return !diverged && (!llmCalls.isEmpty() || !toolCalls.isEmpty());
+    }
+
+    private void end() {
+        if (!diverged && (!llmCalls.isEmpty() || !toolCalls.isEmpty())) {
+            LOG.debugf("Resumed run diverged from its journal, %d LLM and %d tool call(s) not replayed",
+                    llmCalls.size(), toolCalls.size());
+        }
+        diverged = true;
+        llmCalls.clear();
+        toolCalls.clear();
+    }
+
+    /**
+     * Serializes the AI message of {@code response} for {@link LlmCallOutput#aiMessage()}.
+     */
+    public static String aiMessageJson(Object response) {
+        if (response instanceof ChatResponse chatResponse && chatResponse.aiMessage() != null) {
+            return ChatMessageSerializer.messageToJson(chatResponse.aiMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Returns the digest of the messages of {@code request} for {@link LlmCallOutput#promptDigest()},
+     * or {@code null} if it is not a {@link ChatRequest}.
+     */
+    public static String promptDigest(Object request) {
+        if (request instanceof ChatRequest chatRequest) {
+            return PayloadCapturePolicy.sha256(ChatMessageSerializer.messagesToJson(chatRequest.messages()));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the digest of the JSON of {@code args} for {@link ToolCallOutput#argsDigest()}, or
+     * {@code null} if they cannot be serialized (the call is then not replayable).
+     */
+    public static String argsDigest(Object[] args) {
+        try {
+            return PayloadCapturePolicy.sha256(MAPPER.writeValueAsString(args != null ? args : new Object[0]));
+        } catch (JsonProcessingException e) {
+            LOG.debugf("Tool arguments are not serializable, not replayable: %s", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Rebuilds the response recorded in {@code llmCall}.
+     */
+    public static ChatResponse chatResponse(LlmCallOutput llmCall) {
+        return ChatResponse.builder()
+                .aiMessage((AiMessage) ChatMessageDeserializer.messageFromJson(llmCall.aiMessage()))
+                .build();
+    }
+
+    /**
+     * Serializes a tool result for {@link ToolCallOutput#resultJson()}, or returns {@code null} if
+     * it cannot be serialized (the call is then not replayable).
+     */
+    public static String resultJson(Object result) {
+        try {
+            return MAPPER.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            LOG.debugf("Tool result of type %s is not serializable, not replayable: %s",
+                    result.getClass().getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Rebuilds the result recorded in {@code toolCall} as the generic return type of {@code method}.
+     *
+     * @throws IllegalStateException if the recorded result does not match the return type
+     */
+    public static Object toolResult(ToolCallOutput toolCall, Method method) {
+        if (method.getReturnType() == void.class) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(toolCall.resultJson(), MAPPER.constructType(method.getGenericReturnType()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Recorded result of tool " + method.getName()
+                    + " does not match its return type", e);
+        }
+    }
+}
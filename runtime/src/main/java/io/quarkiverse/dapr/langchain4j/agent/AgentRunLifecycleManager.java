@@ -1,13 +1,13 @@
 package io.quarkiverse.dapr.langchain4j.agent;
 
-import java.util.UUID;
-
 import org.jboss.logging.Logger;
 
 import io.dapr.workflows.client.DaprWorkflowClient;
-import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentEvent;
 import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunInput;
 import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunWorkflow;
+import io.quarkiverse.dapr.langchain4j.audit.AgentAuditPipeline;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticBuildTimeConfig;
+import io.quarkiverse.dapr.langchain4j.tracing.DaprAgentTracing;
 import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
@@ -37,8 +37,17 @@ public class AgentRunLifecycleManager {
     @Inject
     DaprWorkflowClient workflowClient;
 
+    @Inject
+    DaprAgenticBuildTimeConfig buildTimeConfig;
+
+    @Inject
+    AgentAuditPipeline auditPipeline;
+
     private String agentRunId;
 
+    /** Set while an agent whose durability level is {@code NONE} runs in this request. */
+    private boolean bypassed;
+
     /**
      * Returns the active agent run ID for this request, lazily starting an
      * {@link AgentRunWorkflow} if one has not been created yet.
@@ -51,22 +60,41 @@ public class AgentRunLifecycleManager {
      *                      {@code "standalone"}
      * @param userMessage   the user-message template or rendered text; may be {@code null}
      * @param systemMessage the system-message template or rendered text; may be {@code null}
+     * @return the run ID, or {@code null} while an agent with {@link DurabilityLevel#NONE} runs
      */
     public String getOrActivate(String agentName, String userMessage, String systemMessage) {
-        if (agentRunId == null) {
-            agentRunId = UUID.randomUUID().toString();
+        if (agentRunId == null && !bypassed) {
+            String runId = DaprIdGenerators.get().nextRunId();
             String name = (agentName != null && !agentName.isBlank()) ? agentName : "standalone";
-            AgentRunContext runContext = new AgentRunContext(agentRunId);
-            DaprAgentRunRegistry.register(agentRunId, runContext);
-            workflowClient.scheduleNewWorkflow(AgentRunWorkflow.class,
-                    new AgentRunInput(agentRunId, name, userMessage, systemMessage), agentRunId);
+            AgentRunContext runContext = new AgentRunContext(runId, name, DurabilityLevel.of(buildTimeConfig, name));
+            runContext.setTraceParent(DaprAgentTracing.currentTraceParent());
+            if (!AgentRuns.start(workflowClient, auditPipeline, runContext,
+                    new AgentRunInput(runId, name, userMessage, systemMessage, runContext.getTraceParent()))) {
+                // Keep later lazy activations in this agent from starting a "standalone" run.
+                bypassed = true;
+                return null;
+            }
+            agentRunId = runId;
             DaprAgentContextHolder.set(agentRunId);
-            LOG.infof("[AgentRun:%s] AgentRunWorkflow started (lazy — standalone @Agent), agent=%s",
+            LOG.debugf("[AgentRun:%s] AgentRunWorkflow started (lazy — standalone @Agent), agent=%s",
                     agentRunId, name);
         }
         return agentRunId;
     }
 
+    /**
+     * Sets whether an agent with {@link DurabilityLevel#NONE}, started outside this manager, runs
+     * in this request, which keeps the lazy activations of its tool and LLM calls from starting a
+     * {@code "standalone"} run.
+     *
+     * @return the previous value
+     */
+    public boolean setBypassed(boolean bypassed) {
+        boolean previous = this.bypassed;
+        this.bypassed = bypassed;
+        return previous;
+    }
+
     /**
      * Returns the active agent run ID for this request, lazily starting an
      * {@link AgentRunWorkflow} if one has not been created yet.
@@ -89,18 +117,34 @@ public class AgentRunLifecycleManager {
      * When no decorator was generated (e.g., the lazy-activation fallback path used by
      * {@link DaprChatModelDecorator}), this method is called by {@link #cleanup()} when the
      * CDI request scope ends.
+     * <p>
+     * The {@code "done"} event is deferred while a streaming LLM call of the run is open, since
+     * the request scope may end before the stream completes.
      */
     public void triggerDone() {
+        bypassed = false;
         if (agentRunId != null) {
-            LOG.infof("[AgentRun:%s] @Agent method exited — sending done event to AgentRunWorkflow", agentRunId);
-            try {
-                workflowClient.raiseEvent(agentRunId, "agent-event",
-                        new AgentEvent("done", null, null, null));
-            } finally {
-                DaprAgentRunRegistry.unregister(agentRunId);
-                DaprAgentContextHolder.clear();
-                agentRunId = null; // prevents @PreDestroy from firing a second time
+            String runId = agentRunId;
+            agentRunId = null; // prevents @PreDestroy from firing a second time
+            DaprAgentContextHolder.clear();
+            AgentRunContext runContext = DaprAgentRunRegistry.get(runId);
+            if (runContext == null) {
+                DaprAgentRunRegistry.unregister(runId);
+                return;
             }
+            // A streaming call may still be delivering its completion callback, which can make
+            // further calls in this run: finish the run once it is closed.
+            runContext.whenStreamsClosed(() -> finish(runContext));
+        }
+    }
+
+    private void finish(AgentRunContext runContext) {
+        LOG.debugf("[AgentRun:%s] @Agent method exited — sending done event to AgentRunWorkflow",
+                runContext.getAgentRunId());
+        try {
+            AgentRuns.finish(workflowClient, runContext);
+        } finally {
+            DaprAgentRunRegistry.unregister(runContext.getAgentRunId());
         }
     }
 
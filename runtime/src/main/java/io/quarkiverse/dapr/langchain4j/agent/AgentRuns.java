@@ -0,0 +1,73 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import org.jboss.logging.Logger;
+
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentEvent;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunInput;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunWorkflow;
+import io.quarkiverse.dapr.langchain4j.audit.AgentAuditPipeline;
+
+/**
+ * Starts and finishes the {@link AgentRunWorkflow} of an agent run according to the run's
+ * {@link DurabilityLevel}. Shared by every place an agent run begins and ends: the generated
+ * {@code @Agent} decorators (through {@link AgentRunLifecycleManager}),
+ * {@link DaprAgentMethodInterceptor} and {@code AgentExecutionActivity}.
+ */
+public final class AgentRuns {
+
+    private static final Logger LOG = Logger.getLogger(AgentRuns.class);
+
+    private AgentRuns() {
+    }
+
+    /**
+     * Registers {@code runCtx} and starts its {@link AgentRunWorkflow}, unless the run is not
+     * durable at all. The start of a {@link DurabilityLevel#RECORD_ONLY} run is only queued in
+     * {@code auditPipeline}, which also receives all of the run's calls. A run started inside
+     * {@link DaprAgentRunResumer#resume} replays the journal of the run it resumes, provided it runs
+     * the same agent.
+     *
+     * @return {@code false} for {@link DurabilityLevel#NONE} runs, which are not registered: the
+     *         agent's calls then run without Dapr
+     */
+    public static boolean start(DaprWorkflowClient workflowClient, AgentAuditPipeline auditPipeline,
+            AgentRunContext runCtx, AgentRunInput input) {
+        if (runCtx.getDurability() == DurabilityLevel.NONE) {
+            return false;
+        }
+        AgentRunJournal journal = DaprAgentRunResumer.takePendingJournal();
+        if (journal != null && !journal.continues(input)) {
+            LOG.warnf("[AgentRun:%s] Not replaying the journal of agent %s in a run of agent %s",
+                    runCtx.getAgentRunId(), journal.input().agentName(), input.agentName());
+            journal = null;
+        }
+        runCtx.setJournal(journal);
+        switch (runCtx.getDurability()) {
+            case RECORD_ONLY:
+                runCtx.setAuditPipeline(auditPipeline);
+                DaprAgentRunRegistry.register(runCtx.getAgentRunId(), runCtx);
+                auditPipeline.start(runCtx, input);
+                return true;
+            default:
+                DaprAgentRunRegistry.register(runCtx.getAgentRunId(), runCtx);
+                workflowClient.scheduleNewWorkflow(AgentRunWorkflow.class, input, runCtx.getAgentRunId());
+                return true;
+        }
+    }
+
+    /**
+     * Sends the {@code "done"} event, with the calls buffered since the previous event, to the
+     * run's {@link AgentRunWorkflow}. For {@link DurabilityLevel#RECORD_ONLY} runs the end is
+     * queued in the run's audit pipeline instead.
+     */
+    public static void finish(DaprWorkflowClient workflowClient, AgentRunContext runCtx) {
+        if (runCtx.getAuditPipeline() != null) {
+            runCtx.getAuditPipeline().finish(runCtx);
+            return;
+        }
+        workflowClient.raiseEvent(runCtx.getAgentRunId(), "agent-event",
+                new AgentEvent("done", null, null, null, null,
+                        runCtx.drainInlineToolCalls(), runCtx.drainInlineLlmCalls()));
+    }
+}
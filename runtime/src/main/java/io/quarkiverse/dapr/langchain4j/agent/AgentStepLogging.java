@@ -0,0 +1,48 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import org.jboss.logging.Logger;
+
+import io.dapr.workflows.WorkflowContext;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticConfig;
+
+/**
+ * Helpers for the per-step {@code DEBUG} messages logged while an agent run executes.
+ * <p>
+ * Step messages are guarded by {@link #isEnabled(Logger)} (or
+ * {@link #isEnabled(Logger, WorkflowContext, DaprAgenticConfig)} in workflow code) so that no
+ * message, argument array or payload string is built when they are disabled. Workflow code
+ * additionally skips messages while Dapr replays the history, unless
+ * {@code quarkus.dapr.agentic.logging.replays} is set.
+ */
+public final class AgentStepLogging {
+
+    private AgentStepLogging() {
+    }
+
+    /**
+     * Returns {@code true} if step messages of {@code log} are enabled.
+     */
+    public static boolean isEnabled(Logger log) {
+        return log.isDebugEnabled();
+    }
+
+    /**
+     * Returns {@code true} if step messages of {@code log} are enabled and the workflow is
+     * executing new steps (or replays are configured to be logged).
+     */
+    public static boolean isEnabled(Logger log, WorkflowContext ctx, DaprAgenticConfig config) {
+        return log.isDebugEnabled() && (!ctx.isReplaying() || config.logging().replays());
+    }
+
+    /**
+     * Renders {@code payload} for a step message: the payload itself when
+     * {@code quarkus.dapr.agentic.logging.payloads} is set, otherwise only its size.
+     */
+    public static String payload(DaprAgenticConfig config, Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        String text = String.valueOf(payload);
+        return config.logging().payloads() ? text : "<" + text.length() + " chars>";
+    }
+}
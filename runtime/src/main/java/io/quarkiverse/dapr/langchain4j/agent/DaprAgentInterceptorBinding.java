@@ -6,6 +6,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import jakarta.enterprise.util.Nonbinding;
 import jakarta.interceptor.InterceptorBinding;
 
 /**
@@ -16,10 +17,19 @@ import jakarta.interceptor.InterceptorBinding;
  * carrying the {@code @Agent} annotation. This causes {@link DaprAgentMethodInterceptor}
  * to fire when the method is called, starting an {@link io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunWorkflow}
  * so that every tool call the agent makes runs inside a Dapr Workflow Activity.
+ * <p>
+ * The processor also records the agent's {@link DurabilityLevel}, resolved from the build-time
+ * configuration, so the interceptor does not resolve it on every call.
  */
 @InterceptorBinding
 @Target({ ElementType.METHOD, ElementType.TYPE })
 @Retention(RetentionPolicy.RUNTIME)
 @Inherited
 public @interface DaprAgentInterceptorBinding {
+
+    /**
+     * The durability level of the intercepted agent.
+     */
+    @Nonbinding
+    DurabilityLevel durability() default DurabilityLevel.FULL;
 }
@@ -1,7 +1,6 @@
 package io.quarkiverse.dapr.langchain4j.agent;
 
 import java.lang.reflect.Method;
-import java.util.UUID;
 
 import org.jboss.logging.Logger;
 
@@ -9,10 +8,14 @@ import dev.langchain4j.agentic.Agent;
 import dev.langchain4j.service.SystemMessage;
 import dev.langchain4j.service.UserMessage;
 import io.dapr.workflows.client.DaprWorkflowClient;
-import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentEvent;
 import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunInput;
 import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunWorkflow;
+import io.quarkiverse.dapr.langchain4j.audit.AgentAuditPipeline;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticBuildTimeConfig;
+import io.quarkiverse.dapr.langchain4j.tracing.DaprAgentTracing;
 import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import jakarta.interceptor.AroundInvoke;
 import jakarta.interceptor.Interceptor;
@@ -46,6 +49,15 @@ public class DaprAgentMethodInterceptor {
     @Inject
     DaprWorkflowClient workflowClient;
 
+    @Inject
+    DaprAgenticBuildTimeConfig buildTimeConfig;
+
+    @Inject
+    AgentAuditPipeline auditPipeline;
+
+    @Inject
+    Instance<AgentRunLifecycleManager> lifecycleManager;
+
     @AroundInvoke
     public Object intercept(InvocationContext ctx) throws Exception {
         // If already inside an orchestration-driven agent run (AgentExecutionActivity set this),
@@ -54,33 +66,68 @@ public class DaprAgentMethodInterceptor {
             return ctx.proceed();
         }
 
-        // Standalone @Agent call — start a new AgentRunWorkflow for this invocation.
-        String agentRunId = UUID.randomUUID().toString();
         Method method = ctx.getMethod();
         String agentName = extractAgentName(method, ctx.getTarget().getClass());
+        DurabilityLevel durability = durabilityOf(ctx, agentName);
+        if (durability == DurabilityLevel.NONE) {
+            return proceedBypassed(ctx);
+        }
+
+        // Standalone @Agent call — start a new AgentRunWorkflow for this invocation.
+        String agentRunId = DaprIdGenerators.get().nextRunId();
         String userMessage = extractUserMessageTemplate(method);
         String systemMessage = extractSystemMessageTemplate(method);
 
-        LOG.infof("[AgentRun:%s] DaprAgentMethodInterceptor: starting AgentRunWorkflow for %s",
+        LOG.debugf("[AgentRun:%s] DaprAgentMethodInterceptor: starting AgentRunWorkflow for %s",
                 agentRunId, agentName);
 
-        AgentRunContext runContext = new AgentRunContext(agentRunId);
-        DaprAgentRunRegistry.register(agentRunId, runContext);
-        workflowClient.scheduleNewWorkflow(AgentRunWorkflow.class,
-                new AgentRunInput(agentRunId, agentName, userMessage, systemMessage), agentRunId);
+        AgentRunContext runContext = new AgentRunContext(agentRunId, agentName, durability);
+        runContext.setTraceParent(DaprAgentTracing.currentTraceParent());
+        if (!AgentRuns.start(workflowClient, auditPipeline, runContext,
+                new AgentRunInput(agentRunId, agentName, userMessage, systemMessage, runContext.getTraceParent()))) {
+            return proceedBypassed(ctx);
+        }
         DaprAgentContextHolder.set(agentRunId);
 
         try {
             return ctx.proceed();
         } finally {
-            LOG.infof("[AgentRun:%s] DaprAgentMethodInterceptor: @Agent method completed, sending done event", agentRunId);
-            workflowClient.raiseEvent(agentRunId, "agent-event",
-                    new AgentEvent("done", null, null, null));
+            LOG.debugf("[AgentRun:%s] DaprAgentMethodInterceptor: @Agent method completed, sending done event", agentRunId);
+            AgentRuns.finish(workflowClient, runContext);
             DaprAgentRunRegistry.unregister(agentRunId);
             DaprAgentContextHolder.clear();
         }
     }
 
+    /**
+     * Returns the durability level the deployment processor recorded on the interceptor binding,
+     * or else resolves it from the build-time configuration.
+     */
+    private DurabilityLevel durabilityOf(InvocationContext ctx, String agentName) {
+        DaprAgentInterceptorBinding binding = ctx.getInterceptorBinding(DaprAgentInterceptorBinding.class);
+        return binding != null ? binding.durability() : DurabilityLevel.of(buildTimeConfig, agentName);
+    }
+
+    /**
+     * Runs an agent with {@link DurabilityLevel#NONE}, marking the request as bypassed so that its
+     * tool and LLM calls do not lazily start a {@code "standalone"} run. Without an active request
+     * scope no run can be activated lazily, so the agent just proceeds.
+     */
+    private Object proceedBypassed(InvocationContext ctx) throws Exception {
+        AgentRunLifecycleManager manager = lifecycleManager.get();
+        boolean previous;
+        try {
+            previous = manager.setBypassed(true);
+        } catch (ContextNotActiveException e) {
+            return ctx.proceed();
+        }
+        try {
+            return ctx.proceed();
+        } finally {
+            manager.setBypassed(previous);
+        }
+    }
+
     /**
      * Returns the {@code @Agent(name)} value if non-blank, otherwise falls back to
      * {@code DeclaringInterface.methodName} for CDI beans.
@@ -33,4 +33,9 @@ public class DaprAgentRunRegistry {
     public static Set<String> getRegisteredIds() {
         return REGISTRY.keySet();
     }
+
+    /** Returns the number of agent runs in progress. */
+    public static int size() {
+        return REGISTRY.size();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.jboss.logging.Logger;
+
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.dapr.workflows.client.WorkflowInstanceStatus;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentEvent;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunInput;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunOutput;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunWorkflow;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Resumes agent runs that were interrupted, typically by a restart of the process that ran them.
+ * <p>
+ * The tool and LLM calls of a run are held in memory only while it runs, so a restart loses the
+ * agent itself, while Dapr keeps the {@link AgentRunWorkflow} and the calls it recorded.
+ * {@link #resume(String, Function)} ends that workflow, reads its {@link AgentRunInput} and
+ * {@link AgentRunOutput}, and invokes the agent again with the recorded calls as an
+ * {@link AgentRunJournal}: calls the interrupted run completed are answered from the journal, so
+ * neither the model nor the tools are called again, and the agent continues live from its last
+ * completed step in a new run.
+ * <p>
+ * Replay needs the complete LLM responses and tool results, and the digests of the prompts and
+ * tool arguments they answered, which are recorded only when
+ * {@code quarkus.dapr.agentic.resume.enabled} is set. Without them, the resumed run starts over.
+ * <p>
+ * Usage:
+ * <pre>{@code
+ * String answer = resumer.resume(interruptedRunId, input -> researchAgent.research(countryOf(input)));
+ * }</pre>
+ * <h3>Limitations</h3>
+ * Dapr records the agent name and prompt templates of a run, not the Java arguments of its
+ * {@code @Agent} method, so {@code agentCall} re-invokes the agent from the recorded
+ * {@link AgentRunInput}. The new run replays the journal only if it runs the same agent, and
+ * each recorded call only if it is sent the same prompt or the same tool arguments: a run given
+ * other arguments diverges at its first prompt and runs live. The journal is handed over to the
+ * first run started on the calling thread, so {@code agentCall} must invoke the agent
+ * synchronously on that thread. Runs started by an orchestration are not resumable: their
+ * {@code AgentExecutionActivity} waits on a planner that lived in the lost process.
+ */
+@ApplicationScoped
+public class DaprAgentRunResumer {
+
+    private static final Logger LOG = Logger.getLogger(DaprAgentRunResumer.class);
+
+    /** Journal handed to the next run started on the thread calling {@link #resume}. */
+    private static final ThreadLocal<AgentRunJournal> PENDING = new ThreadLocal<>();
+
+    @Inject
+    DaprWorkflowClient workflowClient;
+
+    @Inject
+    DaprAgenticConfig config;
+
+    /**
+     * Ends the workflow of the interrupted run {@code agentRunId} and runs {@code agentCall} with
+     * the run's recorded input, replaying the calls the interrupted run completed.
+     *
+     * @param agentRunId the ID of the interrupted run
+     * @param agentCall  invokes the {@code @Agent} method named by {@link AgentRunInput#agentName()}
+     *                   with the arguments of the interrupted run, synchronously on the calling
+     *                   thread; given {@code null} if the workflow recorded no input
+     * @return the result of {@code agentCall}
+     * @throws IllegalArgumentException if there is no workflow for {@code agentRunId}, or the run
+     *                                  was started by an orchestration
+     * @throws IllegalStateException    if the run is still in progress in this process, or its
+     *                                  workflow did not end in time
+     */
+    public <T> T resume(String agentRunId, Function<AgentRunInput, T> agentCall) {
+        AgentRunJournal journal = interrupt(agentRunId);
+        LOG.infof("[AgentRun:%s] Resuming interrupted agent run", agentRunId);
+        PENDING.set(journal);
+        try {
+            return agentCall.apply(journal.input());
+        } finally {
+            PENDING.remove();
+        }
+    }
+
+    /**
+     * Ends the workflow of {@code agentRunId} if it is still running and returns its input and the
+     * calls it recorded.
+     */
+    AgentRunJournal interrupt(String agentRunId) {
+        if (DaprAgentRunRegistry.get(agentRunId) != null) {
+            throw new IllegalStateException("Agent run " + agentRunId + " is still in progress");
+        }
+        WorkflowInstanceStatus status = workflowClient.getInstanceState(agentRunId, true);
+        if (status == null) {
+            throw new IllegalArgumentException("No AgentRunWorkflow found for agentRunId: " + agentRunId);
+        }
+        AgentRunInput input = status.readInputAs(AgentRunInput.class);
+        if (input != null && input.plannerId() != null) {
+            throw new IllegalArgumentException("Agent run " + agentRunId + " was started by orchestration "
+                    + input.plannerId() + " and cannot be resumed on its own");
+        }
+        if (status.isRunning()) {
+            workflowClient.raiseEvent(agentRunId, "agent-event", new AgentEvent("interrupt", null, null, null));
+            Duration timeout = config.resume().interruptTimeout();
+            try {
+                status = workflowClient.waitForInstanceCompletion(agentRunId, timeout, true);
+            } catch (TimeoutException e) {
+                throw new IllegalStateException("AgentRunWorkflow " + agentRunId + " did not end within " + timeout, e);
+            }
+        }
+        AgentRunOutput output = status != null ? status.readOutputAs(AgentRunOutput.class) : null;
+        return new AgentRunJournal(input, output != null ? output : new AgentRunOutput(null, List.of(), List.of()));
+    }
+
+    /**
+     * Returns and clears the journal to replay in the run being started on this thread, or
+     * {@code null} when the thread is not resuming a run.
+     */
+    static AgentRunJournal takePendingJournal() {
+        AgentRunJournal journal = PENDING.get();
+        PENDING.remove();
+        return journal;
+    }
+}
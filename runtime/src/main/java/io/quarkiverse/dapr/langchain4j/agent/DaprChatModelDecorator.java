@@ -1,16 +1,28 @@
 package io.quarkiverse.dapr.langchain4j.agent;
 
 import java.lang.reflect.Method;
-import java.util.UUID;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.jboss.logging.Logger;
 
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
 import dev.langchain4j.model.chat.ChatModel;
 import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
 import dev.langchain4j.model.chat.response.ChatResponse;
 import io.dapr.workflows.client.DaprWorkflowClient;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallActivity;
+import io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallOutput;
 import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentEvent;
+import io.quarkiverse.dapr.langchain4j.cache.LlmResponseCache;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticConfig;
+import io.quarkiverse.dapr.langchain4j.metrics.DaprAgentMetrics;
+import io.quarkiverse.dapr.langchain4j.tracing.DaprAgentTracing;
 import jakarta.annotation.Priority;
 import jakarta.decorator.Decorator;
 import jakarta.decorator.Delegate;
@@ -57,6 +69,17 @@ import jakarta.interceptor.Interceptor;
  * This decorator calls {@link AgentRunLifecycleManager#getOrActivate()} to lazily start
  * an {@link io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunWorkflow} so that all
  * subsequent LLM and tool calls are routed through Dapr.
+ * <p>
+ * <h3>Prompt capture</h3>
+ * The rendered prompt is not sent with the {@code "llm-call"} event. {@code LlmCallActivity}
+ * renders it from the pending {@code ChatRequest} only if the agent's
+ * {@link PayloadCapturePolicy} records it, so each prompt reaches the sidecar at most once.
+ * <p>
+ * <h3>Durability levels</h3>
+ * Only {@link DurabilityLevel#FULL} runs route LLM calls through an activity. For the other
+ * durable levels the call runs on the agent thread and is recorded with the next event sent
+ * to the workflow; like {@code LlmCallActivity}, it is then answered from the
+ * {@link LlmResponseCache} when the cache is enabled for the agent.
  */
 @Decorator
 @Priority(Interceptor.Priority.APPLICATION)
@@ -65,6 +88,20 @@ public class DaprChatModelDecorator implements ChatModel {
 
     private static final Logger LOG = Logger.getLogger(DaprChatModelDecorator.class);
 
+    /** Agent name used for runs lazily activated by the first LLM call. */
+    private static final String STANDALONE_AGENT = "standalone";
+
+    /** {@code ChatModel.chat(ChatRequest)}, re-invoked by {@code LlmCallActivity} on this decorator. */
+    static final Method CHAT_METHOD;
+
+    static {
+        try {
+            CHAT_METHOD = ChatModel.class.getMethod("chat", ChatRequest.class);
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     @Inject
     @Delegate
     @Any
@@ -76,6 +113,15 @@ public class DaprChatModelDecorator implements ChatModel {
     @Inject
     Instance<AgentRunLifecycleManager> lifecycleManager;
 
+    @Inject
+    DaprAgenticConfig config;
+
+    @Inject
+    DaprAgentMetrics metrics;
+
+    @Inject
+    LlmResponseCache responseCache;
+
     /**
      * Explicit delegation for the {@code doChat()} template method.
      * <p>
@@ -111,7 +157,10 @@ public class DaprChatModelDecorator implements ChatModel {
             // The first event in the ReAct loop is always an LLM call, so this is typically
             // where the AgentRunWorkflow is started for standalone @Agent invocations.
             // Pass the rendered messages so they are recorded in the workflow input.
-            agentRunId = tryLazyActivate(extractUserMessage(request), extractSystemMessage(request));
+            PayloadCapturePolicy policy = PayloadCapturePolicy.of(config, STANDALONE_AGENT);
+            agentRunId = tryLazyActivate(
+                    policy.capture(() -> extractUserMessage(request)),
+                    policy.capture(() -> extractSystemMessage(request)));
             if (agentRunId == null) {
                 // Not in a CDI request scope (e.g., background thread) — execute directly.
                 return delegate.chat(request);
@@ -123,37 +172,94 @@ public class DaprChatModelDecorator implements ChatModel {
             return delegate.chat(request);
         }
 
-        // Register this LLM call and get a future for the result.
-        String llmCallId = UUID.randomUUID().toString();
-        try {
-            // Store (this, chat-method, request) so LlmCallActivity can re-invoke
-            // this decorator's chat() with IS_ACTIVITY_CALL set, which passes through
-            // to delegate.chat(request) — the real LLM execution.
-            Method chatMethod = ChatModel.class.getMethod("chat", ChatRequest.class);
-            CompletableFuture<Object> future = runCtx.registerCall(
-                    llmCallId, this, chatMethod, new Object[] { request });
+        // A resumed run answers the calls the interrupted run already made from its journal.
+        AgentRunJournal journal = runCtx.getJournal();
+        LlmCallOutput recorded = journal != null ? journal.nextLlmCall(AgentRunJournal.promptDigest(request)) : null;
+        if (recorded != null) {
+            LOG.debugf("[AgentRun:%s] Replaying LLM call from journal", agentRunId);
+            runCtx.recordInlineLlmCall(recorded);
+            return AgentRunJournal.chatResponse(recorded);
+        }
+        if (!runCtx.getDurability().routesCalls()) {
+            return chatInline(request, runCtx);
+        }
 
-            // Extract the prompt for observability in the workflow history.
-            String prompt = extractPrompt(request);
+        // Register this LLM call and get a future for the result.
+        // Store (this, chat-method, request) so LlmCallActivity can re-invoke
+        // this decorator's chat() with IS_ACTIVITY_CALL set, which passes through
+        // to delegate.chat(request) — the real LLM execution.
+        String llmCallId = runCtx.nextCallId();
+        CompletableFuture<Object> future = runCtx.registerCall(
+                llmCallId, this, CHAT_METHOD, new Object[] { request });
 
-            LOG.infof("[AgentRun:%s][LlmCall:%s] Routing LLM call through Dapr: chat()",
-                    agentRunId, llmCallId);
+        LOG.debugf("[AgentRun:%s][LlmCall:%s] Routing LLM call through Dapr: chat()",
+                agentRunId, llmCallId);
 
-            // Notify the AgentRunWorkflow that an LLM call is waiting.
-            // The prompt is passed as args so it is stored in the Dapr activity input.
-            workflowClient.raiseEvent(agentRunId, "agent-event",
-                    new AgentEvent("llm-call", llmCallId, "chat", prompt));
+        // Notify the AgentRunWorkflow that an LLM call is waiting. The prompt is not sent
+        // with the event: LlmCallActivity captures it from the pending call according to
+        // the configured PayloadCapturePolicy, so it is recorded at most once.
+        long raiseStart = System.nanoTime();
+        workflowClient.raiseEvent(agentRunId, "agent-event",
+                new AgentEvent("llm-call", llmCallId, "chat", null, DaprAgentTracing.parentOf(runCtx),
+                        runCtx.drainInlineToolCalls(), runCtx.drainInlineLlmCalls()));
+        metrics.recordEventRaise(runCtx.getAgentName(), "llm-call", System.nanoTime() - raiseStart);
 
-            // Block the agent thread until LlmCallActivity completes the LLM execution.
-            return (ChatResponse) future.join();
+        // Block the agent thread until LlmCallActivity completes the LLM execution.
+        return (ChatResponse) future.join();
+    }
 
-        } catch (NoSuchMethodException e) {
-            LOG.warnf("[AgentRun:%s][LlmCall:%s] Could not find chat(ChatRequest) via reflection"
-                    + " — falling back to direct call: %s", agentRunId, llmCallId, e.getMessage());
-            return delegate.chat(request);
+    /**
+     * Executes an LLM call on the agent thread, unless the {@link LlmResponseCache} holds its
+     * response, and buffers it for the next event.
+     */
+    private ChatResponse chatInline(ChatRequest request, AgentRunContext runCtx) {
+        Span span = DaprAgentTracing.startSpan("llm chat", DaprAgentTracing.parentOf(runCtx));
+        span.setAttribute(DaprAgentTracing.AGENT_RUN_ID, runCtx.getAgentRunId());
+        if (runCtx.getAgentName() != null) {
+            span.setAttribute(DaprAgentTracing.AGENT_NAME, runCtx.getAgentName());
+        }
+        String cacheKey = responseCache.isEnabled(runCtx.getAgentName()) ? responseCache.key(modelIdentity(), request)
+                : null;
+        long start = System.nanoTime();
+        try (Scope scope = span.makeCurrent()) {
+            ChatResponse response = cacheKey != null ? responseCache.get(cacheKey) : null;
+            boolean cached = response != null;
+            if (cached) {
+                span.setAttribute(DaprAgentTracing.CACHED, true);
+            } else {
+                response = delegate.chat(request);
+                if (cacheKey != null) {
+                    responseCache.put(cacheKey, response);
+                }
+            }
+            ChatResponse result = response;
+            metrics.recordLlmCall(runCtx.getAgentName(), System.nanoTime() - start, true, cached);
+            PayloadCapturePolicy policy = PayloadCapturePolicy.of(config, runCtx.getAgentName());
+            boolean resumable = config.resume().enabled();
+            runCtx.recordInlineLlmCall(new LlmCallOutput("chat",
+                    policy.capture(() -> String.valueOf(request.messages())),
+                    policy.capture(() -> LlmCallActivity.extractResponseText(result)),
+                    resumable ? AgentRunJournal.aiMessageJson(result) : null,
+                    resumable ? AgentRunJournal.promptDigest(request) : null));
+            return result;
+        } catch (RuntimeException e) {
+            DaprAgentTracing.fail(span, e);
+            metrics.recordLlmCall(runCtx.getAgentName(), System.nanoTime() - start, false, false);
+            throw e;
+        } finally {
+            span.end();
         }
     }
 
+    /**
+     * Identifies the model behind this decorator — provider and default model name — so that
+     * cached responses are never shared between different models.
+     */
+    public String modelIdentity() {
+        ChatRequestParameters defaults = delegate.defaultRequestParameters();
+        return delegate.provider() + "/" + (defaults != null ? defaults.modelName() : null);
+    }
+
     /**
      * Lazily activates an {@link AgentRunLifecycleManager} for the current CDI request scope,
      * recording the rendered user and system messages in the workflow input for observability.
@@ -164,8 +270,8 @@ public class DaprChatModelDecorator implements ChatModel {
      */
     private String tryLazyActivate(String userMessage, String systemMessage) {
         try {
-            String agentRunId = lifecycleManager.get().getOrActivate("standalone", userMessage, systemMessage);
-            LOG.infof("[AgentRun:%s] Lazy activation triggered by first LLM call", agentRunId);
+            String agentRunId = lifecycleManager.get().getOrActivate(STANDALONE_AGENT, userMessage, systemMessage);
+            LOG.debugf("[AgentRun:%s] Lazy activation triggered by first LLM call", agentRunId);
             return agentRunId;
         } catch (Exception e) {
             LOG.debugf("Could not lazily activate AgentRunWorkflow (no active request scope?): %s",
@@ -174,67 +280,33 @@ public class DaprChatModelDecorator implements ChatModel {
         }
     }
 
-    /**
-     * Extracts the messages from a {@code ChatRequest} for observability in the workflow history.
-     * Uses reflection to avoid a hard version-specific dependency on langchain4j internals.
-     */
-    private String extractPrompt(ChatRequest request) {
-        if (request == null) {
-            return null;
-        }
-        try {
-            Object messages = request.getClass().getMethod("messages").invoke(request);
-            return String.valueOf(messages);
-        } catch (Exception e) {
-            return String.valueOf(request);
-        }
-    }
-
     /**
      * Extracts the last (most recent) user message text from the {@code ChatRequest}.
-     * Uses reflection to remain decoupled from specific langchain4j internals.
      */
-    private String extractUserMessage(ChatRequest request) {
+    static String extractUserMessage(ChatRequest request) {
         if (request == null) {
             return null;
         }
-        try {
-            java.util.List<?> messages = (java.util.List<?>) request.getClass().getMethod("messages").invoke(request);
-            for (int i = messages.size() - 1; i >= 0; i--) {
-                Object msg = messages.get(i);
-                if ("UserMessage".equals(msg.getClass().getSimpleName())) {
-                    try {
-                        return (String) msg.getClass().getMethod("singleText").invoke(msg);
-                    } catch (Exception e) {
-                        return String.valueOf(msg);
-                    }
-                }
+        List<ChatMessage> messages = request.messages();
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if (messages.get(i) instanceof UserMessage userMessage) {
+                return userMessage.hasSingleText() ? userMessage.singleText() : String.valueOf(userMessage);
             }
-        } catch (Exception ignored) {
         }
         return null;
     }
 
     /**
      * Extracts the system message text from the {@code ChatRequest}.
-     * Uses reflection to remain decoupled from specific langchain4j internals.
      */
-    private String extractSystemMessage(ChatRequest request) {
+    static String extractSystemMessage(ChatRequest request) {
         if (request == null) {
             return null;
         }
-        try {
-            java.util.List<?> messages = (java.util.List<?>) request.getClass().getMethod("messages").invoke(request);
-            for (Object msg : messages) {
-                if ("SystemMessage".equals(msg.getClass().getSimpleName())) {
-                    try {
-                        return (String) msg.getClass().getMethod("text").invoke(msg);
-                    } catch (Exception e) {
-                        return String.valueOf(msg);
-                    }
-                }
+        for (ChatMessage message : request.messages()) {
+            if (message instanceof SystemMessage systemMessage) {
+                return systemMessage.text();
             }
-        } catch (Exception ignored) {
         }
         return null;
     }
@@ -0,0 +1,39 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+/**
+ * Service provider interface for the identifiers used by Dapr-backed agent runs.
+ * <p>
+ * Two kinds of identifiers are generated:
+ * <ul>
+ *   <li><strong>Run IDs</strong> — used as Dapr Workflow instance IDs for
+ *       {@link io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunWorkflow} and the
+ *       orchestration workflows started by
+ *       {@link io.quarkiverse.dapr.langchain4j.workflow.DaprWorkflowPlanner}. They must be
+ *       unique across all replicas sharing the same workflow state store.</li>
+ *   <li><strong>Call IDs</strong> — identify a single tool or LLM call within a run. They only
+ *       need to be unique within their run and are recorded in the workflow history, so the
+ *       default is a short per-run sequence ({@code <runId>#<n>}) that is identical on every
+ *       replay of the same run.</li>
+ * </ul>
+ * <p>
+ * The active implementation is resolved by {@link DaprIdGenerators} through
+ * {@link java.util.ServiceLoader}; register a custom implementation in
+ * {@code META-INF/services/io.quarkiverse.dapr.langchain4j.agent.DaprIdGenerator}.
+ */
+public interface DaprIdGenerator {
+
+    /**
+     * Returns a new, globally unique identifier for an agent run or orchestration.
+     */
+    String nextRunId();
+
+    /**
+     * Returns the identifier of the {@code sequence}-th call made within the given run.
+     *
+     * @param agentRunId the owning agent run ID
+     * @param sequence   the 1-based position of the call within the run
+     */
+    default String nextCallId(String agentRunId, long sequence) {
+        return agentRunId + "#" + sequence;
+    }
+}
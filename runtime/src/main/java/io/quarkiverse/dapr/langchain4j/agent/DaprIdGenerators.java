@@ -0,0 +1,45 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/**
+ * Static holder for the active {@link DaprIdGenerator}.
+ * <p>
+ * The first implementation found through {@link ServiceLoader} is used; when none is
+ * registered, {@link MonotonicIdGenerator} is the default.
+ */
+public class DaprIdGenerators {
+
+    private static volatile DaprIdGenerator generator;
+
+    private DaprIdGenerators() {
+    }
+
+    public static DaprIdGenerator get() {
+        DaprIdGenerator current = generator;
+        if (current == null) {
+            synchronized (DaprIdGenerators.class) {
+                current = generator;
+                if (current == null) {
+                    current = load();
+                    generator = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Overrides the active generator. Passing {@code null} restores the default lookup.
+     */
+    public static void set(DaprIdGenerator idGenerator) {
+        generator = idGenerator;
+    }
+
+    private static DaprIdGenerator load() {
+        Iterator<DaprIdGenerator> providers = ServiceLoader
+                .load(DaprIdGenerator.class, DaprIdGenerators.class.getClassLoader()).iterator();
+        return providers.hasNext() ? providers.next() : new MonotonicIdGenerator();
+    }
+}
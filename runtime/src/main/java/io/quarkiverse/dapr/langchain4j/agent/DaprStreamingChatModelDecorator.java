@@ -0,0 +1,337 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jboss.logging.Logger;
+
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.CompleteToolCall;
+import dev.langchain4j.model.chat.response.PartialThinking;
+import dev.langchain4j.model.chat.response.PartialToolCall;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.opentelemetry.api.trace.Span;
+import io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallActivity;
+import io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentEvent;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticConfig;
+import io.quarkiverse.dapr.langchain4j.metrics.DaprAgentMetrics;
+import io.quarkiverse.dapr.langchain4j.tracing.DaprAgentTracing;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+
+/**
+ * CDI Decorator that routes {@code StreamingChatModel.chat(ChatRequest, StreamingChatResponseHandler)}
+ * calls through a Dapr Workflow Activity when executing inside an active agent run.
+ * <p>
+ * This is the streaming counterpart of {@link DaprChatModelDecorator}; see that class for why a
+ * decorator is used instead of an interceptor.
+ * <p>
+ * <h3>Execution flow</h3>
+ * <ol>
+ *   <li>The caller invokes {@code chat(request, handler)}. If a Dapr agent run is active, the
+ *       decorator registers a {@link AgentRunContext.PendingCall} targeting
+ *       {@link #streamAndAwait(ChatRequest, StreamingChatResponseHandler)}, raises an
+ *       {@code "llm-call"} event and returns immediately — the caller is never blocked, as the
+ *       streaming contract requires.</li>
+ *   <li>{@link io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallActivity} invokes
+ *       {@code streamAndAwait()} on the activity thread. It starts the real streaming call on
+ *       the delegate and forwards every partial token, thinking and tool-call fragment to the
+ *       caller's handler <em>as it arrives</em>, so time-to-first-token is unchanged.</li>
+ *   <li>{@code streamAndAwait()} returns the aggregated {@code ChatResponse} once the stream
+ *       completes; the activity records it in the workflow history like a blocking call.</li>
+ *   <li>The pending call's future then delivers {@code onCompleteResponse} (or
+ *       {@code onError}) to the caller's handler on a separate thread with
+ *       {@link DaprAgentContextHolder} set, so tool calls that the AiService makes from its
+ *       completion callback are still routed through Dapr and never run on the activity
+ *       thread.</li>
+ * </ol>
+ * Runs below {@link DurabilityLevel#FULL} stream on the caller's thread instead, and the
+ * completed call is recorded with the next event sent to the workflow.
+ */
+@Decorator
+@Priority(Interceptor.Priority.APPLICATION)
+@Dependent
+public class DaprStreamingChatModelDecorator implements StreamingChatModel {
+
+    private static final Logger LOG = Logger.getLogger(DaprStreamingChatModelDecorator.class);
+
+    /** Agent name used for runs lazily activated by the first LLM call. */
+    private static final String STANDALONE_AGENT = "standalone";
+
+    /** {@link #streamAndAwait}, invoked by {@code LlmCallActivity} on this decorator. */
+    static final Method STREAM_METHOD;
+
+    static {
+        try {
+            STREAM_METHOD = DaprStreamingChatModelDecorator.class.getMethod("streamAndAwait",
+                    ChatRequest.class, StreamingChatResponseHandler.class);
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Inject
+    @Delegate
+    @Any
+    StreamingChatModel delegate;
+
+    @Inject
+    DaprWorkflowClient workflowClient;
+
+    @Inject
+    Instance<AgentRunLifecycleManager> lifecycleManager;
+
+    @Inject
+    DaprAgenticConfig config;
+
+    @Inject
+    DaprAgentMetrics metrics;
+
+    /**
+     * Delivers completion callbacks off the activity thread, with the caller's context
+     * propagated. Callbacks may make further (blocking) tool and LLM calls.
+     */
+    @Inject
+    ManagedExecutor callbackExecutor;
+
+    /**
+     * Explicit delegation for the {@code doChat()} template method; see
+     * {@link DaprChatModelDecorator#doChat(ChatRequest)} for why this is required.
+     */
+    @Override
+    public void doChat(ChatRequest request, StreamingChatResponseHandler handler) {
+        delegate.doChat(request, handler);
+    }
+
+    @Override
+    public void chat(ChatRequest request, StreamingChatResponseHandler handler) {
+        // If called from LlmCallActivity (IS_ACTIVITY_CALL is set), this is the real
+        // execution — pass through to the real StreamingChatModel.
+        if (Boolean.TRUE.equals(DaprToolCallInterceptor.IS_ACTIVITY_CALL.get())) {
+            delegate.chat(request, handler);
+            return;
+        }
+
+        String agentRunId = DaprAgentContextHolder.get();
+        if (agentRunId == null) {
+            PayloadCapturePolicy policy = PayloadCapturePolicy.of(config, STANDALONE_AGENT);
+            agentRunId = tryLazyActivate(
+                    policy.capture(() -> DaprChatModelDecorator.extractUserMessage(request)),
+                    policy.capture(() -> DaprChatModelDecorator.extractSystemMessage(request)));
+            if (agentRunId == null) {
+                delegate.chat(request, handler);
+                return;
+            }
+        }
+
+        AgentRunContext runCtx = DaprAgentRunRegistry.get(agentRunId);
+        if (runCtx == null) {
+            delegate.chat(request, handler);
+            return;
+        }
+
+        // A resumed run answers the calls the interrupted run already made from its journal.
+        AgentRunJournal journal = runCtx.getJournal();
+        LlmCallOutput recorded = journal != null ? journal.nextLlmCall(AgentRunJournal.promptDigest(request)) : null;
+        if (recorded != null) {
+            LOG.debugf("[AgentRun:%s] Replaying streaming LLM call from journal", agentRunId);
+            runCtx.recordInlineLlmCall(recorded);
+            ChatResponse response = AgentRunJournal.chatResponse(recorded);
+            if (response.aiMessage().text() != null) {
+                handler.onPartialResponse(response.aiMessage().text());
+            }
+            runCtx.openStream();
+            complete(runCtx, handler, response, null);
+            return;
+        }
+        if (!runCtx.getDurability().routesCalls()) {
+            chatInline(request, handler, runCtx);
+            return;
+        }
+
+        String llmCallId = runCtx.nextCallId();
+        runCtx.openStream();
+        CompletableFuture<Object> future = runCtx.registerCall(
+                llmCallId, this, STREAM_METHOD, new Object[] { request, handler });
+
+        // Deliver the terminal callback once LlmCallActivity has recorded the response. The copy's
+        // dependent stage captures the caller's context now and runs on the managed executor.
+        callbackExecutor.copy(future).whenCompleteAsync((result, error) -> complete(runCtx, handler, result, error));
+
+        LOG.debugf("[AgentRun:%s][LlmCall:%s] Routing streaming LLM call through Dapr: chat()",
+                agentRunId, llmCallId);
+
+        long raiseStart = System.nanoTime();
+        try {
+            workflowClient.raiseEvent(agentRunId, "agent-event",
+                    new AgentEvent("llm-call", llmCallId, "stream", null, DaprAgentTracing.parentOf(runCtx),
+                            runCtx.drainInlineToolCalls(), runCtx.drainInlineLlmCalls()));
+        } catch (RuntimeException e) {
+            // No activity will ever run this call: fail it, which delivers onError and closes the
+            // stream, so the run can still send "done".
+            runCtx.failCall(llmCallId, e);
+            throw e;
+        }
+        metrics.recordEventRaise(runCtx.getAgentName(), "llm-call", System.nanoTime() - raiseStart);
+    }
+
+    /**
+     * Streams directly from the delegate and buffers the completed call for the next event.
+     * The completion callback runs with {@link DaprAgentContextHolder} set, so the tool calls
+     * it makes still belong to the run.
+     */
+    private void chatInline(ChatRequest request, StreamingChatResponseHandler handler, AgentRunContext runCtx) {
+        Span span = DaprAgentTracing.startSpan("llm stream", DaprAgentTracing.parentOf(runCtx));
+        span.setAttribute(DaprAgentTracing.AGENT_RUN_ID, runCtx.getAgentRunId());
+        if (runCtx.getAgentName() != null) {
+            span.setAttribute(DaprAgentTracing.AGENT_NAME, runCtx.getAgentName());
+        }
+        long start = System.nanoTime();
+        runCtx.openStream();
+        delegate.chat(request, new StreamingChatResponseHandler() {
+            @Override
+            public void onPartialResponse(String partialResponse) {
+                handler.onPartialResponse(partialResponse);
+            }
+
+            @Override
+            public void onPartialThinking(PartialThinking partialThinking) {
+                handler.onPartialThinking(partialThinking);
+            }
+
+            @Override
+            public void onPartialToolCall(PartialToolCall partialToolCall) {
+                handler.onPartialToolCall(partialToolCall);
+            }
+
+            @Override
+            public void onCompleteToolCall(CompleteToolCall completeToolCall) {
+                handler.onCompleteToolCall(completeToolCall);
+            }
+
+            @Override
+            public void onCompleteResponse(ChatResponse completeResponse) {
+                metrics.recordLlmCall(runCtx.getAgentName(), System.nanoTime() - start, true, false);
+                span.end();
+                PayloadCapturePolicy policy = PayloadCapturePolicy.of(config, runCtx.getAgentName());
+                boolean resumable = config.resume().enabled();
+                runCtx.recordInlineLlmCall(new LlmCallOutput("stream",
+                        policy.capture(() -> String.valueOf(request.messages())),
+                        policy.capture(() -> LlmCallActivity.extractResponseText(completeResponse)),
+                        resumable ? AgentRunJournal.aiMessageJson(completeResponse) : null,
+                        resumable ? AgentRunJournal.promptDigest(request) : null));
+                complete(runCtx, handler, completeResponse, null);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                metrics.recordLlmCall(runCtx.getAgentName(), System.nanoTime() - start, false, false);
+                DaprAgentTracing.fail(span, error);
+                span.end();
+                complete(runCtx, handler, null, error);
+            }
+        });
+    }
+
+    /**
+     * Executes the real streaming call on the Dapr activity thread and blocks until it
+     * finishes. Partial responses are forwarded to {@code handler} as they arrive; the
+     * terminal callback is delivered by {@link #chat(ChatRequest, StreamingChatResponseHandler)}
+     * after the activity has completed the pending call.
+     *
+     * @return the aggregated response recorded by {@code LlmCallActivity}
+     */
+    public ChatResponse streamAndAwait(ChatRequest request, StreamingChatResponseHandler handler) {
+        CompletableFuture<ChatResponse> completion = new CompletableFuture<>();
+        delegate.chat(request, new StreamingChatResponseHandler() {
+            @Override
+            public void onPartialResponse(String partialResponse) {
+                handler.onPartialResponse(partialResponse);
+            }
+
+            @Override
+            public void onPartialThinking(PartialThinking partialThinking) {
+                handler.onPartialThinking(partialThinking);
+            }
+
+            @Override
+            public void onPartialToolCall(PartialToolCall partialToolCall) {
+                handler.onPartialToolCall(partialToolCall);
+            }
+
+            @Override
+            public void onCompleteToolCall(CompleteToolCall completeToolCall) {
+                handler.onCompleteToolCall(completeToolCall);
+            }
+
+            @Override
+            public void onCompleteResponse(ChatResponse completeResponse) {
+                completion.complete(completeResponse);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                completion.completeExceptionally(error);
+            }
+        });
+        try {
+            return completion.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Delivers the terminal callback of a stream opened in {@code runCtx} and closes it.
+     */
+    private static void complete(AgentRunContext runCtx, StreamingChatResponseHandler handler,
+            Object result, Throwable error) {
+        // Inline streams may complete on the agent thread itself: restore its run afterwards.
+        String previous = DaprAgentContextHolder.get();
+        DaprAgentContextHolder.set(runCtx.getAgentRunId());
+        try {
+            if (error != null) {
+                handler.onError(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error);
+            } else {
+                handler.onCompleteResponse((ChatResponse) result);
+            }
+        } finally {
+            if (previous != null) {
+                DaprAgentContextHolder.set(previous);
+            } else {
+                DaprAgentContextHolder.clear();
+            }
+            runCtx.closeStream();
+        }
+    }
+
+    private String tryLazyActivate(String userMessage, String systemMessage) {
+        try {
+            String agentRunId = lifecycleManager.get().getOrActivate(STANDALONE_AGENT, userMessage, systemMessage);
+            LOG.debugf("[AgentRun:%s] Lazy activation triggered by first streaming LLM call", agentRunId);
+            return agentRunId;
+        } catch (Exception e) {
+            LOG.debugf("Could not lazily activate AgentRunWorkflow (no active request scope?): %s",
+                    e.getMessage());
+            return null;
+        }
+    }
+}
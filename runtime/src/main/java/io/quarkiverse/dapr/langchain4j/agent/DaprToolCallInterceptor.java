@@ -1,13 +1,22 @@
 package io.quarkiverse.dapr.langchain4j.agent;
 
+import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.UUID;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import org.jboss.logging.Logger;
 
 import io.dapr.workflows.client.DaprWorkflowClient;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallOutput;
 import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentEvent;
+import io.quarkiverse.dapr.langchain4j.cache.ToolResultCache;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticConfig;
+import io.quarkiverse.dapr.langchain4j.metrics.DaprAgentMetrics;
+import io.quarkiverse.dapr.langchain4j.tracing.DaprAgentTracing;
 import jakarta.annotation.Priority;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
@@ -33,6 +42,14 @@ import jakarta.interceptor.InvocationContext;
  * The workflow is terminated by {@link AgentRunLifecycleManager}'s {@code @PreDestroy} when the
  * CDI request scope ends.
  * <p>
+ * <h3>Inline tools</h3>
+ * Tools annotated with {@link InlineTool}, or listed in the agent's {@code inline-tools}
+ * configuration, are executed directly on the agent thread. Their calls are buffered in the
+ * {@link AgentRunContext} and sent with the next event of the run. Every tool of a run below
+ * {@link DurabilityLevel#FULL} is executed this way. Like {@code ToolCallActivity}, the
+ * interceptor serves {@link io.quarkiverse.dapr.langchain4j.cache.IdempotentTool} results from
+ * the {@link ToolResultCache}.
+ * <p>
  * <h3>Deadlock prevention</h3>
  * {@code ToolCallActivity} calls the {@code @Tool} method via reflection on the CDI proxy. This
  * would cause the interceptor to fire again. The {@link #IS_ACTIVITY_CALL} {@code ThreadLocal}
@@ -59,6 +76,15 @@ public class DaprToolCallInterceptor {
     @Inject
     Instance<AgentRunLifecycleManager> lifecycleManager;
 
+    @Inject
+    DaprAgentMetrics metrics;
+
+    @Inject
+    DaprAgenticConfig config;
+
+    @Inject
+    ToolResultCache toolCache;
+
     @AroundInvoke
     public Object intercept(InvocationContext ctx) throws Exception {
         // If called from ToolCallActivity, this is the real execution — proceed normally.
@@ -70,6 +96,10 @@ public class DaprToolCallInterceptor {
         String agentRunId = DaprAgentContextHolder.get();
 
         if (agentRunId == null) {
+            if (isInlineTool(ctx.getMethod())) {
+                // Not worth starting a workflow for a call that is not routed through it.
+                return ctx.proceed();
+            }
             // No orchestration context — try to lazily activate a workflow for this request.
             agentRunId = tryLazyActivate(ctx.getMethod().getName());
             if (agentRunId == null) {
@@ -83,8 +113,24 @@ public class DaprToolCallInterceptor {
             return ctx.proceed();
         }
 
+        // A resumed run answers the calls the interrupted run already made from its journal.
+        AgentRunJournal journal = runCtx.getJournal();
+        ToolCallOutput recorded = journal != null
+                ? journal.nextToolCall(ctx.getMethod().getName(), AgentRunJournal.argsDigest(ctx.getParameters()))
+                : null;
+        if (recorded != null) {
+            LOG.debugf("[AgentRun:%s] Replaying tool call from journal: %s", agentRunId, recorded.toolName());
+            runCtx.recordInlineToolCall(recorded);
+            return AgentRunJournal.toolResult(recorded, ctx.getMethod());
+        }
+
+        if (!runCtx.getDurability().routesCalls() || isInlineTool(ctx.getMethod())
+                || isInlineForAgent(ctx.getMethod(), runCtx.getAgentName())) {
+            return executeInline(ctx, runCtx);
+        }
+
         // Register this tool call and get a future for the result.
-        String toolCallId = UUID.randomUUID().toString();
+        String toolCallId = runCtx.nextCallId();
         CompletableFuture<Object> future = runCtx.registerCall(
                 toolCallId,
                 ctx.getTarget(),
@@ -96,17 +142,89 @@ public class DaprToolCallInterceptor {
             args = Arrays.toString(ctx.getParameters());
         }
 
-        LOG.infof("[AgentRun:%s][ToolCall:%s] Routing tool call through Dapr: method=%s, args=%s",
-                agentRunId, toolCallId, ctx.getMethod().getName(), args);
+        if (AgentStepLogging.isEnabled(LOG)) {
+            LOG.debugf("[AgentRun:%s][ToolCall:%s] Routing tool call through Dapr: method=%s, args=%s",
+                    agentRunId, toolCallId, ctx.getMethod().getName(), AgentStepLogging.payload(config, args));
+        }
 
         // Notify the AgentRunWorkflow that a tool call is waiting.
+        long raiseStart = System.nanoTime();
         workflowClient.raiseEvent(agentRunId, "agent-event",
-                new AgentEvent("tool-call", toolCallId, ctx.getMethod().getName(), args));
+                new AgentEvent("tool-call", toolCallId, ctx.getMethod().getName(), args,
+                        DaprAgentTracing.parentOf(runCtx), runCtx.drainInlineToolCalls(),
+                        runCtx.drainInlineLlmCalls()));
+        metrics.recordEventRaise(runCtx.getAgentName(), "tool-call", System.nanoTime() - raiseStart);
 
         // Block the agent thread until ToolCallActivity completes the tool execution.
         return future.join();
     }
 
+    /**
+     * Executes an inline tool on the agent thread, unless the {@link ToolResultCache} holds its
+     * result, and buffers the call for the next event.
+     */
+    private Object executeInline(InvocationContext ctx, AgentRunContext runCtx) throws Exception {
+        Method method = ctx.getMethod();
+        String toolName = method.getName();
+        Object[] params = ctx.getParameters();
+        String args = params == null ? "" : Arrays.toString(params);
+
+        Span span = DaprAgentTracing.startSpan("tool " + toolName, DaprAgentTracing.parentOf(runCtx));
+        span.setAttribute(DaprAgentTracing.AGENT_RUN_ID, runCtx.getAgentRunId());
+        if (runCtx.getAgentName() != null) {
+            span.setAttribute(DaprAgentTracing.AGENT_NAME, runCtx.getAgentName());
+        }
+        Duration ttl = toolCache != null ? toolCache.ttl(method) : null;
+        String cacheKey = ttl != null ? toolCache.key(method, params) : null;
+        long start = System.nanoTime();
+        try (Scope scope = span.makeCurrent()) {
+            Object result = cacheKey != null ? toolCache.get(cacheKey, method, ttl) : null;
+            boolean cached = result != null;
+            if (cached) {
+                span.setAttribute(DaprAgentTracing.CACHED, true);
+            } else {
+                result = ctx.proceed();
+                if (cacheKey != null) {
+                    toolCache.put(cacheKey, result, ttl);
+                }
+            }
+            metrics.recordToolCall(runCtx.getAgentName(), toolName, System.nanoTime() - start, true, cached);
+            String resultStr = String.valueOf(result);
+            boolean resumable = config != null && config.resume().enabled();
+            runCtx.recordInlineToolCall(new ToolCallOutput(toolName, args, resultStr,
+                    resumable ? AgentRunJournal.resultJson(result) : null,
+                    resumable ? AgentRunJournal.argsDigest(params) : null));
+            if (AgentStepLogging.isEnabled(LOG)) {
+                LOG.debugf("[AgentRun:%s] Inline tool call completed: %s → %s",
+                        runCtx.getAgentRunId(), toolName, AgentStepLogging.payload(config, resultStr));
+            }
+            return result;
+        } catch (Exception e) {
+            DaprAgentTracing.fail(span, e);
+            metrics.recordToolCall(runCtx.getAgentName(), toolName, System.nanoTime() - start, false, false);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private static boolean isInlineTool(Method method) {
+        return method.isAnnotationPresent(InlineTool.class)
+                || method.getDeclaringClass().isAnnotationPresent(InlineTool.class);
+    }
+
+    private boolean isInlineForAgent(Method method, String agentName) {
+        if (config == null || agentName == null) {
+            return false;
+        }
+        DaprAgenticConfig.AgentConfig agentConfig = config.agents().get(agentName);
+        if (agentConfig == null) {
+            return false;
+        }
+        Set<String> inlineTools = agentConfig.inlineTools().orElse(Set.of());
+        return inlineTools.contains("*") || inlineTools.contains(method.getName());
+    }
+
     /**
      * Lazily activates an {@link AgentRunLifecycleManager} for the current CDI request scope.
      * Returns the new {@code agentRunId}, or {@code null} if no request scope is active.
@@ -114,7 +232,7 @@ public class DaprToolCallInterceptor {
     private String tryLazyActivate(String toolMethodName) {
         try {
             String agentRunId = lifecycleManager.get().getOrActivate();
-            LOG.infof("[AgentRun:%s] Lazy activation triggered by first tool call: %s", agentRunId, toolMethodName);
+            LOG.debugf("[AgentRun:%s] Lazy activation triggered by first tool call: %s", agentRunId, toolMethodName);
             return agentRunId;
         } catch (Exception e) {
             LOG.debugf("Could not lazily activate AgentRunWorkflow (no active request scope?): %s", e.getMessage());
@@ -0,0 +1,50 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticBuildTimeConfig;
+
+/**
+ * How much of an agent's execution is made durable through Dapr Workflows.
+ */
+public enum DurabilityLevel {
+
+    /** The agent runs without Dapr: no {@code AgentRunWorkflow}, tool and LLM calls run directly. */
+    NONE,
+
+    /**
+     * Tool and LLM calls run on the agent thread and are queued in the
+     * {@link io.quarkiverse.dapr.langchain4j.audit.AgentAuditPipeline}, which records them in the
+     * background; the agent never waits for Dapr.
+     */
+    RECORD_ONLY,
+
+    /**
+     * Tool and LLM calls run on the agent thread. The {@code AgentRunWorkflow} is started before
+     * the agent and receives its recorded calls when the agent finishes, so the agent's start and
+     * end are durable checkpoints.
+     */
+    CHECKPOINTED,
+
+    /** Every tool and LLM call is executed by a Dapr Workflow Activity. */
+    FULL;
+
+    /**
+     * Resolves the level of {@code agentName}, applying its
+     * {@code quarkus.dapr.agentic.agents."<agent-name>".durability} override on top of the
+     * global setting.
+     */
+    public static DurabilityLevel of(DaprAgenticBuildTimeConfig config, String agentName) {
+        if (config == null) {
+            return FULL;
+        }
+        DaprAgenticBuildTimeConfig.AgentBuildTimeConfig agent = agentName != null ? config.agents().get(agentName)
+                : null;
+        return agent != null ? agent.durability().orElse(config.durability()) : config.durability();
+    }
+
+    /**
+     * Returns {@code true} when tool and LLM calls are routed through Dapr Workflow Activities.
+     */
+    public boolean routesCalls() {
+        return this == FULL;
+    }
+}
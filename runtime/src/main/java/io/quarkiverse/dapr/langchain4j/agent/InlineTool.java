@@ -0,0 +1,25 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a {@code @Tool} method inline on the agent thread instead of routing it through a
+ * {@link io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallActivity}.
+ * <p>
+ * Meant for cheap, deterministic tools whose durability is not worth an event and an
+ * activity round trip per call. Inline calls are not retried by Dapr and are not in the
+ * workflow history as activities; they are buffered in the {@link AgentRunContext} and
+ * recorded in the {@link io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunOutput} when
+ * the agent raises its next event, at the latest with the {@code "done"} event. Failed inline
+ * calls are not recorded.
+ * <p>
+ * On a type, applies to all tool methods of the type. Tools can also be made inline per agent
+ * with {@code quarkus.dapr.agentic.agents."<agent-name>".inline-tools}.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface InlineTool {
+}
@@ -0,0 +1,39 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Default {@link DaprIdGenerator} producing short, time-ordered run IDs.
+ * <p>
+ * A run ID has the form {@code <millis>-<node>-<counter>}, each part in base 36:
+ * <ul>
+ *   <li>{@code millis} — the wall-clock time at which the ID was generated, so IDs sort
+ *       roughly by creation time in the workflow state store;</li>
+ *   <li>{@code node} — a random value drawn once per generator, distinguishing replicas;</li>
+ *   <li>{@code counter} — a per-generator sequence, distinguishing IDs created within the
+ *       same millisecond.</li>
+ * </ul>
+ * {@link SecureRandom} is only consulted once at construction time, so generating an ID is a
+ * single atomic increment and a few base-36 conversions.
+ */
+public class MonotonicIdGenerator implements DaprIdGenerator {
+
+    private final String node;
+    private final AtomicLong counter = new AtomicLong();
+
+    public MonotonicIdGenerator() {
+        this(Long.toString(new SecureRandom().nextLong() >>> 16, 36));
+    }
+
+    MonotonicIdGenerator(String node) {
+        this.node = node;
+    }
+
+    @Override
+    public String nextRunId() {
+        return Long.toString(System.currentTimeMillis(), 36)
+                + "-" + node
+                + "-" + Long.toString(counter.incrementAndGet(), 36);
+    }
+}
@@ -0,0 +1,19 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+/**
+ * What {@link PayloadCapturePolicy} records for an LLM prompt or response.
+ */
+public enum PayloadCaptureMode {
+
+    /** Nothing is recorded. The payload is never rendered to a string. */
+    NONE,
+
+    /** Only the SHA-256 digest of the payload is recorded. */
+    HASH,
+
+    /** At most {@code max-bytes} of the payload are recorded, followed by a digest marker. */
+    TRUNCATED,
+
+    /** The payload is recorded as is, or offloaded by reference when it exceeds {@code max-bytes}. */
+    FULL
+}
@@ -0,0 +1,139 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticConfig;
+
+/**
+ * Decides what is recorded in the Dapr workflow history for an LLM prompt or response.
+ * <p>
+ * The payload is supplied lazily so that it is only rendered when the policy actually records
+ * something. Payloads are measured in UTF-8 bytes; when a payload exceeds {@code maxBytes} it is
+ * either truncated (mode {@link PayloadCaptureMode#TRUNCATED}) or, if an offload state store is
+ * configured, written to that store by the supplied {@link Offloader} and replaced by a
+ * {@code ref:<store>/<key>} reference.
+ *
+ * @param mode              what is recorded
+ * @param maxBytes          maximum number of UTF-8 bytes recorded inline
+ * @param offloadStateStore Dapr state store for oversized payloads, or {@code null} to never offload
+ */
+public record PayloadCapturePolicy(PayloadCaptureMode mode, int maxBytes, String offloadStateStore) {
+
+    /** Records every payload in full — the behaviour when no configuration is available. */
+    public static final PayloadCapturePolicy FULL = new PayloadCapturePolicy(PayloadCaptureMode.FULL,
+            Integer.MAX_VALUE, null);
+
+    /**
+     * Writes an oversized payload out-of-band.
+     */
+    @FunctionalInterface
+    public interface Offloader {
+        void save(String stateStore, String key, String payload);
+    }
+
+    /**
+     * Resolves the effective policy for {@code agentName}, applying its
+     * {@code quarkus.dapr.agentic.agents."<agent-name>".payloads} overrides on top of the
+     * global settings.
+     */
+    public static PayloadCapturePolicy of(DaprAgenticConfig config, String agentName) {
+        if (config == null) {
+            return FULL;
+        }
+        DaprAgenticConfig.PayloadConfig global = config.payloads();
+        PayloadCaptureMode mode = global.capture();
+        int maxBytes = global.maxBytes();
+        String offloadStateStore = global.offloadStateStore().orElse(null);
+
+        DaprAgenticConfig.AgentConfig agent = agentName != null ? config.agents().get(agentName) : null;
+        if (agent != null) {
+            DaprAgenticConfig.AgentPayloadConfig override = agent.payloads();
+            mode = override.capture().orElse(mode);
+            maxBytes = override.maxBytes().orElse(maxBytes);
+            offloadStateStore = override.offloadStateStore().orElse(offloadStateStore);
+        }
+        return new PayloadCapturePolicy(mode, maxBytes, offloadStateStore);
+    }
+
+    /**
+     * Returns {@code true} when this policy records anything at all.
+     */
+    public boolean isEnabled() {
+        return mode != PayloadCaptureMode.NONE;
+    }
+
+    /**
+     * Captures a payload without offloading; oversized {@code FULL} payloads are recorded as is.
+     */
+    public String capture(Supplier<String> payload) {
+        return capture(payload, null, null);
+    }
+
+    /**
+     * Captures a payload according to this policy.
+     *
+     * @param payload    supplies the rendered payload; not invoked for {@link PayloadCaptureMode#NONE}
+     * @param offloadKey state store key used if the payload is offloaded
+     * @param offloader  writes offloaded payloads; {@code null} disables offloading
+     * @return the value to record in the workflow history, or {@code null}
+     */
+    public String capture(Supplier<String> payload, String offloadKey, Offloader offloader) {
+        if (mode == PayloadCaptureMode.NONE) {
+            return null;
+        }
+        String text = payload.get();
+        if (text == null) {
+            return null;
+        }
+        if (mode == PayloadCaptureMode.HASH) {
+            return "sha256:" + sha256(text);
+        }
+        // Every char encodes to at most 3 UTF-8 bytes, so short payloads skip the encoding.
+        if ((long) text.length() * 3 <= maxBytes) {
+            return text;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= maxBytes) {
+            return text;
+        }
+
+        boolean offload = offloadStateStore != null && offloader != null && offloadKey != null;
+        if (offload) {
+            offloader.save(offloadStateStore, offloadKey, text);
+        }
+        String marker = "[" + bytes.length + " bytes, sha256:" + sha256(bytes)
+                + (offload ? ", ref:" + offloadStateStore + "/" + offloadKey : "") + "]";
+        if (mode == PayloadCaptureMode.TRUNCATED) {
+            return truncate(bytes, maxBytes) + "… " + marker;
+        }
+        return offload ? marker : text;
+    }
+
+    /**
+     * Decodes at most {@code maxBytes} bytes without splitting a multi-byte character.
+     */
+    static String truncate(byte[] bytes, int maxBytes) {
+        int end = Math.min(maxBytes, bytes.length);
+        while (end > 0 && end < bytes.length && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return StandardCharsets.UTF_8.decode(ByteBuffer.wrap(bytes, 0, end)).toString();
+    }
+
+    static String sha256(String text) {
+        return sha256(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
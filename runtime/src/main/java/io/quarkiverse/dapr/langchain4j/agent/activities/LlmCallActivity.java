@@ -2,12 +2,27 @@ package io.quarkiverse.dapr.langchain4j.agent.activities;
 
 import org.jboss.logging.Logger;
 
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.dapr.client.DaprClient;
 import io.dapr.workflows.WorkflowActivity;
 import io.dapr.workflows.WorkflowActivityContext;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
 import io.quarkiverse.dapr.langchain4j.agent.AgentRunContext;
+import io.quarkiverse.dapr.langchain4j.agent.AgentRunJournal;
+import io.quarkiverse.dapr.langchain4j.agent.AgentStepLogging;
 import io.quarkiverse.dapr.langchain4j.agent.DaprAgentRunRegistry;
+import io.quarkiverse.dapr.langchain4j.agent.DaprChatModelDecorator;
 import io.quarkiverse.dapr.langchain4j.agent.DaprToolCallInterceptor;
+import io.quarkiverse.dapr.langchain4j.agent.PayloadCapturePolicy;
+import io.quarkiverse.dapr.langchain4j.cache.LlmResponseCache;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticConfig;
+import io.quarkiverse.dapr.langchain4j.metrics.DaprAgentMetrics;
+import io.quarkiverse.dapr.langchain4j.tracing.DaprAgentTracing;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
 
 /**
  * Dapr Workflow Activity that executes a single {@code ChatModel.chat(ChatRequest)} call on
@@ -23,28 +38,51 @@ import jakarta.enterprise.context.ApplicationScoped;
  *   <li>Sets {@link DaprToolCallInterceptor#IS_ACTIVITY_CALL} on this thread so that
  *       {@code DaprChatModelDecorator} passes through to {@code delegate.chat()} when
  *       re-invoked via reflection on the stored decorator instance.</li>
- *   <li>Invokes the {@code ChatModel} method via reflection on the decorator instance.</li>
- *   <li>Extracts the response text from the {@code ChatResponse} via reflection
+ *   <li>Invokes the {@code ChatModel} method via reflection on the decorator instance, unless
+ *       the {@link LlmResponseCache} (when enabled for the agent) already holds a response
+ *       for an identical request.</li>
+ *   <li>Extracts the response text from the {@code ChatResponse}
  *       ({@code aiMessage().text()}) and returns a {@link LlmCallOutput} containing the
- *       method name and response text — stored in the Dapr workflow history.</li>
+ *       method name, prompt and response text — stored in the Dapr workflow history.
+ *       Prompt and response are recorded according to the agent's
+ *       {@link PayloadCapturePolicy}; the prompt is only rendered if the policy records it.</li>
  *   <li>Completes the {@code CompletableFuture} in the pending call, unblocking
  *       the agent thread waiting in {@code DaprChatModelDecorator.chat()}.</li>
  * </ol>
+ * <p>
+ * Streaming calls registered by
+ * {@link io.quarkiverse.dapr.langchain4j.agent.DaprStreamingChatModelDecorator} follow the same
+ * flow: the stored method forwards tokens to the caller while streaming and returns the
+ * aggregated {@code ChatResponse}, which is recorded here.
  */
 @ApplicationScoped
 public class LlmCallActivity implements WorkflowActivity {
 
     private static final Logger LOG = Logger.getLogger(LlmCallActivity.class);
 
+    /** State store key prefix for payloads offloaded by the {@link PayloadCapturePolicy}. */
+    static final String OFFLOAD_KEY_PREFIX = "agentic-payload:";
+
+    @Inject
+    DaprAgenticConfig config;
+
+    @Inject
+    Instance<DaprClient> daprClient;
+
+    @Inject
+    LlmResponseCache responseCache;
+
+    @Inject
+    DaprAgentMetrics metrics;
+
     @Override
     public Object run(WorkflowActivityContext ctx) {
         LlmCallInput input = ctx.getInput(LlmCallInput.class);
 
-        LOG.infof("[AgentRun:%s][LlmCall:%s] LlmCallActivity started — method=%s",
-                input.agentRunId(), input.llmCallId(), input.methodName());
-        if (input.prompt() != null) {
-            LOG.debugf("[AgentRun:%s][LlmCall:%s] Prompt:\n%s",
-                    input.agentRunId(), input.llmCallId(), input.prompt());
+        if (AgentStepLogging.isEnabled(LOG)) {
+            LOG.debugf("[AgentRun:%s][LlmCall:%s] LlmCallActivity started — method=%s, prompt=%s",
+                    input.agentRunId(), input.llmCallId(), input.methodName(),
+                    AgentStepLogging.payload(config, input.prompt()));
         }
 
         AgentRunContext runCtx = DaprAgentRunRegistry.get(input.agentRunId());
@@ -61,55 +99,113 @@ public class LlmCallActivity implements WorkflowActivity {
                             + " in agentRunId: " + input.agentRunId());
         }
 
-        LOG.infof("[AgentRun:%s][LlmCall:%s] Executing LLM call: %s",
-                input.agentRunId(), input.llmCallId(), pendingCall.method().getName());
-
+        // Continue the trace of the agent request: the span is a child of the caller's span.
+        Span span = DaprAgentTracing.startSpan("llm " + input.methodName(), input.traceParent());
+        span.setAttribute(DaprAgentTracing.AGENT_RUN_ID, input.agentRunId());
+        span.setAttribute(DaprAgentTracing.CALL_ID, input.llmCallId());
+        if (runCtx.getAgentName() != null) {
+            span.setAttribute(DaprAgentTracing.AGENT_NAME, runCtx.getAgentName());
+        }
         // Set the flag so DaprChatModelDecorator passes through on this thread instead of routing.
         DaprToolCallInterceptor.IS_ACTIVITY_CALL.set(Boolean.TRUE);
-        try {
+        long start = System.nanoTime();
+        boolean cached = false;
+        try (Scope scope = span.makeCurrent()) {
             // Invoke chat() on the stored DaprChatModelDecorator instance via reflection.
             // IS_ACTIVITY_CALL is set, so the decorator calls delegate.chat() directly.
-            Object result = pendingCall.method().invoke(pendingCall.target(), pendingCall.args());
-            String responseText = extractResponseText(result);
+            String cacheKey = cacheKey(runCtx, pendingCall);
+            Object result = cacheKey != null ? responseCache.get(cacheKey) : null;
+            if (result != null) {
+                cached = true;
+                span.setAttribute(DaprAgentTracing.CACHED, true);
+                LOG.debugf("[AgentRun:%s][LlmCall:%s] Response served from cache",
+                        input.agentRunId(), input.llmCallId());
+            } else {
+                result = pendingCall.method().invoke(pendingCall.target(), pendingCall.args());
+                if (cacheKey != null) {
+                    responseCache.put(cacheKey, (ChatResponse) result);
+                }
+            }
             runCtx.completeCall(input.llmCallId(), result);
-            LOG.infof("[AgentRun:%s][LlmCall:%s] LLM call completed: %s → %s",
-                    input.agentRunId(), input.llmCallId(), pendingCall.method().getName(), responseText);
-            return new LlmCallOutput(input.methodName(), input.prompt(), responseText);
+            metrics.recordLlmCall(runCtx.getAgentName(), System.nanoTime() - start, true, cached);
+            Object response = result;
+
+            // Capture after the agent thread has been released, so recording never delays it.
+            PayloadCapturePolicy policy = PayloadCapturePolicy.of(config, runCtx.getAgentName());
+            PayloadCapturePolicy.Offloader offloader = (store, key, payload) -> daprClient.get()
+                    .saveState(store, key, payload).block();
+            String prompt = input.prompt() != null ? input.prompt()
+                    : policy.capture(() -> renderPrompt(pendingCall.args()),
+                            OFFLOAD_KEY_PREFIX + input.llmCallId() + ":prompt", offloader);
+            String responseText = policy.capture(() -> extractResponseText(response),
+                    OFFLOAD_KEY_PREFIX + input.llmCallId() + ":response", offloader);
+            if (AgentStepLogging.isEnabled(LOG)) {
+                LOG.debugf("[AgentRun:%s][LlmCall:%s] LLM call completed: %s → %s",
+                        input.agentRunId(), input.llmCallId(), input.methodName(),
+                        AgentStepLogging.payload(config, responseText));
+            }
+            boolean resumable = config.resume().enabled();
+            Object[] args = pendingCall.args();
+            return new LlmCallOutput(input.methodName(), prompt, responseText,
+                    resumable ? AgentRunJournal.aiMessageJson(response) : null,
+                    resumable && args != null && args.length > 0 ? AgentRunJournal.promptDigest(args[0]) : null);
         } catch (java.lang.reflect.InvocationTargetException ite) {
             Throwable cause = ite.getCause() != null ? ite.getCause() : ite;
             LOG.errorf("[AgentRun:%s][LlmCall:%s] LLM call failed: %s — %s",
                     input.agentRunId(), input.llmCallId(), pendingCall.method().getName(), cause.getMessage());
             runCtx.failCall(input.llmCallId(), cause);
+            DaprAgentTracing.fail(span, cause);
+            metrics.recordLlmCall(runCtx.getAgentName(), System.nanoTime() - start, false, cached);
             throw new RuntimeException("LLM call failed: " + pendingCall.method().getName(), cause);
         } catch (Exception e) {
             LOG.errorf("[AgentRun:%s][LlmCall:%s] LLM call failed: %s — %s",
                     input.agentRunId(), input.llmCallId(), pendingCall.method().getName(), e.getMessage());
             runCtx.failCall(input.llmCallId(), e);
+            DaprAgentTracing.fail(span, e);
+            metrics.recordLlmCall(runCtx.getAgentName(), System.nanoTime() - start, false, cached);
             throw new RuntimeException("LLM call failed: " + pendingCall.method().getName(), e);
         } finally {
             DaprToolCallInterceptor.IS_ACTIVITY_CALL.remove();
+            span.end();
         }
     }
 
     /**
-     * Extracts the AI response text from a {@code ChatResponse} object using reflection,
-     * avoiding a hard compile-time dependency on a specific LangChain4j package path.
-     * Calls {@code chatResponse.aiMessage().text()} if available; falls back to
-     * {@code String.valueOf(result)} otherwise.
+     * Returns the response cache key for a blocking {@code ChatModel.chat(ChatRequest)} call, or
+     * {@code null} when the cache is disabled for this agent or the call is not cacheable
+     * (e.g. a streaming call).
      */
-    private String extractResponseText(Object result) {
-        if (result == null) {
+    private String cacheKey(AgentRunContext runCtx, AgentRunContext.PendingCall pendingCall) {
+        if (!responseCache.isEnabled(runCtx.getAgentName())
+                || !(pendingCall.target() instanceof DaprChatModelDecorator decorator)
+                || pendingCall.args().length != 1
+                || !(pendingCall.args()[0] instanceof ChatRequest request)) {
             return null;
         }
-        try {
-            Object aiMessage = result.getClass().getMethod("aiMessage").invoke(result);
-            if (aiMessage != null) {
-                Object text = aiMessage.getClass().getMethod("text").invoke(aiMessage);
-                return String.valueOf(text);
-            }
-        } catch (Exception ignored) {
-            // Not a ChatResponse or missing expected methods — fall through.
+        return responseCache.key(decorator.modelIdentity(), request);
+    }
+
+    /**
+     * Renders the messages of the pending {@code ChatRequest} for the workflow history.
+     */
+    private String renderPrompt(Object[] args) {
+        if (args == null || args.length == 0 || args[0] == null) {
+            return null;
+        }
+        if (args[0] instanceof ChatRequest request) {
+            return String.valueOf(request.messages());
+        }
+        return String.valueOf(args[0]);
+    }
+
+    /**
+     * Extracts the AI response text ({@code chatResponse.aiMessage().text()}) from a
+     * {@code ChatResponse}; falls back to {@code String.valueOf(result)} for any other result.
+     */
+    public static String extractResponseText(Object result) {
+        if (result instanceof ChatResponse chatResponse && chatResponse.aiMessage() != null) {
+            return chatResponse.aiMessage().text();
         }
-        return String.valueOf(result);
+        return result == null ? null : String.valueOf(result);
     }
 }
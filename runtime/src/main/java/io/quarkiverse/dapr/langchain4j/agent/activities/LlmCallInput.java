@@ -8,10 +8,16 @@ package io.quarkiverse.dapr.langchain4j.agent.activities;
  *                    io.quarkiverse.dapr.langchain4j.agent.AgentRunContext}
  * @param methodName  name of the {@code ChatModel} method being called (e.g., {@code "chat"});
  *                    stored in the Dapr activity input for observability in the workflow history
- * @param prompt      string representation of the {@code ChatRequest} messages sent to the LLM;
- *                    extracted by {@link io.quarkiverse.dapr.langchain4j.agent.DaprLlmCallInterceptor}
- *                    and stored in the Dapr activity input so the full prompt is visible in the
- *                    workflow history without needing to inspect in-process state
+ * @param prompt      string representation of the {@code ChatRequest} messages sent to the LLM, or
+ *                    {@code null} (the default) to let {@link LlmCallActivity} capture the prompt
+ *                    from the pending call according to the agent's
+ *                    {@link io.quarkiverse.dapr.langchain4j.agent.PayloadCapturePolicy}
+ * @param traceParent W3C {@code traceparent} of the span the model was called in; the activity's
+ *                    span is created as its child. {@code null} when tracing is not active
  */
-public record LlmCallInput(String agentRunId, String llmCallId, String methodName, String prompt) {
+public record LlmCallInput(String agentRunId, String llmCallId, String methodName, String prompt, String traceParent) {
+
+    public LlmCallInput(String agentRunId, String llmCallId, String methodName, String prompt) {
+        this(agentRunId, llmCallId, methodName, prompt, null);
+    }
 }
\ No newline at end of file
@@ -6,11 +6,23 @@ package io.quarkiverse.dapr.langchain4j.agent.activities;
  * (prompt in, response out) is visible without inspecting in-process state.
  *
  * @param methodName  name of the {@code ChatModel} method that was invoked (e.g., {@code "chat"})
- * @param prompt      serialized {@code ChatRequest} messages that were sent to the model;
- *                    extracted from the {@code ChatRequest} argument by
- *                    {@link io.quarkiverse.dapr.langchain4j.agent.DaprLlmCallInterceptor}
- * @param response    AI response text extracted from {@code ChatResponse.aiMessage().text()};
- *                    this is the exact text the model returned to the agent
+ * @param prompt      serialized {@code ChatRequest} messages that were sent to the model, as
+ *                    recorded by the agent's
+ *                    {@link io.quarkiverse.dapr.langchain4j.agent.PayloadCapturePolicy} (full,
+ *                    truncated, digest or offload reference); {@code null} when capture is disabled
+ * @param response    AI response text extracted from {@code ChatResponse.aiMessage().text()},
+ *                    recorded under the same policy as the prompt
+ * @param aiMessage   the complete AI message as JSON, recorded only when
+ *                    {@code quarkus.dapr.agentic.resume.enabled} is set so that
+ *                    {@link io.quarkiverse.dapr.langchain4j.agent.DaprAgentRunResumer} can replay
+ *                    the call; {@code null} otherwise
+ * @param promptDigest SHA-256 of the messages sent to the model, recorded with {@code aiMessage}
+ *                    so that a resumed run replays the call only if it sends the same prompt
  */
-public record LlmCallOutput(String methodName, String prompt, String response) {
+public record LlmCallOutput(String methodName, String prompt, String response, String aiMessage,
+        String promptDigest) {
+
+    public LlmCallOutput(String methodName, String prompt, String response) {
+        this(methodName, prompt, response, null, null);
+    }
 }
\ No newline at end of file
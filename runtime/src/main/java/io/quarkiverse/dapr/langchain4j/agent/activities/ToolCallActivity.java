@@ -1,13 +1,25 @@
 package io.quarkiverse.dapr.langchain4j.agent.activities;
 
+import java.time.Duration;
+
 import org.jboss.logging.Logger;
 
 import io.dapr.workflows.WorkflowActivity;
 import io.dapr.workflows.WorkflowActivityContext;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
 import io.quarkiverse.dapr.langchain4j.agent.AgentRunContext;
+import io.quarkiverse.dapr.langchain4j.agent.AgentRunJournal;
+import io.quarkiverse.dapr.langchain4j.agent.AgentStepLogging;
 import io.quarkiverse.dapr.langchain4j.agent.DaprAgentRunRegistry;
 import io.quarkiverse.dapr.langchain4j.agent.DaprToolCallInterceptor;
+import io.quarkiverse.dapr.langchain4j.cache.IdempotentTool;
+import io.quarkiverse.dapr.langchain4j.cache.ToolResultCache;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticConfig;
+import io.quarkiverse.dapr.langchain4j.metrics.DaprAgentMetrics;
+import io.quarkiverse.dapr.langchain4j.tracing.DaprAgentTracing;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
 /**
  * Dapr Workflow Activity that executes a single {@code @Tool}-annotated method call on
@@ -21,7 +33,9 @@ import jakarta.enterprise.context.ApplicationScoped;
  *       {@link io.quarkiverse.dapr.langchain4j.agent.DaprToolCallInterceptor}.</li>
  *   <li>Sets {@link DaprToolCallInterceptor#IS_ACTIVITY_CALL} on this thread so that
  *       the CDI interceptor passes through when the method is called via the CDI proxy.</li>
- *   <li>Invokes the {@code @Tool} method via reflection on the CDI proxy.</li>
+ *   <li>Invokes the {@code @Tool} method via reflection on the CDI proxy, unless it is an
+ *       {@link IdempotentTool} whose result for the same arguments is held by the
+ *       {@link ToolResultCache}.</li>
  *   <li>Completes the {@code CompletableFuture} stored in the pending call, unblocking
  *       the agent thread waiting in {@code DaprToolCallInterceptor.intercept()}.</li>
  * </ol>
@@ -31,12 +45,24 @@ public class ToolCallActivity implements WorkflowActivity {
 
     private static final Logger LOG = Logger.getLogger(ToolCallActivity.class);
 
+    @Inject
+    DaprAgenticConfig config;
+
+    @Inject
+    ToolResultCache toolCache;
+
+    @Inject
+    DaprAgentMetrics metrics;
+
     @Override
     public Object run(WorkflowActivityContext ctx) {
         ToolCallInput input = ctx.getInput(ToolCallInput.class);
 
-        LOG.infof("[AgentRun:%s][ToolCall:%s] ToolCallActivity started — tool=%s, args=%s",
-                input.agentRunId(), input.toolCallId(), input.toolName(), input.args());
+        if (AgentStepLogging.isEnabled(LOG)) {
+            LOG.debugf("[AgentRun:%s][ToolCall:%s] ToolCallActivity started — tool=%s, args=%s",
+                    input.agentRunId(), input.toolCallId(), input.toolName(),
+                    AgentStepLogging.payload(config, input.args()));
+        }
 
         AgentRunContext runCtx = DaprAgentRunRegistry.get(input.agentRunId());
         if (runCtx == null) {
@@ -52,33 +78,64 @@ public class ToolCallActivity implements WorkflowActivity {
                             + " in agentRunId: " + input.agentRunId());
         }
 
-        LOG.infof("[AgentRun:%s][ToolCall:%s] Executing tool method: %s",
-                input.agentRunId(), input.toolCallId(), pendingCall.method().getName());
-
+        // Continue the trace of the agent request: the span is a child of the caller's span.
+        Span span = DaprAgentTracing.startSpan("tool " + input.toolName(), input.traceParent());
+        span.setAttribute(DaprAgentTracing.AGENT_RUN_ID, input.agentRunId());
+        span.setAttribute(DaprAgentTracing.CALL_ID, input.toolCallId());
+        if (runCtx.getAgentName() != null) {
+            span.setAttribute(DaprAgentTracing.AGENT_NAME, runCtx.getAgentName());
+        }
         // Set the flag so the CDI interceptor passes through on this thread.
         DaprToolCallInterceptor.IS_ACTIVITY_CALL.set(Boolean.TRUE);
-        try {
+        long start = System.nanoTime();
+        boolean cached = false;
+        try (Scope scope = span.makeCurrent()) {
             // Invoke the @Tool method via the CDI proxy.
             // The CDI interceptor will fire again but pass through because IS_ACTIVITY_CALL is set.
-            Object result = pendingCall.method().invoke(pendingCall.target(), pendingCall.args());
+            Duration ttl = toolCache.ttl(pendingCall.method());
+            String cacheKey = ttl != null ? toolCache.key(pendingCall.method(), pendingCall.args()) : null;
+            Object result = cacheKey != null ? toolCache.get(cacheKey, pendingCall.method(), ttl) : null;
+            if (result != null) {
+                cached = true;
+                span.setAttribute(DaprAgentTracing.CACHED, true);
+                LOG.debugf("[AgentRun:%s][ToolCall:%s] Tool result served from cache: %s",
+                        input.agentRunId(), input.toolCallId(), input.toolName());
+            } else {
+                result = pendingCall.method().invoke(pendingCall.target(), pendingCall.args());
+                if (cacheKey != null) {
+                    toolCache.put(cacheKey, result, ttl);
+                }
+            }
             String resultStr = String.valueOf(result);
+            boolean resumable = config.resume().enabled();
+            String resultJson = resumable ? AgentRunJournal.resultJson(result) : null;
+            String argsDigest = resumable ? AgentRunJournal.argsDigest(pendingCall.args()) : null;
             runCtx.completeCall(input.toolCallId(), result);
-            LOG.infof("[AgentRun:%s][ToolCall:%s] Tool method completed: %s → %s",
-                    input.agentRunId(), input.toolCallId(), pendingCall.method().getName(), resultStr);
-            return new ToolCallOutput(input.toolName(), input.args(), resultStr);
+            metrics.recordToolCall(runCtx.getAgentName(), input.toolName(), System.nanoTime() - start, true, cached);
+            if (AgentStepLogging.isEnabled(LOG)) {
+                LOG.debugf("[AgentRun:%s][ToolCall:%s] Tool method completed: %s → %s",
+                        input.agentRunId(), input.toolCallId(), input.toolName(),
+                        AgentStepLogging.payload(config, resultStr));
+            }
+            return new ToolCallOutput(input.toolName(), input.args(), resultStr, resultJson, argsDigest);
         } catch (java.lang.reflect.InvocationTargetException ite) {
             Throwable cause = ite.getCause() != null ? ite.getCause() : ite;
             LOG.errorf("[AgentRun:%s][ToolCall:%s] Tool method failed: %s — %s",
                     input.agentRunId(), input.toolCallId(), pendingCall.method().getName(), cause.getMessage());
             runCtx.failCall(input.toolCallId(), cause);
+            DaprAgentTracing.fail(span, cause);
+            metrics.recordToolCall(runCtx.getAgentName(), input.toolName(), System.nanoTime() - start, false, cached);
             throw new RuntimeException("Tool execution failed: " + pendingCall.method().getName(), cause);
         } catch (Exception e) {
             LOG.errorf("[AgentRun:%s][ToolCall:%s] Tool method failed: %s — %s",
                     input.agentRunId(), input.toolCallId(), pendingCall.method().getName(), e.getMessage());
             runCtx.failCall(input.toolCallId(), e);
+            DaprAgentTracing.fail(span, e);
+            metrics.recordToolCall(runCtx.getAgentName(), input.toolName(), System.nanoTime() - start, false, cached);
             throw new RuntimeException("Tool execution failed: " + pendingCall.method().getName(), e);
         } finally {
             DaprToolCallInterceptor.IS_ACTIVITY_CALL.remove();
+            span.end();
         }
     }
 }
\ No newline at end of file
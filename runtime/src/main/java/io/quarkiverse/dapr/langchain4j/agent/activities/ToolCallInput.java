@@ -8,6 +8,12 @@ package io.quarkiverse.dapr.langchain4j.agent.activities;
  * @param toolName    name of the {@code @Tool}-annotated method being executed; stored in the
  *                    Dapr activity input for observability in the workflow history
  * @param args        string representation of the arguments passed to the tool method
+ * @param traceParent W3C {@code traceparent} of the span the tool was called in; the activity's
+ *                    span is created as its child. {@code null} when tracing is not active
  */
-public record ToolCallInput(String agentRunId, String toolCallId, String toolName, String args) {
+public record ToolCallInput(String agentRunId, String toolCallId, String toolName, String args, String traceParent) {
+
+    public ToolCallInput(String agentRunId, String toolCallId, String toolName, String args) {
+        this(agentRunId, toolCallId, toolName, args, null);
+    }
 }
\ No newline at end of file
@@ -8,6 +8,16 @@ package io.quarkiverse.dapr.langchain4j.agent.activities;
  * @param toolName  name of the {@code @Tool} method that was invoked
  * @param args      string representation of the arguments that were passed to the tool
  * @param result    string representation of the value returned by the tool method
+ * @param resultJson the returned value as JSON, recorded only when
+ *                   {@code quarkus.dapr.agentic.resume.enabled} is set so that
+ *                   {@link io.quarkiverse.dapr.langchain4j.agent.DaprAgentRunResumer} can replay
+ *                   the call; {@code null} otherwise
+ * @param argsDigest SHA-256 of the arguments as JSON, recorded with {@code resultJson} so that a
+ *                   resumed run replays the call only if it passes the same arguments
  */
-public record ToolCallOutput(String toolName, String args, String result) {
+public record ToolCallOutput(String toolName, String args, String result, String resultJson, String argsDigest) {
+
+    public ToolCallOutput(String toolName, String args, String result) {
+        this(toolName, args, result, null, null);
+    }
 }
\ No newline at end of file
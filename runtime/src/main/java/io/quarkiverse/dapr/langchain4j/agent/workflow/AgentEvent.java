@@ -1,5 +1,10 @@
 package io.quarkiverse.dapr.langchain4j.agent.workflow;
 
+import java.util.List;
+
+import io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallOutput;
+
 /**
  * External event sent to {@link AgentRunWorkflow} via {@code DaprWorkflowClient.raiseEvent()}.
  * <p>
@@ -10,14 +15,38 @@ package io.quarkiverse.dapr.langchain4j.agent.workflow;
  *   <li>{@code "done"} — the agent has finished executing; the workflow should terminate.</li>
  * </ul>
  *
- * @param type       event discriminator: {@code "tool-call"} or {@code "done"}
- * @param toolCallId unique ID for this tool call (null for "done" events)
- * @param toolName   name of the tool method being called (null for "done" events)
- * @param args       serialized arguments (reserved for future use; null for now)
+ * @param type        event discriminator: {@code "tool-call"} or {@code "done"}
+ * @param toolCallId  unique ID for this tool call (null for "done" events)
+ * @param toolName    name of the tool method being called (null for "done" events)
+ * @param args        serialized arguments (reserved for future use; null for now)
+ * @param traceParent W3C {@code traceparent} of the span the call was made in, propagated to the
+ *                    activity that executes it; {@code null} when tracing is not active
+ * @param inlineToolCalls {@link io.quarkiverse.dapr.langchain4j.agent.InlineTool inline} tool calls
+ *                    the agent made since its previous event, in order; {@code null} when there
+ *                    were none
+ * @param inlineLlmCalls LLM calls the agent made on its own thread since its previous event, in
+ *                    order, when its {@link io.quarkiverse.dapr.langchain4j.agent.DurabilityLevel}
+ *                    does not route calls through activities; {@code null} when there were none
  */
 public record AgentEvent(
         String type,
         String toolCallId,
         String toolName,
-        String args) {
+        String args,
+        String traceParent,
+        List<ToolCallOutput> inlineToolCalls,
+        List<LlmCallOutput> inlineLlmCalls) {
+
+    public AgentEvent(String type, String toolCallId, String toolName, String args) {
+        this(type, toolCallId, toolName, args, null, null, null);
+    }
+
+    public AgentEvent(String type, String toolCallId, String toolName, String args, String traceParent) {
+        this(type, toolCallId, toolName, args, traceParent, null, null);
+    }
+
+    public AgentEvent(String type, String toolCallId, String toolName, String args, String traceParent,
+            List<ToolCallOutput> inlineToolCalls) {
+        this(type, toolCallId, toolName, args, traceParent, inlineToolCalls, null);
+    }
 }
\ No newline at end of file
@@ -13,6 +13,20 @@ package io.quarkiverse.dapr.langchain4j.agent.workflow;
  * @param systemMessage  the {@code @SystemMessage} template text (CDI bean path) or the
  *                       rendered system message from the {@code ChatRequest} (AiService path);
  *                       may be {@code null}
+ * @param traceParent    W3C {@code traceparent} of the span enclosing the agent run; {@code null}
+ *                       when tracing is not active
+ * @param plannerId      ID of the orchestration planner whose {@code AgentExecutionActivity}
+ *                       started the run; {@code null} for standalone runs
  */
-public record AgentRunInput(String agentRunId, String agentName, String userMessage, String systemMessage) {
+public record AgentRunInput(String agentRunId, String agentName, String userMessage, String systemMessage,
+        String traceParent, String plannerId) {
+
+    public AgentRunInput(String agentRunId, String agentName, String userMessage, String systemMessage) {
+        this(agentRunId, agentName, userMessage, systemMessage, null, null);
+    }
+
+    public AgentRunInput(String agentRunId, String agentName, String userMessage, String systemMessage,
+            String traceParent) {
+        this(agentRunId, agentName, userMessage, systemMessage, traceParent, null);
+    }
 }
\ No newline at end of file
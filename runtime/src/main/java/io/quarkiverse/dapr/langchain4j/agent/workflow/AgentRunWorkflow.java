@@ -7,13 +7,16 @@ import org.jboss.logging.Logger;
 
 import io.dapr.workflows.Workflow;
 import io.dapr.workflows.WorkflowStub;
+import io.quarkiverse.dapr.langchain4j.agent.AgentStepLogging;
 import io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallActivity;
 import io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallInput;
 import io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallOutput;
 import io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallActivity;
 import io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallInput;
 import io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallOutput;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticConfig;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
 /**
  * Dapr Workflow representing the execution of a single {@code @Agent}-annotated method,
@@ -31,17 +34,32 @@ import jakarta.enterprise.context.ApplicationScoped;
  *       executes the tool on the Dapr activity thread and returns a {@link ToolCallOutput}.</li>
  *   <li>For each {@code "llm-call"} event, schedules a {@link LlmCallActivity} that
  *       executes the LLM call on the Dapr activity thread and returns a {@link LlmCallOutput}.</li>
+ *   <li>Tool calls of {@link io.quarkiverse.dapr.langchain4j.agent.InlineTool inline} tools have
+ *       already been executed by the agent; they arrive batched with the next event and are
+ *       only recorded. The same holds for every call of runs below
+ *       {@link io.quarkiverse.dapr.langchain4j.agent.DurabilityLevel#FULL}; the calls of
+ *       {@code record-only} runs arrive in {@code "record"} events written by
+ *       {@link io.quarkiverse.dapr.langchain4j.audit.WorkflowAuditSink}.</li>
  *   <li>After each activity, updates the Dapr custom status with an {@link AgentRunOutput}
  *       snapshot so observers can follow execution progress in real time.</li>
  *   <li>Terminates when a {@code "done"} event is received, setting the final
- *       {@link AgentRunOutput} as the custom status.</li>
+ *       {@link AgentRunOutput} as the custom status and the workflow output. An
+ *       {@code "interrupt"} event, sent by
+ *       {@link io.quarkiverse.dapr.langchain4j.agent.DaprAgentRunResumer}, ends the workflow the
+ *       same way so that the run can be resumed from its output.</li>
  * </ol>
+ * <p>
+ * Steps are logged at {@code DEBUG} and not at all while Dapr replays the workflow history,
+ * see {@link AgentStepLogging}.
  */
 @ApplicationScoped
 public class AgentRunWorkflow implements Workflow {
 
     private static final Logger LOG = Logger.getLogger(AgentRunWorkflow.class);
 
+    @Inject
+    DaprAgenticConfig config;
+
     @Override
     public WorkflowStub create() {
         return ctx -> {
@@ -49,10 +67,12 @@ public class AgentRunWorkflow implements Workflow {
             String agentRunId = input.agentRunId();
             String agentName = input.agentName();
 
-            LOG.infof("[AgentRun:%s] AgentRunWorkflow started — agent=%s, userMessage=%s, systemMessage=%s",
-                    agentRunId, agentName,
-                    truncate(input.userMessage(), 120),
-                    truncate(input.systemMessage(), 120));
+            if (AgentStepLogging.isEnabled(LOG, ctx, config)) {
+                LOG.debugf("[AgentRun:%s] AgentRunWorkflow started — agent=%s, userMessage=%s, systemMessage=%s",
+                        agentRunId, agentName,
+                        AgentStepLogging.payload(config, truncate(input.userMessage(), 120)),
+                        AgentStepLogging.payload(config, truncate(input.systemMessage(), 120)));
+            }
 
             List<ToolCallOutput> toolCallOutputs = new ArrayList<>();
             List<LlmCallOutput> llmCallOutputs = new ArrayList<>();
@@ -61,44 +81,90 @@ public class AgentRunWorkflow implements Workflow {
                 // Wait for the next event from the agent thread or completion signal.
                 AgentEvent event = ctx.waitForExternalEvent("agent-event", AgentEvent.class).await();
 
-                LOG.infof("[AgentRun:%s] Received event: type=%s, callId=%s, name=%s",
-                        agentRunId, event.type(), event.toolCallId(), event.toolName());
+                if (AgentStepLogging.isEnabled(LOG, ctx, config)) {
+                    LOG.debugf("[AgentRun:%s] Received event: type=%s, callId=%s, name=%s",
+                            agentRunId, event.type(), event.toolCallId(), event.toolName());
+                }
+
+                if (event.inlineToolCalls() != null) {
+                    toolCallOutputs.addAll(event.inlineToolCalls());
+                    if (AgentStepLogging.isEnabled(LOG, ctx, config)) {
+                        LOG.debugf("[AgentRun:%s] Recorded %d inline tool call(s)",
+                                agentRunId, event.inlineToolCalls().size());
+                    }
+                }
+                if (event.inlineLlmCalls() != null) {
+                    llmCallOutputs.addAll(event.inlineLlmCalls());
+                    if (AgentStepLogging.isEnabled(LOG, ctx, config)) {
+                        LOG.debugf("[AgentRun:%s] Recorded %d inline LLM call(s)",
+                                agentRunId, event.inlineLlmCalls().size());
+                    }
+                }
 
                 if ("done".equals(event.type())) {
-                    LOG.infof("[AgentRun:%s] AgentRunWorkflow completed — agent=%s, toolCalls=%d, llmCalls=%d",
-                            agentRunId, agentName, toolCallOutputs.size(), llmCallOutputs.size());
+                    if (AgentStepLogging.isEnabled(LOG, ctx, config)) {
+                        LOG.debugf("[AgentRun:%s] AgentRunWorkflow completed — agent=%s, toolCalls=%d, llmCalls=%d",
+                                agentRunId, agentName, toolCallOutputs.size(), llmCallOutputs.size());
+                    }
                     break;
                 }
 
+                if ("interrupt".equals(event.type())) {
+                    // The run is being resumed elsewhere (DaprAgentRunResumer) from the output below.
+                    if (AgentStepLogging.isEnabled(LOG, ctx, config)) {
+                        LOG.debugf("[AgentRun:%s] AgentRunWorkflow interrupted for resume — toolCalls=%d, llmCalls=%d",
+                                agentRunId, toolCallOutputs.size(), llmCallOutputs.size());
+                    }
+                    break;
+                }
+
+                if ("record".equals(event.type())) {
+                    // Calls a record-only run already executed; they were recorded above.
+                    ctx.setCustomStatus(new AgentRunOutput(agentName, toolCallOutputs, llmCallOutputs));
+                }
+
                 if ("tool-call".equals(event.type())) {
-                    LOG.infof("[AgentRun:%s] Scheduling ToolCallActivity — tool=%s, args=%s",
-                            agentRunId, event.toolName(), event.args());
+                    if (AgentStepLogging.isEnabled(LOG, ctx, config)) {
+                        LOG.debugf("[AgentRun:%s] Scheduling ToolCallActivity — tool=%s, args=%s",
+                                agentRunId, event.toolName(), AgentStepLogging.payload(config, event.args()));
+                    }
                     ToolCallOutput toolOutput = ctx.callActivity(
                             ToolCallActivity.class.getName(),
-                            new ToolCallInput(agentRunId, event.toolCallId(), event.toolName(), event.args()),
+                            new ToolCallInput(agentRunId, event.toolCallId(), event.toolName(), event.args(),
+                                    event.traceParent()),
                             ToolCallOutput.class).await();
                     toolCallOutputs.add(toolOutput);
-                    LOG.infof("[AgentRun:%s] ToolCallActivity completed — tool=%s → %s",
-                            agentRunId, event.toolName(), toolOutput.result());
+                    if (AgentStepLogging.isEnabled(LOG, ctx, config)) {
+                        LOG.debugf("[AgentRun:%s] ToolCallActivity completed — tool=%s → %s",
+                                agentRunId, event.toolName(), AgentStepLogging.payload(config, toolOutput.result()));
+                    }
                     ctx.setCustomStatus(new AgentRunOutput(agentName, toolCallOutputs, llmCallOutputs));
                 }
 
                 if ("llm-call".equals(event.type())) {
-                    LOG.infof("[AgentRun:%s] Scheduling LlmCallActivity — method=%s",
-                            agentRunId, event.toolName());
+                    if (AgentStepLogging.isEnabled(LOG, ctx, config)) {
+                        LOG.debugf("[AgentRun:%s] Scheduling LlmCallActivity — method=%s",
+                                agentRunId, event.toolName());
+                    }
                     LlmCallOutput llmOutput = ctx.callActivity(
                             LlmCallActivity.class.getName(),
-                            new LlmCallInput(agentRunId, event.toolCallId(), event.toolName(), event.args()),
+                            new LlmCallInput(agentRunId, event.toolCallId(), event.toolName(), event.args(),
+                                    event.traceParent()),
                             LlmCallOutput.class).await();
                     llmCallOutputs.add(llmOutput);
-                    LOG.infof("[AgentRun:%s] LlmCallActivity completed — method=%s, response=%s",
-                            agentRunId, event.toolName(), llmOutput.response());
+                    if (AgentStepLogging.isEnabled(LOG, ctx, config)) {
+                        LOG.debugf("[AgentRun:%s] LlmCallActivity completed — method=%s, response=%s",
+                                agentRunId, event.toolName(), AgentStepLogging.payload(config, llmOutput.response()));
+                    }
                     ctx.setCustomStatus(new AgentRunOutput(agentName, toolCallOutputs, llmCallOutputs));
                 }
             }
 
-            // Set the final output so it is visible in the Dapr workflow dashboard.
-            ctx.setCustomStatus(new AgentRunOutput(agentName, toolCallOutputs, llmCallOutputs));
+            // Set the final output so it is visible in the Dapr workflow dashboard, and complete
+            // with it so DaprAgentRunResumer can read it back.
+            AgentRunOutput output = new AgentRunOutput(agentName, toolCallOutputs, llmCallOutputs);
+            ctx.setCustomStatus(output);
+            ctx.complete(output);
         };
     }
 
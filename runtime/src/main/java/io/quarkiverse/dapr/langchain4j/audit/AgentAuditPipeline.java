@@ -0,0 +1,102 @@
+package io.quarkiverse.dapr.langchain4j.audit;
+
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jboss.logging.Logger;
+
+import io.dapr.client.DaprClient;
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.quarkiverse.dapr.langchain4j.agent.AgentRunContext;
+import io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunInput;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+/**
+ * Audit trail of {@code record-only} agent runs.
+ * <p>
+ * The tool and LLM calls of these runs execute on the agent thread; this pipeline queues their
+ * inputs and outputs in an {@link AuditBuffer} — configured under
+ * {@code quarkus.dapr.agentic.audit} — whose flush tasks, run on the managed executor, write them
+ * in batches either to one
+ * {@code AgentRunWorkflow} per run ({@link WorkflowAuditSink}) or to a Dapr pub/sub topic. The
+ * agent never waits for the sidecar.
+ */
+@ApplicationScoped
+public class AgentAuditPipeline {
+
+    private static final Logger LOG = Logger.getLogger(AgentAuditPipeline.class);
+
+    @Inject
+    DaprAgenticConfig config;
+
+    @Inject
+    DaprWorkflowClient workflowClient;
+
+    @Inject
+    Instance<DaprClient> daprClient;
+
+    /** Runs the buffer's flush tasks. */
+    @Inject
+    ManagedExecutor flushExecutor;
+
+    private AuditBuffer buffer;
+
+    public AgentAuditPipeline() {
+    }
+
+    /**
+     * Creates a pipeline writing to {@code buffer}, outside of CDI.
+     */
+    public AgentAuditPipeline(AuditBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @PostConstruct
+    void init() {
+        DaprAgenticConfig.AuditConfig audit = config.audit();
+        AuditBuffer.Sink sink;
+        if (audit.target() == AuditTarget.PUBSUB) {
+            String pubsubName = audit.pubsubName();
+            String topic = audit.topic();
+            sink = batch -> daprClient.get().publishEvent(pubsubName, topic, batch).block();
+        } else {
+            sink = new WorkflowAuditSink(workflowClient);
+        }
+        buffer = new AuditBuffer(audit.capacity(), audit.batchSize(), audit.flushInterval(), sink, flushExecutor);
+        LOG.debugf("Agent audit pipeline writing to %s", audit.target());
+    }
+
+    @PreDestroy
+    void close() {
+        buffer.close();
+    }
+
+    /** Records the start of a run. */
+    public void start(AgentRunContext runCtx, AgentRunInput input) {
+        buffer.offer(AuditRecord.start(runCtx.getAgentRunId(), runCtx.getAgentName(), input));
+    }
+
+    /** Records a tool call the run executed on its own thread. */
+    public void recordToolCall(AgentRunContext runCtx, ToolCallOutput toolCall) {
+        buffer.offer(AuditRecord.toolCall(runCtx.getAgentRunId(), runCtx.getAgentName(), toolCall));
+    }
+
+    /** Records an LLM call the run executed on its own thread. */
+    public void recordLlmCall(AgentRunContext runCtx, LlmCallOutput llmCall) {
+        buffer.offer(AuditRecord.llmCall(runCtx.getAgentRunId(), runCtx.getAgentName(), llmCall));
+    }
+
+    /** Records the end of a run. */
+    public void finish(AgentRunContext runCtx) {
+        buffer.offer(AuditRecord.done(runCtx.getAgentRunId(), runCtx.getAgentName()));
+    }
+
+    public AuditBuffer getBuffer() {
+        return buffer;
+    }
+}
@@ -0,0 +1,208 @@
+package io.quarkiverse.dapr.langchain4j.audit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Bounded in-process queue of {@link AuditRecord}s drained in batches by a flush task running
+ * on an {@link Executor}.
+ * <ul>
+ *   <li>{@link #offer(AuditRecord)} never blocks: when {@code capacity} call records are already
+ *       waiting, further call records are dropped and counted in {@link #getDropped()}. The start
+ *       and end records of runs have another {@code capacity} slots to themselves, so a run's
+ *       audit trail is only left open under sustained overload, when {@code capacity} of them
+ *       are already waiting; they are then dropped and counted as well. The queue never holds
+ *       more than {@code 2 * capacity} records.</li>
+ *   <li>A flush task is submitted when records are offered and none is running. It waits up to
+ *       {@code flushInterval} for a batch of {@code batchSize} records to fill, hands it to the
+ *       {@link Sink}, and ends once the queue is empty, so no thread is held while nothing is
+ *       audited. Sink failures are logged and the batch is discarded — auditing never fails or
+ *       slows down the agent.</li>
+ *   <li>{@link #close()} waits for a running flush task and writes whatever is still queued.</li>
+ * </ul>
+ * Records are written in the order they were offered.
+ */
+public class AuditBuffer implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(AuditBuffer.class);
+
+    /**
+     * Writes a batch of audit records.
+     */
+    @FunctionalInterface
+    public interface Sink {
+
+        void write(List<AuditRecord> batch);
+    }
+
+    private final BlockingQueue<AuditRecord> queue;
+    private final AtomicInteger queuedCalls = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Sink sink;
+    private final Executor executor;
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private volatile boolean closed;
+
+    /**
+     * @param capacity      maximum number of queued call records, and of queued start and end
+     *                      records
+     * @param batchSize     maximum number of records handed to the sink at once
+     * @param flushInterval how long a flush task waits for a batch to fill
+     * @param sink          writes the batches, on the flush task's thread
+     * @param executor      runs the flush tasks
+     */
+    public AuditBuffer(int capacity, int batchSize, Duration flushInterval, Sink sink, Executor executor) {
+        this.capacity = Math.max(1, capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.sink = sink;
+        this.executor = executor;
+        this.queue = new LinkedBlockingQueue<>((int) Math.min(Integer.MAX_VALUE, 2L * this.capacity));
+    }
+
+    /**
+     * Queues {@code record} for the flush task.
+     *
+     * @return {@code false} if the record was dropped because the buffer is full
+     */
+    public boolean offer(AuditRecord record) {
+        boolean call = record.isCall();
+        if (call && queuedCalls.incrementAndGet() > capacity) {
+            queuedCalls.decrementAndGet();
+            return drop(record);
+        }
+        // Calls never take more than half of the queue: only start and end records can fill it.
+        if (!queue.offer(record)) {
+            return drop(record);
+        }
+        scheduleFlush();
+        return true;
+    }
+
+    private boolean drop(AuditRecord record) {
+        dropped.increment();
+        LOG.debugf("[AgentRun:%s] Audit buffer full, dropped %s record", record.agentRunId(), record.type());
+        return false;
+    }
+
+    /** Returns the number of records waiting to be written. */
+    public int getPending() {
+        return queue.size();
+    }
+
+    /** Returns the number of records dropped because the buffer was full. */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /** Returns the number of records handed to the sink. */
+    public long getWritten() {
+        return written.sum();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        long deadline = System.nanoTime() + flushIntervalNanos + TimeUnit.SECONDS.toNanos(1);
+        synchronized (flushing) {
+            long remaining;
+            while (flushing.get() && (remaining = deadline - System.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(flushing, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+        }
+    }
+
+    private void scheduleFlush() {
+        if (closed || !flushing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            // The records stay queued for the next offer() or close().
+            flushed();
+            LOG.debugf("Audit flush task rejected: %s", e.getMessage());
+        }
+    }
+
+    private void flush() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        try {
+            AuditRecord first;
+            while (!closed && (first = queue.poll()) != null) {
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    AuditRecord next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } finally {
+            flushed();
+        }
+        // A record offered after the last poll, while this task was still flushing, has no task.
+        if (!queue.isEmpty()) {
+            scheduleFlush();
+        }
+    }
+
+    private void flushed() {
+        synchronized (flushing) {
+            flushing.set(false);
+            flushing.notifyAll();
+        }
+    }
+
+    private void write(List<AuditRecord> batch) {
+        for (AuditRecord record : batch) {
+            if (record.isCall()) {
+                queuedCalls.decrementAndGet();
+            }
+        }
+        try {
+            sink.write(List.copyOf(batch));
+            written.add(batch.size());
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Could not write %d audit record(s)", batch.size());
+        } finally {
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.quarkiverse.dapr.langchain4j.audit;
+
+import io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunInput;
+
+/**
+ * One entry of the audit trail of a {@code record-only} agent run, queued by
+ * {@link AgentAuditPipeline} and written in batches by an {@link AuditBuffer.Sink}.
+ *
+ * @param type       {@code "start"}, {@code "tool-call"}, {@code "llm-call"} or {@code "done"}
+ * @param agentRunId the run the entry belongs to
+ * @param agentName  the name of the agent
+ * @param input      the run's workflow input; set for {@code "start"} entries only
+ * @param toolCall   the executed tool call; set for {@code "tool-call"} entries only
+ * @param llmCall    the executed LLM call; set for {@code "llm-call"} entries only
+ * @param timestamp  when the entry was recorded, in epoch milliseconds
+ */
+public record AuditRecord(
+        String type,
+        String agentRunId,
+        String agentName,
+        AgentRunInput input,
+        ToolCallOutput toolCall,
+        LlmCallOutput llmCall,
+        long timestamp) {
+
+    public static AuditRecord start(String agentRunId, String agentName, AgentRunInput input) {
+        return new AuditRecord("start", agentRunId, agentName, input, null, null, System.currentTimeMillis());
+    }
+
+    public static AuditRecord toolCall(String agentRunId, String agentName, ToolCallOutput toolCall) {
+        return new AuditRecord("tool-call", agentRunId, agentName, null, toolCall, null, System.currentTimeMillis());
+    }
+
+    public static AuditRecord llmCall(String agentRunId, String agentName, LlmCallOutput llmCall) {
+        return new AuditRecord("llm-call", agentRunId, agentName, null, null, llmCall, System.currentTimeMillis());
+    }
+
+    public static AuditRecord done(String agentRunId, String agentName) {
+        return new AuditRecord("done", agentRunId, agentName, null, null, null, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns {@code true} for tool and LLM call entries, which {@link AuditBuffer} may drop
+     * when it is full; the start and end of a run are always kept.
+     */
+    public boolean isCall() {
+        return toolCall != null || llmCall != null;
+    }
+}
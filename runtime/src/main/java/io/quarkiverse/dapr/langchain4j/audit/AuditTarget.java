@@ -0,0 +1,13 @@
+package io.quarkiverse.dapr.langchain4j.audit;
+
+/**
+ * Where {@link AgentAuditPipeline} writes the audit trail of {@code record-only} agent runs.
+ */
+public enum AuditTarget {
+
+    /** One {@code AgentRunWorkflow} per run, fed with batched {@code "record"} events. */
+    WORKFLOW,
+
+    /** Batches of {@link AuditRecord}s published to a Dapr pub/sub topic; no workflow is started. */
+    PUBSUB
+}
@@ -0,0 +1,73 @@
+package io.quarkiverse.dapr.langchain4j.audit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.logging.Logger;
+
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentEvent;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunWorkflow;
+
+/**
+ * {@link AuditBuffer.Sink} that records each run in its own {@link AgentRunWorkflow}, exactly
+ * like runs whose calls go through Dapr.
+ * <p>
+ * A {@code "start"} record schedules the workflow. The calls of a run found in one batch are sent
+ * together: with the {@code "done"} event when the run ended in the batch, otherwise as a single
+ * {@code "record"} event. A failure for one run is logged and does not affect the others.
+ */
+public class WorkflowAuditSink implements AuditBuffer.Sink {
+
+    private static final Logger LOG = Logger.getLogger(WorkflowAuditSink.class);
+
+    private static final class RunCalls {
+        final List<ToolCallOutput> toolCalls = new ArrayList<>();
+        final List<LlmCallOutput> llmCalls = new ArrayList<>();
+    }
+
+    private final DaprWorkflowClient workflowClient;
+
+    public WorkflowAuditSink(DaprWorkflowClient workflowClient) {
+        this.workflowClient = workflowClient;
+    }
+
+    @Override
+    public void write(List<AuditRecord> batch) {
+        Map<String, RunCalls> calls = new LinkedHashMap<>();
+        for (AuditRecord record : batch) {
+            String agentRunId = record.agentRunId();
+            switch (record.type()) {
+                case "start" -> {
+                    try {
+                        workflowClient.scheduleNewWorkflow(AgentRunWorkflow.class, record.input(), agentRunId);
+                    } catch (RuntimeException e) {
+                        LOG.warnf(e, "[AgentRun:%s] Could not start audit workflow", agentRunId);
+                    }
+                }
+                case "tool-call" -> calls.computeIfAbsent(agentRunId, id -> new RunCalls()).toolCalls
+                        .add(record.toolCall());
+                case "llm-call" -> calls.computeIfAbsent(agentRunId, id -> new RunCalls()).llmCalls
+                        .add(record.llmCall());
+                case "done" -> raise(agentRunId, "done", calls.remove(agentRunId));
+                default -> LOG.debugf("[AgentRun:%s] Ignoring audit record of type %s", agentRunId, record.type());
+            }
+        }
+        calls.forEach((agentRunId, runCalls) -> raise(agentRunId, "record", runCalls));
+    }
+
+    private void raise(String agentRunId, String type, RunCalls runCalls) {
+        List<ToolCallOutput> toolCalls = runCalls != null && !runCalls.toolCalls.isEmpty() ? runCalls.toolCalls : null;
+        List<LlmCallOutput> llmCalls = runCalls != null && !runCalls.llmCalls.isEmpty() ? runCalls.llmCalls : null;
+        try {
+            workflowClient.raiseEvent(agentRunId, "agent-event",
+                    new AgentEvent(type, null, null, null, null, toolCalls, llmCalls));
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "[AgentRun:%s] Could not send %s event to audit workflow", agentRunId, type);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.quarkiverse.dapr.langchain4j.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code @Tool} method as idempotent: for the same arguments it always returns the
+ * same result and has no side effects, so repeated calls may be answered from the
+ * {@link ToolResultCache} instead of executing the method again, whether the call is routed
+ * through {@link io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallActivity} or runs on
+ * the agent thread.
+ * <p>
+ * The cache key is the tool's declaring class, method name and erased parameter types plus its
+ * arguments serialized to canonical JSON (properties and map entries sorted). Only
+ * non-{@code null} results are cached. The cache must be enabled with
+ * {@code quarkus.dapr.agentic.tool-cache.enabled=true}; until then the annotation has no effect.
+ *
+ * <pre>{@code
+ * @Tool("Returns the population of a country")
+ * @IdempotentTool(ttlSeconds = 3600)
+ * public String getPopulation(String country) { ... }
+ * }</pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface IdempotentTool {
+
+    /**
+     * How long a cached result stays valid, in seconds.
+     */
+    long ttlSeconds() default 300;
+}
@@ -0,0 +1,159 @@
+package io.quarkiverse.dapr.langchain4j.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessageDeserializer;
+import dev.langchain4j.data.message.ChatMessageSerializer;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.request.json.JsonSchemaElement;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.dapr.client.DaprClient;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+/**
+ * Optional cache of {@code ChatModel} responses consulted by
+ * {@link io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallActivity} and, for calls that
+ * run on the agent thread, {@link io.quarkiverse.dapr.langchain4j.agent.DaprChatModelDecorator}
+ * before the real model is invoked. Streaming calls are never cached.
+ * <p>
+ * The key is the SHA-256 of the model identity, the JSON-serialized messages and the canonical
+ * JSON of the request parameters: the fields of the parameters class, tool specifications
+ * included, with sorted properties and map entries. So only identical requests to the same
+ * model share a response, whatever the parameters class implements as {@code toString()}.
+ * Requests whose parameters cannot be serialized are not cached. The cached
+ * value is the JSON-serialized {@link AiMessage}; token usage and provider metadata are not
+ * cached. Configured under {@code quarkus.dapr.agentic.llm-cache} and bypassable per agent
+ * with {@code quarkus.dapr.agentic.agents."<agent-name>".llm-cache.enabled=false}.
+ */
+@ApplicationScoped
+public class LlmResponseCache {
+
+    private static final Logger LOG = Logger.getLogger(LlmResponseCache.class);
+
+    /** Prefix of the state store keys written by the L2 tier. */
+    static final String KEY_PREFIX = "agentic-llm-cache:";
+
+    /**
+     * Canonical JSON mapper for request parameters. Parameters classes only expose fluent
+     * accessors, so their fields are serialized; JSON schema elements carry their class, since
+     * different element types can have the same fields.
+     */
+    private static final ObjectMapper CANONICAL = JsonMapper.builder()
+            .visibility(PropertyAccessor.ALL, Visibility.NONE)
+            .visibility(PropertyAccessor.FIELD, Visibility.ANY)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .addMixIn(JsonSchemaElement.class, TypedSchemaElement.class)
+            .build();
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+    private interface TypedSchemaElement {
+    }
+
+    @Inject
+    DaprAgenticConfig config;
+
+    @Inject
+    Instance<DaprClient> daprClient;
+
+    private TieredCache cache;
+
+    @PostConstruct
+    void init() {
+        DaprAgenticConfig.LlmCacheConfig cacheConfig = config.llmCache();
+        cache = new TieredCache("llm", cacheConfig.maxEntries(), () -> daprClient.get(),
+                cacheConfig.stateStore().orElse(null), KEY_PREFIX);
+    }
+
+    /**
+     * Returns {@code true} when responses for {@code agentName} may be served from the cache.
+     */
+    public boolean isEnabled(String agentName) {
+        DaprAgenticConfig.AgentConfig agent = agentName != null ? config.agents().get(agentName) : null;
+        if (agent != null && agent.llmCache().enabled().isPresent()) {
+            return agent.llmCache().enabled().get();
+        }
+        return config.llmCache().enabled();
+    }
+
+    /**
+     * Computes the cache key of a request sent to the model identified by {@code modelIdentity},
+     * or returns {@code null} if its parameters cannot be serialized (the call is then not cached).
+     */
+    public String key(String modelIdentity, ChatRequest request) {
+        ChatRequestParameters parameters = request.parameters();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(modelIdentity).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(ChatMessageSerializer.messagesToJson(request.messages()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(canonicalJson(parameters).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException e) {
+            LOG.debugf("Request parameters of type %s are not serializable, not caching: %s",
+                    parameters.getClass().getName(), e.getMessage());
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Serializes {@code parameters} canonically, prefixed with the name of their class.
+     */
+    static String canonicalJson(ChatRequestParameters parameters) throws JsonProcessingException {
+        if (parameters == null) {
+            return "null";
+        }
+        return parameters.getClass().getName() + CANONICAL.writeValueAsString(parameters);
+    }
+
+    /**
+     * Returns the cached response for {@code key}, or {@code null} on a miss.
+     */
+    public ChatResponse get(String key) {
+        String json = cache.get(key, config.llmCache().ttl());
+        if (json == null) {
+            return null;
+        }
+        return ChatResponse.builder()
+                .aiMessage((AiMessage) ChatMessageDeserializer.messageFromJson(json))
+                .build();
+    }
+
+    /**
+     * Caches the AI message of {@code response} under {@code key}.
+     */
+    public void put(String key, ChatResponse response) {
+        if (response == null || response.aiMessage() == null) {
+            return;
+        }
+        cache.put(key, ChatMessageSerializer.messageToJson(response.aiMessage()), config.llmCache().ttl());
+    }
+
+    public TieredCache getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,139 @@
+package io.quarkiverse.dapr.langchain4j.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.jboss.logging.Logger;
+
+import io.dapr.client.DaprClient;
+import io.dapr.client.domain.State;
+
+/**
+ * Two-tier string cache shared by the LLM response and tool result caches.
+ * <ul>
+ *   <li><strong>L1</strong> — an in-process LRU map bounded to {@code maxEntries}, where every
+ *       entry expires after the TTL it was stored with.</li>
+ *   <li><strong>L2</strong> — an optional Dapr state store. Entries are written with the
+ *       {@code ttlInSeconds} metadata so the state store expires them, and survive restarts
+ *       and are shared across replicas. An L2 hit is promoted to L1.</li>
+ * </ul>
+ * State store failures are logged and treated as misses — the cache never fails the call it
+ * fronts.
+ */
+public class TieredCache {
+
+    private static final Logger LOG = Logger.getLogger(TieredCache.class);
+
+    private record Entry(String value, long expiresAtNanos) {
+    }
+
+    private final String name;
+    private final Map<String, Entry> l1;
+    private final Supplier<DaprClient> daprClient;
+    private final String stateStore;
+    private final String keyPrefix;
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param name       cache name, used in log messages
+     * @param maxEntries maximum number of L1 entries
+     * @param daprClient supplies the Dapr client for the L2 tier; ignored when {@code stateStore} is {@code null}
+     * @param stateStore Dapr state store backing the L2 tier, or {@code null} for an L1-only cache
+     * @param keyPrefix  prefix of the L2 state store keys
+     */
+    public TieredCache(String name, int maxEntries, Supplier<DaprClient> daprClient, String stateStore,
+            String keyPrefix) {
+        this.name = name;
+        this.l1 = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.daprClient = daprClient;
+        this.stateStore = stateStore;
+        this.keyPrefix = keyPrefix;
+    }
+
+    /**
+     * Returns the cached value for {@code key}, or {@code null} on a miss.
+     *
+     * @param ttl TTL applied when an L2 hit is promoted to L1
+     */
+    public String get(String key, Duration ttl) {
+        long now = System.nanoTime();
+        synchronized (l1) {
+            Entry entry = l1.get(key);
+            if (entry != null) {
+                if (entry.expiresAtNanos() - now > 0) {
+                    l1Hits.increment();
+                    return entry.value();
+                }
+                l1.remove(key);
+            }
+        }
+        if (stateStore != null) {
+            try {
+                State<String> state = daprClient.get().getState(stateStore, keyPrefix + key, String.class).block();
+                if (state != null && state.getValue() != null) {
+                    l2Hits.increment();
+                    putL1(key, state.getValue(), ttl, now);
+                    return state.getValue();
+                }
+            } catch (RuntimeException e) {
+                LOG.warnf("[Cache:%s] Could not read from state store %s: %s", name, stateStore, e.getMessage());
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores {@code value} in both tiers for {@code ttl}.
+     */
+    public void put(String key, String value, Duration ttl) {
+        putL1(key, value, ttl, System.nanoTime());
+        if (stateStore != null) {
+            try {
+                daprClient.get().saveState(stateStore, keyPrefix + key, null, value,
+                        Map.of("ttlInSeconds", String.valueOf(Math.max(1, ttl.toSeconds()))), null).block();
+            } catch (RuntimeException e) {
+                LOG.warnf("[Cache:%s] Could not write to state store %s: %s", name, stateStore, e.getMessage());
+            }
+        }
+    }
+
+    private void putL1(String key, String value, Duration ttl, long now) {
+        synchronized (l1) {
+            l1.put(key, new Entry(value, now + ttl.toNanos()));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getL1Hits() {
+        return l1Hits.sum();
+    }
+
+    public long getL2Hits() {
+        return l2Hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        synchronized (l1) {
+            return l1.size();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package io.quarkiverse.dapr.langchain4j.cache;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import io.dapr.client.DaprClient;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+/**
+ * Result cache for {@link IdempotentTool}-annotated {@code @Tool} methods, consulted by
+ * {@link io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallActivity} before the tool
+ * is executed, and by {@link io.quarkiverse.dapr.langchain4j.agent.DaprToolCallInterceptor}
+ * for calls that run on the agent thread.
+ * <p>
+ * Results are stored as JSON in a {@link TieredCache} — configured under
+ * {@code quarkus.dapr.agentic.tool-cache} — and deserialized to the method's generic return
+ * type on a hit. Hit and miss counts are available from {@link #getCache()}. The cache is off
+ * unless {@code quarkus.dapr.agentic.tool-cache.enabled=true}.
+ */
+@ApplicationScoped
+public class ToolResultCache {
+
+    private static final Logger LOG = Logger.getLogger(ToolResultCache.class);
+
+    /** Prefix of the state store keys written by the L2 tier. */
+    static final String KEY_PREFIX = "agentic-tool-cache:";
+
+    /**
+     * Canonical JSON mapper: sorted properties and map entries make equal arguments
+     * produce equal keys regardless of declaration or insertion order.
+     */
+    private static final ObjectMapper CANONICAL = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    @Inject
+    DaprAgenticConfig config;
+
+    @Inject
+    Instance<DaprClient> daprClient;
+
+    private final Map<Method, Optional<Duration>> ttls = new ConcurrentHashMap<>();
+
+    private TieredCache cache;
+
+    @PostConstruct
+    void init() {
+        DaprAgenticConfig.ToolCacheConfig cacheConfig = config.toolCache();
+        cache = new TieredCache("tool", cacheConfig.maxEntries(), () -> daprClient.get(),
+                cacheConfig.stateStore().orElse(null), KEY_PREFIX);
+    }
+
+    /**
+     * Returns the TTL of {@code method} if it is an {@link IdempotentTool} and the cache is
+     * enabled, or {@code null} otherwise.
+     */
+    public Duration ttl(Method method) {
+        if (!config.toolCache().enabled()) {
+            return null;
+        }
+        return ttls.computeIfAbsent(method, m -> {
+            IdempotentTool idempotent = m.getAnnotation(IdempotentTool.class);
+            return idempotent != null ? Optional.of(Duration.ofSeconds(idempotent.ttlSeconds())) : Optional.empty();
+        }).orElse(null);
+    }
+
+    /**
+     * Computes the cache key of a call to {@code method} with {@code args}, or returns
+     * {@code null} if the arguments cannot be serialized (the call is then not cached).
+     */
+    public String key(Method method, Object[] args) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(CANONICAL.writeValueAsBytes(args != null ? args : new Object[0]));
+            return signature(method) + ":" + HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException e) {
+            LOG.debugf("Arguments of tool %s are not serializable, not caching: %s", method.getName(), e.getMessage());
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Returns {@code declaringClass#name(erasedParameterTypes)}, so overloads of a tool whose
+     * arguments serialize alike do not share results.
+     */
+    private static String signature(Method method) {
+        StringJoiner parameterTypes = new StringJoiner(",", "(", ")");
+        for (Class<?> type : method.getParameterTypes()) {
+            parameterTypes.add(type.getName());
+        }
+        return method.getDeclaringClass().getName() + "#" + method.getName() + parameterTypes;
+    }
+
+    /**
+     * Returns the cached result of {@code method} for {@code key}, or {@code null} on a miss.
+     */
+    public Object get(String key, Method method, Duration ttl) {
+        String json = cache.get(key, ttl);
+        if (json == null) {
+            return null;
+        }
+        try {
+            return CANONICAL.readValue(json, CANONICAL.constructType(method.getGenericReturnType()));
+        } catch (JsonProcessingException e) {
+            LOG.debugf("Cached result of tool %s could not be read, ignoring: %s", method.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Caches a non-{@code null} {@code result} under {@code key} for {@code ttl}.
+     */
+    public void put(String key, Object result, Duration ttl) {
+        if (result == null) {
+            return;
+        }
+        try {
+            cache.put(key, new String(CANONICAL.writeValueAsBytes(result), StandardCharsets.UTF_8), ttl);
+        } catch (JsonProcessingException e) {
+            LOG.debugf("Result of type %s is not serializable, not caching: %s",
+                    result.getClass().getName(), e.getMessage());
+        }
+    }
+
+    public TieredCache getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,49 @@
+package io.quarkiverse.dapr.langchain4j.config;
+
+import java.util.Map;
+import java.util.Optional;
+
+import io.quarkiverse.dapr.langchain4j.agent.DurabilityLevel;
+import io.quarkus.runtime.annotations.ConfigDocMapKey;
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+/**
+ * Build-time configuration of the Dapr Agentic extension: settings the deployment processor
+ * needs to decide which interceptor bindings and decorators to generate.
+ * <p>
+ * As in {@link DaprAgenticConfig}, entries under {@code agents."<agent-name>"} override the
+ * global settings for the agent whose {@code @Agent(name)} matches.
+ */
+@ConfigMapping(prefix = "quarkus.dapr.agentic")
+@ConfigRoot(phase = ConfigPhase.BUILD_AND_RUN_TIME_FIXED)
+public interface DaprAgenticBuildTimeConfig {
+
+    /**
+     * How much of each agent's execution is made durable: {@code none}, {@code record-only}
+     * (calls run inline and are recorded in the background, see
+     * {@code quarkus.dapr.agentic.audit}),
+     * {@code checkpointed} (calls run inline; the agent's start and end are durable) or
+     * {@code full} (every tool and LLM call is a Dapr Workflow Activity).
+     * <p>
+     * When every agent is {@code none}, no interceptor bindings or decorators are generated.
+     */
+    @WithDefault("full")
+    DurabilityLevel durability();
+
+    /**
+     * Per-agent overrides, keyed by agent name.
+     */
+    @ConfigDocMapKey("agent-name")
+    Map<String, AgentBuildTimeConfig> agents();
+
+    interface AgentBuildTimeConfig {
+
+        /**
+         * Overrides {@code quarkus.dapr.agentic.durability} for this agent.
+         */
+        Optional<DurabilityLevel> durability();
+    }
+}
@@ -0,0 +1,264 @@
+package io.quarkiverse.dapr.langchain4j.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+
+import io.quarkiverse.dapr.langchain4j.agent.PayloadCaptureMode;
+import io.quarkiverse.dapr.langchain4j.audit.AuditTarget;
+import io.quarkus.runtime.annotations.ConfigDocMapKey;
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+/**
+ * Runtime configuration of the Dapr Agentic extension.
+ * <p>
+ * Global settings apply to every agent run; entries under {@code agents."<agent-name>"}
+ * override them for the agent whose {@code @Agent(name)} matches. Standalone agents that
+ * are activated lazily by the first LLM call use the name {@code "standalone"}.
+ */
+@ConfigMapping(prefix = "quarkus.dapr.agentic")
+@ConfigRoot(phase = ConfigPhase.RUN_TIME)
+public interface DaprAgenticConfig {
+
+    /**
+     * How LLM prompts and responses are recorded in the Dapr workflow history.
+     */
+    PayloadConfig payloads();
+
+    /**
+     * Response cache consulted before the delegate {@code ChatModel} is invoked.
+     */
+    LlmCacheConfig llmCache();
+
+    /**
+     * Result cache for {@code @IdempotentTool} methods.
+     */
+    ToolCacheConfig toolCache();
+
+    /**
+     * Logging of agent run steps. Step messages are logged at {@code DEBUG}.
+     */
+    LoggingConfig logging();
+
+    /**
+     * Background recording of agents whose durability is {@code record-only}.
+     */
+    AuditConfig audit();
+
+    /**
+     * Recording of agent runs for {@code DaprAgentRunResumer}.
+     */
+    ResumeConfig resume();
+
+    /**
+     * Per-agent overrides, keyed by agent name.
+     */
+    @ConfigDocMapKey("agent-name")
+    Map<String, AgentConfig> agents();
+
+    interface PayloadConfig {
+
+        /**
+         * What is recorded for each prompt and response: {@code none}, {@code hash} (SHA-256
+         * digest only), {@code truncated} (at most {@code max-bytes}) or {@code full}.
+         */
+        @WithDefault("full")
+        PayloadCaptureMode capture();
+
+        /**
+         * Maximum number of UTF-8 bytes recorded inline for a single payload. Larger
+         * {@code truncated} payloads are cut; larger {@code full} payloads are offloaded
+         * to {@code offload-state-store} when one is configured.
+         */
+        @WithDefault("16384")
+        int maxBytes();
+
+        /**
+         * Dapr state store used to hold payloads larger than {@code max-bytes}. The workflow
+         * history then only records a {@code ref:<store>/<key>} reference. When unset,
+         * payloads are never offloaded.
+         */
+        Optional<String> offloadStateStore();
+    }
+
+    interface LlmCacheConfig {
+
+        /**
+         * Whether identical LLM requests are answered from the cache.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * How long a cached response stays valid.
+         */
+        @WithDefault("10m")
+        Duration ttl();
+
+        /**
+         * Maximum number of responses kept in the in-process tier.
+         */
+        @WithDefault("1000")
+        int maxEntries();
+
+        /**
+         * Dapr state store backing the shared, restart-safe tier. When unset, only the
+         * in-process tier is used.
+         */
+        Optional<String> stateStore();
+    }
+
+    interface ToolCacheConfig {
+
+        /**
+         * Whether results of {@code @IdempotentTool} methods are cached. Each tool's TTL is
+         * set on its annotation. Off by default: enabling it means annotated tools are no longer
+         * executed for arguments whose result is cached.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * Maximum number of results kept in the in-process tier.
+         */
+        @WithDefault("1000")
+        int maxEntries();
+
+        /**
+         * Dapr state store backing the shared, restart-safe tier. When unset, only the
+         * in-process tier is used.
+         */
+        Optional<String> stateStore();
+    }
+
+    interface LoggingConfig {
+
+        /**
+         * Whether {@code AgentRunWorkflow} also logs its steps while Dapr replays the workflow
+         * history. Replayed steps were already logged when they first executed.
+         */
+        @WithDefault("false")
+        boolean replays();
+
+        /**
+         * Whether step messages include tool arguments, tool results and LLM responses. When
+         * disabled, only IDs, names and payload sizes are logged.
+         */
+        @WithDefault("false")
+        boolean payloads();
+    }
+
+    interface AuditConfig {
+
+        /**
+         * Where recorded runs are written: {@code workflow} (one {@code AgentRunWorkflow} per
+         * run, as for the other durability levels) or {@code pubsub} (batches of records
+         * published to {@code topic}).
+         */
+        @WithDefault("workflow")
+        AuditTarget target();
+
+        /**
+         * Maximum number of recorded tool and LLM calls waiting to be written. Further calls are
+         * dropped, and counted, until the buffer is flushed. The start and end records of runs
+         * are bounded by the same number separately.
+         */
+        @WithDefault("4096")
+        int capacity();
+
+        /**
+         * Maximum number of records written at once.
+         */
+        @WithDefault("256")
+        int batchSize();
+
+        /**
+         * How long a flush task waits for a batch to fill before writing it.
+         */
+        @WithDefault("200ms")
+        Duration flushInterval();
+
+        /**
+         * Dapr pub/sub component used by the {@code pubsub} target.
+         */
+        @WithDefault("pubsub")
+        String pubsubName();
+
+        /**
+         * Topic the {@code pubsub} target publishes to.
+         */
+        @WithDefault("agent-audit")
+        String topic();
+    }
+
+    interface ResumeConfig {
+
+        /**
+         * Whether each LLM response and tool result is also recorded in a form that
+         * {@code DaprAgentRunResumer} can replay, so that an interrupted run resumes from its
+         * last completed step. This is independent of payload capture and records every
+         * response and result in full in the workflow history, with a digest of the prompt or
+         * tool arguments it answered.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * How long {@code DaprAgentRunResumer} waits for the workflow of an interrupted run to
+         * end before giving up on resuming it.
+         */
+        @WithDefault("30s")
+        Duration interruptTimeout();
+    }
+
+    interface AgentConfig {
+
+        /**
+         * Payload capture overrides for this agent.
+         */
+        AgentPayloadConfig payloads();
+
+        /**
+         * Response cache overrides for this agent.
+         */
+        AgentLlmCacheConfig llmCache();
+
+        /**
+         * Names of this agent's tool methods that run inline on the agent thread, as if they
+         * were annotated with {@code @InlineTool}; {@code *} selects all of them.
+         */
+        Optional<Set<String>> inlineTools();
+    }
+
+    interface AgentLlmCacheConfig {
+
+        /**
+         * Overrides {@code quarkus.dapr.agentic.llm-cache.enabled} for this agent, e.g. to
+         * bypass the cache for agents whose prompts must always reach the model.
+         */
+        Optional<Boolean> enabled();
+    }
+
+    interface AgentPayloadConfig {
+
+        /**
+         * Overrides {@code quarkus.dapr.agentic.payloads.capture} for this agent.
+         */
+        Optional<PayloadCaptureMode> capture();
+
+        /**
+         * Overrides {@code quarkus.dapr.agentic.payloads.max-bytes} for this agent.
+         */
+        OptionalInt maxBytes();
+
+        /**
+         * Overrides {@code quarkus.dapr.agentic.payloads.offload-state-store} for this agent.
+         */
+        Optional<String> offloadStateStore();
+    }
+}
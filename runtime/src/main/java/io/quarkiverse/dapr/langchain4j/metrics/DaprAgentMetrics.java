@@ -0,0 +1,72 @@
+package io.quarkiverse.dapr.langchain4j.metrics;
+
+import jakarta.enterprise.inject.spi.CDI;
+
+/**
+ * Instrumentation points of the Dapr Agentic extension. All durations are in nanoseconds.
+ * <p>
+ * Every method is a no-op by default. The deployment processor registers
+ * {@link MicrometerDaprAgentMetrics} when the Micrometer extension is present; otherwise
+ * {@link NoopDaprAgentMetrics} is used. CDI beans inject this interface; other classes (such as
+ * the planner) use {@link #current()}.
+ */
+public interface DaprAgentMetrics {
+
+    /** Metrics implementation that records nothing. */
+    DaprAgentMetrics NOOP = new DaprAgentMetrics() {
+    };
+
+    /**
+     * Records a {@code ToolCallActivity} execution, or the execution of an inline tool.
+     *
+     * @param cached whether the result was served from the tool result cache
+     */
+    default void recordToolCall(String agentName, String toolName, long durationNanos, boolean success,
+            boolean cached) {
+    }
+
+    /**
+     * Records a {@code LlmCallActivity} execution.
+     *
+     * @param cached whether the response was served from the LLM response cache
+     */
+    default void recordLlmCall(String agentName, long durationNanos, boolean success, boolean cached) {
+    }
+
+    /**
+     * Records an {@code AgentExecutionActivity}, split into the time the agent waited in the
+     * planner's exchange queue and the time the agent actually ran.
+     *
+     * @param success whether the agent completed without failing
+     */
+    default void recordAgentExecution(String agentName, long queueWaitNanos, long executionNanos, boolean success) {
+    }
+
+    /**
+     * Records the latency of raising an {@code "agent-event"} to the {@code AgentRunWorkflow}
+     * from the agent thread.
+     */
+    default void recordEventRaise(String agentName, String eventType, long durationNanos) {
+    }
+
+    /**
+     * Records the end-to-end duration of an orchestration.
+     *
+     * @param orchestrationType simple name of the orchestration's workflow class, such as
+     *        {@code SequentialOrchestrationWorkflow}
+     */
+    default void recordOrchestration(String orchestrationType, long durationNanos) {
+    }
+
+    /**
+     * Returns the metrics bean of the running application, or {@link #NOOP} when no CDI
+     * container is available.
+     */
+    static DaprAgentMetrics current() {
+        try {
+            return CDI.current().select(DaprAgentMetrics.class).get();
+        } catch (RuntimeException e) {
+            return NOOP;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package io.quarkiverse.dapr.langchain4j.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkiverse.dapr.langchain4j.agent.DaprAgentRunRegistry;
+import io.quarkiverse.dapr.langchain4j.audit.AgentAuditPipeline;
+import io.quarkiverse.dapr.langchain4j.audit.AuditBuffer;
+import io.quarkiverse.dapr.langchain4j.cache.LlmResponseCache;
+import io.quarkiverse.dapr.langchain4j.cache.TieredCache;
+import io.quarkiverse.dapr.langchain4j.cache.ToolResultCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+
+/**
+ * {@link DaprAgentMetrics} backed by Micrometer.
+ * <p>
+ * Registered by the deployment processor only when the Micrometer extension is present (this
+ * class deliberately carries no bean-defining annotation). Meters:
+ * <ul>
+ *   <li>{@code dapr.agentic.tool.call} — timer, tags {@code agent}, {@code tool},
+ *       {@code outcome}, {@code cached}</li>
+ *   <li>{@code dapr.agentic.llm.call} — timer, tags {@code agent}, {@code outcome}, {@code cached}</li>
+ *   <li>{@code dapr.agentic.agent.queue.wait} — timer, tag {@code agent}</li>
+ *   <li>{@code dapr.agentic.agent.execution} — timer, tags {@code agent}, {@code outcome}</li>
+ *   <li>{@code dapr.agentic.event.raise} — timer, tags {@code agent}, {@code type}</li>
+ *   <li>{@code dapr.agentic.orchestration} — timer, tag {@code type}, the simple name of the
+ *       orchestration's workflow class</li>
+ *   <li>{@code dapr.agentic.runs.active} — gauge of in-progress agent runs</li>
+ *   <li>{@code dapr.agentic.cache.hits} / {@code dapr.agentic.cache.misses} — counters, tags
+ *       {@code cache} ({@code llm} or {@code tool}) and, for hits, {@code tier}</li>
+ *   <li>{@code dapr.agentic.audit.pending} — gauge of audit records waiting to be written;
+ *       {@code dapr.agentic.audit.written} / {@code dapr.agentic.audit.dropped} — counters</li>
+ * </ul>
+ * All timers publish percentile histograms. Each timer is built and registered once per tag
+ * combination, on first use.
+ */
+public class MicrometerDaprAgentMetrics implements DaprAgentMetrics {
+
+    private static final String UNKNOWN = "unknown";
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    LlmResponseCache llmResponseCache;
+
+    @Inject
+    ToolResultCache toolResultCache;
+
+    @Inject
+    AgentAuditPipeline auditPipeline;
+
+    private final Map<TimerId, Timer> timers = new ConcurrentHashMap<>();
+
+    private record TimerId(String name, List<String> tags) {
+    }
+
+    @PostConstruct
+    void registerGauges() {
+        Gauge.builder("dapr.agentic.runs.active", DaprAgentRunRegistry.class,
+                ignored -> DaprAgentRunRegistry.getRegisteredIds().size())
+                .description("Agent runs currently in progress")
+                .register(registry);
+        registerCacheMeters(llmResponseCache.getCache());
+        registerCacheMeters(toolResultCache.getCache());
+        AuditBuffer audit = auditPipeline.getBuffer();
+        Gauge.builder("dapr.agentic.audit.pending", audit, AuditBuffer::getPending)
+                .description("Audit records waiting to be written")
+                .register(registry);
+        FunctionCounter.builder("dapr.agentic.audit.written", audit, AuditBuffer::getWritten)
+                .register(registry);
+        FunctionCounter.builder("dapr.agentic.audit.dropped", audit, AuditBuffer::getDropped)
+                .description("Audit records dropped because the buffer was full")
+                .register(registry);
+    }
+
+    private void registerCacheMeters(TieredCache cache) {
+        FunctionCounter.builder("dapr.agentic.cache.hits", cache, TieredCache::getL1Hits)
+                .tags("cache", cache.getName(), "tier", "l1")
+                .register(registry);
+        FunctionCounter.builder("dapr.agentic.cache.hits", cache, TieredCache::getL2Hits)
+                .tags("cache", cache.getName(), "tier", "l2")
+                .register(registry);
+        FunctionCounter.builder("dapr.agentic.cache.misses", cache, TieredCache::getMisses)
+                .tags("cache", cache.getName())
+                .register(registry);
+    }
+
+    @Override
+    public void recordToolCall(String agentName, String toolName, long durationNanos, boolean success,
+            boolean cached) {
+        timer("dapr.agentic.tool.call",
+                "agent", tag(agentName), "tool", tag(toolName), "outcome", outcome(success),
+                "cached", String.valueOf(cached))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordLlmCall(String agentName, long durationNanos, boolean success, boolean cached) {
+        timer("dapr.agentic.llm.call",
+                "agent", tag(agentName), "outcome", outcome(success), "cached", String.valueOf(cached))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordAgentExecution(String agentName, long queueWaitNanos, long executionNanos, boolean success) {
+        timer("dapr.agentic.agent.queue.wait", "agent", tag(agentName))
+                .record(queueWaitNanos, TimeUnit.NANOSECONDS);
+        timer("dapr.agentic.agent.execution", "agent", tag(agentName), "outcome", outcome(success))
+                .record(executionNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordEventRaise(String agentName, String eventType, long durationNanos) {
+        timer("dapr.agentic.event.raise", "agent", tag(agentName), "type", tag(eventType))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordOrchestration(String orchestrationType, long durationNanos) {
+        timer("dapr.agentic.orchestration", "type", tag(orchestrationType))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the timer {@code name} with {@code tags}, building and registering it on first use
+     * only.
+     */
+    private Timer timer(String name, String... tags) {
+        return timers.computeIfAbsent(new TimerId(name, Arrays.asList(tags)), id -> Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private static String tag(String value) {
+        return value != null ? value : UNKNOWN;
+    }
+
+    private static String outcome(boolean success) {
+        return success ? "success" : "failure";
+    }
+}
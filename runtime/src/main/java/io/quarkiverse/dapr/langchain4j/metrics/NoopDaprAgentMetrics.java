@@ -0,0 +1,12 @@
+package io.quarkiverse.dapr.langchain4j.metrics;
+
+import io.quarkus.arc.DefaultBean;
+import jakarta.inject.Singleton;
+
+/**
+ * Default {@link DaprAgentMetrics} bean used when the Micrometer extension is not present.
+ */
+@DefaultBean
+@Singleton
+public class NoopDaprAgentMetrics implements DaprAgentMetrics {
+}
@@ -0,0 +1,146 @@
+package io.quarkiverse.dapr.langchain4j.tracing;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import io.quarkiverse.dapr.langchain4j.agent.AgentRunContext;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.spi.CDI;
+
+/**
+ * Carries the OpenTelemetry trace of an agent request across the hops that break implicit
+ * context propagation: from the caller thread through {@code raiseEvent()} into the Dapr
+ * workflows, and from there onto the activity threads.
+ * <p>
+ * The trace context travels as a W3C {@code traceparent} string inside the workflow and
+ * activity inputs ({@code AgentEvent}, {@code AgentRunInput}, {@code AgentExecInput}, ...),
+ * so it is part of the workflow history and survives replays. Activities restore it with
+ * {@link #startSpan(String, String)}, producing one trace per agent request with a span per
+ * agent execution, tool call and LLM call.
+ * <p>
+ * When no OpenTelemetry SDK is configured every method degrades to a no-op and
+ * {@link #currentTraceParent()} returns {@code null}.
+ */
+public final class DaprAgentTracing {
+
+    public static final String INSTRUMENTATION_NAME = "io.quarkiverse.dapr.agentic";
+
+    public static final String AGENT_NAME = "dapr.agentic.agent.name";
+    public static final String AGENT_RUN_ID = "dapr.agentic.agent.run_id";
+    public static final String CALL_ID = "dapr.agentic.call.id";
+    public static final String CACHED = "dapr.agentic.call.cached";
+
+    private static final String TRACEPARENT = "traceparent";
+
+    private static final TextMapSetter<Map<String, String>> SETTER = Map::put;
+
+    private static final TextMapGetter<String> GETTER = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(String carrier) {
+            return List.of(TRACEPARENT);
+        }
+
+        @Override
+        public String get(String carrier, String key) {
+            return TRACEPARENT.equals(key) ? carrier : null;
+        }
+    };
+
+    private static volatile Tracer tracer;
+
+    private DaprAgentTracing() {
+    }
+
+    /**
+     * Returns the W3C {@code traceparent} of the span current on this thread, or {@code null}
+     * if there is none.
+     */
+    public static String currentTraceParent() {
+        return traceParent(Context.current());
+    }
+
+    /**
+     * Returns the W3C {@code traceparent} identifying {@code span}, or {@code null} if the span
+     * is not recording a valid trace.
+     */
+    public static String traceParent(Span span) {
+        return traceParent(Context.root().with(span));
+    }
+
+    /**
+     * Returns the {@code traceparent} that calls made by the given agent run should be parented
+     * to: the span enclosing the run if one was recorded, otherwise the span current on this thread.
+     */
+    public static String parentOf(AgentRunContext runCtx) {
+        String traceParent = runCtx.getTraceParent();
+        return traceParent != null ? traceParent : currentTraceParent();
+    }
+
+    /**
+     * Starts an internal span named {@code name} as a child of the given {@code traceParent}
+     * (or as a root span when it is {@code null}). The caller must end the span.
+     */
+    public static Span startSpan(String name, String traceParent) {
+        return tracer().spanBuilder(name)
+                .setParent(restore(traceParent))
+                .setSpanKind(SpanKind.INTERNAL)
+                .startSpan();
+    }
+
+    /**
+     * Records {@code error} on {@code span} and marks it as failed.
+     */
+    public static void fail(Span span, Throwable error) {
+        span.recordException(error);
+        span.setStatus(StatusCode.ERROR, error.getMessage() != null ? error.getMessage() : error.toString());
+    }
+
+    static Context restore(String traceParent) {
+        if (traceParent == null) {
+            return Context.root();
+        }
+        return W3CTraceContextPropagator.getInstance().extract(Context.root(), traceParent, GETTER);
+    }
+
+    private static String traceParent(Context context) {
+        if (!Span.fromContext(context).getSpanContext().isValid()) {
+            return null;
+        }
+        Map<String, String> carrier = new HashMap<>(2);
+        W3CTraceContextPropagator.getInstance().inject(context, carrier, SETTER);
+        return carrier.get(TRACEPARENT);
+    }
+
+    /**
+     * Resolves the tracer from the application's {@link OpenTelemetry} bean (as produced by
+     * {@code quarkus-opentelemetry}), falling back to {@link GlobalOpenTelemetry} outside CDI.
+     */
+    private static Tracer tracer() {
+        Tracer t = tracer;
+        if (t != null) {
+            return t;
+        }
+        try {
+            Instance<OpenTelemetry> instance = CDI.current().select(OpenTelemetry.class);
+            if (instance.isResolvable()) {
+                t = instance.get().getTracer(INSTRUMENTATION_NAME);
+                tracer = t;
+                return t;
+            }
+        } catch (IllegalStateException e) {
+            // CDI container not available (e.g. unit tests)
+        }
+        return GlobalOpenTelemetry.getTracer(INSTRUMENTATION_NAME);
+    }
+}
@@ -5,11 +5,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiPredicate;
@@ -30,6 +30,9 @@ import dev.langchain4j.service.UserMessage;
 import io.dapr.workflows.Workflow;
 import io.dapr.workflows.client.DaprWorkflowClient;
 import io.quarkiverse.dapr.langchain4j.agent.DaprAgentContextHolder;
+import io.quarkiverse.dapr.langchain4j.agent.DaprIdGenerators;
+import io.quarkiverse.dapr.langchain4j.metrics.DaprAgentMetrics;
+import io.quarkiverse.dapr.langchain4j.tracing.DaprAgentTracing;
 import io.quarkiverse.dapr.langchain4j.workflow.orchestration.OrchestrationInput;
 
 /**
@@ -59,7 +62,12 @@ public class DaprWorkflowPlanner implements Planner {
      * The {@code agentRunId} is forwarded to the planner so it can set
      * {@link DaprAgentContextHolder} on the executing thread before tool calls begin.
      */
-    public record AgentExchange(AgentInstance agent, CompletableFuture<Void> continuation, String agentRunId) {
+    public record AgentExchange(AgentInstance agent, CompletableFuture<Void> continuation, String agentRunId,
+            long enqueuedAtNanos) {
+
+        public AgentExchange(AgentInstance agent, CompletableFuture<Void> continuation, String agentRunId) {
+            this(agent, continuation, agentRunId, System.nanoTime());
+        }
     }
 
     private final String plannerId;
@@ -82,13 +90,19 @@ public class DaprWorkflowPlanner implements Planner {
     // Conditional configuration
     private Map<Integer, Predicate<AgenticScope>> conditions = Collections.emptyMap();
 
+    // Time each submitted agent spent in the exchange queue, keyed by its continuation
+    private final Map<CompletableFuture<Void>, Long> queueWaitNanos = new ConcurrentHashMap<>();
+
+    private DaprAgentMetrics metrics = DaprAgentMetrics.NOOP;
+    private long startedAtNanos;
+
     // Tracks pending futures for parallel agent completion
     private final Deque<CompletableFuture<Void>> pendingFutures = new ArrayDeque<>();
     private CompletableFuture<Void> lastFuture;
 
     public DaprWorkflowPlanner(Class<? extends Workflow> workflowClass, String description,
             AgenticSystemTopology topology, DaprWorkflowClient workflowClient) {
-        this.plannerId = UUID.randomUUID().toString();
+        this.plannerId = DaprIdGenerators.get().nextRunId();
         this.workflowClass = workflowClass;
         this.description = description;
         this.topology = topology;
@@ -109,11 +123,14 @@ public class DaprWorkflowPlanner implements Planner {
 
     @Override
     public Action firstAction(PlanningContext planningContext) {
+        metrics = DaprAgentMetrics.current();
+        startedAtNanos = System.nanoTime();
         OrchestrationInput input = new OrchestrationInput(
                 plannerId,
                 agents.size(),
                 maxIterations,
-                testExitAtLoopEnd);
+                testExitAtLoopEnd,
+                DaprAgentTracing.currentTraceParent());
 
         workflowClient.scheduleNewWorkflow(workflowClass, input, plannerId);
         return internalNextAction();
@@ -163,13 +180,16 @@ public class DaprWorkflowPlanner implements Planner {
 
         // Check for sentinel (null agent = workflow completed)
         List<AgentInstance> batch = new ArrayList<>();
+        long dequeuedAt = System.nanoTime();
         for (AgentExchange exchange : exchanges) {
             if (exchange.agent() == null) {
                 // Workflow completed
+                metrics.recordOrchestration(workflowClass.getSimpleName(), dequeuedAt - startedAtNanos);
                 cleanup();
                 return done();
             }
             batch.add(exchange.agent());
+            queueWaitNanos.put(exchange.continuation(), dequeuedAt - exchange.enqueuedAtNanos());
         }
 
         if (batch.isEmpty()) {
@@ -212,6 +232,15 @@ public class DaprWorkflowPlanner implements Planner {
         return future;
     }
 
+    /**
+     * Returns (and forgets) how long the agent submitted with {@code continuation} waited in
+     * the exchange queue before the planner picked it up, or {@code 0} if unknown.
+     */
+    public long takeQueueWaitNanos(CompletableFuture<Void> continuation) {
+        Long wait = queueWaitNanos.remove(continuation);
+        return wait != null ? wait : 0L;
+    }
+
     /**
      * Signals workflow completion by posting a sentinel to the queue.
      */
@@ -320,6 +349,7 @@ public class DaprWorkflowPlanner implements Planner {
 
     private void cleanup() {
         DaprAgentContextHolder.clear();
+        queueWaitNanos.clear();
         DaprPlannerRegistry.unregister(plannerId);
     }
 }
@@ -3,8 +3,14 @@ package io.quarkiverse.dapr.langchain4j.workflow.orchestration;
 /**
  * Input for the AgentExecutionActivity.
  *
- * @param plannerId  the planner ID to look up in the registry
- * @param agentIndex the index of the agent in the planner's agent list
+ * @param plannerId   the planner ID to look up in the registry
+ * @param agentIndex  the index of the agent in the planner's agent list
+ * @param traceParent W3C {@code traceparent} of the orchestration's parent span; {@code null}
+ *                    when tracing is not active
  */
-public record AgentExecInput(String plannerId, int agentIndex) {
+public record AgentExecInput(String plannerId, int agentIndex, String traceParent) {
+
+    public AgentExecInput(String plannerId, int agentIndex) {
+        this(plannerId, agentIndex, null);
+    }
 }
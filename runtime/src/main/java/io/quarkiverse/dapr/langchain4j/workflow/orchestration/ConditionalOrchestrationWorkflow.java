@@ -26,7 +26,7 @@ public class ConditionalOrchestrationWorkflow implements Workflow {
                         Boolean.class).await();
                 if (shouldExec) {
                     ctx.callActivity(AgentExecutionActivity.class.getName(),
-                            new AgentExecInput(input.plannerId(), i), Void.class).await();
+                            new AgentExecInput(input.plannerId(), i, input.traceParent()), Void.class).await();
                 }
             }
             // Signal planner that the workflow has completed
@@ -34,7 +34,7 @@ public class LoopOrchestrationWorkflow implements Workflow {
                 // Execute all agents sequentially within this iteration
                 for (int i = 0; i < input.agentCount(); i++) {
                     ctx.callActivity(AgentExecutionActivity.class.getName(),
-                            new AgentExecInput(input.plannerId(), i), Void.class).await();
+                            new AgentExecInput(input.plannerId(), i, input.traceParent()), Void.class).await();
                 }
 
                 // Check exit condition at loop end (if configured)
@@ -7,6 +7,13 @@ package io.quarkiverse.dapr.langchain4j.workflow.orchestration;
  * @param agentCount        number of sub-agents to execute
  * @param maxIterations     maximum loop iterations (only used by LoopOrchestrationWorkflow)
  * @param testExitAtLoopEnd whether to test exit condition at loop end vs. loop start
+ * @param traceParent       W3C {@code traceparent} of the span the orchestration was started in;
+ *                          {@code null} when tracing is not active
  */
-public record OrchestrationInput(String plannerId, int agentCount, int maxIterations, boolean testExitAtLoopEnd) {
+public record OrchestrationInput(String plannerId, int agentCount, int maxIterations, boolean testExitAtLoopEnd,
+        String traceParent) {
+
+    public OrchestrationInput(String plannerId, int agentCount, int maxIterations, boolean testExitAtLoopEnd) {
+        this(plannerId, agentCount, maxIterations, testExitAtLoopEnd, null);
+    }
 }
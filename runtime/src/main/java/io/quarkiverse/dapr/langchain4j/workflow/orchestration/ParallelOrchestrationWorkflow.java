@@ -24,7 +24,7 @@ public class ParallelOrchestrationWorkflow implements Workflow {
             List<Task<Void>> tasks = new ArrayList<>();
             for (int i = 0; i < input.agentCount(); i++) {
                 tasks.add(ctx.callActivity(AgentExecutionActivity.class.getName(),
-                        new AgentExecInput(input.plannerId(), i), Void.class));
+                        new AgentExecInput(input.plannerId(), i, input.traceParent()), Void.class));
             }
             ctx.allOf(tasks).await();
             // Signal planner that the workflow has completed
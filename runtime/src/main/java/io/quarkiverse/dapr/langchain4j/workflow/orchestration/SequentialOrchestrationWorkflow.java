@@ -20,7 +20,7 @@ public class SequentialOrchestrationWorkflow implements Workflow {
             OrchestrationInput input = ctx.getInput(OrchestrationInput.class);
             for (int i = 0; i < input.agentCount(); i++) {
                 ctx.callActivity(AgentExecutionActivity.class.getName(),
-                        new AgentExecInput(input.plannerId(), i), Void.class).await();
+                        new AgentExecInput(input.plannerId(), i, input.traceParent()), Void.class).await();
             }
             // Signal planner that the workflow has completed
             DaprWorkflowPlanner planner = DaprPlannerRegistry.get(input.plannerId());
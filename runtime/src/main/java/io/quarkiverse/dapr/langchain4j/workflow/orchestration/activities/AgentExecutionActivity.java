@@ -7,11 +7,18 @@ import org.jboss.logging.Logger;
 import io.dapr.workflows.WorkflowActivity;
 import io.dapr.workflows.WorkflowActivityContext;
 import io.dapr.workflows.client.DaprWorkflowClient;
+import io.opentelemetry.api.trace.Span;
 import io.quarkiverse.dapr.langchain4j.agent.AgentRunContext;
+import io.quarkiverse.dapr.langchain4j.agent.AgentRuns;
+import io.quarkiverse.dapr.langchain4j.agent.AgentStepLogging;
 import io.quarkiverse.dapr.langchain4j.agent.DaprAgentRunRegistry;
-import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentEvent;
+import io.quarkiverse.dapr.langchain4j.agent.DurabilityLevel;
 import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunInput;
 import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunWorkflow;
+import io.quarkiverse.dapr.langchain4j.audit.AgentAuditPipeline;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticBuildTimeConfig;
+import io.quarkiverse.dapr.langchain4j.metrics.DaprAgentMetrics;
+import io.quarkiverse.dapr.langchain4j.tracing.DaprAgentTracing;
 import io.quarkiverse.dapr.langchain4j.workflow.DaprPlannerRegistry;
 import io.quarkiverse.dapr.langchain4j.workflow.DaprWorkflowPlanner;
 import io.quarkiverse.dapr.langchain4j.workflow.DaprWorkflowPlanner.AgentMetadata;
@@ -41,6 +48,15 @@ public class AgentExecutionActivity implements WorkflowActivity {
     @Inject
     DaprWorkflowClient workflowClient;
 
+    @Inject
+    DaprAgentMetrics metrics;
+
+    @Inject
+    DaprAgenticBuildTimeConfig buildTimeConfig;
+
+    @Inject
+    AgentAuditPipeline auditPipeline;
+
     @Override
     public Object run(WorkflowActivityContext ctx) {
         AgentExecInput input = ctx.getInput(AgentExecInput.class);
@@ -58,35 +74,58 @@ public class AgentExecutionActivity implements WorkflowActivity {
         // The agentRunId must match the workflow instance ID so raiseEvent() reaches the right workflow.
         String agentRunId = input.plannerId() + ":" + input.agentIndex();
 
-        LOG.infof("[Planner:%s] AgentExecutionActivity started — agent=%s, agentRunId=%s",
+        LOG.debugf("[Planner:%s] AgentExecutionActivity started — agent=%s, agentRunId=%s",
                 input.plannerId(), agentName, agentRunId);
 
-        AgentRunContext runContext = new AgentRunContext(agentRunId);
-        DaprAgentRunRegistry.register(agentRunId, runContext);
+        // Open the agent's span under the orchestration's trace; the agent's tool and LLM calls
+        // are parented to it through the run context.
+        Span span = DaprAgentTracing.startSpan("agent " + agentName, input.traceParent());
+        span.setAttribute(DaprAgentTracing.AGENT_RUN_ID, agentRunId);
+        span.setAttribute(DaprAgentTracing.AGENT_NAME, agentName);
+
+        AgentRunContext runContext = new AgentRunContext(agentRunId, agentName,
+                DurabilityLevel.of(buildTimeConfig, agentName));
+        runContext.setTraceParent(DaprAgentTracing.traceParent(span));
 
         // Start a per-agent Dapr Workflow so each tool call becomes a tracked activity.
         // Propagate the agent's prompt metadata (system/user message templates) extracted
         // from the @Agent interface annotations so they are visible in the workflow history.
-        workflowClient.scheduleNewWorkflow(AgentRunWorkflow.class,
-                new AgentRunInput(agentRunId, agentName, metadata.userMessage(), metadata.systemMessage()),
-                agentRunId);
-        LOG.infof("[Planner:%s] AgentRunWorkflow started for agent=%s, agentRunId=%s, userMessage=%s, systemMessage=%s",
-                input.plannerId(), agentName, agentRunId,
-                metadata.userMessage() != null ? "present" : "null",
-                metadata.systemMessage() != null ? "present" : "null");
+        boolean durable = AgentRuns.start(workflowClient, auditPipeline, runContext,
+                new AgentRunInput(agentRunId, agentName, metadata.userMessage(), metadata.systemMessage(),
+                        runContext.getTraceParent(), input.plannerId()));
+        if (durable && AgentStepLogging.isEnabled(LOG)) {
+            LOG.debugf("[Planner:%s] AgentRunWorkflow started for agent=%s, agentRunId=%s, userMessage=%s, systemMessage=%s",
+                    input.plannerId(), agentName, agentRunId,
+                    metadata.userMessage() != null ? "present" : "null",
+                    metadata.systemMessage() != null ? "present" : "null");
+        }
 
         try {
             // Submit the agent (with its run ID) to the planner's exchange queue and block until done.
+            long start = System.nanoTime();
             CompletableFuture<Void> future = planner.executeAgent(planner.getAgent(input.agentIndex()), agentRunId);
-            future.join();
-            LOG.infof("[Planner:%s] Agent execution completed — agent=%s, agentRunId=%s",
+            boolean success = false;
+            try {
+                future.join();
+                success = true;
+            } finally {
+                long queueWait = planner.takeQueueWaitNanos(future);
+                metrics.recordAgentExecution(agentName, queueWait, System.nanoTime() - start - queueWait, success);
+            }
+            LOG.debugf("[Planner:%s] Agent execution completed — agent=%s, agentRunId=%s",
                     input.plannerId(), agentName, agentRunId);
+        } catch (RuntimeException e) {
+            DaprAgentTracing.fail(span, e);
+            throw e;
         } finally {
             // Signal the AgentRunWorkflow that the agent has completed.
-            workflowClient.raiseEvent(agentRunId, "agent-event",
-                    new AgentEvent("done", null, null, null));
-            LOG.infof("[Planner:%s] Sent done event to AgentRunWorkflow — agentRunId=%s", input.plannerId(), agentRunId);
-            DaprAgentRunRegistry.unregister(agentRunId);
+            if (durable) {
+                AgentRuns.finish(workflowClient, runContext);
+                LOG.debugf("[Planner:%s] Sent done event to AgentRunWorkflow — agentRunId=%s", input.plannerId(),
+                        agentRunId);
+                DaprAgentRunRegistry.unregister(agentRunId);
+            }
+            span.end();
         }
 
         return null;
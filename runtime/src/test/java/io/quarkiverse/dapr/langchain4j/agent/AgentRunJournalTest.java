@@ -0,0 +1,115 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunInput;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunOutput;
+
+class AgentRunJournalTest {
+
+    public static class Tools {
+
+        public List<Integer> scores(String team) {
+            return List.of();
+        }
+
+        public void notify(String message) {
+        }
+    }
+
+    private static AgentRunJournal journal(List<ToolCallOutput> toolCalls, List<LlmCallOutput> llmCalls) {
+        return new AgentRunJournal(new AgentRunInput("run", "agent", null, null),
+                new AgentRunOutput("agent", toolCalls, llmCalls));
+    }
+
+    private static ToolCallOutput toolCall(String toolName, String result, Object... args) {
+        return new ToolCallOutput(toolName, "[]", result, result, AgentRunJournal.argsDigest(args));
+    }
+
+    @Test
+    void replaysRecordedCallsInOrder() {
+        AgentRunJournal journal = journal(
+                List.of(toolCall("a", "1", "x"), toolCall("b", "2")),
+                List.of(new LlmCallOutput("chat", null, "hi", "{}", "prompt-1")));
+
+        assertThat(journal.nextLlmCall("prompt-1").response()).isEqualTo("hi");
+        assertThat(journal.nextToolCall("a", AgentRunJournal.argsDigest(new Object[] { "x" })).result())
+                .isEqualTo("1");
+        assertThat(journal.isReplaying()).isTrue();
+        assertThat(journal.nextToolCall("b", AgentRunJournal.argsDigest(null)).result()).isEqualTo("2");
+        assertThat(journal.isReplaying()).isFalse();
+        assertThat(journal.nextLlmCall("prompt-2")).isNull();
+    }
+
+    @Test
+    void divergingCallEndsReplay() {
+        AgentRunJournal journal = journal(
+                List.of(toolCall("a", "1")),
+                List.of(new LlmCallOutput("chat", null, "hi", "{}", "prompt-1")));
+
+        assertThat(journal.nextToolCall("other", AgentRunJournal.argsDigest(null))).isNull();
+        assertThat(journal.isReplaying()).isFalse();
+        assertThat(journal.nextLlmCall("prompt-1")).isNull();
+    }
+
+    @Test
+    void differentPromptEndsReplay() {
+        AgentRunJournal journal = journal(
+                List.of(toolCall("a", "1")),
+                List.of(new LlmCallOutput("chat", null, "hi", "{}", "prompt-1")));
+
+        assertThat(journal.nextLlmCall("prompt-2")).isNull();
+        assertThat(journal.isReplaying()).isFalse();
+        assertThat(journal.nextToolCall("a", AgentRunJournal.argsDigest(null))).isNull();
+    }
+
+    @Test
+    void differentArgumentsEndReplay() {
+        AgentRunJournal journal = journal(
+                List.of(toolCall("capital", "\"Paris\"", "France"), toolCall("capital", "\"Rome\"", "Italy")),
+                List.of());
+
+        assertThat(journal.nextToolCall("capital", AgentRunJournal.argsDigest(new Object[] { "Spain" }))).isNull();
+        assertThat(journal.nextToolCall("capital", AgentRunJournal.argsDigest(new Object[] { "Italy" }))).isNull();
+    }
+
+    @Test
+    void callRecordedWithoutResumeEndsReplay() {
+        AgentRunJournal journal = journal(
+                List.of(new ToolCallOutput("a", "[]", "1"), toolCall("a", "1")),
+                List.of(new LlmCallOutput("chat", null, "hi", "{}", null)));
+
+        assertThat(journal.nextToolCall("a", AgentRunJournal.argsDigest(null))).isNull();
+        assertThat(journal.nextToolCall("a", AgentRunJournal.argsDigest(null))).isNull();
+        assertThat(journal.nextLlmCall(null)).isNull();
+    }
+
+    @Test
+    void onlyARunOfTheSameAgentContinuesTheJournal() {
+        AgentRunJournal journal = journal(List.of(), List.of());
+
+        assertThat(journal.continues(new AgentRunInput("resumed", "agent", "Other message", null))).isTrue();
+        assertThat(journal.continues(new AgentRunInput("resumed", "other", null, null))).isFalse();
+        assertThat(new AgentRunJournal(null, new AgentRunOutput(null, List.of(), List.of()))
+                .continues(new AgentRunInput("resumed", "other", null, null))).isTrue();
+    }
+
+    @Test
+    void toolResultRoundTripsAsGenericReturnType() throws Exception {
+        String json = AgentRunJournal.resultJson(List.of(3, 5));
+
+        Object result = AgentRunJournal.toolResult(new ToolCallOutput("scores", "[blue]", "[3, 5]", json, null),
+                Tools.class.getMethod("scores", String.class));
+        Object none = AgentRunJournal.toolResult(new ToolCallOutput("notify", "[x]", "null", "null", null),
+                Tools.class.getMethod("notify", String.class));
+
+        assertThat(result).isEqualTo(List.of(3, 5));
+        assertThat(none).isNull();
+    }
+}
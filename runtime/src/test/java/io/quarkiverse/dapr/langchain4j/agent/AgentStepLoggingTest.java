@@ -0,0 +1,63 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.dapr.workflows.WorkflowContext;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticConfig;
+
+class AgentStepLoggingTest {
+
+    private Logger log;
+    private WorkflowContext ctx;
+    private DaprAgenticConfig config;
+    private DaprAgenticConfig.LoggingConfig logging;
+
+    @BeforeEach
+    void setup() {
+        log = mock(Logger.class);
+        ctx = mock(WorkflowContext.class);
+        logging = mock(DaprAgenticConfig.LoggingConfig.class);
+        config = mock(DaprAgenticConfig.class);
+        when(config.logging()).thenReturn(logging);
+    }
+
+    @Test
+    void replayedStepsAreSkipped() {
+        when(log.isDebugEnabled()).thenReturn(true);
+        when(ctx.isReplaying()).thenReturn(true);
+
+        assertThat(AgentStepLogging.isEnabled(log, ctx, config)).isFalse();
+    }
+
+    @Test
+    void replayedStepsAreLoggedWhenConfigured() {
+        when(log.isDebugEnabled()).thenReturn(true);
+        when(ctx.isReplaying()).thenReturn(true);
+        when(logging.replays()).thenReturn(true);
+
+        assertThat(AgentStepLogging.isEnabled(log, ctx, config)).isTrue();
+    }
+
+    @Test
+    void newStepsAreLoggedOnlyAtDebug() {
+        when(ctx.isReplaying()).thenReturn(false);
+
+        assertThat(AgentStepLogging.isEnabled(log, ctx, config)).isFalse();
+        when(log.isDebugEnabled()).thenReturn(true);
+        assertThat(AgentStepLogging.isEnabled(log, ctx, config)).isTrue();
+    }
+
+    @Test
+    void payloadsAreReducedToTheirSizeUnlessConfigured() {
+        assertThat(AgentStepLogging.payload(config, "Paris")).isEqualTo("<5 chars>");
+        when(logging.payloads()).thenReturn(true);
+        assertThat(AgentStepLogging.payload(config, "Paris")).isEqualTo("Paris");
+        assertThat(AgentStepLogging.payload(config, null)).isNull();
+    }
+}
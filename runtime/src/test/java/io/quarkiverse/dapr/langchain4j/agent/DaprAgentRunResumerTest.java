@@ -0,0 +1,58 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.dapr.workflows.client.WorkflowInstanceStatus;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunInput;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunOutput;
+
+class DaprAgentRunResumerTest {
+
+    private static DaprAgentRunResumer resumer(AgentRunInput input, AgentRunOutput output) {
+        WorkflowInstanceStatus status = mock(WorkflowInstanceStatus.class);
+        when(status.isRunning()).thenReturn(false);
+        when(status.readInputAs(AgentRunInput.class)).thenReturn(input);
+        when(status.readOutputAs(AgentRunOutput.class)).thenReturn(output);
+        DaprAgentRunResumer resumer = new DaprAgentRunResumer();
+        resumer.workflowClient = mock(DaprWorkflowClient.class);
+        when(resumer.workflowClient.getInstanceState("interrupted", true)).thenReturn(status);
+        return resumer;
+    }
+
+    @Test
+    void agentIsInvokedWithTheRecordedInputAndJournal() {
+        AgentRunInput input = new AgentRunInput("interrupted", "researcher", "Research {{country}}", null);
+        DaprAgentRunResumer resumer = resumer(input, new AgentRunOutput("researcher", List.of(), List.of()));
+
+        AgentRunJournal journal = resumer.resume("interrupted", recorded -> {
+            assertThat(recorded).isEqualTo(input);
+            return DaprAgentRunResumer.takePendingJournal();
+        });
+
+        assertThat(journal.input()).isEqualTo(input);
+        assertThat(DaprAgentRunResumer.takePendingJournal()).isNull();
+    }
+
+    @Test
+    void orchestratedRunIsNotResumed() {
+        DaprAgentRunResumer resumer = resumer(
+                new AgentRunInput("interrupted", "researcher", null, null, null, "planner-1"), null);
+
+        assertThatThrownBy(() -> resumer.resume("interrupted", recorded -> "answer"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("planner-1");
+        verify(resumer.workflowClient, never()).raiseEvent(anyString(), anyString(), any());
+    }
+}
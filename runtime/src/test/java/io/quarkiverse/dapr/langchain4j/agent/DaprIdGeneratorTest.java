@@ -0,0 +1,58 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DaprIdGeneratorTest {
+
+    @AfterEach
+    void cleanup() {
+        DaprIdGenerators.set(null);
+    }
+
+    @Test
+    void shouldGenerateUniqueRunIds() {
+        MonotonicIdGenerator generator = new MonotonicIdGenerator("node");
+
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextRunId());
+        }
+
+        assertThat(ids).hasSize(10_000);
+        assertThat(ids).allSatisfy(id -> assertThat(id).contains("-node-").hasSizeLessThan(36));
+    }
+
+    @Test
+    void shouldGenerateSequentialCallIdsPerRun() {
+        AgentRunContext first = new AgentRunContext("run-1");
+        AgentRunContext second = new AgentRunContext("run-2");
+
+        assertThat(first.nextCallId()).isEqualTo("run-1#1");
+        assertThat(first.nextCallId()).isEqualTo("run-1#2");
+        assertThat(second.nextCallId()).isEqualTo("run-2#1");
+    }
+
+    @Test
+    void shouldUseOverriddenGenerator() {
+        DaprIdGenerators.set(new DaprIdGenerator() {
+            @Override
+            public String nextRunId() {
+                return "fixed";
+            }
+
+            @Override
+            public String nextCallId(String agentRunId, long sequence) {
+                return agentRunId + "/" + sequence;
+            }
+        });
+
+        assertThat(DaprIdGenerators.get().nextRunId()).isEqualTo("fixed");
+        assertThat(new AgentRunContext("run").nextCallId()).isEqualTo("run/1");
+    }
+}
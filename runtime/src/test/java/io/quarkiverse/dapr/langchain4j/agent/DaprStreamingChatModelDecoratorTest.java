@@ -0,0 +1,68 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.quarkiverse.dapr.langchain4j.metrics.DaprAgentMetrics;
+
+class DaprStreamingChatModelDecoratorTest {
+
+    private static final String RUN_ID = "run-streaming";
+
+    @AfterEach
+    void cleanup() {
+        DaprAgentContextHolder.clear();
+        DaprAgentRunRegistry.unregister(RUN_ID);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedEventRaiseFailsTheCallAndClosesTheStream() throws Exception {
+        AgentRunContext runCtx = new AgentRunContext(RUN_ID, "agent");
+        DaprAgentRunRegistry.register(RUN_ID, runCtx);
+        DaprAgentContextHolder.set(RUN_ID);
+
+        IllegalStateException failure = new IllegalStateException("sidecar unavailable");
+        DaprStreamingChatModelDecorator decorator = new DaprStreamingChatModelDecorator();
+        decorator.delegate = mock(StreamingChatModel.class);
+        decorator.workflowClient = mock(DaprWorkflowClient.class);
+        doThrow(failure).when(decorator.workflowClient).raiseEvent(eq(RUN_ID), anyString(), any());
+        decorator.metrics = DaprAgentMetrics.NOOP;
+        decorator.callbackExecutor = mock(ManagedExecutor.class);
+        when(decorator.callbackExecutor.copy(any(CompletableFuture.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        StreamingChatResponseHandler handler = mock(StreamingChatResponseHandler.class);
+        ChatRequest request = ChatRequest.builder().messages(UserMessage.from("Tell a story")).build();
+
+        assertThatThrownBy(() -> decorator.chat(request, handler)).isSameAs(failure);
+
+        // The run can still send "done": the stream opened for the call has been closed.
+        CompletableFuture<Void> closed = new CompletableFuture<>();
+        runCtx.whenStreamsClosed(() -> closed.complete(null));
+        closed.get(5, TimeUnit.SECONDS);
+        verify(handler).onError(failure);
+        verify(handler, never()).onCompleteResponse(any(ChatResponse.class));
+        verify(decorator.delegate, never()).chat(any(ChatRequest.class), any(StreamingChatResponseHandler.class));
+    }
+}
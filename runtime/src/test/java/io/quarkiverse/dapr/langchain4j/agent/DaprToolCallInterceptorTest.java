@@ -0,0 +1,178 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunOutput;
+import io.quarkiverse.dapr.langchain4j.metrics.DaprAgentMetrics;
+import jakarta.interceptor.InvocationContext;
+
+class DaprToolCallInterceptorTest {
+
+    private static final String RUN_ID = "run-inline";
+
+    static class Tools {
+
+        @InlineTool
+        public String capital(String country) {
+            return "Paris";
+        }
+    }
+
+    static class RoutedTools {
+
+        public String capital(String country) {
+            return "Tokyo";
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        DaprAgentContextHolder.clear();
+        DaprAgentRunRegistry.unregister(RUN_ID);
+    }
+
+    private static DaprToolCallInterceptor interceptor() {
+        // No workflow client: routing a call through Dapr would fail the test.
+        DaprToolCallInterceptor interceptor = new DaprToolCallInterceptor();
+        interceptor.metrics = DaprAgentMetrics.NOOP;
+        return interceptor;
+    }
+
+    @Test
+    void inlineToolRunsOnCallerThreadAndIsBuffered() throws Exception {
+        AgentRunContext runCtx = new AgentRunContext(RUN_ID, "agent");
+        DaprAgentRunRegistry.register(RUN_ID, runCtx);
+        DaprAgentContextHolder.set(RUN_ID);
+
+        Object result = interceptor().intercept(invocation(new Tools(), "capital", "France"));
+
+        assertThat(result).isEqualTo("Paris");
+        assertThat(runCtx.drainInlineToolCalls())
+                .containsExactly(new ToolCallOutput("capital", "[France]", "Paris"));
+        assertThat(runCtx.drainInlineToolCalls()).isNull();
+    }
+
+    @Test
+    void inlineToolOutsideAgentRunDoesNotActivateWorkflow() throws Exception {
+        Object result = interceptor().intercept(invocation(new Tools(), "capital", "France"));
+
+        assertThat(result).isEqualTo("Paris");
+    }
+
+    @Test
+    void checkpointedRunExecutesEveryToolInline() throws Exception {
+        AgentRunContext runCtx = new AgentRunContext(RUN_ID, "agent", DurabilityLevel.CHECKPOINTED);
+        DaprAgentRunRegistry.register(RUN_ID, runCtx);
+        DaprAgentContextHolder.set(RUN_ID);
+
+        Object result = interceptor().intercept(invocation(new RoutedTools(), "capital", "Japan"));
+
+        assertThat(result).isEqualTo("Tokyo");
+        assertThat(runCtx.drainInlineToolCalls())
+                .containsExactly(new ToolCallOutput("capital", "[Japan]", "Tokyo"));
+    }
+
+    @Test
+    void resumedRunReplaysRecordedToolCall() throws Exception {
+        AgentRunContext runCtx = new AgentRunContext(RUN_ID, "agent");
+        ToolCallOutput recorded = new ToolCallOutput("capital", "[Japan]", "Kyoto", "\"Kyoto\"",
+                AgentRunJournal.argsDigest(new Object[] { "Japan" }));
+        runCtx.setJournal(new AgentRunJournal(null, new AgentRunOutput("agent", List.of(recorded), List.of())));
+        DaprAgentRunRegistry.register(RUN_ID, runCtx);
+        DaprAgentContextHolder.set(RUN_ID);
+
+        // Routed tool without a workflow client: only the journal can answer the call.
+        Object result = interceptor().intercept(invocation(new RoutedTools(), "capital", "Japan"));
+
+        assertThat(result).isEqualTo("Kyoto");
+        assertThat(runCtx.drainInlineToolCalls()).containsExactly(recorded);
+    }
+
+    @Test
+    void bufferedCallsAreDrainedInOrder() {
+        AgentRunContext runCtx = new AgentRunContext(RUN_ID, "agent");
+        ToolCallOutput first = new ToolCallOutput("a", "[]", "1");
+        ToolCallOutput second = new ToolCallOutput("b", "[]", "2");
+
+        runCtx.recordInlineToolCall(first);
+        runCtx.recordInlineToolCall(second);
+
+        List<ToolCallOutput> drained = runCtx.drainInlineToolCalls();
+        assertThat(drained).containsExactly(first, second);
+    }
+
+    @Test
+    void actionWaitsForOpenStreamsToClose() {
+        AgentRunContext runCtx = new AgentRunContext(RUN_ID, "agent");
+        List<String> finished = new ArrayList<>();
+
+        runCtx.openStream();
+        runCtx.openStream();
+        runCtx.whenStreamsClosed(() -> finished.add("done"));
+        runCtx.closeStream();
+        assertThat(finished).isEmpty();
+        runCtx.closeStream();
+        assertThat(finished).containsExactly("done");
+
+        runCtx.whenStreamsClosed(() -> finished.add("again"));
+        assertThat(finished).containsExactly("done", "again");
+    }
+
+    private static InvocationContext invocation(Object target, String methodName, Object... args)
+            throws NoSuchMethodException {
+        Method method = target.getClass().getMethod(methodName, String.class);
+        Map<String, Object> data = new HashMap<>();
+        return new InvocationContext() {
+
+            @Override
+            public Object getTarget() {
+                return target;
+            }
+
+            @Override
+            public Object getTimer() {
+                return null;
+            }
+
+            @Override
+            public Method getMethod() {
+                return method;
+            }
+
+            @Override
+            public Constructor<?> getConstructor() {
+                return null;
+            }
+
+            @Override
+            public Object[] getParameters() {
+                return args;
+            }
+
+            @Override
+            public void setParameters(Object[] params) {
+            }
+
+            @Override
+            public Map<String, Object> getContextData() {
+                return data;
+            }
+
+            @Override
+            public Object proceed() throws Exception {
+                return method.invoke(target, args);
+            }
+        };
+    }
+}
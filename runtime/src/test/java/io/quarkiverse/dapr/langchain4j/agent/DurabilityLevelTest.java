@@ -0,0 +1,180 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import dev.langchain4j.agentic.Agent;
+import io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunInput;
+import io.quarkiverse.dapr.langchain4j.audit.AgentAuditPipeline;
+import io.quarkiverse.dapr.langchain4j.audit.AuditBuffer;
+import io.quarkiverse.dapr.langchain4j.audit.AuditRecord;
+import io.quarkiverse.dapr.langchain4j.cache.IdempotentTool;
+import io.quarkiverse.dapr.langchain4j.cache.ToolResultCache;
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticBuildTimeConfig;
+import io.quarkiverse.dapr.langchain4j.metrics.DaprAgentMetrics;
+import jakarta.enterprise.inject.Instance;
+import jakarta.interceptor.InvocationContext;
+
+class DurabilityLevelTest {
+
+    private static final String RUN_ID = "run-durability";
+
+    static class Writer {
+
+        @Agent(name = "writer")
+        public String write() {
+            return "draft";
+        }
+
+        public String lookup() {
+            return "fact";
+        }
+
+        @IdempotentTool(ttlSeconds = 60)
+        public String capital(String country) {
+            return "Paris";
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        DaprAgentRunRegistry.unregister(RUN_ID);
+        DaprAgentContextHolder.clear();
+    }
+
+    @Test
+    void shouldApplyPerAgentOverrides() {
+        DaprAgenticBuildTimeConfig config = mock(DaprAgenticBuildTimeConfig.class);
+        when(config.durability()).thenReturn(DurabilityLevel.CHECKPOINTED);
+        DaprAgenticBuildTimeConfig.AgentBuildTimeConfig writer = mock(DaprAgenticBuildTimeConfig.AgentBuildTimeConfig.class);
+        when(writer.durability()).thenReturn(Optional.of(DurabilityLevel.NONE));
+        DaprAgenticBuildTimeConfig.AgentBuildTimeConfig editor = mock(DaprAgenticBuildTimeConfig.AgentBuildTimeConfig.class);
+        when(editor.durability()).thenReturn(Optional.empty());
+        when(config.agents()).thenReturn(Map.of("writer", writer, "editor", editor));
+
+        assertThat(DurabilityLevel.of(config, "writer")).isEqualTo(DurabilityLevel.NONE);
+        assertThat(DurabilityLevel.of(config, "editor")).isEqualTo(DurabilityLevel.CHECKPOINTED);
+        assertThat(DurabilityLevel.of(config, "reviewer")).isEqualTo(DurabilityLevel.CHECKPOINTED);
+        assertThat(DurabilityLevel.of(null, "writer")).isEqualTo(DurabilityLevel.FULL);
+    }
+
+    @Test
+    void onlyFullRoutesCalls() {
+        assertThat(DurabilityLevel.FULL.routesCalls()).isTrue();
+        assertThat(DurabilityLevel.CHECKPOINTED.routesCalls()).isFalse();
+        assertThat(DurabilityLevel.RECORD_ONLY.routesCalls()).isFalse();
+        assertThat(DurabilityLevel.NONE.routesCalls()).isFalse();
+    }
+
+    @Test
+    void noneRunIsNeitherStartedNorRegistered() {
+        AgentRunContext runCtx = new AgentRunContext(RUN_ID, "agent", DurabilityLevel.NONE);
+
+        // No workflow client: starting a workflow would fail the test.
+        boolean started = AgentRuns.start(null, null, runCtx, new AgentRunInput(RUN_ID, "agent", null, null, null));
+
+        assertThat(started).isFalse();
+        assertThat(DaprAgentRunRegistry.get(RUN_ID)).isNull();
+    }
+
+    @Test
+    void recordOnlyRunIsRecordedThroughAuditPipeline() {
+        List<AuditRecord> written = new ArrayList<>();
+        AuditBuffer buffer = new AuditBuffer(16, 16, Duration.ofMillis(1), written::addAll, Runnable::run);
+        AgentRunContext runCtx = new AgentRunContext(RUN_ID, "agent", DurabilityLevel.RECORD_ONLY);
+        AgentRunInput input = new AgentRunInput(RUN_ID, "agent", null, null, null);
+
+        // No workflow client: the run must not reach Dapr from the agent thread.
+        boolean started = AgentRuns.start(null, new AgentAuditPipeline(buffer), runCtx, input);
+        runCtx.recordInlineToolCall(new ToolCallOutput("capital", "[France]", "Paris"));
+        AgentRuns.finish(null, runCtx);
+        buffer.close();
+
+        assertThat(started).isTrue();
+        assertThat(DaprAgentRunRegistry.get(RUN_ID)).isSameAs(runCtx);
+        assertThat(runCtx.drainInlineToolCalls()).isNull();
+        assertThat(written.stream().map(AuditRecord::type).toList())
+                .containsExactly("start", "tool-call", "done");
+        assertThat(written.get(0).input()).isSameAs(input);
+    }
+
+    @Test
+    void noneAgentToolCallDoesNotStartStandaloneRun() throws Exception {
+        DaprAgenticBuildTimeConfig config = mock(DaprAgenticBuildTimeConfig.class);
+        when(config.durability()).thenReturn(DurabilityLevel.FULL);
+        DaprAgenticBuildTimeConfig.AgentBuildTimeConfig writer = mock(DaprAgenticBuildTimeConfig.AgentBuildTimeConfig.class);
+        when(writer.durability()).thenReturn(Optional.of(DurabilityLevel.NONE));
+        when(config.agents()).thenReturn(Map.of("writer", writer));
+
+        // No workflow client: a lazily started "standalone" run, which is full, would fail the test.
+        AgentRunLifecycleManager manager = new AgentRunLifecycleManager();
+        manager.buildTimeConfig = config;
+        @SuppressWarnings("unchecked")
+        Instance<AgentRunLifecycleManager> managers = mock(Instance.class);
+        when(managers.get()).thenReturn(manager);
+
+        DaprToolCallInterceptor toolInterceptor = new DaprToolCallInterceptor();
+        toolInterceptor.lifecycleManager = managers;
+        toolInterceptor.metrics = DaprAgentMetrics.NOOP;
+        DaprAgentMethodInterceptor agentInterceptor = new DaprAgentMethodInterceptor();
+        agentInterceptor.buildTimeConfig = config;
+        agentInterceptor.lifecycleManager = managers;
+
+        InvocationContext toolCall = mock(InvocationContext.class);
+        when(toolCall.getMethod()).thenReturn(Writer.class.getMethod("lookup"));
+        when(toolCall.proceed()).thenReturn("fact");
+        InvocationContext agentCall = mock(InvocationContext.class);
+        when(agentCall.getMethod()).thenReturn(Writer.class.getMethod("write"));
+        when(agentCall.getTarget()).thenReturn(new Writer());
+        when(agentCall.proceed()).thenAnswer(invocation -> toolInterceptor.intercept(toolCall));
+
+        assertThat(agentInterceptor.intercept(agentCall)).isEqualTo("fact");
+        assertThat(DaprAgentContextHolder.get()).isNull();
+        // The request is no longer bypassed once the agent returns.
+        assertThat(manager.setBypassed(false)).isFalse();
+    }
+
+    @Test
+    void checkpointedRunServesIdempotentToolsFromCache() throws Exception {
+        Method capital = Writer.class.getMethod("capital", String.class);
+        ToolResultCache toolCache = mock(ToolResultCache.class);
+        when(toolCache.ttl(capital)).thenReturn(Duration.ofSeconds(60));
+        when(toolCache.key(any(), any())).thenReturn("capital:France");
+        when(toolCache.get("capital:France", capital, Duration.ofSeconds(60))).thenReturn(null, "Paris");
+
+        DaprToolCallInterceptor interceptor = new DaprToolCallInterceptor();
+        interceptor.metrics = DaprAgentMetrics.NOOP;
+        interceptor.toolCache = toolCache;
+        AgentRunContext runCtx = new AgentRunContext(RUN_ID, "writer", DurabilityLevel.CHECKPOINTED);
+        DaprAgentRunRegistry.register(RUN_ID, runCtx);
+        DaprAgentContextHolder.set(RUN_ID);
+
+        InvocationContext toolCall = mock(InvocationContext.class);
+        when(toolCall.getMethod()).thenReturn(capital);
+        when(toolCall.getParameters()).thenReturn(new Object[] { "France" });
+        when(toolCall.proceed()).thenReturn("Paris");
+
+        assertThat(interceptor.intercept(toolCall)).isEqualTo("Paris");
+        assertThat(interceptor.intercept(toolCall)).isEqualTo("Paris");
+
+        verify(toolCall, times(1)).proceed();
+        verify(toolCache).put("capital:France", "Paris", Duration.ofSeconds(60));
+        // Both calls, cached or not, are recorded with the next event of the run.
+        assertThat(runCtx.drainInlineToolCalls()).hasSize(2);
+    }
+}
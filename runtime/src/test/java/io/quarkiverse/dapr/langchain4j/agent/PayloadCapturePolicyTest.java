@@ -0,0 +1,101 @@
+package io.quarkiverse.dapr.langchain4j.agent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticConfig;
+
+class PayloadCapturePolicyTest {
+
+    private static final String LARGE = "x".repeat(100);
+
+    @Test
+    void noneShouldNotRenderPayload() {
+        PayloadCapturePolicy policy = new PayloadCapturePolicy(PayloadCaptureMode.NONE, 10, null);
+        AtomicBoolean rendered = new AtomicBoolean();
+
+        String captured = policy.capture(() -> {
+            rendered.set(true);
+            return LARGE;
+        });
+
+        assertThat(captured).isNull();
+        assertThat(rendered).isFalse();
+    }
+
+    @Test
+    void hashShouldRecordDigestOnly() {
+        PayloadCapturePolicy policy = new PayloadCapturePolicy(PayloadCaptureMode.HASH, 10, null);
+
+        assertThat(policy.capture(() -> "abc"))
+                .isEqualTo("sha256:ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+
+    @Test
+    void truncatedShouldCapPayload() {
+        PayloadCapturePolicy policy = new PayloadCapturePolicy(PayloadCaptureMode.TRUNCATED, 10, null);
+
+        assertThat(policy.capture(() -> "short")).isEqualTo("short");
+        assertThat(policy.capture(() -> LARGE)).startsWith("xxxxxxxxxx… [100 bytes, sha256:");
+    }
+
+    @Test
+    void truncateShouldNotSplitMultiByteCharacters() {
+        byte[] bytes = "aé".getBytes(java.nio.charset.StandardCharsets.UTF_8);
+
+        assertThat(PayloadCapturePolicy.truncate(bytes, 2)).isEqualTo("a");
+        assertThat(PayloadCapturePolicy.truncate(bytes, 3)).isEqualTo("aé");
+    }
+
+    @Test
+    void fullShouldOffloadOversizedPayload() {
+        PayloadCapturePolicy policy = new PayloadCapturePolicy(PayloadCaptureMode.FULL, 10, "blobs");
+        Map<String, String> store = new HashMap<>();
+
+        String captured = policy.capture(() -> LARGE, "run#1:prompt", (s, k, v) -> store.put(s + "/" + k, v));
+
+        assertThat(store).containsEntry("blobs/run#1:prompt", LARGE);
+        assertThat(captured).contains("ref:blobs/run#1:prompt").doesNotContain(LARGE);
+    }
+
+    @Test
+    void fullShouldKeepOversizedPayloadWithoutOffloadStore() {
+        PayloadCapturePolicy policy = new PayloadCapturePolicy(PayloadCaptureMode.FULL, 10, null);
+
+        assertThat(policy.capture(() -> LARGE, "key", (s, k, v) -> {
+            throw new AssertionError("should not offload");
+        })).isEqualTo(LARGE);
+    }
+
+    @Test
+    void shouldApplyPerAgentOverrides() {
+        DaprAgenticConfig config = mock(DaprAgenticConfig.class);
+        DaprAgenticConfig.PayloadConfig global = mock(DaprAgenticConfig.PayloadConfig.class);
+        when(global.capture()).thenReturn(PayloadCaptureMode.FULL);
+        when(global.maxBytes()).thenReturn(1024);
+        when(global.offloadStateStore()).thenReturn(Optional.of("blobs"));
+        when(config.payloads()).thenReturn(global);
+
+        DaprAgenticConfig.AgentPayloadConfig override = mock(DaprAgenticConfig.AgentPayloadConfig.class);
+        when(override.capture()).thenReturn(Optional.of(PayloadCaptureMode.HASH));
+        when(override.maxBytes()).thenReturn(OptionalInt.empty());
+        when(override.offloadStateStore()).thenReturn(Optional.empty());
+        DaprAgenticConfig.AgentConfig agent = mock(DaprAgenticConfig.AgentConfig.class);
+        when(agent.payloads()).thenReturn(override);
+        when(config.agents()).thenReturn(Map.of("writer", agent));
+
+        assertThat(PayloadCapturePolicy.of(config, "writer"))
+                .isEqualTo(new PayloadCapturePolicy(PayloadCaptureMode.HASH, 1024, "blobs"));
+        assertThat(PayloadCapturePolicy.of(config, "editor"))
+                .isEqualTo(new PayloadCapturePolicy(PayloadCaptureMode.FULL, 1024, "blobs"));
+    }
+}
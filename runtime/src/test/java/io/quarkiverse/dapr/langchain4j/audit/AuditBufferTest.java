@@ -0,0 +1,156 @@
+package io.quarkiverse.dapr.langchain4j.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallOutput;
+
+class AuditBufferTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static AuditRecord call(int i) {
+        return AuditRecord.toolCall("run", "agent", new ToolCallOutput("tool", "[" + i + "]", "ok"));
+    }
+
+    @Test
+    void writesRecordsInOrderAndInBatches() {
+        List<List<AuditRecord>> batches = Collections.synchronizedList(new ArrayList<>());
+        AuditBuffer buffer = new AuditBuffer(100, 4, Duration.ofSeconds(5), batches::add, executor);
+
+        buffer.offer(AuditRecord.start("run", "agent", null));
+        for (int i = 0; i < 9; i++) {
+            buffer.offer(call(i));
+        }
+        buffer.offer(AuditRecord.done("run", "agent"));
+        buffer.close();
+
+        List<AuditRecord> written = new ArrayList<>();
+        batches.forEach(written::addAll);
+        assertThat(written.size()).isEqualTo(11);
+        assertThat(written.get(0).type()).isEqualTo("start");
+        assertThat(written.get(10).type()).isEqualTo("done");
+        for (int i = 0; i < 9; i++) {
+            assertThat(written.get(i + 1).toolCall().args()).isEqualTo("[" + i + "]");
+        }
+        assertThat(batches.stream().allMatch(batch -> batch.size() <= 4)).isTrue();
+        assertThat(buffer.getWritten()).isEqualTo(11L);
+    }
+
+    @Test
+    void dropsCallsButKeepsRunBoundariesWhenFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<AuditRecord> written = Collections.synchronizedList(new ArrayList<>());
+        AuditBuffer buffer = new AuditBuffer(2, 1, Duration.ofMillis(1), batch -> {
+            await(release);
+            written.addAll(batch);
+        }, executor);
+
+        // The flusher blocks on the first record, so everything else stays queued.
+        buffer.offer(AuditRecord.start("run", "agent", null));
+        awaitPending(buffer, 0);
+        assertThat(buffer.offer(call(0))).isTrue();
+        assertThat(buffer.offer(call(1))).isTrue();
+        assertThat(buffer.offer(call(2))).isFalse();
+        assertThat(buffer.offer(AuditRecord.done("run", "agent"))).isTrue();
+
+        release.countDown();
+        buffer.close();
+
+        assertThat(buffer.getDropped()).isEqualTo(1L);
+        assertThat(written.stream().map(AuditRecord::type).toList())
+                .containsExactly("start", "tool-call", "tool-call", "done");
+    }
+
+    @Test
+    void sinkFailureDoesNotStopFlusher() throws InterruptedException {
+        CountDownLatch second = new CountDownLatch(1);
+        AuditBuffer buffer = new AuditBuffer(10, 1, Duration.ofMillis(1), batch -> {
+            if (batch.get(0).type().equals("start")) {
+                throw new IllegalStateException("sidecar down");
+            }
+            second.countDown();
+        }, executor);
+
+        buffer.offer(AuditRecord.start("run", "agent", null));
+        buffer.offer(AuditRecord.done("run", "agent"));
+
+        assertThat(second.await(5, TimeUnit.SECONDS)).isTrue();
+        buffer.close();
+    }
+
+    @Test
+    void boundsRunBoundariesUnderSustainedOverload() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<AuditRecord> written = Collections.synchronizedList(new ArrayList<>());
+        AuditBuffer buffer = new AuditBuffer(1, 1, Duration.ofMillis(1), batch -> {
+            await(release);
+            written.addAll(batch);
+        }, executor);
+
+        // The flush task blocks on the first run's start; then the queue holds two records at most.
+        buffer.offer(AuditRecord.start("run-0", "agent", null));
+        awaitPending(buffer, 0);
+        assertThat(buffer.offer(AuditRecord.start("run-1", "agent", null))).isTrue();
+        assertThat(buffer.offer(AuditRecord.start("run-2", "agent", null))).isTrue();
+        assertThat(buffer.offer(AuditRecord.start("run-3", "agent", null))).isFalse();
+        assertThat(buffer.offer(call(0))).isFalse();
+        assertThat(buffer.getPending()).isEqualTo(2);
+
+        release.countDown();
+        buffer.close();
+
+        assertThat(buffer.getDropped()).isEqualTo(2L);
+        assertThat(written.stream().map(AuditRecord::agentRunId).toList())
+                .containsExactly("run-0", "run-1", "run-2");
+    }
+
+    @Test
+    void flushesOnlyWhenRecordsAreOffered() {
+        List<Runnable> tasks = new ArrayList<>();
+        List<AuditRecord> written = new ArrayList<>();
+        AuditBuffer buffer = new AuditBuffer(10, 10, Duration.ofMillis(1), written::addAll, tasks::add);
+
+        assertThat(tasks).isEmpty();
+        buffer.offer(AuditRecord.start("run", "agent", null));
+        buffer.offer(AuditRecord.done("run", "agent"));
+
+        // One task flushes both records, and ends once the queue is empty.
+        assertThat(tasks).hasSize(1);
+        tasks.get(0).run();
+        assertThat(written.stream().map(AuditRecord::type).toList()).containsExactly("start", "done");
+        assertThat(buffer.getPending()).isEqualTo(0);
+        buffer.close();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitPending(AuditBuffer buffer, int pending) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (buffer.getPending() != pending && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.quarkiverse.dapr.langchain4j.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.dapr.workflows.Workflow;
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.quarkiverse.dapr.langchain4j.agent.activities.LlmCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.activities.ToolCallOutput;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentEvent;
+import io.quarkiverse.dapr.langchain4j.agent.workflow.AgentRunInput;
+
+class WorkflowAuditSinkTest {
+
+    private final RecordingWorkflowClient client = new RecordingWorkflowClient();
+    private final WorkflowAuditSink sink = new WorkflowAuditSink(client);
+
+    @Test
+    void batchesCallsOfEachRunIntoOneEvent() {
+        ToolCallOutput tool = new ToolCallOutput("capital", "[France]", "Paris");
+        LlmCallOutput llm = new LlmCallOutput("chat", "prompt", "answer");
+
+        sink.write(List.of(
+                AuditRecord.start("a", "agent", new AgentRunInput("a", "agent", null, null, null)),
+                AuditRecord.llmCall("a", "agent", llm),
+                AuditRecord.start("b", "agent", new AgentRunInput("b", "agent", null, null, null)),
+                AuditRecord.toolCall("a", "agent", tool),
+                AuditRecord.toolCall("b", "agent", tool),
+                AuditRecord.done("a", "agent")));
+
+        assertThat(client.calls).containsExactly("schedule a", "schedule b", "done a", "record b");
+        assertThat(client.events.get(0).inlineToolCalls()).containsExactly(tool);
+        assertThat(client.events.get(0).inlineLlmCalls()).containsExactly(llm);
+        assertThat(client.events.get(1).inlineToolCalls()).containsExactly(tool);
+        assertThat(client.events.get(1).inlineLlmCalls()).isNull();
+    }
+
+    static final class RecordingWorkflowClient extends DaprWorkflowClient {
+
+        final List<String> calls = new ArrayList<>();
+        final List<AgentEvent> events = new ArrayList<>();
+
+        @Override
+        public <T extends Workflow> String scheduleNewWorkflow(Class<T> clazz, Object input, String instanceId) {
+            calls.add("schedule " + instanceId);
+            return instanceId;
+        }
+
+        @Override
+        public void raiseEvent(String instanceId, String eventName, Object eventPayload) {
+            AgentEvent event = (AgentEvent) eventPayload;
+            calls.add(event.type() + " " + instanceId);
+            events.add(event);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.quarkiverse.dapr.langchain4j.cache;
+
+import static io.quarkiverse.dapr.langchain4j.cache.LlmResponseCache.canonicalJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.model.chat.request.DefaultChatRequestParameters;
+import dev.langchain4j.model.chat.request.json.JsonObjectSchema;
+
+class LlmResponseCacheTest {
+
+    /** Provider-specific parameters whose {@code toString()} differs between equal instances. */
+    static class CustomParameters extends DefaultChatRequestParameters {
+
+        private final Map<String, Object> extra;
+
+        CustomParameters(Builder builder, Map<String, Object> extra) {
+            super(builder);
+            this.extra = extra;
+        }
+
+        @Override
+        public String toString() {
+            return "CustomParameters@" + System.identityHashCode(this);
+        }
+    }
+
+    static class Builder extends DefaultChatRequestParameters.Builder<Builder> {
+    }
+
+    // key() also serializes the messages, which needs the Quarkus JSON codec: test the parameters part.
+    @Test
+    void equalParametersSerializeEquallyWhateverTheirToString() throws Exception {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("seed", 7);
+        first.put("user", "u-1");
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("user", "u-1");
+        second.put("seed", 7);
+
+        String json = canonicalJson(new CustomParameters(new Builder().temperature(0.2), first));
+
+        assertThat(canonicalJson(new CustomParameters(new Builder().temperature(0.2), second))).isEqualTo(json);
+        assertThat(canonicalJson(new CustomParameters(new Builder().temperature(0.2), Map.of("seed", 8, "user", "u-1"))))
+                .isNotEqualTo(json);
+        assertThat(canonicalJson(new CustomParameters(new Builder().temperature(0.3), first))).isNotEqualTo(json);
+        assertThat(canonicalJson(new Builder().temperature(0.2).build())).isNotEqualTo(json);
+    }
+
+    @Test
+    void toolSpecificationsArePartOfTheParameters() throws Exception {
+        ToolSpecification byName = ToolSpecification.builder()
+                .name("capital")
+                .parameters(JsonObjectSchema.builder().addStringProperty("country", "The country").build())
+                .build();
+        ToolSpecification byCode = ToolSpecification.builder()
+                .name("capital")
+                .parameters(JsonObjectSchema.builder().addIntegerProperty("country", "The country").build())
+                .build();
+
+        String json = canonicalJson(DefaultChatRequestParameters.builder().toolSpecifications(byName).build());
+
+        assertThat(canonicalJson(DefaultChatRequestParameters.builder().toolSpecifications(byName).build()))
+                .isEqualTo(json);
+        assertThat(canonicalJson(DefaultChatRequestParameters.builder().toolSpecifications(byCode).build()))
+                .isNotEqualTo(json);
+    }
+}
@@ -0,0 +1,79 @@
+package io.quarkiverse.dapr.langchain4j.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.dapr.client.DaprClient;
+import io.dapr.client.domain.State;
+import reactor.core.publisher.Mono;
+
+class TieredCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    @Test
+    void shouldServeFromL1() {
+        TieredCache cache = new TieredCache("test", 10, () -> null, null, "p:");
+
+        assertThat(cache.get("k", TTL)).isNull();
+        cache.put("k", "v", TTL);
+
+        assertThat(cache.get("k", TTL)).isEqualTo("v");
+        assertThat(cache.getL1Hits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldExpireEntries() {
+        TieredCache cache = new TieredCache("test", 10, () -> null, null, "p:");
+
+        cache.put("k", "v", Duration.ofNanos(1));
+
+        assertThat(cache.get("k", TTL)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntry() {
+        TieredCache cache = new TieredCache("test", 2, () -> null, null, "p:");
+
+        cache.put("a", "1", TTL);
+        cache.put("b", "2", TTL);
+        cache.get("a", TTL);
+        cache.put("c", "3", TTL);
+
+        assertThat(cache.get("a", TTL)).isEqualTo("1");
+        assertThat(cache.get("b", TTL)).isNull();
+        assertThat(cache.get("c", TTL)).isEqualTo("3");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReadThroughAndWriteToStateStore() {
+        DaprClient client = mock(DaprClient.class);
+        when(client.getState("store", "p:k", String.class))
+                .thenReturn(Mono.just(new State<>("p:k", "v", null)));
+        when(client.saveState(eq("store"), eq("p:x"), any(), eq("y"), anyMap(), any()))
+                .thenReturn(Mono.empty());
+        TieredCache cache = new TieredCache("test", 10, () -> client, "store", "p:");
+
+        assertThat(cache.get("k", TTL)).isEqualTo("v");
+        assertThat(cache.get("k", TTL)).isEqualTo("v");
+        assertThat(cache.getL2Hits()).isEqualTo(1);
+        assertThat(cache.getL1Hits()).isEqualTo(1);
+
+        cache.put("x", "y", Duration.ofSeconds(30));
+        verify(client).saveState(eq("store"), eq("p:x"), any(), eq("y"),
+                eq(Map.of("ttlInSeconds", "30")), any());
+    }
+}
@@ -0,0 +1,104 @@
+package io.quarkiverse.dapr.langchain4j.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.dapr.langchain4j.config.DaprAgenticConfig;
+
+class ToolResultCacheTest {
+
+    static class Tools {
+
+        @IdempotentTool(ttlSeconds = 60)
+        public List<String> lookup(Map<String, Integer> filter) {
+            return List.of("a", "b");
+        }
+
+        public String notIdempotent(String arg) {
+            return arg;
+        }
+
+        @IdempotentTool
+        public String find(int id) {
+            return "int";
+        }
+
+        @IdempotentTool
+        public String find(long id) {
+            return "long";
+        }
+    }
+
+    private ToolResultCache cache;
+
+    @BeforeEach
+    void setup() {
+        DaprAgenticConfig config = mock(DaprAgenticConfig.class);
+        DaprAgenticConfig.ToolCacheConfig toolCache = mock(DaprAgenticConfig.ToolCacheConfig.class);
+        when(toolCache.enabled()).thenReturn(true);
+        when(toolCache.maxEntries()).thenReturn(100);
+        when(toolCache.stateStore()).thenReturn(Optional.empty());
+        when(config.toolCache()).thenReturn(toolCache);
+
+        cache = new ToolResultCache();
+        cache.config = config;
+        cache.init();
+    }
+
+    @Test
+    void shouldOnlyCacheIdempotentTools() throws Exception {
+        assertThat(cache.ttl(Tools.class.getMethod("lookup", Map.class))).isEqualTo(Duration.ofSeconds(60));
+        assertThat(cache.ttl(Tools.class.getMethod("notIdempotent", String.class))).isNull();
+    }
+
+    @Test
+    void shouldProduceCanonicalKeys() throws Exception {
+        Method lookup = Tools.class.getMethod("lookup", Map.class);
+        Map<String, Integer> first = new LinkedHashMap<>();
+        first.put("x", 1);
+        first.put("y", 2);
+        Map<String, Integer> second = new LinkedHashMap<>();
+        second.put("y", 2);
+        second.put("x", 1);
+
+        assertThat(cache.key(lookup, new Object[] { first }))
+                .isEqualTo(cache.key(lookup, new Object[] { second }))
+                .startsWith(Tools.class.getName() + "#lookup(java.util.Map):");
+        assertThat(cache.key(lookup, new Object[] { Map.of("x", 3) }))
+                .isNotEqualTo(cache.key(lookup, new Object[] { first }));
+    }
+
+    @Test
+    void shouldKeepOverloadsApart() throws Exception {
+        Method byInt = Tools.class.getMethod("find", int.class);
+        Method byLong = Tools.class.getMethod("find", long.class);
+
+        assertThat(cache.key(byInt, new Object[] { 1 }))
+                .isNotEqualTo(cache.key(byLong, new Object[] { 1L }))
+                .startsWith(Tools.class.getName() + "#find(int):");
+    }
+
+    @Test
+    void shouldRoundTripResultsToReturnType() throws Exception {
+        Method lookup = Tools.class.getMethod("lookup", Map.class);
+        String key = cache.key(lookup, new Object[] { Map.of("x", 1) });
+
+        assertThat(cache.get(key, lookup, Duration.ofSeconds(60))).isNull();
+        cache.put(key, List.of("a", "b"), Duration.ofSeconds(60));
+
+        assertThat(cache.get(key, lookup, Duration.ofSeconds(60))).isEqualTo(List.of("a", "b"));
+        assertThat(cache.getCache().getL1Hits()).isEqualTo(1);
+        assertThat(cache.getCache().getMisses()).isEqualTo(1);
+    }
+}
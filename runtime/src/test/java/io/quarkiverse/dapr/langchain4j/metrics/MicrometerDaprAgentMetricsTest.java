@@ -0,0 +1,82 @@
+package io.quarkiverse.dapr.langchain4j.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MicrometerDaprAgentMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private MicrometerDaprAgentMetrics metrics;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        metrics = new MicrometerDaprAgentMetrics();
+        metrics.registry = registry;
+    }
+
+    @Test
+    void toolCallsAreTimedPerToolOutcomeAndCacheUse() {
+        metrics.recordToolCall("writer", "capital", 2_000_000, true, false);
+        metrics.recordToolCall("writer", "capital", 3_000_000, true, false);
+        metrics.recordToolCall("writer", "capital", 1_000_000, true, true);
+        metrics.recordToolCall(null, "capital", 1_000_000, false, false);
+
+        Timer executed = registry.get("dapr.agentic.tool.call")
+                .tags("agent", "writer", "tool", "capital", "outcome", "success", "cached", "false")
+                .timer();
+        assertThat(executed.count()).isEqualTo(2L);
+        assertThat(executed.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5.0);
+        assertThat(registry.get("dapr.agentic.tool.call").tags("cached", "true").timer().count()).isEqualTo(1L);
+        assertThat(registry.get("dapr.agentic.tool.call").tags("agent", "unknown", "outcome", "failure").timer().count())
+                .isEqualTo(1L);
+        assertThat(registry.find("dapr.agentic.tool.call").timers()).hasSize(3);
+    }
+
+    @Test
+    void llmCallsAreTimedPerOutcomeAndCacheUse() {
+        metrics.recordLlmCall("writer", 5_000_000, true, false);
+        metrics.recordLlmCall("writer", 1_000, true, true);
+        metrics.recordLlmCall("writer", 7_000_000, false, false);
+
+        assertThat(registry.get("dapr.agentic.llm.call").tags("outcome", "success", "cached", "false").timer().count())
+                .isEqualTo(1L);
+        assertThat(registry.get("dapr.agentic.llm.call").tags("cached", "true").timer().count()).isEqualTo(1L);
+        assertThat(registry.get("dapr.agentic.llm.call").tags("outcome", "failure").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    void agentExecutionsRecordQueueWaitAndOutcome() {
+        metrics.recordAgentExecution("writer", 1_000_000, 4_000_000, true);
+        metrics.recordAgentExecution("writer", 2_000_000, 3_000_000, false);
+
+        Timer queueWait = registry.get("dapr.agentic.agent.queue.wait").tags("agent", "writer").timer();
+        assertThat(queueWait.count()).isEqualTo(2L);
+        assertThat(queueWait.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(3.0);
+        assertThat(registry.get("dapr.agentic.agent.execution").tags("agent", "writer", "outcome", "success")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(4.0);
+        assertThat(registry.get("dapr.agentic.agent.execution").tags("agent", "writer", "outcome", "failure")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(3.0);
+    }
+
+    @Test
+    void eventRaisesAndOrchestrationsAreTimedPerType() {
+        metrics.recordEventRaise("writer", "tool-call", 1_000_000);
+        metrics.recordEventRaise("writer", "tool-call", 1_000_000);
+        metrics.recordEventRaise("writer", "done", 1_000_000);
+        metrics.recordOrchestration("SequentialOrchestrationWorkflow", 9_000_000);
+
+        assertThat(registry.get("dapr.agentic.event.raise").tags("agent", "writer", "type", "tool-call")
+                .timer().count()).isEqualTo(2L);
+        assertThat(registry.get("dapr.agentic.event.raise").tags("type", "done").timer().count()).isEqualTo(1L);
+        assertThat(registry.get("dapr.agentic.orchestration").tags("type", "SequentialOrchestrationWorkflow")
+                .timer().count()).isEqualTo(1L);
+    }
+}
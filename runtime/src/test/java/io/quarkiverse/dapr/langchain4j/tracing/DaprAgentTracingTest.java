@@ -0,0 +1,66 @@
+package io.quarkiverse.dapr.langchain4j.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.quarkiverse.dapr.langchain4j.agent.AgentRunContext;
+
+class DaprAgentTracingTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String SPAN_ID = "00f067aa0ba902b7";
+    private static final String TRACEPARENT = "00-" + TRACE_ID + "-" + SPAN_ID + "-01";
+
+    private static Span remoteSpan() {
+        return Span.wrap(SpanContext.createFromRemoteParent(TRACE_ID, SPAN_ID, TraceFlags.getSampled(),
+                TraceState.getDefault()));
+    }
+
+    @Test
+    void noCurrentSpanHasNoTraceParent() {
+        assertThat(DaprAgentTracing.currentTraceParent()).isNull();
+    }
+
+    @Test
+    void currentSpanIsEncodedAsTraceParent() {
+        try (Scope scope = remoteSpan().makeCurrent()) {
+            assertThat(DaprAgentTracing.currentTraceParent()).isEqualTo(TRACEPARENT);
+        }
+    }
+
+    @Test
+    void traceParentRoundTrips() {
+        Context restored = DaprAgentTracing.restore(TRACEPARENT);
+
+        SpanContext spanContext = Span.fromContext(restored).getSpanContext();
+        assertThat(spanContext.getTraceId()).isEqualTo(TRACE_ID);
+        assertThat(spanContext.getSpanId()).isEqualTo(SPAN_ID);
+        assertThat(DaprAgentTracing.traceParent(Span.fromContext(restored))).isEqualTo(TRACEPARENT);
+    }
+
+    @Test
+    void missingOrInvalidTraceParentRestoresRoot() {
+        assertThat(Span.fromContext(DaprAgentTracing.restore(null)).getSpanContext().isValid()).isFalse();
+        assertThat(Span.fromContext(DaprAgentTracing.restore("garbage")).getSpanContext().isValid()).isFalse();
+    }
+
+    @Test
+    void runTraceParentTakesPrecedenceOverCurrentSpan() {
+        AgentRunContext runCtx = new AgentRunContext("run-1", "agent");
+        String runParent = "00-" + TRACE_ID + "-1111111111111111-01";
+        runCtx.setTraceParent(runParent);
+
+        try (Scope scope = remoteSpan().makeCurrent()) {
+            assertThat(DaprAgentTracing.parentOf(runCtx)).isEqualTo(runParent);
+            runCtx.setTraceParent(null);
+            assertThat(DaprAgentTracing.parentOf(runCtx)).isEqualTo(TRACEPARENT);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package io.dapr.durabletask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import io.dapr.durabletask.interruption.OrchestratorBlockedException;
+
+/**
+ * Factory for the {@link Task}s handed out by the in-process workflow runtime of
+ * {@code quarkus-agentic-dapr-testing}.
+ * <p>
+ * {@link Task}'s constructor is package-private, hence this class lives in the Durable Task
+ * package. This split package is a workaround pinned to the Durable Task client shipped with
+ * {@code dapr-sdk-workflows} {@code ${dapr-sdk.version}}: it relies on the package-private
+ * constructors of {@link Task}, {@link TaskFailedException} and {@link FailureDetails}, so it
+ * must be checked on every SDK upgrade, and it only works on the class path. A task is an immutable snapshot of what the workflow history knows about it:
+ * completed, failed or still pending. {@link Task#await()} on a pending task throws
+ * {@link OrchestratorBlockedException}, which ends the current execution of the workflow
+ * exactly as in the Dapr runtime; the workflow is replayed once new history arrives.
+ */
+public final class InMemoryTasks {
+
+    private InMemoryTasks() {
+    }
+
+    /**
+     * Returns a task completed with {@code value}.
+     */
+    public static <V> Task<V> completed(V value) {
+        return new InMemoryTask<>(CompletableFuture.completedFuture(value), null);
+    }
+
+    /**
+     * Returns a task whose completion is not yet part of the history.
+     */
+    public static <V> Task<V> pending() {
+        return new InMemoryTask<>(new CompletableFuture<>(), null);
+    }
+
+    /**
+     * Returns a task that failed like an activity whose execution threw {@code cause}:
+     * awaiting it throws a {@link TaskFailedException}.
+     */
+    public static <V> Task<V> failed(String taskName, int taskId, Throwable cause) {
+        Exception exception = cause instanceof Exception e ? e : new RuntimeException(cause);
+        TaskFailedException failure = new TaskFailedException(taskName, taskId, new FailureDetails(exception));
+        return new InMemoryTask<>(CompletableFuture.failedFuture(failure), failure);
+    }
+
+    /**
+     * Returns a task that completes with the results of all {@code tasks}, fails if any of them
+     * failed, and is pending otherwise.
+     */
+    public static <V> Task<List<V>> allOf(List<Task<V>> tasks) {
+        List<Exception> failures = new ArrayList<>();
+        List<V> results = new ArrayList<>(tasks.size());
+        boolean pending = false;
+        for (Task<V> task : tasks) {
+            InMemoryTask<V> t = (InMemoryTask<V>) task;
+            if (t.failure != null) {
+                failures.add(t.failure);
+            } else if (!t.isDone()) {
+                pending = true;
+            } else {
+                results.add(t.future.join());
+            }
+        }
+        if (!failures.isEmpty()) {
+            CompositeTaskFailedException failure = new CompositeTaskFailedException(
+                    failures.size() + " out of " + tasks.size() + " tasks failed", failures);
+            return new InMemoryTask<>(CompletableFuture.failedFuture(failure), failure);
+        }
+        return pending ? pending() : completed(results);
+    }
+
+    /**
+     * Returns a task that completes with the first of {@code tasks} that is done, and is
+     * pending if none is.
+     */
+    public static Task<Task<?>> anyOf(List<Task<?>> tasks) {
+        for (Task<?> task : tasks) {
+            if (task.isDone()) {
+                return completed(task);
+            }
+        }
+        return pending();
+    }
+
+    private static final class InMemoryTask<V> extends Task<V> {
+
+        private final RuntimeException failure;
+
+        InMemoryTask(CompletableFuture<V> future, RuntimeException failure) {
+            super(future);
+            this.failure = failure;
+        }
+
+        @Override
+        public V await() {
+            if (failure != null) {
+                throw failure;
+            }
+            if (!future.isDone()) {
+                throw new OrchestratorBlockedException("The workflow is waiting for a task to complete.");
+            }
+            return future.join();
+        }
+
+        @Override
+        public <U> Task<U> thenApply(Function<V, U> fn) {
+            if (failure != null) {
+                return new InMemoryTask<>(CompletableFuture.failedFuture(failure), failure);
+            }
+            return isDone() ? completed(fn.apply(future.join())) : pending();
+        }
+
+        @Override
+        public Task<Void> thenAccept(Consumer<V> fn) {
+            return thenApply(value -> {
+                fn.accept(value);
+                return null;
+            });
+        }
+    }
+}
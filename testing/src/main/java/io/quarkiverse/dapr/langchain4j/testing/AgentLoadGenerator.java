@@ -0,0 +1,167 @@
+package io.quarkiverse.dapr.langchain4j.testing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Drives an agent, or any other request, from a fixed number of concurrent callers and reports
+ * throughput and latency percentiles.
+ *
+ * <pre>{@code
+ * LoadReport report = AgentLoadGenerator.builder()
+ *         .requests(200)
+ *         .concurrency(8)
+ *         .warmup(20)
+ *         .run(i -> storyCreator.write("topic " + i, "comedy"));
+ * }</pre>
+ */
+public final class AgentLoadGenerator {
+
+    private static final Logger LOG = Logger.getLogger(AgentLoadGenerator.class);
+
+    private final int requests;
+    private final int concurrency;
+    private final int warmup;
+
+    private AgentLoadGenerator(Builder builder) {
+        this.requests = builder.requests;
+        this.concurrency = builder.concurrency;
+        this.warmup = builder.warmup;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Sends the warm-up requests, whose results are discarded, then the measured requests.
+     * Each request is a call to {@code request} with its index; a request fails when the call
+     * throws.
+     */
+    public LoadReport run(IntFunction<?> request) throws InterruptedException {
+        if (warmup > 0) {
+            execute(warmup, request);
+        }
+        return execute(requests, request);
+    }
+
+    private LoadReport execute(int count, IntFunction<?> request) throws InterruptedException {
+        long[] latencies = new long[count];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>(concurrency);
+            long start = System.nanoTime();
+            for (int c = 0; c < concurrency; c++) {
+                futures.add(callers.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < count) {
+                        long requestStart = System.nanoTime();
+                        try {
+                            request.apply(i);
+                        } catch (RuntimeException e) {
+                            errors.incrementAndGet();
+                            LOG.debugf(e, "Load request %d failed", i);
+                        }
+                        latencies[i] = System.nanoTime() - requestStart;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return LoadReport.of(latencies, errors.get(), System.nanoTime() - start);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    public static final class Builder {
+
+        private int requests = 100;
+        private int concurrency = 4;
+        private int warmup;
+
+        private Builder() {
+        }
+
+        /** Number of measured requests. Defaults to 100. */
+        public Builder requests(int requests) {
+            if (requests < 1) {
+                throw new IllegalArgumentException("requests must be positive: " + requests);
+            }
+            this.requests = requests;
+            return this;
+        }
+
+        /** Number of callers sending requests concurrently. Defaults to 4. */
+        public Builder concurrency(int concurrency) {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /** Number of requests sent, and not measured, before the measured ones. Defaults to 0. */
+        public Builder warmup(int warmup) {
+            if (warmup < 0) {
+                throw new IllegalArgumentException("warmup must not be negative: " + warmup);
+            }
+            this.warmup = warmup;
+            return this;
+        }
+
+        public LoadReport run(IntFunction<?> request) throws InterruptedException {
+            return new AgentLoadGenerator(this).run(request);
+        }
+    }
+
+    /**
+     * Outcome of a load run. Latencies include failed requests.
+     *
+     * @param requests   number of requests sent
+     * @param errors     number of requests that failed
+     * @param elapsed    wall-clock time of the whole run
+     * @param throughput requests per second
+     */
+    public record LoadReport(int requests, int errors, Duration elapsed, double throughput,
+            Duration p50, Duration p90, Duration p99, Duration max) {
+
+        static LoadReport of(long[] latencies, int errors, long elapsedNanos) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return new LoadReport(sorted.length, errors, Duration.ofNanos(elapsedNanos),
+                    sorted.length * 1_000_000_000d / Math.max(elapsedNanos, 1),
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                    Duration.ofNanos(sorted[sorted.length - 1]));
+        }
+
+        private static Duration percentile(long[] sorted, int percentile) {
+            int index = (int) Math.ceil(percentile / 100d * sorted.length) - 1;
+            return Duration.ofNanos(sorted[Math.max(index, 0)]);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests, %d errors in %d ms: %.1f req/s, p50=%d ms, p90=%d ms, p99=%d ms, max=%d ms",
+                    requests, errors, elapsed.toMillis(), throughput, p50.toMillis(), p90.toMillis(), p99.toMillis(),
+                    max.toMillis());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.quarkiverse.dapr.langchain4j.testing;
+
+import java.util.Map;
+import java.util.Set;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+/**
+ * Test profile running Dapr workflows in-process: Dapr Dev Services and the sidecar-backed
+ * workflow runtime are disabled, and {@link InMemoryWorkflowClientProducer} replaces the
+ * {@code DaprWorkflowClient}. Tests using it need neither Docker nor a sidecar.
+ *
+ * <pre>{@code
+ * @QuarkusTest
+ * @TestProfile(InMemoryDaprTestProfile.class)
+ * class MyAgentTest { ... }
+ * }</pre>
+ *
+ * The state store is not replaced: agents using Dapr-backed chat memory still need a sidecar.
+ */
+public class InMemoryDaprTestProfile implements QuarkusTestProfile {
+
+    @Override
+    public Set<Class<?>> getEnabledAlternatives() {
+        return Set.of(InMemoryWorkflowClientProducer.class);
+    }
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+                "quarkus.dapr.devservices.enabled", "false",
+                "quarkus.dapr.workflow.enabled", "false");
+    }
+}
@@ -0,0 +1,144 @@
+package io.quarkiverse.dapr.langchain4j.testing;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+
+import io.dapr.workflows.Workflow;
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.dapr.workflows.client.NewWorkflowOptions;
+import io.dapr.workflows.client.WorkflowInstanceStatus;
+import io.dapr.workflows.client.WorkflowState;
+
+/**
+ * {@link DaprWorkflowClient} backed by an {@link InMemoryWorkflowRuntime} instead of a Dapr
+ * sidecar. Workflows are scheduled by their class name, as the Dapr Java SDK registers them.
+ * <p>
+ * The gRPC channel of the parent class is created lazily and never used.
+ */
+public class InMemoryWorkflowClient extends DaprWorkflowClient {
+
+    private final InMemoryWorkflowRuntime runtime;
+
+    public InMemoryWorkflowClient(InMemoryWorkflowRuntime runtime) {
+        this.runtime = runtime;
+    }
+
+    public InMemoryWorkflowRuntime getRuntime() {
+        return runtime;
+    }
+
+    @Override
+    public <T extends Workflow> String scheduleNewWorkflow(Class<T> clazz) {
+        return scheduleNewWorkflow(clazz.getCanonicalName(), null, null);
+    }
+
+    @Override
+    public <T extends Workflow> String scheduleNewWorkflow(String name) {
+        return scheduleNewWorkflow(name, null, null);
+    }
+
+    @Override
+    public <T extends Workflow> String scheduleNewWorkflow(Class<T> clazz, Object input) {
+        return scheduleNewWorkflow(clazz.getCanonicalName(), input, null);
+    }
+
+    @Override
+    public <T extends Workflow> String scheduleNewWorkflow(String name, Object input) {
+        return scheduleNewWorkflow(name, input, null);
+    }
+
+    @Override
+    public <T extends Workflow> String scheduleNewWorkflow(Class<T> clazz, Object input, String instanceId) {
+        return scheduleNewWorkflow(clazz.getCanonicalName(), input, instanceId);
+    }
+
+    @Override
+    public <T extends Workflow> String scheduleNewWorkflow(String name, Object input, String instanceId) {
+        return runtime.start(name, input, instanceId != null ? instanceId : UUID.randomUUID().toString());
+    }
+
+    @Override
+    public <T extends Workflow> String scheduleNewWorkflow(Class<T> clazz, NewWorkflowOptions options) {
+        return scheduleNewWorkflow(clazz.getCanonicalName(), options);
+    }
+
+    @Override
+    public <T extends Workflow> String scheduleNewWorkflow(String name, NewWorkflowOptions options) {
+        return scheduleNewWorkflow(name, options.getInput(), options.getInstanceId());
+    }
+
+    @Override
+    public void raiseEvent(String instanceId, String eventName, Object eventPayload) {
+        runtime.raiseEvent(instanceId, eventName, eventPayload);
+    }
+
+    @Override
+    public WorkflowInstanceStatus getInstanceState(String instanceId, boolean getInputsAndOutputs) {
+        return runtime.getStatus(instanceId);
+    }
+
+    @Override
+    public WorkflowState getWorkflowState(String instanceId, boolean getInputsAndOutputs) {
+        return (WorkflowState) runtime.getStatus(instanceId);
+    }
+
+    @Override
+    public WorkflowInstanceStatus waitForInstanceStart(String instanceId, Duration timeout,
+            boolean getInputsAndOutputs) {
+        return runtime.getStatus(instanceId);
+    }
+
+    @Override
+    public WorkflowState waitForWorkflowStart(String instanceId, Duration timeout, boolean getInputsAndOutputs) {
+        return (WorkflowState) runtime.getStatus(instanceId);
+    }
+
+    @Override
+    public WorkflowInstanceStatus waitForInstanceCompletion(String instanceId, Duration timeout,
+            boolean getInputsAndOutputs) throws TimeoutException {
+        try {
+            return runtime.awaitCompletion(instanceId, timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for workflow " + instanceId, e);
+        }
+    }
+
+    @Override
+    public WorkflowState waitForWorkflowCompletion(String instanceId, Duration timeout, boolean getInputsAndOutputs)
+            throws TimeoutException {
+        return (WorkflowState) waitForInstanceCompletion(instanceId, timeout, getInputsAndOutputs);
+    }
+
+    @Override
+    public void suspendWorkflow(String instanceId, String reason) {
+        throw new UnsupportedOperationException("Suspending workflows is not supported by the in-memory runtime");
+    }
+
+    @Override
+    public void resumeWorkflow(String instanceId, String reason) {
+        throw new UnsupportedOperationException("Resuming workflows is not supported by the in-memory runtime");
+    }
+
+    @Override
+    public void terminateWorkflow(String instanceId, Object output) {
+        runtime.terminate(instanceId, output);
+    }
+
+    @Override
+    public boolean purgeInstance(String instanceId) {
+        return runtime.purge(instanceId);
+    }
+
+    @Override
+    public boolean purgeWorkflow(String instanceId) {
+        return runtime.purge(instanceId);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        runtime.close();
+        super.close();
+    }
+}
@@ -0,0 +1,29 @@
+package io.quarkiverse.dapr.langchain4j.testing;
+
+import io.dapr.workflows.client.DaprWorkflowClient;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.enterprise.inject.Disposes;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+/**
+ * Produces an {@link InMemoryWorkflowClient} in place of the sidecar-backed
+ * {@link DaprWorkflowClient}.
+ * <p>
+ * The producer is an alternative that is not enabled by default; {@link InMemoryDaprTestProfile}
+ * enables it for the tests that use that profile.
+ */
+@Alternative
+@Singleton
+public class InMemoryWorkflowClientProducer {
+
+    @Produces
+    @Singleton
+    public DaprWorkflowClient workflowClient() {
+        return new InMemoryWorkflowClient(InMemoryWorkflowRuntime.cdi());
+    }
+
+    void close(@Disposes DaprWorkflowClient client) throws InterruptedException {
+        client.close();
+    }
+}
@@ -0,0 +1,426 @@
+package io.quarkiverse.dapr.langchain4j.testing;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.jboss.logging.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.dapr.durabletask.DataConverter;
+import io.dapr.durabletask.InMemoryTasks;
+import io.dapr.durabletask.Task;
+import io.dapr.durabletask.interruption.OrchestratorBlockedException;
+import io.dapr.workflows.Workflow;
+import io.dapr.workflows.WorkflowContext;
+import io.dapr.workflows.WorkflowTaskOptions;
+import io.dapr.workflows.client.WorkflowFailureDetails;
+import io.dapr.workflows.client.WorkflowInstanceStatus;
+import io.dapr.workflows.client.WorkflowRuntimeStatus;
+import io.dapr.workflows.client.WorkflowState;
+
+/**
+ * A single workflow instance of the {@link InMemoryWorkflowRuntime}, together with its history.
+ * <p>
+ * <h3>Execution model</h3>
+ * Like the Dapr runtime, the workflow function is re-executed from the start every time new
+ * history arrives (an activity or timer completing, an external event being raised). Tasks
+ * whose outcome is already in the history complete immediately; awaiting any other task ends
+ * the execution with an {@link OrchestratorBlockedException}. {@link WorkflowContext#isReplaying()}
+ * is {@code true} while the execution only consumes history that a previous execution has
+ * already seen, so replay-aware code behaves as it does against a sidecar.
+ * <p>
+ * Inputs, outputs, activity results and events are serialized with the Dapr
+ * {@link DataConverter}, so payloads that would not survive the sidecar fail here as well.
+ * All executions of all instances run on the runtime's single orchestration thread.
+ */
+final class InMemoryWorkflowInstance implements WorkflowInstanceStatus, WorkflowState {
+
+    private static final Logger LOG = Logger.getLogger(InMemoryWorkflowInstance.class);
+
+    private enum Kind {
+        STARTED,
+        TASK_COMPLETED,
+        TASK_FAILED,
+        EVENT_RAISED
+    }
+
+    private record HistoryEvent(Kind kind, int taskId, String name, String payload, Throwable error,
+            Instant timestamp) {
+    }
+
+    private final InMemoryWorkflowRuntime runtime;
+    private final DataConverter converter;
+    private final String name;
+    private final String instanceId;
+    private final String serializedInput;
+    private final Instant createdAt;
+
+    private final List<HistoryEvent> history = new ArrayList<>();
+    private final CompletableFuture<WorkflowInstanceStatus> completion = new CompletableFuture<>();
+
+    // Only accessed on the orchestration thread
+    private final Set<Integer> scheduledTasks = new HashSet<>();
+    private int executedHistorySize;
+    private volatile long executions;
+
+    private volatile WorkflowRuntimeStatus status = WorkflowRuntimeStatus.RUNNING;
+    private volatile Instant lastUpdatedAt;
+    private volatile String serializedOutput;
+    private volatile String serializedCustomStatus;
+    private volatile WorkflowFailureDetails failureDetails;
+
+    InMemoryWorkflowInstance(InMemoryWorkflowRuntime runtime, DataConverter converter, String name,
+            String instanceId, Object input) {
+        this.runtime = runtime;
+        this.converter = converter;
+        this.name = name;
+        this.instanceId = instanceId;
+        this.serializedInput = converter.serialize(input);
+        this.createdAt = Instant.now();
+        this.lastUpdatedAt = createdAt;
+        history.add(new HistoryEvent(Kind.STARTED, -1, name, null, null, createdAt));
+    }
+
+    // ---- history updates (any thread) ----
+
+    void taskCompleted(int taskId, String payload) {
+        append(new HistoryEvent(Kind.TASK_COMPLETED, taskId, null, payload, null, Instant.now()));
+    }
+
+    void taskFailed(int taskId, String taskName, Throwable error) {
+        append(new HistoryEvent(Kind.TASK_FAILED, taskId, taskName, null, error, Instant.now()));
+    }
+
+    void eventRaised(String eventName, Object payload) {
+        append(new HistoryEvent(Kind.EVENT_RAISED, -1, eventName, converter.serialize(payload), null, Instant.now()));
+    }
+
+    private void append(HistoryEvent event) {
+        if (!isRunning()) {
+            return;
+        }
+        synchronized (history) {
+            history.add(event);
+        }
+        runtime.signal(this);
+    }
+
+    int getHistorySize() {
+        synchronized (history) {
+            return history.size();
+        }
+    }
+
+    long getExecutions() {
+        return executions;
+    }
+
+    CompletableFuture<WorkflowInstanceStatus> completion() {
+        return completion;
+    }
+
+    String getSerializedCustomStatus() {
+        return serializedCustomStatus;
+    }
+
+    void terminate(Object output) {
+        finish(WorkflowRuntimeStatus.TERMINATED, converter.serialize(output), null);
+    }
+
+    // ---- execution (orchestration thread) ----
+
+    /**
+     * Re-executes the workflow against the current history, unless nothing new has arrived since
+     * the previous execution.
+     */
+    void execute(Workflow workflow) {
+        if (!isRunning()) {
+            return;
+        }
+        List<HistoryEvent> snapshot;
+        synchronized (history) {
+            snapshot = List.copyOf(history);
+        }
+        if (executions > 0 && snapshot.size() == executedHistorySize) {
+            return;
+        }
+        executions++;
+        Execution execution = new Execution(snapshot, executedHistorySize);
+        executedHistorySize = snapshot.size();
+        try {
+            workflow.run(execution);
+            finish(WorkflowRuntimeStatus.COMPLETED, converter.serialize(execution.output), null);
+        } catch (OrchestratorBlockedException e) {
+            lastUpdatedAt = Instant.now();
+        } catch (RuntimeException e) {
+            LOG.debugf(e, "[InMemoryWorkflow:%s] Workflow %s failed", instanceId, name);
+            finish(WorkflowRuntimeStatus.FAILED, null, new FailureDetails(e));
+        }
+    }
+
+    private void finish(WorkflowRuntimeStatus finalStatus, String output, WorkflowFailureDetails failure) {
+        if (!isRunning()) {
+            return;
+        }
+        serializedOutput = output;
+        failureDetails = failure;
+        lastUpdatedAt = Instant.now();
+        status = finalStatus;
+        completion.complete(this);
+    }
+
+    /**
+     * The {@link WorkflowContext} of one execution of the workflow function.
+     */
+    private final class Execution implements WorkflowContext {
+
+        private final int previousHistorySize;
+        private final Map<Integer, Integer> taskOutcomes = new HashMap<>();
+        private final Map<String, List<Integer>> events = new HashMap<>();
+        private final List<HistoryEvent> snapshot;
+        private final Map<String, Integer> eventsConsumed = new HashMap<>();
+        private int nextTaskId;
+        private boolean replaying;
+        private Instant currentInstant;
+        private Object output;
+
+        Execution(List<HistoryEvent> snapshot, int previousHistorySize) {
+            this.snapshot = snapshot;
+            this.previousHistorySize = previousHistorySize;
+            for (int i = 0; i < snapshot.size(); i++) {
+                HistoryEvent event = snapshot.get(i);
+                switch (event.kind()) {
+                    case TASK_COMPLETED, TASK_FAILED -> taskOutcomes.put(event.taskId(), i);
+                    case EVENT_RAISED -> events.computeIfAbsent(event.name(), k -> new ArrayList<>()).add(i);
+                    default -> {
+                    }
+                }
+            }
+            consume(0);
+        }
+
+        private HistoryEvent consume(int index) {
+            HistoryEvent event = snapshot.get(index);
+            replaying = index < previousHistorySize;
+            currentInstant = event.timestamp();
+            return event;
+        }
+
+        private <V> V read(String payload, Class<V> type) {
+            if (payload == null || type == null || type == Void.class) {
+                return null;
+            }
+            return converter.deserialize(payload, type);
+        }
+
+        @Override
+        public org.slf4j.Logger getLogger() {
+            return LoggerFactory.getLogger(name);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getInstanceId() {
+            return instanceId;
+        }
+
+        @Override
+        public Instant getCurrentInstant() {
+            return currentInstant;
+        }
+
+        @Override
+        public boolean isReplaying() {
+            return replaying;
+        }
+
+        @Override
+        public <V> V getInput(Class<V> type) {
+            return read(serializedInput, type);
+        }
+
+        @Override
+        public void complete(Object output) {
+            this.output = output;
+        }
+
+        @Override
+        public void setCustomStatus(Object customStatus) {
+            serializedCustomStatus = converter.serialize(customStatus);
+        }
+
+        @Override
+        public boolean isPatched(String patchName) {
+            return true;
+        }
+
+        @Override
+        public <V> Task<V> callActivity(String activityName, Object input, WorkflowTaskOptions options,
+                Class<V> returnType) {
+            int taskId = nextTaskId++;
+            Integer index = taskOutcomes.get(taskId);
+            if (index != null) {
+                HistoryEvent event = consume(index);
+                return event.kind() == Kind.TASK_FAILED
+                        ? InMemoryTasks.failed(activityName, taskId, event.error())
+                        : InMemoryTasks.completed(read(event.payload(), returnType));
+            }
+            if (scheduledTasks.add(taskId)) {
+                runtime.runActivity(InMemoryWorkflowInstance.this, activityName, converter.serialize(input), taskId);
+            }
+            return InMemoryTasks.pending();
+        }
+
+        /**
+         * Waits for the next event named {@code eventName}. Timeouts are not enforced.
+         */
+        @Override
+        public <V> Task<V> waitForExternalEvent(String eventName, Duration timeout, Class<V> dataType) {
+            int ordinal = eventsConsumed.merge(eventName, 1, Integer::sum) - 1;
+            List<Integer> received = events.getOrDefault(eventName, List.of());
+            if (ordinal < received.size()) {
+                return InMemoryTasks.completed(read(consume(received.get(ordinal)).payload(), dataType));
+            }
+            return InMemoryTasks.pending();
+        }
+
+        @Override
+        public <V> Task<Void> waitForExternalEvent(String eventName, Duration timeout) {
+            return waitForExternalEvent(eventName, timeout, Void.class);
+        }
+
+        @Override
+        public <V> Task<Void> waitForExternalEvent(String eventName) {
+            return waitForExternalEvent(eventName, null, Void.class);
+        }
+
+        @Override
+        public Task<Void> createTimer(Duration duration) {
+            int taskId = nextTaskId++;
+            Integer index = taskOutcomes.get(taskId);
+            if (index != null) {
+                consume(index);
+                return InMemoryTasks.completed(null);
+            }
+            if (scheduledTasks.add(taskId)) {
+                runtime.runTimer(InMemoryWorkflowInstance.this, duration, taskId);
+            }
+            return InMemoryTasks.pending();
+        }
+
+        @Override
+        public Task<Void> createTimer(ZonedDateTime zonedDateTime) {
+            Duration delay = Duration.between(Instant.now(), zonedDateTime.toInstant());
+            return createTimer(delay.isNegative() ? Duration.ZERO : delay);
+        }
+
+        @Override
+        public <V> Task<List<V>> allOf(List<Task<V>> tasks) {
+            return InMemoryTasks.allOf(tasks);
+        }
+
+        @Override
+        public Task<Task<?>> anyOf(List<Task<?>> tasks) {
+            return InMemoryTasks.anyOf(tasks);
+        }
+
+        @Override
+        public <V> Task<V> callChildWorkflow(String workflowName, Object input, String childInstanceId,
+                WorkflowTaskOptions options, Class<V> returnType) {
+            throw new UnsupportedOperationException("Child workflows are not supported by the in-memory runtime");
+        }
+
+        @Override
+        public void continueAsNew(Object input, boolean preserveUnprocessedEvents) {
+            throw new UnsupportedOperationException("continueAsNew is not supported by the in-memory runtime");
+        }
+    }
+
+    private record FailureDetails(String getErrorType, String getErrorMessage, String getStackTrace)
+            implements WorkflowFailureDetails {
+
+        FailureDetails(Throwable error) {
+            this(error.getClass().getName(), error.getMessage(),
+                    io.dapr.durabletask.FailureDetails.getFullStackTrace(error));
+        }
+    }
+
+    // ---- WorkflowInstanceStatus / WorkflowState ----
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    @Override
+    public String getWorkflowId() {
+        return instanceId;
+    }
+
+    @Override
+    public WorkflowRuntimeStatus getRuntimeStatus() {
+        return status;
+    }
+
+    @Override
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public Instant getLastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+
+    @Override
+    public String getSerializedInput() {
+        return serializedInput;
+    }
+
+    @Override
+    public String getSerializedOutput() {
+        return serializedOutput;
+    }
+
+    @Override
+    public WorkflowFailureDetails getFailureDetails() {
+        return failureDetails;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return status == WorkflowRuntimeStatus.RUNNING;
+    }
+
+    @Override
+    public boolean isCompleted() {
+        return !isRunning();
+    }
+
+    @Override
+    public <T> T readInputAs(Class<T> type) {
+        return serializedInput == null ? null : converter.deserialize(serializedInput, type);
+    }
+
+    @Override
+    public <T> T readOutputAs(Class<T> type) {
+        return serializedOutput == null ? null : converter.deserialize(serializedOutput, type);
+    }
+}
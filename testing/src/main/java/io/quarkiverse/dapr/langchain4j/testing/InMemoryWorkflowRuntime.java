@@ -0,0 +1,277 @@
+package io.quarkiverse.dapr.langchain4j.testing;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.jboss.logging.Logger;
+
+import io.dapr.durabletask.DataConverter;
+import io.dapr.durabletask.JacksonDataConverter;
+import io.dapr.workflows.Workflow;
+import io.dapr.workflows.WorkflowActivity;
+import io.dapr.workflows.WorkflowActivityContext;
+import io.dapr.workflows.client.WorkflowInstanceStatus;
+import jakarta.enterprise.inject.spi.CDI;
+
+/**
+ * In-process stand-in for the Dapr sidecar's workflow engine: executes workflows and
+ * activities in the JVM so that agent runs can be tested end to end, and load tested, without
+ * Docker or a sidecar.
+ * <p>
+ * Workflows and activities are looked up by name through a resolver — by default
+ * ({@link #cdi()}) the CDI bean of the class with that name, which is how the extension's
+ * workflows and activities are registered. Each workflow instance keeps its own history and is
+ * replayed deterministically, see {@link InMemoryWorkflowInstance}.
+ * <p>
+ * <h3>Threads</h3>
+ * <ul>
+ *   <li>One orchestration thread executes all workflow functions, which never block.</li>
+ *   <li>Activities run on a cached thread pool, as they may block for a long time (e.g.
+ *       {@code AgentExecutionActivity} waits for the whole agent).</li>
+ *   <li>Timers fire on a scheduler thread.</li>
+ * </ul>
+ * Child workflows and {@code continueAsNew} are not supported, and event timeouts are not
+ * enforced.
+ */
+public class InMemoryWorkflowRuntime implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(InMemoryWorkflowRuntime.class);
+
+    private final Function<String, Object> resolver;
+    private final DataConverter converter = new JacksonDataConverter();
+    private final Map<String, InMemoryWorkflowInstance> instances = new ConcurrentHashMap<>();
+    private final Map<String, Workflow> workflows = new ConcurrentHashMap<>();
+
+    private final ExecutorService orchestrationExecutor = Executors.newSingleThreadExecutor(
+            daemonThreads("dapr-inmemory-workflow"));
+    private final ExecutorService activityExecutor = Executors.newCachedThreadPool(
+            daemonThreads("dapr-inmemory-activity"));
+    private final ScheduledExecutorService timerExecutor = Executors.newSingleThreadScheduledExecutor(
+            daemonThreads("dapr-inmemory-timer"));
+
+    /**
+     * @param resolver returns the {@link Workflow} or {@link WorkflowActivity} registered under a
+     *                 name, or {@code null} if there is none
+     */
+    public InMemoryWorkflowRuntime(Function<String, Object> resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * Returns a runtime resolving workflows and activities as CDI beans of the class with the
+     * requested name.
+     */
+    public static InMemoryWorkflowRuntime cdi() {
+        return new InMemoryWorkflowRuntime(InMemoryWorkflowRuntime::lookupBean);
+    }
+
+    /**
+     * Starts a new instance of the workflow registered under {@code workflowName}.
+     *
+     * @return the instance ID
+     */
+    public String start(String workflowName, Object input, String instanceId) {
+        Workflow workflow = workflows.computeIfAbsent(workflowName, this::resolveWorkflow);
+        InMemoryWorkflowInstance instance = new InMemoryWorkflowInstance(this, converter, workflowName,
+                instanceId, input);
+        if (instances.putIfAbsent(instanceId, instance) != null) {
+            throw new IllegalStateException("A workflow instance with ID " + instanceId + " already exists");
+        }
+        LOG.debugf("[InMemoryWorkflow:%s] Started %s", instanceId, workflowName);
+        signal(instance);
+        return instanceId;
+    }
+
+    /**
+     * Raises an external event on a running instance. Events for finished instances are dropped.
+     */
+    public void raiseEvent(String instanceId, String eventName, Object payload) {
+        InMemoryWorkflowInstance instance = instances.get(instanceId);
+        if (instance == null) {
+            throw new IllegalStateException("No workflow instance found for ID: " + instanceId);
+        }
+        instance.eventRaised(eventName, payload);
+    }
+
+    /**
+     * Returns the status of an instance, or {@code null} if it does not exist.
+     */
+    public WorkflowInstanceStatus getStatus(String instanceId) {
+        return instances.get(instanceId);
+    }
+
+    /**
+     * Returns the last custom status set by an instance, or {@code null} if it did not set one.
+     */
+    public <T> T readCustomStatusAs(String instanceId, Class<T> type) {
+        InMemoryWorkflowInstance instance = instances.get(instanceId);
+        String customStatus = instance != null ? instance.getSerializedCustomStatus() : null;
+        return customStatus == null ? null : converter.deserialize(customStatus, type);
+    }
+
+    /**
+     * Returns the number of history events of an instance: its start, each completed or failed
+     * task and each received event.
+     */
+    public int getHistorySize(String instanceId) {
+        InMemoryWorkflowInstance instance = instances.get(instanceId);
+        return instance != null ? instance.getHistorySize() : 0;
+    }
+
+    /**
+     * Returns how many times the workflow function of an instance has been executed (the first
+     * execution plus each replay).
+     */
+    public long getExecutions(String instanceId) {
+        InMemoryWorkflowInstance instance = instances.get(instanceId);
+        return instance != null ? instance.getExecutions() : 0;
+    }
+
+    /**
+     * Blocks until an instance has completed, failed or been terminated.
+     */
+    public WorkflowInstanceStatus awaitCompletion(String instanceId, Duration timeout)
+            throws TimeoutException, InterruptedException {
+        InMemoryWorkflowInstance instance = instances.get(instanceId);
+        if (instance == null) {
+            return null;
+        }
+        try {
+            return instance.completion().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public void terminate(String instanceId, Object output) {
+        InMemoryWorkflowInstance instance = instances.get(instanceId);
+        if (instance != null) {
+            instance.terminate(output);
+        }
+    }
+
+    public boolean purge(String instanceId) {
+        InMemoryWorkflowInstance instance = instances.get(instanceId);
+        if (instance == null || instance.isRunning()) {
+            return false;
+        }
+        return instances.remove(instanceId, instance);
+    }
+
+    public Set<String> getInstanceIds() {
+        return Set.copyOf(instances.keySet());
+    }
+
+    @Override
+    public void close() {
+        orchestrationExecutor.shutdownNow();
+        activityExecutor.shutdownNow();
+        timerExecutor.shutdownNow();
+    }
+
+    // ---- called by InMemoryWorkflowInstance ----
+
+    /**
+     * Schedules an execution of the instance's workflow to process new history.
+     */
+    void signal(InMemoryWorkflowInstance instance) {
+        Workflow workflow = workflows.get(instance.getName());
+        orchestrationExecutor.execute(() -> instance.execute(workflow));
+    }
+
+    void runActivity(InMemoryWorkflowInstance instance, String activityName, String serializedInput, int taskId) {
+        activityExecutor.execute(() -> {
+            try {
+                Object activity = resolver.apply(activityName);
+                if (!(activity instanceof WorkflowActivity workflowActivity)) {
+                    throw new IllegalStateException("No WorkflowActivity registered under name: " + activityName);
+                }
+                Object result = workflowActivity.run(
+                        new ActivityContext(activityName, instance.getInstanceId() + ":" + taskId, serializedInput));
+                instance.taskCompleted(taskId, converter.serialize(result));
+            } catch (Throwable t) {
+                LOG.debugf(t, "[InMemoryWorkflow:%s] Activity %s failed", instance.getInstanceId(), activityName);
+                instance.taskFailed(taskId, activityName, t);
+            }
+        });
+    }
+
+    void runTimer(InMemoryWorkflowInstance instance, Duration delay, int taskId) {
+        timerExecutor.schedule(() -> instance.taskCompleted(taskId, null), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private Workflow resolveWorkflow(String workflowName) {
+        Object workflow = resolver.apply(workflowName);
+        if (!(workflow instanceof Workflow w)) {
+            throw new IllegalStateException("No Workflow registered under name: " + workflowName);
+        }
+        return w;
+    }
+
+    private static Object lookupBean(String className) {
+        try {
+            Class<?> type = Class.forName(className, true, Thread.currentThread().getContextClassLoader());
+            return CDI.current().select(type).get();
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class ActivityContext implements WorkflowActivityContext {
+
+        private final String name;
+        private final String taskExecutionId;
+        private final String serializedInput;
+
+        ActivityContext(String name, String taskExecutionId, String serializedInput) {
+            this.name = name;
+            this.taskExecutionId = taskExecutionId;
+            this.serializedInput = serializedInput;
+        }
+
+        @Override
+        public org.slf4j.Logger getLogger() {
+            return org.slf4j.LoggerFactory.getLogger(name);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getTaskExecutionId() {
+            return taskExecutionId;
+        }
+
+        @Override
+        public <T> T getInput(Class<T> type) {
+            return serializedInput == null ? null : converter.deserialize(serializedInput, type);
+        }
+
+        @Override
+        public String getTraceParent() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package io.quarkiverse.dapr.langchain4j.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.dapr.durabletask.Task;
+import io.dapr.durabletask.TaskFailedException;
+import io.dapr.workflows.Workflow;
+import io.dapr.workflows.WorkflowActivity;
+import io.dapr.workflows.WorkflowStub;
+import io.dapr.workflows.client.WorkflowInstanceStatus;
+import io.dapr.workflows.client.WorkflowRuntimeStatus;
+
+class InMemoryWorkflowRuntimeTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final List<String> replayedSteps = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> liveSteps = Collections.synchronizedList(new ArrayList<>());
+
+    private final Map<String, Object> registry = Map.of(
+            "greet", (Workflow) () -> ctx -> {
+                String name = ctx.getInput(String.class);
+                String greeting = ctx.callActivity("upper", "hello " + name, String.class).await();
+                (ctx.isReplaying() ? replayedSteps : liveSteps).add("greeted");
+                String suffix = ctx.waitForExternalEvent("suffix", Duration.ofMinutes(1), String.class).await();
+                ctx.complete(greeting + suffix);
+            },
+            "fanOut", (Workflow) () -> ctx -> {
+                List<Task<String>> tasks = new ArrayList<>();
+                for (String word : List.of("a", "b", "c")) {
+                    tasks.add(ctx.callActivity("upper", word, String.class));
+                }
+                ctx.complete(String.join("", ctx.allOf(tasks).await()));
+            },
+            "failing", (Workflow) () -> ctx -> {
+                try {
+                    ctx.callActivity("boom", null, String.class).await();
+                    ctx.complete("unreachable");
+                } catch (TaskFailedException e) {
+                    ctx.complete("recovered from " + e.getTaskName());
+                }
+            },
+            "unhandled", (Workflow) () -> ctx -> ctx.callActivity("boom", null, String.class).await(),
+            "upper", (WorkflowActivity) ctx -> ctx.getInput(String.class).toUpperCase(),
+            "boom", (WorkflowActivity) ctx -> {
+                throw new IllegalStateException("boom");
+            });
+
+    private final InMemoryWorkflowRuntime runtime = new InMemoryWorkflowRuntime(registry::get);
+
+    @AfterEach
+    void close() {
+        runtime.close();
+    }
+
+    @Test
+    void runsActivitiesAndWaitsForEvents() throws Exception {
+        runtime.start("greet", "dapr", "greet-1");
+
+        WorkflowInstanceStatus status = runtime.getStatus("greet-1");
+        assertThat(status.getRuntimeStatus()).isEqualTo(WorkflowRuntimeStatus.RUNNING);
+
+        awaitHistory("greet-1", 2);
+        runtime.raiseEvent("greet-1", "suffix", "!");
+
+        status = runtime.awaitCompletion("greet-1", TIMEOUT);
+        assertThat(status.getRuntimeStatus()).isEqualTo(WorkflowRuntimeStatus.COMPLETED);
+        assertThat(status.readOutputAs(String.class)).isEqualTo("HELLO DAPR!");
+    }
+
+    @Test
+    void replaysHistoryDeterministically() throws Exception {
+        runtime.start("greet", "dapr", "greet-2");
+        awaitHistory("greet-2", 2);
+        runtime.raiseEvent("greet-2", "suffix", "?");
+        runtime.awaitCompletion("greet-2", TIMEOUT);
+
+        // start, activity result, event: three executions, the step after the activity ran live once
+        assertThat(runtime.getExecutions("greet-2")).isEqualTo(3);
+        assertThat(liveSteps).containsExactly("greeted");
+        assertThat(replayedSteps).containsExactly("greeted");
+    }
+
+    @Test
+    void awaitsAllTasks() throws Exception {
+        runtime.start("fanOut", null, "fan-out");
+
+        WorkflowInstanceStatus status = runtime.awaitCompletion("fan-out", TIMEOUT);
+        assertThat(status.readOutputAs(String.class)).isEqualTo("ABC");
+    }
+
+    @Test
+    void activityFailureSurfacesAsTaskFailedException() throws Exception {
+        runtime.start("failing", null, "failing");
+
+        WorkflowInstanceStatus status = runtime.awaitCompletion("failing", TIMEOUT);
+        assertThat(status.getRuntimeStatus()).isEqualTo(WorkflowRuntimeStatus.COMPLETED);
+        assertThat(status.readOutputAs(String.class)).isEqualTo("recovered from boom");
+    }
+
+    @Test
+    void unhandledFailureFailsTheWorkflow() throws Exception {
+        runtime.start("unhandled", null, "unhandled");
+
+        WorkflowInstanceStatus status = runtime.awaitCompletion("unhandled", TIMEOUT);
+        assertThat(status.getRuntimeStatus()).isEqualTo(WorkflowRuntimeStatus.FAILED);
+        assertThat(status.getFailureDetails().getErrorType()).isEqualTo(TaskFailedException.class.getName());
+        assertThat(runtime.purge("unhandled")).isTrue();
+        assertThat(runtime.getStatus("unhandled")).isNull();
+    }
+
+    @Test
+    void terminatedWorkflowIgnoresFurtherEvents() throws Exception {
+        runtime.start("greet", "dapr", "greet-3");
+        runtime.terminate("greet-3", "stopped");
+        runtime.raiseEvent("greet-3", "suffix", "!");
+
+        WorkflowInstanceStatus status = runtime.awaitCompletion("greet-3", TIMEOUT);
+        assertThat(status.getRuntimeStatus()).isEqualTo(WorkflowRuntimeStatus.TERMINATED);
+        assertThat(status.readOutputAs(String.class)).isEqualTo("stopped");
+    }
+
+    private void awaitHistory(String instanceId, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (runtime.getHistorySize(instanceId) < size && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}